@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.api.connection;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.Preconditions;
+
+/**
+ * {@link BarrierPolicy} following smoothed barrier round-trip time and the number of messages written
+ * during one round trip. The message threshold keeps about four barriers in flight
+ * per round trip: a fast switch gets frequent barriers, so requests complete soon and queue segments are
+ * recycled early, while a switch slowed down by bulk programming gets fewer of them. The interval follows
+ * the round-trip time. Both thresholds are kept within configured bounds and start at their maximum,
+ * until the first barrier completes.
+ */
+@Beta
+public final class AdaptiveBarrierPolicy implements BarrierPolicy {
+
+    /**
+     * Weight of a new sample in smoothed values, as in TCP round-trip time estimation
+     */
+    private static final double SAMPLE_WEIGHT = 0.125;
+    private static final int BARRIERS_PER_RTT = 4;
+
+    private final int minMessages;
+    private final int maxMessages;
+    private final long minIntervalNanos;
+    private final long maxIntervalNanos;
+
+    private double smoothedRttNanos = -1;
+    private double smoothedOutstanding;
+    private int messageThreshold;
+    private long intervalNanos;
+
+    /**
+     * @param minMessages lower bound of message threshold
+     * @param maxMessages upper bound of message threshold
+     * @param minIntervalNanos lower bound of barrier interval in nanoseconds
+     * @param maxIntervalNanos upper bound of barrier interval in nanoseconds
+     */
+    public AdaptiveBarrierPolicy(final int minMessages, final int maxMessages, final long minIntervalNanos,
+            final long maxIntervalNanos) {
+        Preconditions.checkArgument(minMessages > 0 && minMessages <= maxMessages,
+                "Invalid message threshold bounds %s..%s", minMessages, maxMessages);
+        Preconditions.checkArgument(minIntervalNanos > 0 && minIntervalNanos <= maxIntervalNanos,
+                "Invalid barrier interval bounds %s..%s", minIntervalNanos, maxIntervalNanos);
+        this.minMessages = minMessages;
+        this.maxMessages = maxMessages;
+        this.minIntervalNanos = minIntervalNanos;
+        this.maxIntervalNanos = maxIntervalNanos;
+        messageThreshold = maxMessages;
+        intervalNanos = maxIntervalNanos;
+    }
+
+    @Override
+    public int getMessageThreshold() {
+        return messageThreshold;
+    }
+
+    @Override
+    public long getIntervalNanos() {
+        return intervalNanos;
+    }
+
+    /**
+     * @return smoothed barrier round-trip time in nanoseconds, -1 if no barrier completed yet
+     */
+    public long getSmoothedRttNanos() {
+        return (long) smoothedRttNanos;
+    }
+
+    @Override
+    public void onBarrierCompleted(final long rttNanos, final int outstandingMessages) {
+        if (smoothedRttNanos < 0) {
+            smoothedRttNanos = rttNanos;
+            smoothedOutstanding = outstandingMessages;
+        } else {
+            smoothedRttNanos += SAMPLE_WEIGHT * (rttNanos - smoothedRttNanos);
+            smoothedOutstanding += SAMPLE_WEIGHT * (outstandingMessages - smoothedOutstanding);
+        }
+
+        intervalNanos = Math.max(minIntervalNanos, Math.min(maxIntervalNanos, (long) smoothedRttNanos));
+        messageThreshold = (int) Math.max(minMessages,
+                Math.min(maxMessages, (long) (smoothedOutstanding / BARRIERS_PER_RTT)));
+    }
+
+    @Override
+    public String toString() {
+        return "AdaptiveBarrierPolicy [messageThreshold=" + messageThreshold + ", intervalNanos=" + intervalNanos
+                + ", smoothedRttNanos=" + getSmoothedRttNanos() + "]";
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.api.connection;
+
+import com.google.common.annotations.Beta;
+
+/**
+ * Decides when an outbound queue inserts barrier requests. A barrier is sent once the number of messages
+ * written since the previous barrier reaches {@link #getMessageThreshold()}, or once
+ * {@link #getIntervalNanos()} elapses with messages outstanding. The queue reports round-trip times
+ * of its barriers, so the policy can adapt both thresholds to the switch.
+ *
+ * Instances keep per-connection state and must not be shared among connections. All methods are invoked
+ * from the event loop of the connection.
+ */
+@Beta
+public interface BarrierPolicy {
+
+    /**
+     * @return number of non-barrier messages after which a barrier is sent, must be positive
+     */
+    int getMessageThreshold();
+
+    /**
+     * @return maximum time in nanoseconds between barriers while messages are outstanding, must be positive
+     */
+    long getIntervalNanos();
+
+    /**
+     * Invoked when reply to a sampled barrier is received
+     * @param rttNanos time from writing the barrier to receiving its reply
+     * @param outstandingMessages number of non-barrier messages written while the barrier was in flight
+     */
+    void onBarrierCompleted(long rttNanos, int outstandingMessages);
+}
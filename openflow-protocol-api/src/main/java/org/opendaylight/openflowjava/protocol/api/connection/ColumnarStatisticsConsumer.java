@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.api.connection;
+
+import com.google.common.annotations.Beta;
+import javax.annotation.Nullable;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.common.types.rev130731.MultipartType;
+
+/**
+ * {@link MultipartReplyEntryConsumer} which receives flow, port and queue statistics decoded into reusable
+ * primitive columns instead of per-entry objects. Works for both OpenFlow 1.0 stats replies and OpenFlow 1.3
+ * multipart replies. The reply itself is still delivered to the message listener with empty body after
+ * {@link #onColumns(long, MultipartType, StatisticsColumns, boolean)} returns. Matches, instructions and
+ * actions of flow statistics are not decoded.
+ */
+@Beta
+public interface ColumnarStatisticsConsumer extends MultipartReplyEntryConsumer {
+
+    /**
+     * Provides columns to decode reply of given type into. Supported types are {@link MultipartType#OFPMPFLOW}
+     * ({@link FlowStatsColumns}), {@link MultipartType#OFPMPPORTSTATS} ({@link PortStatsColumns}) and
+     * {@link MultipartType#OFPMPQUEUE} ({@link QueueStatsColumns}). Columns are cleared before decoding,
+     * so the same instance should be returned for every reply.
+     * @param type multipart type of received reply
+     * @return columns to decode the reply into, null to decode the reply as usual
+     */
+    @Nullable StatisticsColumns getColumns(MultipartType type);
+
+    /**
+     * @param xid transaction id of the reply, same as xid of the request
+     * @param type multipart type of the reply
+     * @param columns decoded entries of the reply, valid only until this method returns
+     * @param replyMore true if OFPMPF_REPLY_MORE is set, i.e. more reply parts will follow
+     */
+    void onColumns(long xid, MultipartType type, StatisticsColumns columns, boolean replyMore);
+}
@@ -53,6 +53,14 @@ public interface ConnectionAdapter extends OpenflowProtocolService {
      */
     void setAlienMessageListener(AlienMessageListener alienMessageListener);
 
+    /**
+     * Switches message delivery into batch mode. Messages decoded during one read cycle are collected
+     * and pushed to the batch listener instead of the message listener. Setting null restores per-message delivery.
+     * @param batchListener here will be pushed all messages from switch, batched per read cycle
+     */
+    @Beta
+    void setMessageBatchListener(MessageBatchListener batchListener);
+
     /**
      * Throws exception if any of required listeners is missing
      */
@@ -94,10 +102,29 @@ public interface ConnectionAdapter extends OpenflowProtocolService {
     <T extends OutboundQueueHandler> OutboundQueueHandlerRegistration<T> registerOutboundQueueHandler(T handler,
         int maxQueueDepth, long maxBarrierNanos);
 
+    /**
+     * Registers a new bypass outbound queue, which schedules barriers according to given policy
+     * @param <T> handler type
+     * @param handler queue handler
+     * @param barrierPolicy policy deciding when barrier messages are sent, not shared with other connections
+     * @return An {@link OutboundQueueHandlerRegistration}
+     */
+    @Beta
+    <T extends OutboundQueueHandler> OutboundQueueHandlerRegistration<T> registerOutboundQueueHandler(T handler,
+        BarrierPolicy barrierPolicy);
+
     /**
      * Set filtering of PacketIn messages. By default these messages are not filtered.
      * @param enabled True if PacketIn messages should be filtered, false if they should be reported.
      */
     @Beta
     void setPacketInFiltering(boolean enabled);
+
+    /**
+     * Streams body entries of OF1.3 multipart replies to the consumer instead of collecting them
+     * in the delivered replies. By default no entries are streamed.
+     * @param consumer consumer of body entries, null to stop streaming
+     */
+    @Beta
+    void setMultipartReplyEntryConsumer(MultipartReplyEntryConsumer consumer);
 }
@@ -55,4 +55,45 @@ public interface ConnectionConfiguration {
      * @return boolean value for usability of Barrier
      */
     boolean useBarrier();
+
+    /**
+     * @return true if incoming messages should be decoded by a single fused pipeline handler
+     */
+    boolean useFusedDecoder();
+
+    /**
+     * @return size of buffers (in bytes) into which outbound queue messages are coalesced before
+     *         being written to the channel, 0 if each message should be written separately
+     */
+    int getOutboundCoalescingBytes();
+
+    /**
+     * @return number of entries in each outbound queue segment, a power of two, 0 for the default size
+     */
+    int getOutboundQueueSegmentSize();
+
+    /**
+     * @return maximum number of outbound queue segments pooled per event loop, 0 disables pooling
+     */
+    int getOutboundQueueSegmentPoolSize();
+
+    /**
+     * @return time to wait for switch response to a request (in milliseconds)
+     */
+    long getRpcResponseTimeout();
+
+    /**
+     * @return true if OF1.3 packet-in messages should be delivered as {@link LazyPacketInMessage}
+     */
+    boolean useLazyPacketIn();
+
+    /**
+     * @return limits of admitted PacketIn messages, null if PacketIns are not rate limited
+     */
+    PacketInRateLimitConfiguration getPacketInRateLimitConfiguration();
+
+    /**
+     * @return socket and event loop tuning, null if defaults should be used
+     */
+    SocketConfiguration getSocketConfiguration();
 }
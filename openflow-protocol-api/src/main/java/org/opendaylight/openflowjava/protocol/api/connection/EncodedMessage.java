@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.api.connection;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.Preconditions;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.util.ReferenceCounted;
+import javax.annotation.Nullable;
+import org.opendaylight.openflowjava.protocol.api.util.EncodeConstants;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.OfHeader;
+import org.opendaylight.yangtools.yang.binding.DataContainer;
+
+/**
+ * Message serialized once, which can be committed to outbound queues of many switches by
+ * {@link OutboundQueue#commitEncodedEntry(Long, EncodedMessage, com.google.common.util.concurrent.FutureCallback)}.
+ * Every queue sends the same body, only the XID in the header is replaced by the XID reserved in that queue.
+ * The message is reference counted: it is created with one reference owned by the creator, each commit
+ * retains its own reference, so the creator releases its reference once it has committed the message
+ * everywhere. The buffer must not be modified after the message is created.
+ *
+ * Messages received in wire format, e.g. by proxies, can be wrapped together with their binding type
+ * without ever being deserialized, see {@link #EncodedMessage(Class, ByteBuf)}.
+ */
+@Beta
+public final class EncodedMessage implements ReferenceCounted {
+
+    private static final int XID_INDEX = 4;
+
+    private final OfHeader message;
+    private final Class<? extends DataContainer> messageType;
+    private final ByteBuf buffer;
+
+    /**
+     * @param message message the buffer was serialized from, used for barrier and completion accounting
+     * @param buffer serialized message, ownership of the buffer is transferred to this object
+     */
+    public EncodedMessage(final OfHeader message, final ByteBuf buffer) {
+        this(message, message.getImplementedInterface(), buffer);
+    }
+
+    /**
+     * @param messageType binding interface of the serialized message, e.g. {@code BarrierInput.class},
+     *        used for barrier and completion accounting
+     * @param buffer message in wire format, ownership of the buffer is transferred to this object
+     */
+    public EncodedMessage(final Class<? extends OfHeader> messageType, final ByteBuf buffer) {
+        this(null, Preconditions.checkNotNull(messageType), buffer);
+    }
+
+    private EncodedMessage(final OfHeader message, final Class<? extends DataContainer> messageType,
+            final ByteBuf buffer) {
+        Preconditions.checkArgument(buffer.readableBytes() >= EncodeConstants.OFHEADER_SIZE,
+                "Encoded message is shorter than OpenFlow header");
+        this.message = message;
+        this.messageType = messageType;
+        this.buffer = buffer;
+    }
+
+    /**
+     * @return message the buffer was serialized from, its XID is not meaningful; null if the message
+     *         was created from wire format
+     */
+    @Nullable
+    public OfHeader getMessage() {
+        return message;
+    }
+
+    /**
+     * @return binding interface of the serialized message
+     */
+    public Class<? extends DataContainer> getMessageType() {
+        return messageType;
+    }
+
+    /**
+     * @return serialized message, must not be modified
+     */
+    public ByteBuf content() {
+        return buffer;
+    }
+
+    /**
+     * @return OpenFlow version of serialized message
+     */
+    public short getVersion() {
+        return buffer.getUnsignedByte(buffer.readerIndex());
+    }
+
+    /**
+     * @return OpenFlow type of serialized message
+     */
+    public short getType() {
+        return buffer.getUnsignedByte(buffer.readerIndex() + EncodeConstants.SIZE_OF_BYTE_IN_BYTES);
+    }
+
+    /**
+     * Creates buffer carrying this message with given XID. Header is copied into a new buffer, body is shared.
+     * One reference of this message is transferred to the returned buffer.
+     * @param allocator allocator of the header buffer
+     * @param xid XID to be written into the header
+     * @return buffer to be written to the channel
+     */
+    public ByteBuf withXid(final ByteBufAllocator allocator, final long xid) {
+        final int start = buffer.readerIndex();
+        final ByteBuf header = allocator.ioBuffer(EncodeConstants.OFHEADER_SIZE);
+        header.writeBytes(buffer, start, EncodeConstants.OFHEADER_SIZE);
+        header.setInt(XID_INDEX, (int) xid);
+
+        final int bodyLength = buffer.readableBytes() - EncodeConstants.OFHEADER_SIZE;
+        if (bodyLength == 0) {
+            buffer.release();
+            return header;
+        }
+        final CompositeByteBuf composite = allocator.compositeBuffer(2);
+        composite.addComponents(true, header, buffer.slice(start + EncodeConstants.OFHEADER_SIZE, bodyLength));
+        return composite;
+    }
+
+    @Override
+    public int refCnt() {
+        return buffer.refCnt();
+    }
+
+    @Override
+    public EncodedMessage retain() {
+        buffer.retain();
+        return this;
+    }
+
+    @Override
+    public EncodedMessage retain(final int increment) {
+        buffer.retain(increment);
+        return this;
+    }
+
+    @Override
+    public EncodedMessage touch() {
+        buffer.touch();
+        return this;
+    }
+
+    @Override
+    public EncodedMessage touch(final Object hint) {
+        buffer.touch(hint);
+        return this;
+    }
+
+    @Override
+    public boolean release() {
+        return buffer.release();
+    }
+
+    @Override
+    public boolean release(final int decrement) {
+        return buffer.release(decrement);
+    }
+
+    @Override
+    public String toString() {
+        final String type = messageType == null ? null : messageType.getSimpleName();
+        return "EncodedMessage [message=" + type + ", length=" + buffer.readableBytes() + ", refCnt="
+                + buffer.refCnt() + "]";
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.api.connection;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.Preconditions;
+
+/**
+ * {@link BarrierPolicy} with constant thresholds, ignoring measured round-trip times.
+ */
+@Beta
+public final class FixedBarrierPolicy implements BarrierPolicy {
+
+    private final int messageThreshold;
+    private final long intervalNanos;
+
+    /**
+     * @param messageThreshold number of non-barrier messages after which a barrier is sent
+     * @param intervalNanos maximum time in nanoseconds between barriers
+     */
+    public FixedBarrierPolicy(final int messageThreshold, final long intervalNanos) {
+        Preconditions.checkArgument(messageThreshold > 0, "Message threshold must be positive");
+        Preconditions.checkArgument(intervalNanos > 0, "Barrier interval must be positive");
+        this.messageThreshold = messageThreshold;
+        this.intervalNanos = intervalNanos;
+    }
+
+    @Override
+    public int getMessageThreshold() {
+        return messageThreshold;
+    }
+
+    @Override
+    public long getIntervalNanos() {
+        return intervalNanos;
+    }
+
+    @Override
+    public void onBarrierCompleted(final long rttNanos, final int outstandingMessages) {
+        // Thresholds are fixed
+    }
+
+    @Override
+    public String toString() {
+        return "FixedBarrierPolicy [messageThreshold=" + messageThreshold + ", intervalNanos=" + intervalNanos + "]";
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.api.connection;
+
+import com.google.common.annotations.Beta;
+import io.netty.buffer.ByteBuf;
+import java.util.Arrays;
+
+/**
+ * Columnar flow statistics. Matches are not decoded, each entry refers to its encoded match in
+ * {@link #getMatchBuffer()} by offset and length. Flags are always 0 for OpenFlow 1.0 entries.
+ */
+@Beta
+public final class FlowStatsColumns extends StatisticsColumns {
+
+    private short[] tableIds;
+    private int[] durationSec;
+    private int[] durationNsec;
+    private int[] priorities;
+    private int[] idleTimeouts;
+    private int[] hardTimeouts;
+    private int[] flags;
+    private long[] cookies;
+    private long[] packetCounts;
+    private long[] byteCounts;
+    private int[] matchOffsets;
+    private int[] matchLengths;
+    private ByteBuf matchBuffer;
+
+    /**
+     * Creates columns with default capacity
+     */
+    public FlowStatsColumns() {
+        super();
+        resize(getCapacity());
+    }
+
+    /**
+     * @param initialCapacity initial number of entries
+     */
+    public FlowStatsColumns(final int initialCapacity) {
+        super(initialCapacity);
+        resize(getCapacity());
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        matchBuffer = null;
+    }
+
+    @Override
+    protected void resize(final int newCapacity) {
+        tableIds = tableIds == null ? new short[newCapacity] : Arrays.copyOf(tableIds, newCapacity);
+        durationSec = copyOf(durationSec, newCapacity);
+        durationNsec = copyOf(durationNsec, newCapacity);
+        priorities = copyOf(priorities, newCapacity);
+        idleTimeouts = copyOf(idleTimeouts, newCapacity);
+        hardTimeouts = copyOf(hardTimeouts, newCapacity);
+        flags = copyOf(flags, newCapacity);
+        cookies = copyOf(cookies, newCapacity);
+        packetCounts = copyOf(packetCounts, newCapacity);
+        byteCounts = copyOf(byteCounts, newCapacity);
+        matchOffsets = copyOf(matchOffsets, newCapacity);
+        matchLengths = copyOf(matchLengths, newCapacity);
+    }
+
+    static int[] copyOf(final int[] array, final int newCapacity) {
+        return array == null ? new int[newCapacity] : Arrays.copyOf(array, newCapacity);
+    }
+
+    static long[] copyOf(final long[] array, final int newCapacity) {
+        return array == null ? new long[newCapacity] : Arrays.copyOf(array, newCapacity);
+    }
+
+    /**
+     * @return table ids
+     */
+    public short[] getTableIds() {
+        return tableIds;
+    }
+
+    /**
+     * @return seconds part of flow durations, unsigned
+     */
+    public int[] getDurationSec() {
+        return durationSec;
+    }
+
+    /**
+     * @return nanoseconds part of flow durations, unsigned
+     */
+    public int[] getDurationNsec() {
+        return durationNsec;
+    }
+
+    /**
+     * @return flow priorities
+     */
+    public int[] getPriorities() {
+        return priorities;
+    }
+
+    /**
+     * @return idle timeouts
+     */
+    public int[] getIdleTimeouts() {
+        return idleTimeouts;
+    }
+
+    /**
+     * @return hard timeouts
+     */
+    public int[] getHardTimeouts() {
+        return hardTimeouts;
+    }
+
+    /**
+     * @return flow mod flags bitmaps
+     */
+    public int[] getFlags() {
+        return flags;
+    }
+
+    /**
+     * @return cookies, unsigned
+     */
+    public long[] getCookies() {
+        return cookies;
+    }
+
+    /**
+     * @return packet counts, unsigned
+     */
+    public long[] getPacketCounts() {
+        return packetCounts;
+    }
+
+    /**
+     * @return byte counts, unsigned
+     */
+    public long[] getByteCounts() {
+        return byteCounts;
+    }
+
+    /**
+     * @return offsets of encoded matches in match buffer
+     */
+    public int[] getMatchOffsets() {
+        return matchOffsets;
+    }
+
+    /**
+     * @return lengths of encoded matches (OpenFlow 1.3 matches without padding)
+     */
+    public int[] getMatchLengths() {
+        return matchLengths;
+    }
+
+    /**
+     * Buffer holding encoded matches. It is owned by the decoder and valid only while
+     * {@link ColumnarStatisticsConsumer} processes the columns, consumers which need matches later have to
+     * copy them.
+     * @return buffer holding encoded matches, null if no entries were decoded
+     */
+    public ByteBuf getMatchBuffer() {
+        return matchBuffer;
+    }
+
+    /**
+     * @param matchBuffer buffer holding encoded matches
+     */
+    public void setMatchBuffer(final ByteBuf matchBuffer) {
+        this.matchBuffer = matchBuffer;
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.api.connection;
+
+import com.google.common.annotations.Beta;
+import io.netty.buffer.ByteBuf;
+import io.netty.util.ReferenceCounted;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.PacketInMessage;
+
+/**
+ * PacketIn which keeps a retained slice of the received buffer instead of copying match and packet data.
+ * Match and data are decoded on demand, the message has to be released by the listener once it is done
+ * with it (or once it has been materialized by {@link #toPacketInMessage()}). Accessing match or data
+ * after the message has been released fails.
+ */
+@Beta
+public interface LazyPacketInMessage extends PacketInMessage, ReferenceCounted {
+
+    /**
+     * Scans match for OXM in_port without decoding whole match
+     * @return in_port carried in match, -1 if match does not contain it
+     */
+    long getMatchInPort();
+
+    /**
+     * @return read-only view of packet data, valid until the message is released
+     */
+    ByteBuf getPayload();
+
+    /**
+     * @param maxLength maximal number of bytes to copy
+     * @return copy of leading bytes of packet data
+     */
+    byte[] getPayload(int maxLength);
+
+    /**
+     * Decodes all fields into the regular binding object, which does not depend on the received buffer.
+     * Does not release this message.
+     * @return regular PacketIn message
+     */
+    PacketInMessage toPacketInMessage();
+}
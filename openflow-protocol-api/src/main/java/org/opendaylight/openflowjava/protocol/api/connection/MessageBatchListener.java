@@ -0,0 +1,27 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.api.connection;
+
+import com.google.common.annotations.Beta;
+import java.util.List;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.OfHeader;
+
+/**
+ * Batch-aware alternative to {@code OpenflowProtocolListener}.
+ * Receives all messages decoded during one channel read cycle at once.
+ */
+@Beta
+public interface MessageBatchListener {
+
+    /**
+     * Invoked once per read cycle with messages which would otherwise be pushed to {@code OpenflowProtocolListener}.
+     * @param messages non-empty list of messages, in order of arrival; ownership is passed to the listener
+     */
+    void onMessageBatch(List<OfHeader> messages);
+}
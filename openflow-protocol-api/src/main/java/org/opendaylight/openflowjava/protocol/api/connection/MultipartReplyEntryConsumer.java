@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.api.connection;
+
+import com.google.common.annotations.Beta;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.common.types.rev130731.MultipartType;
+import org.opendaylight.yangtools.yang.binding.DataObject;
+
+/**
+ * Receives body entries of OF1.3 multipart replies (e.g. flow stats, port stats, group or meter stats,
+ * table features) one by one as they are decoded. Entries of streamed replies are not collected in the reply
+ * body, the reply itself is still delivered to the message listener - with empty body - after all its
+ * entries have been passed to the consumer. Callbacks are invoked from the connection's I/O thread and must
+ * not block.
+ */
+@Beta
+public interface MultipartReplyEntryConsumer {
+
+    /**
+     * @param type multipart type of received reply
+     * @return true if entries of replies of given type should be passed to this consumer
+     */
+    boolean isStreamed(MultipartType type);
+
+    /**
+     * @param xid transaction id of the reply, same as xid of the request
+     * @param type multipart type of the reply
+     * @param entry decoded body entry
+     * @param replyMore true if OFPMPF_REPLY_MORE is set, i.e. more reply parts will follow
+     */
+    void onEntry(long xid, MultipartType type, DataObject entry, boolean replyMore);
+}
@@ -9,6 +9,7 @@ package org.opendaylight.openflowjava.protocol.api.connection;
 
 import com.google.common.annotations.Beta;
 import com.google.common.util.concurrent.FutureCallback;
+import io.netty.buffer.ByteBuf;
 import java.util.function.Function;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -79,4 +80,48 @@ public interface OutboundQueue {
             @Nullable OfHeader message,
             @Nullable FutureCallback<OfHeader> callback,
             @Nullable Function<OfHeader, Boolean> isComplete);
+
+    /**
+     * Commit the specified offset using a message which has already been serialized. The message is sent
+     * with the reserved XID, without being serialized again, so the same {@link EncodedMessage} can be committed
+     * to queues of many switches. Completion is reported to the callback the same way as in
+     * {@link #commitEntry(Long, OfHeader, FutureCallback)}.
+     *
+     * The queue retains its own reference of the message and releases it once the message is written out
+     * or the entry is failed, the caller keeps ownership of its reference.
+     *
+     * @param xid Previously-reserved XID
+     * @param message Serialized message, its OpenFlow version has to match the version negotiated with the device
+     * @param callback Callback to be invoked, or null if no callback should be invoked.
+     * @throws IllegalArgumentException if the slot is already committed or was never reserved.
+     */
+    void commitEncodedEntry(
+            @Nonnull Long xid,
+            @Nonnull EncodedMessage message,
+            @Nullable FutureCallback<OfHeader> callback);
+
+    /**
+     * Commit the specified offset using a message in wire format, e.g. received from another device.
+     * The message is not deserialized nor serialized, only its XID is replaced by the reserved one.
+     * Message type determines how the message takes part in barrier scheduling and completion,
+     * responses are paired with the message by XID as for {@link #commitEntry(Long, OfHeader, FutureCallback)}.
+     *
+     * Ownership of one reference of the buffer is transferred to the queue, even if this method throws.
+     * The queue releases it once the message is written out or the entry is failed, caller has to retain
+     * the buffer beforehand if it needs to access it afterwards. The buffer must not be modified until
+     * it is released by the queue.
+     *
+     * @param xid Previously-reserved XID
+     * @param message Message in wire format, including OpenFlow header, its OpenFlow version has to match
+     *                the version negotiated with the device
+     * @param messageType Binding interface of the message, e.g. {@code FlowModInput.class}
+     * @param callback Callback to be invoked, or null if no callback should be invoked.
+     * @throws IllegalArgumentException if the slot is already committed or was never reserved, or if
+     *                                  the message is shorter than OpenFlow header.
+     */
+    void commitRawEntry(
+            @Nonnull Long xid,
+            @Nonnull ByteBuf message,
+            @Nonnull Class<? extends OfHeader> messageType,
+            @Nullable FutureCallback<OfHeader> callback);
 }
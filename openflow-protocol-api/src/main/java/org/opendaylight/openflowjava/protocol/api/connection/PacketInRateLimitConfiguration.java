@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.api.connection;
+
+/**
+ * Limits of PacketIn messages admitted for deserialization. PacketIns exceeding any of the limits are
+ * dropped before they are deserialized. All rates are in PacketIns per second, 0 disables the limit.
+ */
+public interface PacketInRateLimitConfiguration {
+
+    /**
+     * @return rate of PacketIns admitted from a single switch
+     */
+    long getSwitchRate();
+
+    /**
+     * @return number of PacketIns a switch may send in a burst above its rate, 0 allows one second
+     *         worth of PacketIns
+     */
+    long getSwitchBurst();
+
+    /**
+     * @return rate of PacketIns admitted from a single flow table of a switch (OF1.3 only)
+     */
+    long getTableRate();
+
+    /**
+     * @return rate of PacketIns with the same reason admitted from a single switch
+     */
+    long getReasonRate();
+
+    /**
+     * @return rate of PacketIns admitted from all switches together, split evenly among connected switches
+     */
+    long getGlobalRate();
+}
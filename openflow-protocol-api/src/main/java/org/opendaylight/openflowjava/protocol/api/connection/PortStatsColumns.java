@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.api.connection;
+
+import com.google.common.annotations.Beta;
+
+/**
+ * Columnar port statistics. Durations are always 0 for OpenFlow 1.0 entries.
+ */
+@Beta
+public final class PortStatsColumns extends StatisticsColumns {
+
+    private int[] portNos;
+    private long[] rxPackets;
+    private long[] txPackets;
+    private long[] rxBytes;
+    private long[] txBytes;
+    private long[] rxDropped;
+    private long[] txDropped;
+    private long[] rxErrors;
+    private long[] txErrors;
+    private long[] rxFrameErr;
+    private long[] rxOverErr;
+    private long[] rxCrcErr;
+    private long[] collisions;
+    private int[] durationSec;
+    private int[] durationNsec;
+
+    /**
+     * Creates columns with default capacity
+     */
+    public PortStatsColumns() {
+        super();
+        resize(getCapacity());
+    }
+
+    /**
+     * @param initialCapacity initial number of entries
+     */
+    public PortStatsColumns(final int initialCapacity) {
+        super(initialCapacity);
+        resize(getCapacity());
+    }
+
+    @Override
+    protected void resize(final int newCapacity) {
+        portNos = FlowStatsColumns.copyOf(portNos, newCapacity);
+        rxPackets = FlowStatsColumns.copyOf(rxPackets, newCapacity);
+        txPackets = FlowStatsColumns.copyOf(txPackets, newCapacity);
+        rxBytes = FlowStatsColumns.copyOf(rxBytes, newCapacity);
+        txBytes = FlowStatsColumns.copyOf(txBytes, newCapacity);
+        rxDropped = FlowStatsColumns.copyOf(rxDropped, newCapacity);
+        txDropped = FlowStatsColumns.copyOf(txDropped, newCapacity);
+        rxErrors = FlowStatsColumns.copyOf(rxErrors, newCapacity);
+        txErrors = FlowStatsColumns.copyOf(txErrors, newCapacity);
+        rxFrameErr = FlowStatsColumns.copyOf(rxFrameErr, newCapacity);
+        rxOverErr = FlowStatsColumns.copyOf(rxOverErr, newCapacity);
+        rxCrcErr = FlowStatsColumns.copyOf(rxCrcErr, newCapacity);
+        collisions = FlowStatsColumns.copyOf(collisions, newCapacity);
+        durationSec = FlowStatsColumns.copyOf(durationSec, newCapacity);
+        durationNsec = FlowStatsColumns.copyOf(durationNsec, newCapacity);
+    }
+
+    /**
+     * @return port numbers, unsigned
+     */
+    public int[] getPortNos() {
+        return portNos;
+    }
+
+    /**
+     * @return received packets, unsigned
+     */
+    public long[] getRxPackets() {
+        return rxPackets;
+    }
+
+    /**
+     * @return transmitted packets, unsigned
+     */
+    public long[] getTxPackets() {
+        return txPackets;
+    }
+
+    /**
+     * @return received bytes, unsigned
+     */
+    public long[] getRxBytes() {
+        return rxBytes;
+    }
+
+    /**
+     * @return transmitted bytes, unsigned
+     */
+    public long[] getTxBytes() {
+        return txBytes;
+    }
+
+    /**
+     * @return packets dropped by RX, unsigned
+     */
+    public long[] getRxDropped() {
+        return rxDropped;
+    }
+
+    /**
+     * @return packets dropped by TX, unsigned
+     */
+    public long[] getTxDropped() {
+        return txDropped;
+    }
+
+    /**
+     * @return receive errors, unsigned
+     */
+    public long[] getRxErrors() {
+        return rxErrors;
+    }
+
+    /**
+     * @return transmit errors, unsigned
+     */
+    public long[] getTxErrors() {
+        return txErrors;
+    }
+
+    /**
+     * @return frame alignment errors, unsigned
+     */
+    public long[] getRxFrameErr() {
+        return rxFrameErr;
+    }
+
+    /**
+     * @return packets with RX overrun, unsigned
+     */
+    public long[] getRxOverErr() {
+        return rxOverErr;
+    }
+
+    /**
+     * @return CRC errors, unsigned
+     */
+    public long[] getRxCrcErr() {
+        return rxCrcErr;
+    }
+
+    /**
+     * @return collisions, unsigned
+     */
+    public long[] getCollisions() {
+        return collisions;
+    }
+
+    /**
+     * @return seconds part of port alive durations, unsigned
+     */
+    public int[] getDurationSec() {
+        return durationSec;
+    }
+
+    /**
+     * @return nanoseconds part of port alive durations, unsigned
+     */
+    public int[] getDurationNsec() {
+        return durationNsec;
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.api.connection;
+
+import com.google.common.annotations.Beta;
+
+/**
+ * Columnar queue statistics. Durations are always 0 for OpenFlow 1.0 entries.
+ */
+@Beta
+public final class QueueStatsColumns extends StatisticsColumns {
+
+    private int[] portNos;
+    private int[] queueIds;
+    private long[] txBytes;
+    private long[] txPackets;
+    private long[] txErrors;
+    private int[] durationSec;
+    private int[] durationNsec;
+
+    /**
+     * Creates columns with default capacity
+     */
+    public QueueStatsColumns() {
+        super();
+        resize(getCapacity());
+    }
+
+    /**
+     * @param initialCapacity initial number of entries
+     */
+    public QueueStatsColumns(final int initialCapacity) {
+        super(initialCapacity);
+        resize(getCapacity());
+    }
+
+    @Override
+    protected void resize(final int newCapacity) {
+        portNos = FlowStatsColumns.copyOf(portNos, newCapacity);
+        queueIds = FlowStatsColumns.copyOf(queueIds, newCapacity);
+        txBytes = FlowStatsColumns.copyOf(txBytes, newCapacity);
+        txPackets = FlowStatsColumns.copyOf(txPackets, newCapacity);
+        txErrors = FlowStatsColumns.copyOf(txErrors, newCapacity);
+        durationSec = FlowStatsColumns.copyOf(durationSec, newCapacity);
+        durationNsec = FlowStatsColumns.copyOf(durationNsec, newCapacity);
+    }
+
+    /**
+     * @return port numbers, unsigned
+     */
+    public int[] getPortNos() {
+        return portNos;
+    }
+
+    /**
+     * @return queue ids, unsigned
+     */
+    public int[] getQueueIds() {
+        return queueIds;
+    }
+
+    /**
+     * @return transmitted bytes, unsigned
+     */
+    public long[] getTxBytes() {
+        return txBytes;
+    }
+
+    /**
+     * @return transmitted packets, unsigned
+     */
+    public long[] getTxPackets() {
+        return txPackets;
+    }
+
+    /**
+     * @return packets dropped due to overrun, unsigned
+     */
+    public long[] getTxErrors() {
+        return txErrors;
+    }
+
+    /**
+     * @return seconds part of queue alive durations, unsigned
+     */
+    public int[] getDurationSec() {
+        return durationSec;
+    }
+
+    /**
+     * @return nanoseconds part of queue alive durations, unsigned
+     */
+    public int[] getDurationNsec() {
+        return durationNsec;
+    }
+}
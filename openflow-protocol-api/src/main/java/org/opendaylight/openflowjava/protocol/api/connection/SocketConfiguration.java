@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.api.connection;
+
+import com.google.common.annotations.Beta;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.config.rev140630.ReceiveBufferAllocator;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.config.rev140630.SocketTransport;
+
+/**
+ * Socket and event loop tuning of switch connections. Transport and backlog are used when listeners
+ * are started, all other options can also be applied to connected switches.
+ */
+@Beta
+public interface SocketConfiguration {
+
+    /**
+     * @return native transport used by listeners and connections
+     */
+    SocketTransport getTransport();
+
+    /**
+     * @return maximal number of pending incoming connections
+     */
+    int getBacklog();
+
+    /**
+     * @return number of listeners sharing the port with SO_REUSEPORT, each accepting connections (TCP)
+     *         or reading datagrams (UDP) in its own event loop; requires Epoll transport, otherwise
+     *         a single listener is bound
+     */
+    int getListenerShards();
+
+    /**
+     * @return SO_RCVBUF (in bytes), 0 keeps the operating system default
+     */
+    int getReceiveBufferSize();
+
+    /**
+     * @return SO_SNDBUF (in bytes), 0 keeps the operating system default
+     */
+    int getSendBufferSize();
+
+    /**
+     * @return amount of pending outbound data (in bytes) above which channel becomes unwritable
+     */
+    int getWriteBufferHighWaterMark();
+
+    /**
+     * @return amount of pending outbound data (in bytes) below which channel becomes writable again
+     */
+    int getWriteBufferLowWaterMark();
+
+    /**
+     * @return number of attempts to finish a non-blocking write before waiting for the socket
+     */
+    int getWriteSpinCount();
+
+    /**
+     * @return percentage of event loop time spent on I/O rather than on tasks
+     */
+    int getIoRatio();
+
+    /**
+     * @return maximal number of reads from a socket in one event loop pass
+     */
+    int getMaxMessagesPerRead();
+
+    /**
+     * @return sizing policy of receive buffers
+     */
+    ReceiveBufferAllocator getReceiveBufferAllocator();
+
+    /**
+     * @return smallest adaptive receive buffer (in bytes)
+     */
+    int getReceiveBufferMinimum();
+
+    /**
+     * @return initial adaptive receive buffer size, or size of fixed receive buffers (in bytes)
+     */
+    int getReceiveBufferInitial();
+
+    /**
+     * @return largest adaptive receive buffer (in bytes)
+     */
+    int getReceiveBufferMaximum();
+
+    /**
+     * @return maximal number of switches tracked by an UDP listener, 0 for unlimited
+     */
+    int getUdpMaxPeers();
+
+    /**
+     * @return time (in milliseconds) after which silent UDP switches are disconnected, 0 to keep them
+     */
+    long getUdpPeerIdleTimeout();
+}
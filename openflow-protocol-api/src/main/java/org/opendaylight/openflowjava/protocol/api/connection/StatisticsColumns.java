@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.api.connection;
+
+import com.google.common.annotations.Beta;
+
+/**
+ * Reusable columnar storage of statistics entries. Entry {@code i} is spread over {@code i}-th elements of
+ * the column arrays, only first {@link #getSize()} elements are valid. Column arrays are replaced when
+ * the storage grows, so they have to be fetched again after entries are appended. Unsigned 32-bit values
+ * are stored in {@code int} and unsigned 64-bit counters in {@code long} columns with the same bits as on
+ * the wire, use {@link Integer#toUnsignedLong(int)} or {@link Long#toUnsignedString(long)} to interpret
+ * them. Instances are not thread-safe.
+ */
+@Beta
+public abstract class StatisticsColumns {
+
+    private static final int DEFAULT_CAPACITY = 64;
+
+    private int size;
+    private int capacity;
+
+    protected StatisticsColumns() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    protected StatisticsColumns(final int initialCapacity) {
+        capacity = Math.max(initialCapacity, 1);
+    }
+
+    /**
+     * @return number of valid entries
+     */
+    public final int getSize() {
+        return size;
+    }
+
+    /**
+     * @return number of entries which fit into current column arrays
+     */
+    public final int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Drops all entries, column arrays are kept for reuse
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Appends one entry, growing column arrays if needed. Caller fills the entry at returned index.
+     * @return index of appended entry
+     */
+    public final int append() {
+        if (size == capacity) {
+            capacity = capacity * 2;
+            resize(capacity);
+        }
+        return size++;
+    }
+
+    /**
+     * Copies all column arrays into arrays of given length
+     * @param newCapacity new length of column arrays
+     */
+    protected abstract void resize(int newCapacity);
+}
@@ -23,4 +23,19 @@ public interface ThreadConfiguration {
      * @return desired number of bossThreads registering incomming Openflow connections
      */
     int getBossThreadCount();
+
+    /**
+     * @return maximal number of concurrently running connection ready notifications
+     */
+    int getHandshakeThreadCount();
+
+    /**
+     * @return maximal number of connection ready notifications waiting for execution
+     */
+    int getHandshakeQueueSize();
+
+    /**
+     * @return true if connection ready notifications should run in virtual threads
+     */
+    boolean useVirtualThreads();
 }
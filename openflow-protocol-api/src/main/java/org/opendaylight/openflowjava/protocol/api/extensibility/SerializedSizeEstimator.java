@@ -0,0 +1,29 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.openflowjava.protocol.api.extensibility;
+
+import org.opendaylight.yangtools.yang.binding.DataContainer;
+
+/**
+ * Estimates serialized length of objects, so that output buffer of the right size can be allocated
+ * before serialization. Implemented by serializers (next to {@link OFSerializer}) which can compute
+ * the length cheaply.
+ * @param <T> input message type
+ */
+public interface SerializedSizeEstimator<T extends DataContainer> extends OFGeneralSerializer {
+
+    /** Returned when the serialized length cannot be estimated */
+    int UNKNOWN_SIZE = -1;
+
+    /**
+     * Estimates serialized length of object
+     * @param input object to be serialized
+     * @return serialized length in bytes, or {@link #UNKNOWN_SIZE} if it cannot be estimated
+     */
+    int estimateSerializedSize(T input);
+}
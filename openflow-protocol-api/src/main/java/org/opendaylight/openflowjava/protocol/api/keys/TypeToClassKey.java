@@ -26,6 +26,20 @@ public class TypeToClassKey {
         this.type = type;
     }
 
+    /**
+     * @return wire protocol version
+     */
+    public short getVersion() {
+        return version;
+    }
+
+    /**
+     * @return message type / code
+     */
+    public int getType() {
+        return type;
+    }
+
     @Override
     public int hashCode() {
         final int prime = 31;
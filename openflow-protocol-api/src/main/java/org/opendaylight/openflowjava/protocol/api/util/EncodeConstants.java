@@ -28,6 +28,10 @@ public abstract class EncodeConstants {
     public static final byte OF_HELLO_MESSAGE_TYPE_VALUE = 0;
     /** OpenFlow PacketIn message type value */
     public static final byte OF_PACKETIN_MESSAGE_TYPE_VALUE = 10;
+    /** OpenFlow v1.3 multipart reply message type value */
+    public static final byte OF_MULTIPART_REPLY_MESSAGE_TYPE_VALUE = 19;
+    /** OpenFlow v1.0 stats reply message type value */
+    public static final byte OF10_STATS_REPLY_MESSAGE_TYPE_VALUE = 17;
     /** Index of length in Openflow header */
     public static final int OFHEADER_LENGTH_INDEX = 2;
     /** Size of Openflow header */
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.api.connection;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link AdaptiveBarrierPolicy}
+ */
+public class AdaptiveBarrierPolicyTest {
+
+    private static final long MIN_INTERVAL = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long MAX_INTERVAL = TimeUnit.MILLISECONDS.toNanos(500);
+
+    private final AdaptiveBarrierPolicy policy = new AdaptiveBarrierPolicy(16, 25600, MIN_INTERVAL, MAX_INTERVAL);
+
+    /**
+     * Thresholds start at their upper bounds
+     */
+    @Test
+    public void testInitialThresholds() {
+        Assert.assertEquals("Wrong threshold", 25600, policy.getMessageThreshold());
+        Assert.assertEquals("Wrong interval", MAX_INTERVAL, policy.getIntervalNanos());
+        Assert.assertEquals("Wrong rtt", -1, policy.getSmoothedRttNanos());
+    }
+
+    /**
+     * Thresholds follow round-trip time and messages in flight
+     */
+    @Test
+    public void testAdaptation() {
+        final long rtt = TimeUnit.MILLISECONDS.toNanos(4);
+        policy.onBarrierCompleted(rtt, 4000);
+        Assert.assertEquals("Wrong interval", rtt, policy.getIntervalNanos());
+        Assert.assertEquals("Wrong threshold", 1000, policy.getMessageThreshold());
+
+        // Switch slows down, thresholds grow gradually
+        for (int i = 0; i < 100; i++) {
+            policy.onBarrierCompleted(rtt * 10, 40000);
+        }
+        Assert.assertEquals("Wrong interval", rtt * 10, policy.getIntervalNanos(), rtt / 10);
+        Assert.assertEquals("Wrong threshold", 10000, policy.getMessageThreshold(), 100);
+    }
+
+    /**
+     * Thresholds stay within bounds
+     */
+    @Test
+    public void testBounds() {
+        policy.onBarrierCompleted(10, 0);
+        Assert.assertEquals("Wrong threshold", 16, policy.getMessageThreshold());
+        Assert.assertEquals("Wrong interval", MIN_INTERVAL, policy.getIntervalNanos());
+
+        final AdaptiveBarrierPolicy slow = new AdaptiveBarrierPolicy(16, 25600, MIN_INTERVAL, MAX_INTERVAL);
+        slow.onBarrierCompleted(TimeUnit.SECONDS.toNanos(5), 1000000);
+        Assert.assertEquals("Wrong threshold", 25600, slow.getMessageThreshold());
+        Assert.assertEquals("Wrong interval", MAX_INTERVAL, slow.getIntervalNanos());
+    }
+
+    /**
+     * Inverted bounds are rejected
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidBounds() {
+        new AdaptiveBarrierPolicy(100, 10, MIN_INTERVAL, MAX_INTERVAL);
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.api.connection;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.OfHeader;
+
+/**
+ * Unit tests for {@link EncodedMessage}
+ */
+public class EncodedMessageTest {
+
+    private static final ByteBufAllocator ALLOCATOR = UnpooledByteBufAllocator.DEFAULT;
+
+    private final OfHeader header = Mockito.mock(OfHeader.class);
+
+    private static ByteBuf encode(final int bodyLength) {
+        final ByteBuf buffer = ALLOCATOR.buffer();
+        buffer.writeByte(4);
+        buffer.writeByte(14);
+        buffer.writeShort(8 + bodyLength);
+        buffer.writeInt(0);
+        for (int i = 0; i < bodyLength; i++) {
+            buffer.writeByte(i);
+        }
+        return buffer;
+    }
+
+    /**
+     * Every queue gets its own XID, body and original header stay untouched
+     */
+    @Test
+    public void testWithXid() {
+        final EncodedMessage message = new EncodedMessage(header, encode(16));
+        Assert.assertEquals("Wrong version", 4, message.getVersion());
+        Assert.assertEquals("Wrong type", 14, message.getType());
+
+        message.retain(2);
+        final ByteBuf first = message.withXid(ALLOCATOR, 42);
+        final ByteBuf second = message.withXid(ALLOCATOR, 0xFFFFFFFFL);
+
+        Assert.assertEquals("Wrong length", 24, first.readableBytes());
+        Assert.assertEquals("Wrong xid", 42, first.getUnsignedInt(4));
+        Assert.assertEquals("Wrong xid", 0xFFFFFFFFL, second.getUnsignedInt(4));
+        Assert.assertEquals("Wrong body", 15, first.getByte(23));
+        Assert.assertEquals("Wrong body", 15, second.getByte(23));
+        Assert.assertEquals("Original header modified", 0, message.content().getInt(4));
+
+        first.release();
+        second.release();
+        Assert.assertEquals("Wrong refCnt", 1, message.refCnt());
+        Assert.assertTrue("Not released", message.release());
+    }
+
+    /**
+     * Message consisting only of header does not share anything
+     */
+    @Test
+    public void testWithXidNoBody() {
+        final EncodedMessage message = new EncodedMessage(header, encode(0));
+        final ByteBuf buffer = message.withXid(ALLOCATOR, 7);
+        Assert.assertEquals("Wrong refCnt", 0, message.refCnt());
+        Assert.assertEquals("Wrong length", 8, buffer.readableBytes());
+        Assert.assertEquals("Wrong xid", 7, buffer.getInt(4));
+        buffer.release();
+    }
+
+    /**
+     * Message in wire format carries only its type
+     */
+    @Test
+    public void testRawMessage() {
+        final EncodedMessage message = new EncodedMessage(OfHeader.class, encode(4));
+        Assert.assertNull("Wrong message", message.getMessage());
+        Assert.assertEquals("Wrong message type", OfHeader.class, message.getMessageType());
+        Assert.assertEquals("Wrong type", 14, message.getType());
+        Assert.assertTrue("Not released", message.release());
+    }
+
+    /**
+     * Buffer shorter than OpenFlow header is rejected
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testShortBuffer() {
+        new EncodedMessage(header, ALLOCATOR.buffer().writeInt(0));
+    }
+}
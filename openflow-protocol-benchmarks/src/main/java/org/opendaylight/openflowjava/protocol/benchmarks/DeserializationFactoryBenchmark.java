@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.benchmarks;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.openflowjava.protocol.api.extensibility.OFDeserializer;
+import org.opendaylight.openflowjava.protocol.api.keys.MessageCodeKey;
+import org.opendaylight.openflowjava.protocol.api.keys.TypeToClassKey;
+import org.opendaylight.openflowjava.protocol.api.util.EncodeConstants;
+import org.opendaylight.openflowjava.protocol.impl.deserialization.DeserializationFactory;
+import org.opendaylight.openflowjava.protocol.impl.deserialization.DeserializerRegistryImpl;
+import org.opendaylight.openflowjava.protocol.impl.deserialization.TypeToClassMapInitializer;
+import org.opendaylight.yangtools.yang.binding.DataObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares message deserializer dispatch through {@link DeserializationFactory} dispatch table with the
+ * key based lookup (two key allocations, two hash lookups) it replaces.
+ * Run with {@code -prof gc} to compare allocation rates.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class DeserializationFactoryBenchmark {
+
+    /** OF 1.3 message types: echo request, echo reply, barrier reply */
+    @Param({"2", "3", "21"})
+    public int type;
+
+    private final Map<TypeToClassKey, Class<?>> messageClassMap = new ConcurrentHashMap<>();
+    private DeserializerRegistryImpl registry;
+    private DeserializationFactory factory;
+    private ByteBuf message;
+
+    /**
+     * Prepares registry, factory and message (type byte followed by header remainder)
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        registry = new DeserializerRegistryImpl();
+        registry.init();
+        factory = new DeserializationFactory();
+        factory.setRegistry(registry);
+        TypeToClassMapInitializer.initializeTypeToClassMap(messageClassMap);
+        TypeToClassMapInitializer.initializeAdditionalTypeToClassMap(messageClassMap);
+
+        message = Unpooled.buffer();
+        message.writeByte(type);
+        message.writeShort(EncodeConstants.OFHEADER_SIZE);
+        message.writeInt(1234);
+    }
+
+    /**
+     * @return message deserialized through dispatch table
+     */
+    @Benchmark
+    public DataObject dispatchTable() {
+        message.readerIndex(0);
+        return factory.deserialize(message, EncodeConstants.OF13_VERSION_ID);
+    }
+
+    /**
+     * @return message deserialized through key based lookup
+     */
+    @Benchmark
+    public DataObject keyLookup() {
+        message.readerIndex(0);
+        final int messageType = message.readUnsignedByte();
+        final Class<?> clazz = messageClassMap.get(new TypeToClassKey(EncodeConstants.OF13_VERSION_ID,
+                messageType));
+        message.skipBytes(EncodeConstants.SIZE_OF_SHORT_IN_BYTES);
+        final OFDeserializer<DataObject> deserializer = registry.getDeserializer(
+                new MessageCodeKey(EncodeConstants.OF13_VERSION_ID, messageType, clazz));
+        return deserializer.deserialize(message);
+    }
+
+    /**
+     * Runs the benchmark
+     * @param args unused
+     * @throws RunnerException if benchmark fails
+     */
+    public static void main(final String[] args) throws RunnerException {
+        final Options options = new OptionsBuilder()
+                .include(DeserializationFactoryBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build();
+        new Runner(options).run();
+    }
+}
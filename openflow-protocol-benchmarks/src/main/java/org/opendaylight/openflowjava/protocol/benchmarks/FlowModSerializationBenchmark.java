@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.benchmarks;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.openflowjava.protocol.api.util.EncodeConstants;
+import org.opendaylight.openflowjava.protocol.impl.deserialization.DeserializationFactory;
+import org.opendaylight.openflowjava.protocol.impl.serialization.SerializationFactory;
+import org.opendaylight.openflowjava.protocol.impl.serialization.SerializerRegistryImpl;
+import org.opendaylight.yangtools.yang.binding.DataObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures serialization of flow mods with realistic match and instruction lists, both into a reused buffer
+ * and into a buffer allocated per message from the serializer size estimate, as {@code OFEncoder} does.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class FlowModSerializationBenchmark {
+
+    private SerializationFactory factory;
+    private DataObject flowModV13;
+    private DataObject flowModV10;
+    private ByteBuf out;
+
+    /**
+     * Prepares serialization factory and flow mods decoded from their wire representation
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        final SerializerRegistryImpl registry = new SerializerRegistryImpl();
+        registry.init();
+        factory = new SerializationFactory();
+        factory.setSerializerTable(registry);
+
+        final DeserializationFactory deserializationFactory = MessageTemplates.createDeserializationFactory();
+        flowModV13 = MessageTemplates.decode(deserializationFactory, MessageTemplates.flowModV13());
+        flowModV10 = MessageTemplates.decode(deserializationFactory, MessageTemplates.flowModV10());
+        out = PooledByteBufAllocator.DEFAULT.directBuffer();
+    }
+
+    /**
+     * Releases output buffer
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        out.release();
+    }
+
+    /**
+     * @return buffer with serialized OF 1.3 flow mod
+     */
+    @Benchmark
+    public ByteBuf serializeV13() {
+        out.clear();
+        factory.messageToBuffer(EncodeConstants.OF13_VERSION_ID, out, flowModV13);
+        return out;
+    }
+
+    /**
+     * @return buffer with serialized OF 1.0 flow mod
+     */
+    @Benchmark
+    public ByteBuf serializeV10() {
+        out.clear();
+        factory.messageToBuffer(EncodeConstants.OF10_VERSION_ID, out, flowModV10);
+        return out;
+    }
+
+    /**
+     * @return size of OF 1.3 flow mod serialized into an estimate-sized buffer
+     */
+    @Benchmark
+    public int serializeEstimatedV13() {
+        final int estimate = factory.estimateSize(EncodeConstants.OF13_VERSION_ID, flowModV13);
+        final ByteBuf buffer = PooledByteBufAllocator.DEFAULT.directBuffer(estimate);
+        try {
+            factory.messageToBuffer(EncodeConstants.OF13_VERSION_ID, buffer, flowModV13);
+            return buffer.readableBytes();
+        } finally {
+            buffer.release();
+        }
+    }
+
+    /**
+     * Runs the benchmark
+     * @param args unused
+     * @throws RunnerException if benchmark fails
+     */
+    public static void main(final String[] args) throws RunnerException {
+        final Options options = new OptionsBuilder()
+                .include(FlowModSerializationBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,463 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.benchmarks;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.opendaylight.openflowjava.protocol.api.connection.MultipartReplyEntryConsumer;
+import org.opendaylight.openflowjava.protocol.api.util.EncodeConstants;
+import org.opendaylight.openflowjava.protocol.impl.deserialization.DeserializationFactory;
+import org.opendaylight.openflowjava.protocol.impl.deserialization.DeserializerRegistryImpl;
+import org.opendaylight.yangtools.yang.binding.DataObject;
+
+/**
+ * Builds wire representations of messages used by benchmarks. Every message starts with the version byte,
+ * use {@link #decode(DeserializationFactory, ByteBuf)} to run it through the deserialization path the
+ * same way {@code OFDecoder} does.
+ */
+final class MessageTemplates {
+
+    static final short OFPT_PACKET_IN = 10;
+    static final short OFPT_FLOW_MOD = 14;
+    static final short OF10_STATS_REPLY = 17;
+    static final short OF13_MULTIPART_REPLY = 19;
+
+    static final int OFPMP_FLOW = 1;
+    static final int OFPMP_PORT_STATS = 4;
+    static final int OFPMP_TABLE_FEATURES = 12;
+
+    private static final int OXM_CLASS_BASIC = 0x8000;
+    private static final int OXM_IN_PORT = 0;
+    private static final int OXM_ETH_TYPE = 5;
+    private static final int OXM_IP_PROTO = 10;
+    private static final int OXM_IPV4_SRC = 11;
+    private static final int OXM_IPV4_DST = 12;
+    private static final int OXM_TCP_DST = 14;
+    private static final int XID = 0x01020304;
+    private static final int TABLE_NAME_LENGTH = 32;
+
+    private MessageTemplates() {
+        throw new UnsupportedOperationException("Utility class shouldn't be instantiated");
+    }
+
+    /**
+     * @return initialized deserialization factory
+     */
+    static DeserializationFactory createDeserializationFactory() {
+        final DeserializerRegistryImpl registry = new DeserializerRegistryImpl();
+        registry.init();
+        final DeserializationFactory factory = new DeserializationFactory();
+        factory.setRegistry(registry);
+        return factory;
+    }
+
+    /**
+     * Deserializes message starting at buffer's reader index, leaves the buffer intact.
+     * @param factory deserialization factory
+     * @param message message starting with the version byte
+     * @return deserialized message
+     */
+    static DataObject decode(final DeserializationFactory factory, final ByteBuf message) {
+        final ByteBuf input = message.duplicate();
+        final short version = input.readUnsignedByte();
+        return factory.deserialize(input, version);
+    }
+
+    /**
+     * Deserializes multipart reply starting at buffer's reader index, leaves the buffer intact.
+     * @param factory deserialization factory
+     * @param message message starting with the version byte
+     * @param consumer consumer of multipart reply entries
+     * @return deserialized message
+     */
+    static DataObject decode(final DeserializationFactory factory, final ByteBuf message,
+            final MultipartReplyEntryConsumer consumer) {
+        final ByteBuf input = message.duplicate();
+        final short version = input.readUnsignedByte();
+        return factory.deserialize(input, version, consumer);
+    }
+
+    /**
+     * @return OF 1.3 flow mod with L3/L4 match and goto-table, write-metadata and apply-actions instructions
+     */
+    static ByteBuf flowModV13() {
+        final ByteBuf out = header(EncodeConstants.OF13_VERSION_ID, OFPT_FLOW_MOD);
+        out.writeLong(0x0102030405060708L);
+        out.writeLong(0xFFFFFFFFFFFFFFFFL);
+        out.writeByte(2);
+        out.writeByte(0);
+        out.writeShort(300);
+        out.writeShort(0);
+        out.writeShort(1000);
+        out.writeInt(0xFFFFFFFF);
+        out.writeInt(0xFFFFFFFF);
+        out.writeInt(0xFFFFFFFF);
+        out.writeShort(1);
+        out.writeZero(2);
+        writeFiveTupleMatch(out);
+        writeInstructions(out);
+        return finish(out);
+    }
+
+    /**
+     * @return OF 1.0 flow mod with exact match and output, set-nw-dst and set-tp-dst actions
+     */
+    static ByteBuf flowModV10() {
+        final ByteBuf out = header(EncodeConstants.OF10_VERSION_ID, OFPT_FLOW_MOD);
+        writeMatchV10(out);
+        out.writeLong(0x0102030405060708L);
+        out.writeShort(0);
+        out.writeShort(300);
+        out.writeShort(0);
+        out.writeShort(1000);
+        out.writeInt(0xFFFFFFFF);
+        out.writeShort(0xFFFF);
+        out.writeShort(1);
+        writeActionsV10(out);
+        return finish(out);
+    }
+
+    /**
+     * @param payloadSize size of the packet data
+     * @return OF 1.3 packet in with in-port match
+     */
+    static ByteBuf packetInV13(final int payloadSize) {
+        final ByteBuf out = header(EncodeConstants.OF13_VERSION_ID, OFPT_PACKET_IN);
+        out.writeInt(0xFFFFFFFF);
+        out.writeShort(payloadSize);
+        out.writeByte(0);
+        out.writeByte(0);
+        out.writeLong(0x0102030405060708L);
+        final int matchStart = startMatch(out);
+        writeOxm(out, OXM_IN_PORT, 4, false);
+        out.writeInt(7);
+        finishMatch(out, matchStart);
+        out.writeZero(2);
+        writePayload(out, payloadSize);
+        return finish(out);
+    }
+
+    /**
+     * @param payloadSize size of the packet data
+     * @return OF 1.0 packet in
+     */
+    static ByteBuf packetInV10(final int payloadSize) {
+        final ByteBuf out = header(EncodeConstants.OF10_VERSION_ID, OFPT_PACKET_IN);
+        out.writeInt(0xFFFFFFFF);
+        out.writeShort(payloadSize);
+        out.writeShort(7);
+        out.writeByte(0);
+        out.writeZero(1);
+        writePayload(out, payloadSize);
+        return finish(out);
+    }
+
+    /**
+     * @param entries number of flow stats entries
+     * @return OF 1.3 flow stats multipart reply
+     */
+    static ByteBuf flowStatsV13(final int entries) {
+        final ByteBuf out = multipartHeader(OFPMP_FLOW);
+        for (int i = 0; i < entries; i++) {
+            final int start = out.writerIndex();
+            out.writeShort(0);
+            out.writeByte(i % 255);
+            out.writeZero(1);
+            out.writeInt(3600 + i);
+            out.writeInt(500000);
+            out.writeShort(1000);
+            out.writeShort(300);
+            out.writeShort(0);
+            out.writeShort(1);
+            out.writeZero(4);
+            out.writeLong(i);
+            out.writeLong(1000000L + i);
+            out.writeLong(1500000000L + i);
+            writeFiveTupleMatch(out);
+            writeInstructions(out);
+            out.setShort(start, out.writerIndex() - start);
+        }
+        return finish(out);
+    }
+
+    /**
+     * @param entries number of port stats entries
+     * @return OF 1.3 port stats multipart reply
+     */
+    static ByteBuf portStatsV13(final int entries) {
+        final ByteBuf out = multipartHeader(OFPMP_PORT_STATS);
+        for (int i = 0; i < entries; i++) {
+            out.writeInt(i + 1);
+            out.writeZero(4);
+            writeCounters(out, i);
+            out.writeInt(3600);
+            out.writeInt(500000);
+        }
+        return finish(out);
+    }
+
+    /**
+     * @param entries number of table features entries
+     * @return OF 1.3 table features multipart reply
+     */
+    static ByteBuf tableFeaturesV13(final int entries) {
+        final ByteBuf out = multipartHeader(OFPMP_TABLE_FEATURES);
+        for (int i = 0; i < entries; i++) {
+            final int start = out.writerIndex();
+            out.writeShort(0);
+            out.writeByte(i % 255);
+            out.writeZero(5);
+            final byte[] name = new byte[TABLE_NAME_LENGTH];
+            final byte[] nameBytes = ("table" + i).getBytes();
+            System.arraycopy(nameBytes, 0, name, 0, nameBytes.length);
+            out.writeBytes(name);
+            out.writeLong(0xFFFFFFFFFFFFFFFFL);
+            out.writeLong(0xFFFFFFFFFFFFFFFFL);
+            out.writeInt(0);
+            out.writeInt(1000000);
+
+            // instructions: goto-table, write-metadata, write-actions, apply-actions, clear-actions, meter
+            writeProperty(out, 0, new int[] {1, 2, 3, 4, 5, 6});
+            // next tables
+            final int nextTablesStart = out.writerIndex();
+            out.writeShort(2);
+            out.writeShort(0);
+            for (int table = i + 1; table < Math.min(i + 17, 255); table++) {
+                out.writeByte(table);
+            }
+            finishProperty(out, nextTablesStart);
+            // apply actions: output, push/pop vlan, set-field, group, dec-ttl
+            writeProperty(out, 6, new int[] {0, 17, 18, 25, 22, 24});
+            // match fields
+            writeOxmProperty(out, 8, new int[] {OXM_IN_PORT, OXM_ETH_TYPE, OXM_IP_PROTO, OXM_IPV4_SRC,
+                OXM_IPV4_DST, OXM_TCP_DST}, new int[] {4, 2, 1, 4, 4, 2});
+            // apply set-field
+            writeOxmProperty(out, 14, new int[] {OXM_IPV4_SRC, OXM_IPV4_DST, OXM_TCP_DST}, new int[] {4, 4, 2});
+            out.setShort(start, out.writerIndex() - start);
+        }
+        return finish(out);
+    }
+
+    /**
+     * @param entries number of flow stats entries
+     * @return OF 1.0 flow stats reply
+     */
+    static ByteBuf flowStatsV10(final int entries) {
+        final ByteBuf out = statsHeaderV10(OFPMP_FLOW);
+        for (int i = 0; i < entries; i++) {
+            final int start = out.writerIndex();
+            out.writeShort(0);
+            out.writeByte(0);
+            out.writeZero(1);
+            writeMatchV10(out);
+            out.writeInt(3600 + i);
+            out.writeInt(500000);
+            out.writeShort(1000);
+            out.writeShort(300);
+            out.writeShort(0);
+            out.writeZero(6);
+            out.writeLong(i);
+            out.writeLong(1000000L + i);
+            out.writeLong(1500000000L + i);
+            writeActionsV10(out);
+            out.setShort(start, out.writerIndex() - start);
+        }
+        return finish(out);
+    }
+
+    /**
+     * @param entries number of port stats entries
+     * @return OF 1.0 port stats reply
+     */
+    static ByteBuf portStatsV10(final int entries) {
+        final ByteBuf out = statsHeaderV10(OFPMP_PORT_STATS);
+        for (int i = 0; i < entries; i++) {
+            out.writeShort(i + 1);
+            out.writeZero(6);
+            writeCounters(out, i);
+        }
+        return finish(out);
+    }
+
+    private static ByteBuf header(final short version, final short type) {
+        final ByteBuf out = Unpooled.buffer();
+        out.writeByte(version);
+        out.writeByte(type);
+        out.writeShort(0);
+        out.writeInt(XID);
+        return out;
+    }
+
+    private static ByteBuf finish(final ByteBuf out) {
+        out.setShort(EncodeConstants.OFHEADER_LENGTH_INDEX, out.writerIndex());
+        return out;
+    }
+
+    private static ByteBuf multipartHeader(final int type) {
+        final ByteBuf out = header(EncodeConstants.OF13_VERSION_ID, OF13_MULTIPART_REPLY);
+        out.writeShort(type);
+        out.writeShort(0);
+        out.writeZero(4);
+        return out;
+    }
+
+    private static ByteBuf statsHeaderV10(final int type) {
+        final ByteBuf out = header(EncodeConstants.OF10_VERSION_ID, OF10_STATS_REPLY);
+        out.writeShort(type);
+        out.writeShort(0);
+        return out;
+    }
+
+    private static int startMatch(final ByteBuf out) {
+        final int start = out.writerIndex();
+        out.writeShort(1);
+        out.writeShort(0);
+        return start;
+    }
+
+    private static void finishMatch(final ByteBuf out, final int start) {
+        final int length = out.writerIndex() - start;
+        out.setShort(start + EncodeConstants.SIZE_OF_SHORT_IN_BYTES, length);
+        writePadding(out, length);
+    }
+
+    private static void writeOxm(final ByteBuf out, final int field, final int valueLength, final boolean hasMask) {
+        out.writeShort(OXM_CLASS_BASIC);
+        out.writeByte(field << 1 | (hasMask ? 1 : 0));
+        out.writeByte(hasMask ? valueLength * 2 : valueLength);
+    }
+
+    private static void writeFiveTupleMatch(final ByteBuf out) {
+        final int start = startMatch(out);
+        writeOxm(out, OXM_IN_PORT, 4, false);
+        out.writeInt(7);
+        writeOxm(out, OXM_ETH_TYPE, 2, false);
+        out.writeShort(0x0800);
+        writeOxm(out, OXM_IP_PROTO, 1, false);
+        out.writeByte(6);
+        writeOxm(out, OXM_IPV4_SRC, 4, true);
+        out.writeInt(0x0A000000);
+        out.writeInt(0xFF000000);
+        writeOxm(out, OXM_IPV4_DST, 4, false);
+        out.writeInt(0xC0A80101);
+        writeOxm(out, OXM_TCP_DST, 2, false);
+        out.writeShort(443);
+        finishMatch(out, start);
+    }
+
+    private static void writeInstructions(final ByteBuf out) {
+        // goto table
+        out.writeShort(1);
+        out.writeShort(8);
+        out.writeByte(10);
+        out.writeZero(3);
+        // write metadata
+        out.writeShort(2);
+        out.writeShort(24);
+        out.writeZero(4);
+        out.writeLong(0x00000000000000FFL);
+        out.writeLong(0x00000000000000FFL);
+        // apply actions: set-field ipv4_dst, output
+        out.writeShort(4);
+        out.writeShort(40);
+        out.writeZero(4);
+        out.writeShort(25);
+        out.writeShort(16);
+        writeOxm(out, OXM_IPV4_DST, 4, false);
+        out.writeInt(0xC0A80102);
+        out.writeZero(4);
+        out.writeShort(0);
+        out.writeShort(16);
+        out.writeInt(2);
+        out.writeShort(0xFFFF);
+        out.writeZero(6);
+    }
+
+    private static void writeMatchV10(final ByteBuf out) {
+        out.writeInt(0);
+        out.writeShort(7);
+        out.writeBytes(new byte[] {0, 1, 2, 3, 4, 5});
+        out.writeBytes(new byte[] {0, 1, 2, 3, 4, 6});
+        out.writeShort(100);
+        out.writeByte(0);
+        out.writeZero(1);
+        out.writeShort(0x0800);
+        out.writeByte(0);
+        out.writeByte(6);
+        out.writeZero(2);
+        out.writeInt(0x0A000001);
+        out.writeInt(0xC0A80101);
+        out.writeShort(32768);
+        out.writeShort(443);
+    }
+
+    private static void writeActionsV10(final ByteBuf out) {
+        // set nw dst
+        out.writeShort(7);
+        out.writeShort(8);
+        out.writeInt(0xC0A80102);
+        // set tp dst
+        out.writeShort(10);
+        out.writeShort(8);
+        out.writeShort(8443);
+        out.writeZero(2);
+        // output
+        out.writeShort(0);
+        out.writeShort(8);
+        out.writeShort(2);
+        out.writeShort(0xFFFF);
+    }
+
+    private static void writeCounters(final ByteBuf out, final int seed) {
+        for (int counter = 0; counter < 12; counter++) {
+            out.writeLong(1000000L * counter + seed);
+        }
+    }
+
+    private static void writeProperty(final ByteBuf out, final int type, final int[] ids) {
+        final int start = out.writerIndex();
+        out.writeShort(type);
+        out.writeShort(0);
+        for (int id : ids) {
+            out.writeShort(id);
+            out.writeShort(EncodeConstants.SIZE_OF_INT_IN_BYTES);
+        }
+        finishProperty(out, start);
+    }
+
+    private static void writeOxmProperty(final ByteBuf out, final int type, final int[] fields,
+            final int[] lengths) {
+        final int start = out.writerIndex();
+        out.writeShort(type);
+        out.writeShort(0);
+        for (int i = 0; i < fields.length; i++) {
+            writeOxm(out, fields[i], lengths[i], false);
+        }
+        finishProperty(out, start);
+    }
+
+    private static void finishProperty(final ByteBuf out, final int start) {
+        final int length = out.writerIndex() - start;
+        out.setShort(start + EncodeConstants.SIZE_OF_SHORT_IN_BYTES, length);
+        writePadding(out, length);
+    }
+
+    private static void writePadding(final ByteBuf out, final int length) {
+        final int remainder = length % EncodeConstants.PADDING;
+        if (remainder != 0) {
+            out.writeZero(EncodeConstants.PADDING - remainder);
+        }
+    }
+
+    private static void writePayload(final ByteBuf out, final int payloadSize) {
+        for (int i = 0; i < payloadSize; i++) {
+            out.writeByte(i);
+        }
+    }
+}
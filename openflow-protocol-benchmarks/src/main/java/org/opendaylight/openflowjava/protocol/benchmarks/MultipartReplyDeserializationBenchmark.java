@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.benchmarks;
+
+import io.netty.buffer.ByteBuf;
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.openflowjava.protocol.api.connection.ColumnarStatisticsConsumer;
+import org.opendaylight.openflowjava.protocol.api.connection.FlowStatsColumns;
+import org.opendaylight.openflowjava.protocol.api.connection.PortStatsColumns;
+import org.opendaylight.openflowjava.protocol.api.connection.StatisticsColumns;
+import org.opendaylight.openflowjava.protocol.impl.deserialization.DeserializationFactory;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.common.types.rev130731.MultipartType;
+import org.opendaylight.yangtools.yang.binding.DataObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures decoding of flow, port and table features statistics replies
+ * ({@code MultipartReplyMessageFactory} and {@code OF10StatsReplyMessageFactory}), both into objects and into
+ * primitive columns.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class MultipartReplyDeserializationBenchmark {
+
+    /** Number of entries in each reply */
+    @Param({"1", "100"})
+    public int entries;
+
+    private DeserializationFactory factory;
+    private final CountingConsumer columnar = new CountingConsumer();
+    private ByteBuf flowStatsV13;
+    private ByteBuf portStatsV13;
+    private ByteBuf tableFeaturesV13;
+    private ByteBuf flowStatsV10;
+    private ByteBuf portStatsV10;
+
+    /**
+     * Prepares deserialization factory and messages
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        factory = MessageTemplates.createDeserializationFactory();
+        flowStatsV13 = MessageTemplates.flowStatsV13(entries);
+        portStatsV13 = MessageTemplates.portStatsV13(entries);
+        tableFeaturesV13 = MessageTemplates.tableFeaturesV13(entries);
+        flowStatsV10 = MessageTemplates.flowStatsV10(entries);
+        portStatsV10 = MessageTemplates.portStatsV10(entries);
+    }
+
+    /**
+     * @return deserialized OF 1.3 flow stats reply
+     */
+    @Benchmark
+    public DataObject flowStatsV13() {
+        return MessageTemplates.decode(factory, flowStatsV13);
+    }
+
+    /**
+     * @return deserialized OF 1.3 port stats reply
+     */
+    @Benchmark
+    public DataObject portStatsV13() {
+        return MessageTemplates.decode(factory, portStatsV13);
+    }
+
+    /**
+     * @return deserialized OF 1.3 table features reply
+     */
+    @Benchmark
+    public DataObject tableFeaturesV13() {
+        return MessageTemplates.decode(factory, tableFeaturesV13);
+    }
+
+    /**
+     * @return deserialized OF 1.0 flow stats reply
+     */
+    @Benchmark
+    public DataObject flowStatsV10() {
+        return MessageTemplates.decode(factory, flowStatsV10);
+    }
+
+    /**
+     * @return deserialized OF 1.0 port stats reply
+     */
+    @Benchmark
+    public DataObject portStatsV10() {
+        return MessageTemplates.decode(factory, portStatsV10);
+    }
+
+    /**
+     * @return sum of packet counts of OF 1.3 flow stats reply decoded into columns
+     */
+    @Benchmark
+    public long flowStatsV13Columnar() {
+        MessageTemplates.decode(factory, flowStatsV13, columnar);
+        return columnar.sum;
+    }
+
+    /**
+     * @return sum of received packets of OF 1.3 port stats reply decoded into columns
+     */
+    @Benchmark
+    public long portStatsV13Columnar() {
+        MessageTemplates.decode(factory, portStatsV13, columnar);
+        return columnar.sum;
+    }
+
+    /**
+     * @return sum of packet counts of OF 1.0 flow stats reply decoded into columns
+     */
+    @Benchmark
+    public long flowStatsV10Columnar() {
+        MessageTemplates.decode(factory, flowStatsV10, columnar);
+        return columnar.sum;
+    }
+
+    /**
+     * Aggregates a counter of each decoded entry, the way pure counter consumers use columns
+     */
+    private static final class CountingConsumer implements ColumnarStatisticsConsumer {
+        private final FlowStatsColumns flows = new FlowStatsColumns();
+        private final PortStatsColumns ports = new PortStatsColumns();
+        private long sum;
+
+        @Override
+        public boolean isStreamed(final MultipartType type) {
+            return false;
+        }
+
+        @Override
+        public void onEntry(final long xid, final MultipartType type, final DataObject entry,
+                final boolean replyMore) {
+            // entries are never streamed
+        }
+
+        @Override
+        public StatisticsColumns getColumns(final MultipartType type) {
+            switch (type) {
+                case OFPMPFLOW:
+                    return flows;
+                case OFPMPPORTSTATS:
+                    return ports;
+                default:
+                    return null;
+            }
+        }
+
+        @Override
+        public void onColumns(final long xid, final MultipartType type, final StatisticsColumns columns,
+                final boolean replyMore) {
+            final long[] counters = columns == flows ? flows.getPacketCounts() : ports.getRxPackets();
+            long total = 0;
+            for (int i = 0; i < columns.getSize(); i++) {
+                total += counters[i];
+            }
+            sum = total;
+        }
+    }
+
+    /**
+     * Runs the benchmark
+     * @param args unused
+     * @throws RunnerException if benchmark fails
+     */
+    public static void main(final String[] args) throws RunnerException {
+        final Options options = new OptionsBuilder()
+                .include(MultipartReplyDeserializationBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.benchmarks;
+
+import io.netty.buffer.ByteBuf;
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.openflowjava.protocol.api.connection.LazyPacketInMessage;
+import org.opendaylight.openflowjava.protocol.api.keys.MessageCodeKey;
+import org.opendaylight.openflowjava.protocol.api.util.EncodeConstants;
+import org.opendaylight.openflowjava.protocol.impl.deserialization.DeserializationFactory;
+import org.opendaylight.openflowjava.protocol.impl.deserialization.DeserializerRegistryImpl;
+import org.opendaylight.openflowjava.protocol.impl.deserialization.factories.LazyPacketInMessageFactory;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.PacketInMessage;
+import org.opendaylight.yangtools.yang.binding.DataObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures packet in deserialization for typical packet sizes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class PacketInDeserializationBenchmark {
+
+    /** Size of packet data carried by packet in */
+    @Param({"64", "128", "1500"})
+    public int payloadSize;
+
+    private DeserializationFactory factory;
+    private DeserializationFactory lazyFactory;
+    private ByteBuf packetInV13;
+    private ByteBuf packetInV10;
+
+    /**
+     * Prepares deserialization factory and messages
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        factory = MessageTemplates.createDeserializationFactory();
+        packetInV13 = MessageTemplates.packetInV13(payloadSize);
+        packetInV10 = MessageTemplates.packetInV10(payloadSize);
+
+        final DeserializerRegistryImpl lazyRegistry = new DeserializerRegistryImpl();
+        lazyRegistry.init();
+        lazyRegistry.registerDeserializer(new MessageCodeKey(EncodeConstants.OF13_VERSION_ID,
+                MessageTemplates.OFPT_PACKET_IN, PacketInMessage.class), new LazyPacketInMessageFactory());
+        lazyFactory = new DeserializationFactory();
+        lazyFactory.setRegistry(lazyRegistry);
+    }
+
+    /**
+     * @return deserialized OF 1.3 packet in
+     */
+    @Benchmark
+    public DataObject deserializeV13() {
+        return MessageTemplates.decode(factory, packetInV13);
+    }
+
+    /**
+     * Typical packet in consumer, which looks only at ingress port and the leading packet headers
+     * @return in_port combined with first payload byte
+     */
+    @Benchmark
+    public long deserializeLazyV13() {
+        final LazyPacketInMessage message = (LazyPacketInMessage) MessageTemplates.decode(lazyFactory, packetInV13);
+        try {
+            return message.getMatchInPort() + message.getPayload().getByte(0);
+        } finally {
+            message.release();
+        }
+    }
+
+    /**
+     * @return deserialized OF 1.0 packet in
+     */
+    @Benchmark
+    public DataObject deserializeV10() {
+        return MessageTemplates.decode(factory, packetInV10);
+    }
+
+    /**
+     * Runs the benchmark
+     * @param args unused
+     * @throws RunnerException if benchmark fails
+     */
+    public static void main(final String[] args) throws RunnerException {
+        final Options options = new OptionsBuilder()
+                .include(PacketInDeserializationBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build();
+        new Runner(options).run();
+    }
+}
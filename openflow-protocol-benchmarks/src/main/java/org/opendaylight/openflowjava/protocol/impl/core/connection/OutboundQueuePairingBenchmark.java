@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.impl.core.connection;
+
+import com.google.common.util.concurrent.FutureCallback;
+import io.netty.channel.embedded.EmbeddedChannel;
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.openflowjava.protocol.api.connection.FixedBarrierPolicy;
+import org.opendaylight.openflowjava.protocol.api.connection.OutboundQueue;
+import org.opendaylight.openflowjava.protocol.api.connection.OutboundQueueHandler;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.BarrierInput;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.BarrierInputBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.EchoInputBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.EchoOutputBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.OfHeader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures response pairing of an outbound queue whose switch lags behind by a number of segments.
+ * Each operation commits and flushes requests and answers the oldest outstanding ones, so the backlog
+ * stays constant. Lives in the queue's package, as pairing is not reachable through the public API.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class OutboundQueuePairingBenchmark {
+
+    private static final int SEGMENT_SIZE = StackedSegment.DEFAULT_SEGMENT_SIZE;
+    private static final int BARRIER_BATCH = 64;
+    private static final short VERSION = 4;
+
+    /** Number of segments sent, but not answered by the switch */
+    @Param({"1", "16", "64"})
+    public int backlogSegments;
+
+    private EmbeddedChannel channel;
+    private OutboundQueueManager<OutboundQueueHandler> manager;
+    private OutboundQueue queue;
+    private OfHeader request;
+    private BarrierInput barrier;
+    private long[] pendingBarriers;
+    private int barrierHead;
+    private int barrierTail;
+    private long backlog;
+
+    private static final FutureCallback<OfHeader> CALLBACK = new FutureCallback<OfHeader>() {
+        @Override
+        public void onSuccess(final OfHeader result) {
+            // not interesting
+        }
+
+        @Override
+        public void onFailure(final Throwable cause) {
+            throw new IllegalStateException("Request failed", cause);
+        }
+    };
+
+    private static final OutboundQueueHandler HANDLER = new OutboundQueueHandler() {
+        @Override
+        public BarrierInput createBarrierRequest(final Long xid) {
+            return new BarrierInputBuilder().setVersion(VERSION).setXid(xid).build();
+        }
+
+        @Override
+        public void onConnectionQueueChanged(final OutboundQueue queue) {
+            // queue is taken from manager
+        }
+    };
+
+    /**
+     * Creates queue and fills the backlog. Barriers are issued by the benchmark only.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        channel = new EmbeddedChannel();
+        final ConnectionAdapterImpl adapter = new ConnectionAdapterImpl(channel, null, true);
+        adapter.setOutboundQueueSegments(SEGMENT_SIZE, backlogSegments + 2);
+        manager = new OutboundQueueManager<>(adapter, null, HANDLER,
+                new FixedBarrierPolicy(Integer.MAX_VALUE, TimeUnit.DAYS.toNanos(1)));
+        queue = manager.currentQueue;
+        request = new EchoInputBuilder().setVersion(VERSION).setXid(0L).build();
+        barrier = HANDLER.createBarrierRequest(0L);
+        backlog = (long) backlogSegments * SEGMENT_SIZE;
+        pendingBarriers = new long[(int) (backlog / (BARRIER_BATCH + 1)) + 2];
+
+        for (long i = 0; i < backlog; i++) {
+            queue.commitEntry(queue.reserveEntry(), request, CALLBACK);
+        }
+        flush();
+    }
+
+    /**
+     * Releases messages written to the channel
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        channel.finishAndReleaseAll();
+    }
+
+    private void flush() {
+        channel.runPendingTasks();
+        channel.outboundMessages().clear();
+    }
+
+    /**
+     * Sends one request and pairs the response of the request sent a backlog earlier
+     * @return true if response was paired
+     */
+    @Benchmark
+    public boolean pairResponse() {
+        final Long xid = queue.reserveEntry();
+        queue.commitEntry(xid, request, CALLBACK);
+        flush();
+        return manager.onMessage(new EchoOutputBuilder().setVersion(VERSION).setXid(xid - backlog).build());
+    }
+
+    /**
+     * Sends a batch of requests followed by a barrier and pairs the response of the barrier sent
+     * a backlog earlier, completing the requests preceding it
+     * @return true if barrier response was paired
+     */
+    @Benchmark
+    @OperationsPerInvocation(BARRIER_BATCH + 1)
+    public boolean pairBarrier() {
+        for (int i = 0; i < BARRIER_BATCH; i++) {
+            queue.commitEntry(queue.reserveEntry(), request, CALLBACK);
+        }
+        final Long xid = queue.reserveEntry();
+        queue.commitEntry(xid, barrier, null);
+        flush();
+
+        pendingBarriers[barrierTail] = xid;
+        barrierTail = (barrierTail + 1) % pendingBarriers.length;
+        if (pendingBarriers[barrierHead] > xid - backlog) {
+            return false;
+        }
+        final long answered = pendingBarriers[barrierHead];
+        barrierHead = (barrierHead + 1) % pendingBarriers.length;
+        return manager.onMessage(new EchoOutputBuilder().setVersion(VERSION).setXid(answered).build());
+    }
+
+    /**
+     * Runs the benchmark
+     * @param args unused
+     * @throws RunnerException if benchmark fails
+     */
+    public static void main(final String[] args) throws RunnerException {
+        final Options options = new OptionsBuilder()
+                .include(OutboundQueuePairingBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -8,8 +8,12 @@
 
 package org.opendaylight.openflowjava.protocol.impl.core;
 
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.openflowjava.protocol.api.connection.PacketInRateLimitConfiguration;
+import org.opendaylight.openflowjava.protocol.api.connection.SocketConfiguration;
 import org.opendaylight.openflowjava.protocol.api.connection.SwitchConnectionHandler;
 import org.opendaylight.openflowjava.protocol.api.connection.TlsConfiguration;
+import org.opendaylight.openflowjava.protocol.impl.core.connection.HandshakeExecutor;
 import org.opendaylight.openflowjava.protocol.impl.deserialization.DeserializationFactory;
 import org.opendaylight.openflowjava.protocol.impl.serialization.SerializationFactory;
 
@@ -25,6 +29,14 @@ public class ChannelInitializerFactory {
     private TlsConfiguration tlsConfig;
     private SwitchConnectionHandler switchConnectionHandler;
     private boolean useBarrier;
+    private boolean useFusedDecoder;
+    private int outboundCoalescingBytes;
+    private int outboundQueueSegmentSize;
+    private int outboundQueueSegmentPoolSize;
+    private long rpcResponseTimeout;
+    private PacketInRateLimitConfiguration packetInRateLimit;
+    private SocketConfiguration socketConfig;
+    private HandshakeExecutor handshakeExecutor;
 
     /**
      * @return PublishingChannelInitializer that initializes new channels
@@ -37,6 +49,13 @@ public class ChannelInitializerFactory {
         initializer.setTlsConfiguration(tlsConfig);
         initializer.setSwitchConnectionHandler(switchConnectionHandler);
         initializer.setUseBarrier(useBarrier);
+        initializer.setUseFusedDecoder(useFusedDecoder);
+        initializer.setOutboundCoalescingBytes(outboundCoalescingBytes);
+        initializer.setOutboundQueueSegments(outboundQueueSegmentSize, outboundQueueSegmentPoolSize);
+        initializer.setRpcResponseTimeout(rpcResponseTimeout);
+        initializer.setPacketInRateLimit(packetInRateLimit);
+        initializer.setSocketConfiguration(socketConfig);
+        initializer.setHandshakeExecutor(handshakeExecutor);
         return initializer;
     }
 
@@ -45,10 +64,14 @@ public class ChannelInitializerFactory {
      */
     public UdpChannelInitializer createUdpChannelInitializer() {
         final UdpChannelInitializer initializer = new UdpChannelInitializer();
+        final SocketConfiguration udpSocketConfig = SocketTuning.checkConfiguration(socketConfig);
+        initializer.setConnectionMap(new UdpConnectionMap(udpSocketConfig.getUdpMaxPeers(),
+                udpSocketConfig.getUdpPeerIdleTimeout(), TimeUnit.MILLISECONDS));
         initializer.setSwitchIdleTimeout(switchIdleTimeOut);
         initializer.setDeserializationFactory(deserializationFactory);
         initializer.setSerializationFactory(serializationFactory);
         initializer.setSwitchConnectionHandler(switchConnectionHandler);
+        initializer.setHandshakeExecutor(handshakeExecutor);
         return initializer;
     }
 
@@ -93,4 +116,55 @@ public class ChannelInitializerFactory {
     public void setUseBarrier(final boolean useBarrier) {
         this.useBarrier = useBarrier;
     }
+
+    /**
+     * @param useFusedDecoder
+     */
+    public void setUseFusedDecoder(final boolean useFusedDecoder) {
+        this.useFusedDecoder = useFusedDecoder;
+    }
+
+    /**
+     * @param outboundCoalescingBytes
+     */
+    public void setOutboundCoalescingBytes(final int outboundCoalescingBytes) {
+        this.outboundCoalescingBytes = outboundCoalescingBytes;
+    }
+
+    /**
+     * @param segmentSize
+     * @param poolSize
+     */
+    public void setOutboundQueueSegments(final int segmentSize, final int poolSize) {
+        this.outboundQueueSegmentSize = segmentSize;
+        this.outboundQueueSegmentPoolSize = poolSize;
+    }
+
+    /**
+     * @param rpcResponseTimeout
+     */
+    public void setRpcResponseTimeout(final long rpcResponseTimeout) {
+        this.rpcResponseTimeout = rpcResponseTimeout;
+    }
+
+    /**
+     * @param packetInRateLimit
+     */
+    public void setPacketInRateLimit(final PacketInRateLimitConfiguration packetInRateLimit) {
+        this.packetInRateLimit = packetInRateLimit;
+    }
+
+    /**
+     * @param socketConfig
+     */
+    public void setSocketConfiguration(final SocketConfiguration socketConfig) {
+        this.socketConfig = socketConfig;
+    }
+
+    /**
+     * @param handshakeExecutor
+     */
+    public void setHandshakeExecutor(final HandshakeExecutor handshakeExecutor) {
+        this.handshakeExecutor = handshakeExecutor;
+    }
 }
\ No newline at end of file
@@ -11,6 +11,8 @@ package org.opendaylight.openflowjava.protocol.impl.core;
 import com.google.common.base.Preconditions;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
+import java.util.ArrayList;
+import java.util.List;
 import org.opendaylight.openflowjava.protocol.impl.core.connection.ConnectionAdapterImpl;
 import org.opendaylight.openflowjava.protocol.impl.core.connection.MessageConsumer;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.system.rev130927.DisconnectEventBuilder;
@@ -20,7 +22,8 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Holds reference to {@link ConnectionAdapterImpl} and passes messages for further processing.
- * Also informs on switch disconnection.
+ * Also informs on switch disconnection. If the consumer is batching, messages read during one read cycle
+ * are collected and passed on together once the read completes.
  * @author michal.polkorab
  */
 public class DelegatingInboundHandler extends ChannelInboundHandlerAdapter {
@@ -28,6 +31,7 @@ public class DelegatingInboundHandler extends ChannelInboundHandlerAdapter {
     private static final Logger LOG = LoggerFactory.getLogger(DelegatingInboundHandler.class);
     private final MessageConsumer consumer;
     private boolean inactiveMessageSent = false;
+    private final List<DataObject> batch = new ArrayList<>();
 
     /**
      * Constructs class + creates and sets MessageConsumer.
@@ -40,12 +44,30 @@ public class DelegatingInboundHandler extends ChannelInboundHandlerAdapter {
 
     @Override
     public void channelRead(final ChannelHandlerContext ctx, final Object msg) {
-        consumer.consume((DataObject) msg);
+        if (consumer.isBatching()) {
+            batch.add((DataObject) msg);
+        } else {
+            consumer.consume((DataObject) msg);
+        }
+    }
+
+    @Override
+    public void channelReadComplete(final ChannelHandlerContext ctx) {
+        flushBatch();
+        ctx.fireChannelReadComplete();
+    }
+
+    private void flushBatch() {
+        if (!batch.isEmpty()) {
+            consumer.consume(batch);
+            batch.clear();
+        }
     }
 
     @Override
     public void channelInactive(final ChannelHandlerContext ctx) {
         LOG.debug("Channel inactive");
+        flushBatch();
         if (!inactiveMessageSent) {
             DisconnectEventBuilder builder = new DisconnectEventBuilder();
             builder.setInfo("Channel inactive");
@@ -57,6 +79,7 @@ public class DelegatingInboundHandler extends ChannelInboundHandlerAdapter {
     @Override
     public void channelUnregistered(final ChannelHandlerContext ctx) {
         LOG.debug("Channel unregistered");
+        flushBatch();
         if (!inactiveMessageSent) {
             DisconnectEventBuilder builder = new DisconnectEventBuilder();
             builder.setInfo("Channel unregistered");
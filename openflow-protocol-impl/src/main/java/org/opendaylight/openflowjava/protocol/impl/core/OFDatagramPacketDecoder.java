@@ -25,6 +25,7 @@ public class OFDatagramPacketDecoder extends SimpleChannelInboundHandler<Version
 
     private static final Logger LOG = LoggerFactory.getLogger(OFDatagramPacketDecoder.class);
     private DeserializationFactory deserializationFactory;
+    private UdpConnectionMap connectionMap;
 
     @Override
     public void channelRead0(final ChannelHandlerContext ctx, final VersionMessageUdpWrapper msg)
@@ -39,8 +40,12 @@ public class OFDatagramPacketDecoder extends SimpleChannelInboundHandler<Version
             if (dataObject == null) {
                 LOG.warn("Translated POJO is null");
             } else {
-                MessageConsumer consumer = UdpConnectionMap.getMessageConsumer(msg.getAddress());
-                consumer.consume(dataObject);
+                MessageConsumer consumer = connectionMap.getMessageConsumer(msg.getAddress());
+                if (consumer != null) {
+                    consumer.consume(dataObject);
+                } else {
+                    LOG.debug("Sender {} has been evicted, dropping message", msg.getAddress());
+                }
             }
         } catch(Exception e) {
             LOG.warn("Message deserialization failed", e);
@@ -57,4 +62,11 @@ public class OFDatagramPacketDecoder extends SimpleChannelInboundHandler<Version
     public void setDeserializationFactory(final DeserializationFactory deserializationFactory) {
         this.deserializationFactory = deserializationFactory;
     }
+
+    /**
+     * @param connectionMap consumers of senders, shared by all channels of the listener
+     */
+    public void setConnectionMap(final UdpConnectionMap connectionMap) {
+        this.connectionMap = connectionMap;
+    }
 }
@@ -8,6 +8,7 @@
 
 package org.opendaylight.openflowjava.protocol.impl.core;
 
+import com.google.common.base.Preconditions;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.socket.DatagramPacket;
@@ -20,6 +21,7 @@ import org.opendaylight.openflowjava.protocol.api.util.EncodeConstants;
 import org.opendaylight.openflowjava.protocol.impl.core.connection.ConnectionAdapterFactory;
 import org.opendaylight.openflowjava.protocol.impl.core.connection.ConnectionAdapterFactoryImpl;
 import org.opendaylight.openflowjava.protocol.impl.core.connection.ConnectionFacade;
+import org.opendaylight.openflowjava.protocol.impl.core.connection.HandshakeExecutor;
 import org.opendaylight.openflowjava.protocol.impl.core.connection.MessageConsumer;
 import org.opendaylight.openflowjava.util.ByteBufUtils;
 import org.slf4j.Logger;
@@ -38,6 +40,8 @@ public class OFDatagramPacketHandler extends MessageToMessageDecoder<DatagramPac
     private static final byte LENGTH_INDEX_IN_HEADER = 2;
     private ConnectionAdapterFactory adapterFactory = new ConnectionAdapterFactoryImpl();
     private SwitchConnectionHandler connectionHandler;
+    private final HandshakeExecutor handshakeExecutor;
+    private final UdpConnectionMap connectionMap;
 
     /**
      * Default constructor
@@ -45,7 +49,29 @@ public class OFDatagramPacketHandler extends MessageToMessageDecoder<DatagramPac
      * what to do with incomming message / channel
      */
     public OFDatagramPacketHandler(SwitchConnectionHandler sch) {
+        this(sch, null);
+    }
+
+    /**
+     * @param sch the switchConnectionHandler that decides
+     * what to do with incomming message / channel
+     * @param handshakeExecutor executor running connection ready notifications, null for default
+     */
+    public OFDatagramPacketHandler(SwitchConnectionHandler sch, HandshakeExecutor handshakeExecutor) {
+        this(sch, handshakeExecutor, new UdpConnectionMap());
+    }
+
+    /**
+     * @param sch the switchConnectionHandler that decides
+     * what to do with incomming message / channel
+     * @param handshakeExecutor executor running connection ready notifications, null for default
+     * @param connectionMap consumers of senders, shared by all channels of the listener
+     */
+    public OFDatagramPacketHandler(SwitchConnectionHandler sch, HandshakeExecutor handshakeExecutor,
+            UdpConnectionMap connectionMap) {
         this.connectionHandler = sch;
+        this.handshakeExecutor = handshakeExecutor;
+        this.connectionMap = Preconditions.checkNotNull(connectionMap);
     }
 
     @Override
@@ -59,14 +85,6 @@ public class OFDatagramPacketHandler extends MessageToMessageDecoder<DatagramPac
     protected void decode(ChannelHandlerContext ctx, DatagramPacket msg,
             List<Object> out) throws Exception {
         LOG.debug("OFDatagramPacketFramer");
-        MessageConsumer consumer = UdpConnectionMap.getMessageConsumer(msg.sender());
-        if (consumer == null) {
-            ConnectionFacade connectionFacade =
-                    adapterFactory.createConnectionFacade(ctx.channel(), msg.sender(), false);
-            connectionHandler.onSwitchConnected(connectionFacade);
-            connectionFacade.checkListeners();
-            UdpConnectionMap.addConnection(msg.sender(), connectionFacade);
-        }
         ByteBuf bb = msg.content();
         int readableBytes = bb.readableBytes();
         if (readableBytes < LENGTH_OF_HEADER) {
@@ -87,6 +105,20 @@ public class OFDatagramPacketHandler extends MessageToMessageDecoder<DatagramPac
             }
             return;
         }
+
+        // Connections are created only for complete messages, truncated datagrams are dropped above
+        MessageConsumer consumer = connectionMap.getMessageConsumer(msg.sender());
+        if (consumer == null) {
+            if (connectionMap.isFull()) {
+                LOG.debug("skipping datagram from {} - maximal number of senders is tracked", msg.sender());
+                return;
+            }
+            ConnectionFacade connectionFacade =
+                    adapterFactory.createConnectionFacade(ctx.channel(), msg.sender(), false, handshakeExecutor);
+            connectionHandler.onSwitchConnected(connectionFacade);
+            connectionFacade.checkListeners();
+            connectionMap.addConnection(msg.sender(), connectionFacade);
+        }
         LOG.debug("OF Protocol message received, type:{}", bb.getByte(bb.readerIndex() + 1));
 
 
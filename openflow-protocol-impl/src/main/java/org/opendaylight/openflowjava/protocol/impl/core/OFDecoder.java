@@ -8,11 +8,16 @@
 
 package org.opendaylight.openflowjava.protocol.impl.core;
 
+import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.MessageToMessageDecoder;
 import java.util.List;
+import org.opendaylight.openflowjava.protocol.api.connection.MultipartReplyEntryConsumer;
+import org.opendaylight.openflowjava.protocol.impl.core.connection.ConnectionFacade;
 import org.opendaylight.openflowjava.protocol.impl.deserialization.DeserializationFactory;
+import org.opendaylight.openflowjava.statistics.ConnectionStatistics;
 import org.opendaylight.openflowjava.statistics.CounterEventTypes;
+import org.opendaylight.openflowjava.statistics.MessageCounterType;
 import org.opendaylight.openflowjava.statistics.StatisticsCounters;
 import org.opendaylight.openflowjava.util.ByteBufUtils;
 import org.opendaylight.yangtools.yang.binding.DataObject;
@@ -30,6 +35,8 @@ public class OFDecoder extends MessageToMessageDecoder<VersionMessageWrapper> {
 
     // TODO: make this final?
     private DeserializationFactory deserializationFactory;
+    private ConnectionStatistics messageStatistics;
+    private ConnectionFacade connectionFacade;
 
     public OFDecoder() {
         LOG.trace("Creating OFDecoder");
@@ -45,24 +52,42 @@ public class OFDecoder extends MessageToMessageDecoder<VersionMessageWrapper> {
             LOG.debug("<< {}", ByteBufUtils.byteBufToHexString(msg.getMessageBuffer()));
         }
 
+        final ByteBuf messageBuffer = msg.getMessageBuffer();
+        // message buffer starts with type, version has already been read
+        final short messageType = messageBuffer.getUnsignedByte(messageBuffer.readerIndex());
+        if (messageStatistics != null) {
+            messageStatistics.countMessage(MessageCounterType.IN_MESSAGES, MessageCounterType.IN_BYTES,
+                    messageType, messageBuffer.readableBytes() + 1);
+        }
         try {
-            final DataObject dataObject = deserializationFactory.deserialize(msg.getMessageBuffer(),
-                    msg.getVersion());
+            final MultipartReplyEntryConsumer entryConsumer = connectionFacade != null
+                    && DeserializationFactory.isMultipartReply(msg.getVersion(), messageType)
+                    ? connectionFacade.getMultipartReplyEntryConsumer() : null;
+            final DataObject dataObject = entryConsumer == null
+                    ? deserializationFactory.deserialize(messageBuffer, msg.getVersion())
+                    : deserializationFactory.deserialize(messageBuffer, msg.getVersion(), entryConsumer);
             if (dataObject == null) {
                 LOG.warn("Translated POJO is null");
-                statisticsCounter.incrementCounter(CounterEventTypes.US_DECODE_FAIL);
+                countDecodeFailure(messageType);
             } else {
                 out.add(dataObject);
                 statisticsCounter.incrementCounter(CounterEventTypes.US_DECODE_SUCCESS);
             }
         } catch (Exception e) {
             LOG.warn("Message deserialization failed", e);
-            statisticsCounter.incrementCounter(CounterEventTypes.US_DECODE_FAIL);
+            countDecodeFailure(messageType);
         } finally {
             msg.getMessageBuffer().release();
         }
     }
 
+    private void countDecodeFailure(final short messageType) {
+        statisticsCounter.incrementCounter(CounterEventTypes.US_DECODE_FAIL);
+        if (messageStatistics != null) {
+            messageStatistics.increment(MessageCounterType.DECODE_FAILURES, messageType);
+        }
+    }
+
     /**
      * @param deserializationFactory
      */
@@ -70,4 +95,18 @@ public class OFDecoder extends MessageToMessageDecoder<VersionMessageWrapper> {
         this.deserializationFactory = deserializationFactory;
     }
 
+    /**
+     * @param messageStatistics per-message-type counters of connection, null if not counted
+     */
+    public void setMessageStatistics(final ConnectionStatistics messageStatistics) {
+        this.messageStatistics = messageStatistics;
+    }
+
+    /**
+     * @param connectionFacade connection providing consumer of streamed multipart reply entries
+     */
+    public void setConnectionFacade(final ConnectionFacade connectionFacade) {
+        this.connectionFacade = connectionFacade;
+    }
+
 }
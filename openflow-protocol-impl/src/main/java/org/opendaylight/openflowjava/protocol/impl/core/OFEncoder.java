@@ -10,13 +10,18 @@ package org.opendaylight.openflowjava.protocol.impl.core;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundInvoker;
 import io.netty.handler.codec.MessageToByteEncoder;
 import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.GenericFutureListener;
 import org.opendaylight.openflowjava.protocol.impl.core.connection.MessageListenerWrapper;
 import org.opendaylight.openflowjava.protocol.impl.serialization.SerializationFactory;
+import org.opendaylight.openflowjava.statistics.ConnectionStatistics;
 import org.opendaylight.openflowjava.statistics.CounterEventTypes;
+import org.opendaylight.openflowjava.statistics.MessageCounterType;
 import org.opendaylight.openflowjava.statistics.StatisticsCounters;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.FlowModInput;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.OfHeader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -30,6 +35,7 @@ public class OFEncoder extends MessageToByteEncoder<MessageListenerWrapper> {
     private static final Logger LOG = LoggerFactory.getLogger(OFEncoder.class);
     private SerializationFactory serializationFactory;
     private final StatisticsCounters statisticsCounters;
+    private ConnectionStatistics messageStatistics;
 
     /** Constructor of class */
     public OFEncoder() {
@@ -37,25 +43,68 @@ public class OFEncoder extends MessageToByteEncoder<MessageListenerWrapper> {
         LOG.trace("Creating OFEncoder");
     }
 
+    @Override
+    protected ByteBuf allocateBuffer(final ChannelHandlerContext ctx, final MessageListenerWrapper wrapper,
+            final boolean preferDirect) throws Exception {
+        final int estimate = serializationFactory.estimateSize(wrapper.getMsg().getVersion(), wrapper.getMsg());
+        if (estimate <= 0) {
+            return super.allocateBuffer(ctx, wrapper, preferDirect);
+        }
+        statisticsCounters.incrementCounter(CounterEventTypes.DS_ENCODE_SIZE_ESTIMATED);
+        return preferDirect ? ctx.alloc().ioBuffer(estimate) : ctx.alloc().heapBuffer(estimate);
+    }
+
     @Override
     protected void encode(final ChannelHandlerContext ctx, final MessageListenerWrapper wrapper, final ByteBuf out)
             throws Exception {
         LOG.trace("Encoding");
+        if (!encodeMessage(ctx, wrapper.getMsg(), wrapper.getListener(), out)) {
+            out.clear();
+        }
+    }
+
+    /**
+     * Serializes message at the end of output buffer. Used directly by callers which coalesce
+     * multiple messages into one buffer.
+     * @param invoker creates failed future reported to listener
+     * @param message message to be serialized
+     * @param listener notified if serialization fails, may be null
+     * @param out output buffer, on failure its content written before this call is kept
+     * @return true if the message was serialized
+     * @throws Exception if the listener fails
+     */
+    public boolean encodeMessage(final ChannelOutboundInvoker invoker, final OfHeader message,
+            final GenericFutureListener<Future<Void>> listener, final ByteBuf out) throws Exception {
+        final int startIndex = out.writerIndex();
         try {
-            serializationFactory.messageToBuffer(wrapper.getMsg().getVersion(), out, wrapper.getMsg());
-            if(wrapper.getMsg() instanceof FlowModInput){
+            final int initialCapacity = out.capacity();
+            serializationFactory.messageToBuffer(message.getVersion(), out, message);
+            if (out.capacity() > initialCapacity) {
+                statisticsCounters.incrementCounter(CounterEventTypes.DS_ENCODE_BUFFER_REALLOCATED);
+            }
+            if(message instanceof FlowModInput){
                 statisticsCounters.incrementCounter(CounterEventTypes.DS_FLOW_MODS_SENT);
             }
             statisticsCounters.incrementCounter(CounterEventTypes.DS_ENCODE_SUCCESS);
+            if (messageStatistics != null) {
+                // serialized header starts with version followed by type
+                messageStatistics.countMessage(MessageCounterType.OUT_MESSAGES, MessageCounterType.OUT_BYTES,
+                        out.getUnsignedByte(startIndex + 1), out.writerIndex() - startIndex);
+            }
+            return true;
         } catch(final Exception e) {
             LOG.warn("Message serialization failed ", e);
             statisticsCounters.incrementCounter(CounterEventTypes.DS_ENCODE_FAIL);
-            if (wrapper.getListener() != null) {
-                final Future<Void> newFailedFuture = ctx.newFailedFuture(e);
-                wrapper.getListener().operationComplete(newFailedFuture);
+            if (messageStatistics != null) {
+                messageStatistics.increment(MessageCounterType.ENCODE_FAILURES,
+                        ConnectionStatistics.OTHER_MESSAGE_TYPE);
             }
-            out.clear();
-            return;
+            out.writerIndex(startIndex);
+            if (listener != null) {
+                final Future<Void> newFailedFuture = invoker.newFailedFuture(e);
+                listener.operationComplete(newFailedFuture);
+            }
+            return false;
         }
     }
 
@@ -66,4 +115,11 @@ public class OFEncoder extends MessageToByteEncoder<MessageListenerWrapper> {
         this.serializationFactory = serializationFactory;
     }
 
+    /**
+     * @param messageStatistics per-message-type counters of connection, null if not counted
+     */
+    public void setMessageStatistics(final ConnectionStatistics messageStatistics) {
+        this.messageStatistics = messageStatistics;
+    }
+
 }
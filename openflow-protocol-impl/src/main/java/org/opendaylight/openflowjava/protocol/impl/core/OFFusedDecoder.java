@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.impl.core;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.ByteToMessageDecoder;
+import java.util.List;
+import org.opendaylight.openflowjava.protocol.api.connection.MultipartReplyEntryConsumer;
+import org.opendaylight.openflowjava.protocol.api.util.EncodeConstants;
+import org.opendaylight.openflowjava.protocol.impl.core.connection.ConnectionFacade;
+import org.opendaylight.openflowjava.protocol.impl.deserialization.DeserializationFactory;
+import org.opendaylight.openflowjava.statistics.ConnectionStatistics;
+import org.opendaylight.openflowjava.statistics.CounterEventTypes;
+import org.opendaylight.openflowjava.statistics.MessageCounterType;
+import org.opendaylight.openflowjava.statistics.StatisticsCounters;
+import org.opendaylight.openflowjava.util.ByteBufUtils;
+import org.opendaylight.yangtools.yang.binding.DataObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Single-pass replacement for {@link OFFrameDecoder}, {@link OFVersionDetector} and {@link OFDecoder}.
+ * Frames, version-checks, filters and deserializes incoming messages directly from the cumulation buffer,
+ * without creating intermediate slices or {@link VersionMessageWrapper}s.
+ */
+public class OFFusedDecoder extends ByteToMessageDecoder implements PacketInFilter {
+
+    private static final Logger LOG = LoggerFactory.getLogger(OFFusedDecoder.class);
+    private static final byte LENGTH_INDEX_IN_HEADER = 2;
+    private static final byte TYPE_INDEX_IN_HEADER = 1;
+
+    private final ConnectionFacade connectionFacade;
+    private final DeserializationFactory deserializationFactory;
+    private final StatisticsCounters statisticsCounters;
+    private final ConnectionStatistics messageStatistics;
+    private boolean firstTlsPass;
+    private volatile boolean filterPacketIns;
+    private PacketInRateLimiter rateLimiter;
+
+    /**
+     * Constructor of class.
+     * @param connectionFacade ConnectionFacade that will be notified
+     *                         with ConnectionReadyNotification after TLS has been successfully set up.
+     * @param tlsPresent true is TLS is required, false otherwise
+     * @param deserializationFactory factory used to translate messages into POJOs
+     */
+    public OFFusedDecoder(final ConnectionFacade connectionFacade, final boolean tlsPresent,
+            final DeserializationFactory deserializationFactory) {
+        LOG.trace("Creating OFFusedDecoder");
+        this.connectionFacade = connectionFacade;
+        this.firstTlsPass = tlsPresent;
+        this.deserializationFactory = deserializationFactory;
+        statisticsCounters = StatisticsCounters.getInstance();
+        messageStatistics = connectionFacade.getMessageStatistics();
+    }
+
+    @Override
+    public void setFilterPacketIns(final boolean enabled) {
+        filterPacketIns = enabled;
+    }
+
+    @Override
+    public void setPacketInRateLimiter(final PacketInRateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    public void exceptionCaught(final ChannelHandlerContext ctx, final Throwable cause) throws Exception {
+        if (cause instanceof io.netty.handler.ssl.NotSslRecordException) {
+            LOG.warn("Not an TLS record exception - please verify TLS configuration.");
+        } else {
+            LOG.warn("Unexpected exception from downstream.", cause);
+        }
+        LOG.warn("Closing connection.");
+        ctx.close();
+    }
+
+    @Override
+    protected void decode(final ChannelHandlerContext ctx, final ByteBuf bb, final List<Object> out) {
+        if (firstTlsPass) {
+            connectionFacade.fireConnectionReadyNotification();
+            firstTlsPass = false;
+        }
+        final int readableBytes = bb.readableBytes();
+        if (readableBytes < OFFrameDecoder.LENGTH_OF_HEADER) {
+            LOG.trace("skipping bytebuf - too few bytes for header: {} < {}", readableBytes,
+                    OFFrameDecoder.LENGTH_OF_HEADER);
+            return;
+        }
+
+        final int start = bb.readerIndex();
+        final int length = bb.getUnsignedShort(start + LENGTH_INDEX_IN_HEADER);
+        if (length < OFFrameDecoder.LENGTH_OF_HEADER) {
+            LOG.warn("Invalid message length {}, closing connection", length);
+            bb.skipBytes(readableBytes);
+            ctx.close();
+            return;
+        }
+        if (readableBytes < length) {
+            LOG.trace("skipping bytebuf - too few bytes for msg: {} < {}", readableBytes, length);
+            return;
+        }
+
+        final int end = start + length;
+        final byte version = bb.getByte(start);
+        final short messageType = bb.getUnsignedByte(start + TYPE_INDEX_IN_HEADER);
+        if (messageType != EncodeConstants.OF_HELLO_MESSAGE_TYPE_VALUE && !isSupportedVersion(version)) {
+            LOG.warn("detected version: {} - currently not supported", version);
+            bb.readerIndex(end);
+            return;
+        }
+        if (messageType == EncodeConstants.OF_PACKETIN_MESSAGE_TYPE_VALUE
+                && (filterPacketIns || rateLimiter != null && !rateLimiter.tryAcquire(bb, start, length))) {
+            LOG.debug("dropped packetin");
+            statisticsCounters.incrementCounter(CounterEventTypes.US_DROPPED_PACKET_IN);
+            bb.readerIndex(end);
+            return;
+        }
+
+        statisticsCounters.incrementCounter(CounterEventTypes.US_RECEIVED_IN_OFJAVA);
+        if (messageStatistics != null) {
+            messageStatistics.countMessage(MessageCounterType.IN_MESSAGES, MessageCounterType.IN_BYTES,
+                    messageType, length);
+        }
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("<< {}", ByteBufUtils.byteBufToHexString(bb.slice(start, length)));
+        }
+
+        // Bound the cumulation buffer to the current message, so deserializers consuming
+        // all readable bytes (e.g. PacketIn payload) stop at the frame boundary
+        final int writerIndex = bb.writerIndex();
+        bb.setIndex(start + EncodeConstants.SIZE_OF_BYTE_IN_BYTES, end);
+        try {
+            final MultipartReplyEntryConsumer entryConsumer = DeserializationFactory.isMultipartReply(version,
+                    messageType) ? connectionFacade.getMultipartReplyEntryConsumer() : null;
+            final DataObject dataObject = entryConsumer == null ? deserializationFactory.deserialize(bb, version)
+                    : deserializationFactory.deserialize(bb, version, entryConsumer);
+            if (dataObject == null) {
+                LOG.warn("Translated POJO is null");
+                countDecodeFailure(messageType);
+            } else {
+                out.add(dataObject);
+                statisticsCounters.incrementCounter(CounterEventTypes.US_DECODE_SUCCESS);
+            }
+        } catch (Exception e) {
+            LOG.warn("Message deserialization failed", e);
+            countDecodeFailure(messageType);
+        } finally {
+            bb.setIndex(end, writerIndex);
+        }
+    }
+
+    private void countDecodeFailure(final short messageType) {
+        statisticsCounters.incrementCounter(CounterEventTypes.US_DECODE_FAIL);
+        if (messageStatistics != null) {
+            messageStatistics.increment(MessageCounterType.DECODE_FAILURES, messageType);
+        }
+    }
+
+    private static boolean isSupportedVersion(final byte version) {
+        return version == EncodeConstants.OF10_VERSION_ID || version == EncodeConstants.OF13_VERSION_ID;
+    }
+}
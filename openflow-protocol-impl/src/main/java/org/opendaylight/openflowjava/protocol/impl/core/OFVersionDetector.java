@@ -24,7 +24,7 @@ import org.slf4j.LoggerFactory;
  * Detects version of used OpenFlow Protocol and discards unsupported version messages.
  * @author michal.polkorab
  */
-public class OFVersionDetector extends ByteToMessageDecoder {
+public class OFVersionDetector extends ByteToMessageDecoder implements PacketInFilter {
 
     private static final Logger LOG = LoggerFactory.getLogger(OFVersionDetector.class);
     /** IDs of accepted OpenFlow protocol versions */
@@ -34,16 +34,23 @@ public class OFVersionDetector extends ByteToMessageDecoder {
     ));
     private final StatisticsCounters statisticsCounters;
     private volatile boolean filterPacketIns;
+    private PacketInRateLimiter rateLimiter;
 
     public OFVersionDetector() {
         LOG.trace("Creating OFVersionDetector");
         statisticsCounters = StatisticsCounters.getInstance();
     }
 
+    @Override
     public void setFilterPacketIns(final boolean enabled) {
         filterPacketIns = enabled;
     }
 
+    @Override
+    public void setPacketInRateLimiter(final PacketInRateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
     @Override
     protected void decode(final ChannelHandlerContext ctx, final ByteBuf in, final List<Object> out) {
         if (!in.isReadable()) {
@@ -56,7 +63,7 @@ public class OFVersionDetector extends ByteToMessageDecoder {
         final short messageType = in.getUnsignedByte(in.readerIndex());
         if (messageType == EncodeConstants.OF_HELLO_MESSAGE_TYPE_VALUE || OF_VERSIONS.contains(version)) {
             LOG.debug("detected version: {}", version);
-            if (!filterPacketIns || EncodeConstants.OF_PACKETIN_MESSAGE_TYPE_VALUE != messageType) {
+            if (EncodeConstants.OF_PACKETIN_MESSAGE_TYPE_VALUE != messageType || admitPacketIn(in)) {
                 ByteBuf messageBuffer = in.slice();
                 out.add(new VersionMessageWrapper(version, messageBuffer));
                 messageBuffer.retain();
@@ -70,4 +77,13 @@ public class OFVersionDetector extends ByteToMessageDecoder {
         in.skipBytes(in.readableBytes());
     }
 
+    private boolean admitPacketIn(final ByteBuf in) {
+        if (filterPacketIns) {
+            return false;
+        }
+        // version byte has already been read
+        final int start = in.readerIndex() - 1;
+        return rateLimiter == null || rateLimiter.tryAcquire(in, start, in.writerIndex() - start);
+    }
+
 }
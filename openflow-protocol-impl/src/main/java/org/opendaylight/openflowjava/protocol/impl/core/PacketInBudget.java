@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.impl.core;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * PacketIn rate shared by all switches of a server. Every registered switch is guaranteed an equal share,
+ * so a single switch cannot exhaust the budget of the others. Every admitted PacketIn is also taken from
+ * a shared bucket refilled at the global rate, a switch which used up its own share may borrow from it
+ * the rate left unused by idle switches.
+ */
+public class PacketInBudget {
+
+    private final long globalRate;
+    private final AtomicInteger switches = new AtomicInteger();
+    private final TokenBucket sharedBucket;
+
+    /**
+     * @param globalRate PacketIns per second admitted from all switches together
+     */
+    public PacketInBudget(final long globalRate) {
+        this(globalRate, System.nanoTime());
+    }
+
+    @VisibleForTesting
+    PacketInBudget(final long globalRate, final long now) {
+        Preconditions.checkArgument(globalRate > 0, "Global rate must be positive");
+        this.globalRate = globalRate;
+        sharedBucket = new TokenBucket(globalRate, 0, now);
+    }
+
+    void register() {
+        switches.incrementAndGet();
+    }
+
+    void unregister() {
+        switches.decrementAndGet();
+    }
+
+    /**
+     * Takes a token of PacketIn admitted within switch's own share, the shared bucket may go into debt,
+     * so the guaranteed share is always honored
+     * @param now current time in nanoseconds
+     */
+    synchronized void consume(final long now) {
+        sharedBucket.refill(now);
+        sharedBucket.consume();
+    }
+
+    /**
+     * Takes a token of PacketIn exceeding switch's own share
+     * @param now current time in nanoseconds
+     * @return true if rate left unused by other switches is available
+     */
+    synchronized boolean tryBorrow(final long now) {
+        if (sharedBucket.refill(now)) {
+            sharedBucket.consume();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return PacketIns per second guaranteed from a single switch
+     */
+    public double getFairShare() {
+        return (double) globalRate / Math.max(1, switches.get());
+    }
+
+    /**
+     * @return PacketIns per second admitted from all switches together
+     */
+    public long getGlobalRate() {
+        return globalRate;
+    }
+
+    /**
+     * @return number of switches sharing the budget
+     */
+    public int getSwitchCount() {
+        return switches.get();
+    }
+}
@@ -0,0 +1,26 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.impl.core;
+
+/**
+ * Pipeline handler which is able to drop incoming PacketIn messages before they are deserialized.
+ */
+public interface PacketInFilter {
+
+    /**
+     * @param enabled true if PacketIn messages should be dropped, false if they should be passed on
+     */
+    void setFilterPacketIns(boolean enabled);
+
+    /**
+     * @param rateLimiter admission control applied to PacketIn messages which are not filtered,
+     *                    null admits all of them
+     */
+    void setPacketInRateLimiter(PacketInRateLimiter rateLimiter);
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.impl.core;
+
+import com.google.common.annotations.VisibleForTesting;
+import io.netty.buffer.ByteBuf;
+import org.opendaylight.openflowjava.protocol.api.connection.PacketInRateLimitConfiguration;
+import org.opendaylight.openflowjava.protocol.api.util.EncodeConstants;
+import org.opendaylight.openflowjava.statistics.ConnectionStatistics;
+import org.opendaylight.openflowjava.statistics.MessageCounterType;
+
+/**
+ * Admission control of PacketIn messages received from a single switch. Works on raw frames, so excess
+ * PacketIns are dropped before they are deserialized. A PacketIn is admitted only if the switch bucket,
+ * the bucket of its flow table and the bucket of its reason all have a token and either the switch's share
+ * of the global budget has a token or the share left unused by other switches can be borrowed.
+ * Must be used from the channel's event loop only.
+ */
+public class PacketInRateLimiter {
+
+    private static final int OF13_REASON_INDEX = 14;
+    private static final int OF13_TABLE_ID_INDEX = 15;
+    private static final int OF10_REASON_INDEX = 16;
+    private static final int MAX_KEYS = 256;
+
+    private final TokenBucket switchBucket;
+    private final long tableRate;
+    private final long reasonRate;
+    private final TokenBucket[] tableBuckets;
+    private final TokenBucket[] reasonBuckets;
+    private final PacketInBudget budget;
+    private final TokenBucket shareBucket;
+    private final ConnectionStatistics messageStatistics;
+    private double share;
+    private boolean closed;
+    private volatile long admitted;
+    private volatile long dropped;
+
+    /**
+     * @param config limits of admitted PacketIns
+     * @param budget global budget shared with other switches, null if not limited
+     * @param messageStatistics statistics of the connection, null if not collected
+     */
+    public PacketInRateLimiter(final PacketInRateLimitConfiguration config, final PacketInBudget budget,
+            final ConnectionStatistics messageStatistics) {
+        this(config, budget, messageStatistics, System.nanoTime());
+    }
+
+    @VisibleForTesting
+    PacketInRateLimiter(final PacketInRateLimitConfiguration config, final PacketInBudget budget,
+            final ConnectionStatistics messageStatistics, final long now) {
+        switchBucket = config.getSwitchRate() > 0
+                ? new TokenBucket(config.getSwitchRate(), config.getSwitchBurst(), now) : null;
+        tableRate = config.getTableRate();
+        tableBuckets = tableRate > 0 ? new TokenBucket[MAX_KEYS] : null;
+        reasonRate = config.getReasonRate();
+        reasonBuckets = reasonRate > 0 ? new TokenBucket[MAX_KEYS] : null;
+        this.budget = budget;
+        if (budget != null) {
+            budget.register();
+            share = budget.getFairShare();
+            shareBucket = new TokenBucket(share, 0, now);
+        } else {
+            shareBucket = null;
+        }
+        this.messageStatistics = messageStatistics;
+    }
+
+    /**
+     * @param message buffer holding a PacketIn frame
+     * @param start index of the version byte of the frame
+     * @param length length of the frame
+     * @return true if the PacketIn is admitted, false if it should be dropped
+     */
+    public boolean tryAcquire(final ByteBuf message, final int start, final int length) {
+        return tryAcquire(message, start, length, System.nanoTime());
+    }
+
+    @VisibleForTesting
+    boolean tryAcquire(final ByteBuf message, final int start, final int length, final long now) {
+        final byte version = message.getByte(start);
+        final TokenBucket tableBucket = tableBuckets != null && version == EncodeConstants.OF13_VERSION_ID
+                && length > OF13_TABLE_ID_INDEX
+                ? bucket(tableBuckets, message.getUnsignedByte(start + OF13_TABLE_ID_INDEX), tableRate, now) : null;
+        final int reasonIndex = version == EncodeConstants.OF13_VERSION_ID ? OF13_REASON_INDEX : OF10_REASON_INDEX;
+        final TokenBucket reasonBucket = reasonBuckets != null && length > reasonIndex
+                ? bucket(reasonBuckets, message.getUnsignedByte(start + reasonIndex), reasonRate, now) : null;
+        if (shareBucket != null) {
+            final double currentShare = budget.getFairShare();
+            if (currentShare != share) {
+                share = currentShare;
+                shareBucket.setRate(share, 0);
+            }
+        }
+
+        // check all buckets first, so a dropped PacketIn does not consume tokens of the buckets it passed
+        if (hasToken(switchBucket, now) && hasToken(tableBucket, now) && hasToken(reasonBucket, now)
+                && acquireShare(now)) {
+            consume(switchBucket);
+            consume(tableBucket);
+            consume(reasonBucket);
+            admitted++;
+            count(MessageCounterType.RATE_LIMIT_PASSES);
+            return true;
+        }
+        dropped++;
+        count(MessageCounterType.RATE_LIMIT_DROPS);
+        return false;
+    }
+
+    private boolean acquireShare(final long now) {
+        if (budget == null) {
+            return true;
+        }
+        if (shareBucket.refill(now)) {
+            shareBucket.consume();
+            budget.consume(now);
+            return true;
+        }
+        return budget.tryBorrow(now);
+    }
+
+    private static TokenBucket bucket(final TokenBucket[] buckets, final int key, final long rate, final long now) {
+        TokenBucket bucket = buckets[key];
+        if (bucket == null) {
+            bucket = new TokenBucket(rate, 0, now);
+            buckets[key] = bucket;
+        }
+        return bucket;
+    }
+
+    private static boolean hasToken(final TokenBucket bucket, final long now) {
+        return bucket == null || bucket.refill(now);
+    }
+
+    private static void consume(final TokenBucket bucket) {
+        if (bucket != null) {
+            bucket.consume();
+        }
+    }
+
+    private void count(final MessageCounterType counter) {
+        if (messageStatistics != null) {
+            messageStatistics.increment(counter, EncodeConstants.OF_PACKETIN_MESSAGE_TYPE_VALUE);
+        }
+    }
+
+    /**
+     * Releases the switch's share of the global budget
+     */
+    public synchronized void close() {
+        if (!closed && budget != null) {
+            budget.unregister();
+        }
+        closed = true;
+    }
+
+    /**
+     * @return number of admitted PacketIns
+     */
+    public long getAdmitted() {
+        return admitted;
+    }
+
+    /**
+     * @return number of dropped PacketIns
+     */
+    public long getDropped() {
+        return dropped;
+    }
+}
@@ -35,6 +35,11 @@ public enum PipelineHandlers {
      * Transforms OpenFlow Protocol byte messages into POJOs
      */
     OF_DECODER,
+    /**
+     * Frames, version-checks and transforms OpenFlow Protocol byte messages into POJOs
+     * in a single pass (replaces OF_FRAME_DECODER, OF_VERSION_DETECTOR and OF_DECODER)
+     */
+    OF_FUSED_DECODER,
     /**
      * Transforms POJOs into OpenFlow Protocol byte messages
      */
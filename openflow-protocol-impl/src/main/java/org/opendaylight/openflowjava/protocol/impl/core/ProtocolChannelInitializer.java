@@ -12,6 +12,7 @@ import io.netty.channel.Channel;
 import io.netty.channel.ChannelInitializer;
 import org.opendaylight.openflowjava.protocol.api.connection.SwitchConnectionHandler;
 import org.opendaylight.openflowjava.protocol.api.connection.TlsConfiguration;
+import org.opendaylight.openflowjava.protocol.impl.core.connection.HandshakeExecutor;
 import org.opendaylight.openflowjava.protocol.impl.deserialization.DeserializationFactory;
 import org.opendaylight.openflowjava.protocol.impl.serialization.SerializationFactory;
 
@@ -28,6 +29,7 @@ public abstract class ProtocolChannelInitializer<C extends Channel>
     private DeserializationFactory deserializationFactory;
     private TlsConfiguration tlsConfiguration;
     private boolean useBarrier;
+    private HandshakeExecutor handshakeExecutor;
 
     /**
      * @param switchConnectionHandler the switchConnectionHandler to set
@@ -112,4 +114,18 @@ public abstract class ProtocolChannelInitializer<C extends Channel>
     public boolean useBarrier() {
         return useBarrier;
     }
-}
\ No newline at end of file
+
+    /**
+     * @param handshakeExecutor executor running connection ready notifications
+     */
+    public void setHandshakeExecutor(final HandshakeExecutor handshakeExecutor) {
+        this.handshakeExecutor = handshakeExecutor;
+    }
+
+    /**
+     * @return executor running connection ready notifications, null for default
+     */
+    public HandshakeExecutor getHandshakeExecutor() {
+        return handshakeExecutor;
+    }
+}
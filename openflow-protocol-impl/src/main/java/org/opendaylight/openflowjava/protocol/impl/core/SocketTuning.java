@@ -0,0 +1,237 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.impl.core;
+
+import com.google.common.base.Preconditions;
+import io.netty.channel.AdaptiveRecvByteBufAllocator;
+import io.netty.channel.ChannelConfig;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.DefaultMaxMessagesRecvByteBufAllocator;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.FixedRecvByteBufAllocator;
+import io.netty.channel.WriteBufferWaterMark;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import org.opendaylight.openflowjava.protocol.api.connection.SocketConfiguration;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.config.rev140630.ReceiveBufferAllocator;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.config.rev140630.SocketTransport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Applies {@link SocketConfiguration} to channels and event loops. All options applied to channels
+ * can be changed while the channel is active.
+ */
+final class SocketTuning {
+    static final int DEFAULT_BACKLOG = 128;
+    /*
+     * Write watermarks, in bytes. The writability window is large enough to flush an entire queue segment
+     * in one go. We definitely want to keep the difference above 64k, as that will ensure we use
+     * jam-packed TCP packets. UDP will fragment as appropriate.
+     */
+    static final int DEFAULT_WRITE_HIGH_WATERMARK = 256 * 1024;
+    static final int DEFAULT_WRITE_LOW_WATERMARK = 128 * 1024;
+    /*
+     * Write spin count. This tells netty to immediately retry a non-blocking
+     * write this many times before moving on to selecting.
+     */
+    static final int DEFAULT_WRITE_SPIN_COUNT = 16;
+    /*
+     * We generally do not perform IO-unrelated tasks, so we want to have
+     * all outstanding tasks completed before the executing thread goes
+     * back into select.
+     *
+     * Any other setting means netty will measure the time it spent selecting
+     * and spend roughly proportional time executing tasks.
+     */
+    static final int DEFAULT_IO_RATIO = 100;
+    static final int DEFAULT_MAX_MESSAGES_PER_READ = 16;
+    static final int DEFAULT_RECEIVE_BUFFER_MINIMUM = 64;
+    static final int DEFAULT_RECEIVE_BUFFER_INITIAL = 1024;
+    static final int DEFAULT_RECEIVE_BUFFER_MAXIMUM = 65536;
+    static final int DEFAULT_UDP_MAX_PEERS = 4096;
+    static final long DEFAULT_UDP_PEER_IDLE_TIMEOUT = 300000;
+
+    /**
+     * Configuration used when none is provided
+     */
+    static final SocketConfiguration DEFAULTS = new SocketConfiguration() {
+        @Override
+        public SocketTransport getTransport() {
+            return SocketTransport.AUTO;
+        }
+
+        @Override
+        public int getBacklog() {
+            return DEFAULT_BACKLOG;
+        }
+
+        @Override
+        public int getListenerShards() {
+            return 1;
+        }
+
+        @Override
+        public int getReceiveBufferSize() {
+            return 0;
+        }
+
+        @Override
+        public int getSendBufferSize() {
+            return 0;
+        }
+
+        @Override
+        public int getWriteBufferHighWaterMark() {
+            return DEFAULT_WRITE_HIGH_WATERMARK;
+        }
+
+        @Override
+        public int getWriteBufferLowWaterMark() {
+            return DEFAULT_WRITE_LOW_WATERMARK;
+        }
+
+        @Override
+        public int getWriteSpinCount() {
+            return DEFAULT_WRITE_SPIN_COUNT;
+        }
+
+        @Override
+        public int getIoRatio() {
+            return DEFAULT_IO_RATIO;
+        }
+
+        @Override
+        public int getMaxMessagesPerRead() {
+            return DEFAULT_MAX_MESSAGES_PER_READ;
+        }
+
+        @Override
+        public ReceiveBufferAllocator getReceiveBufferAllocator() {
+            return ReceiveBufferAllocator.ADAPTIVE;
+        }
+
+        @Override
+        public int getReceiveBufferMinimum() {
+            return DEFAULT_RECEIVE_BUFFER_MINIMUM;
+        }
+
+        @Override
+        public int getReceiveBufferInitial() {
+            return DEFAULT_RECEIVE_BUFFER_INITIAL;
+        }
+
+        @Override
+        public int getReceiveBufferMaximum() {
+            return DEFAULT_RECEIVE_BUFFER_MAXIMUM;
+        }
+
+        @Override
+        public int getUdpMaxPeers() {
+            return DEFAULT_UDP_MAX_PEERS;
+        }
+
+        @Override
+        public long getUdpPeerIdleTimeout() {
+            return DEFAULT_UDP_PEER_IDLE_TIMEOUT;
+        }
+    };
+
+    private static final Logger LOG = LoggerFactory.getLogger(SocketTuning.class);
+
+    private SocketTuning() {
+        throw new UnsupportedOperationException("Utility class shouldn't be instantiated");
+    }
+
+    /**
+     * @param config socket configuration, null if defaults should be used
+     * @return validated configuration
+     * @throws IllegalArgumentException if options are not consistent
+     */
+    static SocketConfiguration checkConfiguration(final SocketConfiguration config) {
+        if (config == null) {
+            return DEFAULTS;
+        }
+        Preconditions.checkArgument(config.getWriteBufferLowWaterMark() <= config.getWriteBufferHighWaterMark(),
+                "Write buffer low watermark %s exceeds high watermark %s", config.getWriteBufferLowWaterMark(),
+                config.getWriteBufferHighWaterMark());
+        Preconditions.checkArgument(config.getReceiveBufferMinimum() <= config.getReceiveBufferInitial()
+                && config.getReceiveBufferInitial() <= config.getReceiveBufferMaximum(),
+                "Receive buffer sizes %s <= %s <= %s are not ordered", config.getReceiveBufferMinimum(),
+                config.getReceiveBufferInitial(), config.getReceiveBufferMaximum());
+        Preconditions.checkArgument(config.getIoRatio() > 0 && config.getIoRatio() <= 100,
+                "I/O ratio %s is out of range", config.getIoRatio());
+        return config;
+    }
+
+    /**
+     * @param transport requested transport, null selects the native transport if available
+     * @return true if Epoll transport should be used
+     */
+    static boolean isEpollEnabled(final SocketTransport transport) {
+        if (SocketTransport.NIO.equals(transport)) {
+            return false;
+        }
+        if (Epoll.isAvailable()) {
+            return true;
+        }
+        if (SocketTransport.EPOLL.equals(transport)) {
+            LOG.warn("Epoll transport is not available, falling back to NIO", Epoll.unavailabilityCause());
+        }
+        return false;
+    }
+
+    /**
+     * Applies all options which can be changed on an active channel
+     * @param channelConfig configuration of the channel
+     * @param config socket configuration
+     */
+    static void applyChannelOptions(final ChannelConfig channelConfig, final SocketConfiguration config) {
+        channelConfig.setWriteBufferWaterMark(new WriteBufferWaterMark(config.getWriteBufferLowWaterMark(),
+                config.getWriteBufferHighWaterMark()));
+        channelConfig.setWriteSpinCount(config.getWriteSpinCount());
+        channelConfig.setRecvByteBufAllocator(receiveBufferAllocator(config));
+        // Options not supported by the channel are ignored
+        if (config.getReceiveBufferSize() > 0) {
+            channelConfig.setOption(ChannelOption.SO_RCVBUF, config.getReceiveBufferSize());
+        }
+        if (config.getSendBufferSize() > 0) {
+            channelConfig.setOption(ChannelOption.SO_SNDBUF, config.getSendBufferSize());
+        }
+    }
+
+    /**
+     * @param config socket configuration
+     * @return allocator of receive buffers, limited to configured number of reads in one event loop pass
+     */
+    static DefaultMaxMessagesRecvByteBufAllocator receiveBufferAllocator(final SocketConfiguration config) {
+        final DefaultMaxMessagesRecvByteBufAllocator allocator;
+        if (ReceiveBufferAllocator.FIXED.equals(config.getReceiveBufferAllocator())) {
+            allocator = new FixedRecvByteBufAllocator(config.getReceiveBufferInitial());
+        } else {
+            allocator = new AdaptiveRecvByteBufAllocator(config.getReceiveBufferMinimum(),
+                    config.getReceiveBufferInitial(), config.getReceiveBufferMaximum());
+        }
+        allocator.maxMessagesPerRead(config.getMaxMessagesPerRead());
+        return allocator;
+    }
+
+    /**
+     * @param group event loop group, its event loops are updated immediately
+     * @param ioRatio percentage of event loop time spent on I/O
+     */
+    static void setIoRatio(final EventLoopGroup group, final int ioRatio) {
+        if (group instanceof NioEventLoopGroup) {
+            ((NioEventLoopGroup) group).setIoRatio(ioRatio);
+        } else if (group instanceof EpollEventLoopGroup) {
+            ((EpollEventLoopGroup) group).setIoRatio(ioRatio);
+        }
+    }
+}
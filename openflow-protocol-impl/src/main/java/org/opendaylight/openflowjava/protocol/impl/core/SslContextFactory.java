@@ -8,22 +8,30 @@
 
 package org.opendaylight.openflowjava.protocol.impl.core;
 
+import java.io.File;
 import java.io.IOException;
 import java.security.KeyStore;
 import java.security.NoSuchAlgorithmException;
 import java.security.Security;
 import java.security.cert.CertificateException;
+import java.util.concurrent.TimeUnit;
 
 import javax.net.ssl.KeyManagerFactory;
 import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSessionContext;
 import javax.net.ssl.TrustManagerFactory;
 
 import org.opendaylight.openflowjava.protocol.api.connection.TlsConfiguration;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.config.rev140630.PathType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.base.Ticker;
+
 /**
- * Class for setting up TLS connection.
+ * Class for setting up TLS connection. The server-side {@link SSLContext} is created once and shared
+ * by all connections using the same {@link TlsConfiguration}; it is recreated only when a keystore
+ * or truststore file (path type {@link PathType#PATH}) is modified.
  *
  * @author michal.polkorab
  */
@@ -32,7 +40,18 @@ public class SslContextFactory {
     // "TLS" - supports some version of TLS
     // Use "TLSv1", "TLSv1.1", "TLSv1.2" for specific TLS version
     private static final String PROTOCOL = "TLS";
+    /** Maximal number of cached TLS sessions available for resumption */
+    static final int SESSION_CACHE_SIZE = 20480;
+    /** Lifetime of cached TLS sessions */
+    static final int SESSION_TIMEOUT_SECONDS = (int) TimeUnit.HOURS.toSeconds(24);
+    /** Minimal delay between two checks for modified keystore files */
+    private static final long RELOAD_CHECK_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
     private TlsConfiguration tlsConfig;
+    private final Ticker ticker;
+    private volatile SSLContext serverContext;
+    private volatile long lastReloadCheck;
+    private long loadedStoresStamp;
 
     private static final Logger LOG = LoggerFactory
             .getLogger(SslContextFactory.class);
@@ -43,19 +62,64 @@ public class SslContextFactory {
      *            keystore types
      */
     public SslContextFactory(TlsConfiguration tlsConfig) {
+        this(tlsConfig, Ticker.systemTicker());
+    }
+
+    SslContextFactory(final TlsConfiguration tlsConfig, final Ticker ticker) {
         this.tlsConfig = tlsConfig;
+        this.ticker = ticker;
     }
 
     /**
-     * @return servercontext
+     * @return servercontext, shared until keystore or truststore changes;
+     *         null if the context could not be initialized
      */
     public SSLContext getServerContext() {
+        final long now = ticker.read();
+        SSLContext context = serverContext;
+        if (context == null || now - lastReloadCheck >= RELOAD_CHECK_INTERVAL_NANOS) {
+            synchronized (this) {
+                context = serverContext;
+                if (context == null || now - lastReloadCheck >= RELOAD_CHECK_INTERVAL_NANOS) {
+                    final long storesStamp = getStoresStamp();
+                    if (context == null || storesStamp != loadedStoresStamp) {
+                        LOG.debug("Loading keystore / truststore, previous context present: {}", context != null);
+                        final SSLContext reloaded = createServerContext();
+                        // Keep serving the previous context if the reload failed
+                        if (reloaded != null) {
+                            context = reloaded;
+                            serverContext = reloaded;
+                            loadedStoresStamp = storesStamp;
+                        }
+                    }
+                    lastReloadCheck = now;
+                }
+            }
+        }
+        return context;
+    }
+
+    private long getStoresStamp() {
+        return 31 * getFileStamp(tlsConfig.getTlsKeystore(), tlsConfig.getTlsKeystorePathType())
+                + getFileStamp(tlsConfig.getTlsTruststore(), tlsConfig.getTlsTruststorePathType());
+    }
+
+    private static long getFileStamp(final String filename, final PathType pathType) {
+        if (pathType != PathType.PATH) {
+            // classpath resources do not change at runtime
+            return 0;
+        }
+        final File file = new File(filename);
+        return 31 * file.lastModified() + file.length();
+    }
+
+    private SSLContext createServerContext() {
         String algorithm = Security
                 .getProperty("ssl.KeyManagerFactory.algorithm");
         if (algorithm == null) {
             algorithm = "SunX509";
         }
-        SSLContext serverContext = null;
+        SSLContext context = null;
         try {
             KeyStore ks = KeyStore.getInstance(tlsConfig.getTlsKeystoreType().name());
             ks.load(SslKeyStore.asInputStream(tlsConfig.getTlsKeystore(), tlsConfig.getTlsKeystorePathType()),
@@ -69,8 +133,11 @@ public class SslContextFactory {
             TrustManagerFactory tmf = TrustManagerFactory.getInstance(algorithm);
             tmf.init(ts);
 
-            serverContext = SSLContext.getInstance(PROTOCOL);
-            serverContext.init(kmf.getKeyManagers(), tmf.getTrustManagers(), null);
+            context = SSLContext.getInstance(PROTOCOL);
+            context.init(kmf.getKeyManagers(), tmf.getTrustManagers(), null);
+            final SSLSessionContext sessionContext = context.getServerSessionContext();
+            sessionContext.setSessionCacheSize(SESSION_CACHE_SIZE);
+            sessionContext.setSessionTimeout(SESSION_TIMEOUT_SECONDS);
         } catch (IOException e) {
             LOG.warn("IOException - Failed to load keystore / truststore."
                     + " Failed to initialize the server-side SSLContext", e);
@@ -83,6 +150,6 @@ public class SslContextFactory {
         } catch (Exception e) {
             LOG.warn("Exception - Failed to initialize the server-side SSLContext", e);
         }
-        return serverContext;
+        return context;
     }
 }
@@ -13,14 +13,22 @@ import java.net.InetAddress;
 import java.net.UnknownHostException;
 import java.util.List;
 import org.opendaylight.openflowjava.protocol.api.connection.ConnectionConfiguration;
+import org.opendaylight.openflowjava.protocol.api.connection.PacketInRateLimitConfiguration;
+import org.opendaylight.openflowjava.protocol.api.connection.SocketConfiguration;
 import org.opendaylight.openflowjava.protocol.api.connection.ThreadConfiguration;
 import org.opendaylight.openflowjava.protocol.api.connection.TlsConfiguration;
+import org.opendaylight.openflowjava.protocol.impl.core.connection.ConnectionFacade;
+import org.opendaylight.openflowjava.protocol.impl.core.connection.HandshakeExecutor;
 import org.opendaylight.openflowjava.protocol.spi.connection.SwitchConnectionProvider;
 import org.opendaylight.openflowjava.protocol.spi.connection.SwitchConnectionProviderFactory;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.IpAddress;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.config.rev140630.KeystoreType;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.config.rev140630.ReceiveBufferAllocator;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.config.rev140630.SocketTransport;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.config.rev140630.TransportProtocol;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.openflow._switch.connection.config.rev160506.SwitchConnectionConfig;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.openflow._switch.connection.config.rev160506._switch.connection.config.PacketInRateLimit;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.openflow._switch.connection.config.rev160506._switch.connection.config.Socket;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.openflow._switch.connection.config.rev160506._switch.connection.config.Threads;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.openflow._switch.connection.config.rev160506._switch.connection.config.Tls;
 
@@ -167,6 +175,23 @@ public class SwitchConnectionProviderFactoryImpl implements SwitchConnectionProv
                 public int getBossThreadCount() {
                     return threads.getBossThreads();
                 }
+
+                @Override
+                public int getHandshakeThreadCount() {
+                    return MoreObjects.firstNonNull(threads.getHandshakeThreads(), HandshakeExecutor.DEFAULT_THREADS);
+                }
+
+                @Override
+                public int getHandshakeQueueSize() {
+                    final Long queueSize = threads.getHandshakeQueueSize();
+                    return queueSize == null ? HandshakeExecutor.DEFAULT_QUEUE_SIZE
+                            : (int) Math.min(queueSize, Integer.MAX_VALUE);
+                }
+
+                @Override
+                public boolean useVirtualThreads() {
+                    return Boolean.TRUE.equals(threads.isUseVirtualThreads());
+                }
             };
         }
 
@@ -174,5 +199,181 @@ public class SwitchConnectionProviderFactoryImpl implements SwitchConnectionProv
         public boolean useBarrier() {
             return config.isUseBarrier();
         }
+
+        @Override
+        public boolean useFusedDecoder() {
+            return config.isUseFusedDecoder();
+        }
+
+        @Override
+        public int getOutboundCoalescingBytes() {
+            final Long coalescingBytes = config.getOutboundCoalescingBytes();
+            return coalescingBytes == null ? 0
+                    : (int) Math.min(coalescingBytes, ConnectionFacade.MAX_OUTBOUND_COALESCING_BYTES);
+        }
+
+        @Override
+        public int getOutboundQueueSegmentSize() {
+            final Integer segmentSize = config.getOutboundQueueSegmentSize();
+            if (segmentSize == null) {
+                return 0;
+            }
+            // round up to a power of two, so that offsets within segments can be masked
+            return Integer.bitCount(segmentSize) == 1 ? segmentSize : Integer.highestOneBit(segmentSize) << 1;
+        }
+
+        @Override
+        public int getOutboundQueueSegmentPoolSize() {
+            final Integer poolSize = config.getOutboundQueueSegmentPoolSize();
+            return poolSize == null ? 0 : poolSize;
+        }
+
+        @Override
+        public long getRpcResponseTimeout() {
+            final Long timeout = config.getRpcResponseTimeout();
+            return timeout == null ? 0 : timeout;
+        }
+
+        @Override
+        public boolean useLazyPacketIn() {
+            return Boolean.TRUE.equals(config.isLazyPacketIn());
+        }
+
+        @Override
+        public PacketInRateLimitConfiguration getPacketInRateLimitConfiguration() {
+            final PacketInRateLimit rateLimit = config.getPacketInRateLimit();
+            if (rateLimit == null) {
+                return null;
+            }
+
+            return new PacketInRateLimitConfiguration() {
+                @Override
+                public long getSwitchRate() {
+                    return valueOf(rateLimit.getSwitchRate());
+                }
+
+                @Override
+                public long getSwitchBurst() {
+                    return valueOf(rateLimit.getSwitchBurst());
+                }
+
+                @Override
+                public long getTableRate() {
+                    return valueOf(rateLimit.getTableRate());
+                }
+
+                @Override
+                public long getReasonRate() {
+                    return valueOf(rateLimit.getReasonRate());
+                }
+
+                @Override
+                public long getGlobalRate() {
+                    return valueOf(rateLimit.getGlobalRate());
+                }
+            };
+        }
+
+        @Override
+        public SocketConfiguration getSocketConfiguration() {
+            final Socket socket = config.getSocket();
+            if (socket == null) {
+                return null;
+            }
+
+            return new SocketConfiguration() {
+                @Override
+                public SocketTransport getTransport() {
+                    return MoreObjects.firstNonNull(socket.getTransport(), SocketTransport.AUTO);
+                }
+
+                @Override
+                public int getBacklog() {
+                    return intValueOf(socket.getBacklog(), SocketTuning.DEFAULT_BACKLOG);
+                }
+
+                @Override
+                public int getListenerShards() {
+                    return MoreObjects.firstNonNull(socket.getListenerShards(), 1);
+                }
+
+                @Override
+                public int getReceiveBufferSize() {
+                    return intValueOf(socket.getReceiveBufferSize(), 0);
+                }
+
+                @Override
+                public int getSendBufferSize() {
+                    return intValueOf(socket.getSendBufferSize(), 0);
+                }
+
+                @Override
+                public int getWriteBufferHighWaterMark() {
+                    return intValueOf(socket.getWriteBufferHighWatermark(), SocketTuning.DEFAULT_WRITE_HIGH_WATERMARK);
+                }
+
+                @Override
+                public int getWriteBufferLowWaterMark() {
+                    return intValueOf(socket.getWriteBufferLowWatermark(), SocketTuning.DEFAULT_WRITE_LOW_WATERMARK);
+                }
+
+                @Override
+                public int getWriteSpinCount() {
+                    return MoreObjects.firstNonNull(socket.getWriteSpinCount(), SocketTuning.DEFAULT_WRITE_SPIN_COUNT);
+                }
+
+                @Override
+                public int getIoRatio() {
+                    final Short ioRatio = socket.getIoRatio();
+                    return ioRatio == null ? SocketTuning.DEFAULT_IO_RATIO : ioRatio;
+                }
+
+                @Override
+                public int getMaxMessagesPerRead() {
+                    return MoreObjects.firstNonNull(socket.getMaxMessagesPerRead(),
+                            SocketTuning.DEFAULT_MAX_MESSAGES_PER_READ);
+                }
+
+                @Override
+                public ReceiveBufferAllocator getReceiveBufferAllocator() {
+                    return MoreObjects.firstNonNull(socket.getReceiveBufferAllocator(),
+                            ReceiveBufferAllocator.ADAPTIVE);
+                }
+
+                @Override
+                public int getReceiveBufferMinimum() {
+                    return intValueOf(socket.getReceiveBufferMinimum(), SocketTuning.DEFAULT_RECEIVE_BUFFER_MINIMUM);
+                }
+
+                @Override
+                public int getReceiveBufferInitial() {
+                    return intValueOf(socket.getReceiveBufferInitial(), SocketTuning.DEFAULT_RECEIVE_BUFFER_INITIAL);
+                }
+
+                @Override
+                public int getReceiveBufferMaximum() {
+                    return intValueOf(socket.getReceiveBufferMaximum(), SocketTuning.DEFAULT_RECEIVE_BUFFER_MAXIMUM);
+                }
+
+                @Override
+                public int getUdpMaxPeers() {
+                    return intValueOf(socket.getUdpMaxPeers(), SocketTuning.DEFAULT_UDP_MAX_PEERS);
+                }
+
+                @Override
+                public long getUdpPeerIdleTimeout() {
+                    return MoreObjects.firstNonNull(socket.getUdpPeerIdleTimeout(),
+                            SocketTuning.DEFAULT_UDP_PEER_IDLE_TIMEOUT);
+                }
+            };
+        }
+
+        private static long valueOf(final Long value) {
+            return value == null ? 0 : value;
+        }
+
+        private static int intValueOf(final Long value, final int defaultValue) {
+            return value == null ? defaultValue : (int) Math.min(value, Integer.MAX_VALUE);
+        }
     }
 }
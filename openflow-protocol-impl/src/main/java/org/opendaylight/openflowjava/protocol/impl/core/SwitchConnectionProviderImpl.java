@@ -11,10 +11,14 @@ package org.opendaylight.openflowjava.protocol.impl.core;
 
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.SettableFuture;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
 import io.netty.channel.EventLoopGroup;
-import io.netty.channel.epoll.Epoll;
 import org.opendaylight.openflowjava.protocol.api.connection.ConnectionConfiguration;
+import org.opendaylight.openflowjava.protocol.api.connection.EncodedMessage;
+import org.opendaylight.openflowjava.protocol.api.connection.SocketConfiguration;
 import org.opendaylight.openflowjava.protocol.api.connection.SwitchConnectionHandler;
+import org.opendaylight.openflowjava.protocol.api.connection.ThreadConfiguration;
 import org.opendaylight.openflowjava.protocol.api.extensibility.DeserializerRegistry;
 import org.opendaylight.openflowjava.protocol.api.extensibility.OFDeserializer;
 import org.opendaylight.openflowjava.protocol.api.extensibility.OFGeneralDeserializer;
@@ -34,8 +38,12 @@ import org.opendaylight.openflowjava.protocol.api.keys.MatchEntryDeserializerKey
 import org.opendaylight.openflowjava.protocol.api.keys.MatchEntrySerializerKey;
 import org.opendaylight.openflowjava.protocol.api.keys.MessageCodeKey;
 import org.opendaylight.openflowjava.protocol.api.keys.MessageTypeKey;
+import org.opendaylight.openflowjava.protocol.api.util.EncodeConstants;
+import org.opendaylight.openflowjava.protocol.impl.core.connection.HandshakeExecutor;
 import org.opendaylight.openflowjava.protocol.impl.deserialization.DeserializationFactory;
 import org.opendaylight.openflowjava.protocol.impl.deserialization.DeserializerRegistryImpl;
+import org.opendaylight.openflowjava.protocol.impl.deserialization.factories.LazyPacketInMessageFactory;
+import org.opendaylight.openflowjava.protocol.impl.deserialization.factories.PacketInMessageFactory;
 import org.opendaylight.openflowjava.protocol.impl.serialization.SerializationFactory;
 import org.opendaylight.openflowjava.protocol.impl.serialization.SerializerRegistryImpl;
 import org.opendaylight.openflowjava.protocol.api.keys.TypeToClassKey;
@@ -44,6 +52,8 @@ import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.config.rev140630.T
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.MatchField;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.OxmClassBase;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.ErrorMessage;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.OfHeader;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.PacketInMessage;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.experimenter.core.ExperimenterDataOfChoice;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.meter.band.header.meter.band.MeterBandExperimenterCase;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.queue.property.header.QueueProperty;
@@ -62,6 +72,8 @@ public class SwitchConnectionProviderImpl implements SwitchConnectionProvider, C
 
     private static final Logger LOG = LoggerFactory
             .getLogger(SwitchConnectionProviderImpl.class);
+    private static final MessageCodeKey PACKET_IN_KEY = new MessageCodeKey(EncodeConstants.OF13_VERSION_ID,
+            EncodeConstants.OF_PACKETIN_MESSAGE_TYPE_VALUE, PacketInMessage.class);
     private SwitchConnectionHandler switchConnectionHandler;
     private ServerFacade serverFacade;
     private ConnectionConfiguration connConfig;
@@ -70,6 +82,8 @@ public class SwitchConnectionProviderImpl implements SwitchConnectionProvider, C
     private final DeserializerRegistry deserializerRegistry;
     private final DeserializationFactory deserializationFactory;
     private TcpConnectionInitializer connectionInitializer;
+    private HandshakeExecutor handshakeExecutor;
+    private LazyPacketInMessageFactory lazyPacketInFactory;
 
     /** Constructor */
     public SwitchConnectionProviderImpl() {
@@ -101,6 +115,9 @@ public class SwitchConnectionProviderImpl implements SwitchConnectionProvider, C
             LOG.warn("Can not shutdown - not configured or started");
             throw new IllegalStateException("SwitchConnectionProvider is not started or not configured.");
         }
+        if (handshakeExecutor != null) {
+            handshakeExecutor.close();
+        }
         return serverFacade.shutdown();
     }
 
@@ -136,16 +153,31 @@ public class SwitchConnectionProviderImpl implements SwitchConnectionProvider, C
         factory.setSerializationFactory(serializationFactory);
         factory.setDeserializationFactory(deserializationFactory);
         factory.setUseBarrier(connConfig.useBarrier());
+        factory.setUseFusedDecoder(connConfig.useFusedDecoder());
+        factory.setOutboundCoalescingBytes(connConfig.getOutboundCoalescingBytes());
+        factory.setOutboundQueueSegments(connConfig.getOutboundQueueSegmentSize(),
+                connConfig.getOutboundQueueSegmentPoolSize());
+        factory.setRpcResponseTimeout(connConfig.getRpcResponseTimeout());
+        factory.setPacketInRateLimit(connConfig.getPacketInRateLimitConfiguration());
+        final SocketConfiguration socketConfig = SocketTuning.checkConfiguration(connConfig.getSocketConfiguration());
+        factory.setSocketConfiguration(socketConfig);
+        if (connConfig.useLazyPacketIn()) {
+            lazyPacketInFactory = new LazyPacketInMessageFactory();
+            deserializerRegistry.registerDeserializer(PACKET_IN_KEY, lazyPacketInFactory);
+        } else if (lazyPacketInFactory != null) {
+            restorePacketInDeserializer();
+        }
+        handshakeExecutor = createHandshakeExecutor(connConfig.getThreadConfiguration());
+        factory.setHandshakeExecutor(handshakeExecutor);
         final TransportProtocol transportProtocol = (TransportProtocol) connConfig.getTransferProtocol();
 
-        // Check if Epoll native transport is available.
-        // TODO : Add option to disable Epoll.
-        boolean isEpollEnabled = Epoll.isAvailable();
+        final boolean isEpollEnabled = SocketTuning.isEpollEnabled(socketConfig.getTransport());
 
         if ((TransportProtocol.TCP.equals(transportProtocol) || TransportProtocol.TLS.equals(transportProtocol))) {
             server = new TcpHandler(connConfig.getAddress(), connConfig.getPort());
             final TcpChannelInitializer channelInitializer = factory.createPublishingChannelInitializer();
             ((TcpHandler) server).setChannelInitializer(channelInitializer);
+            ((TcpHandler) server).setSocketConfiguration(socketConfig);
             ((TcpHandler) server).initiateEventLoopGroups(connConfig.getThreadConfiguration(), isEpollEnabled);
 
             final EventLoopGroup workerGroupFromTcpHandler = ((TcpHandler) server).getWorkerGroup();
@@ -154,6 +186,7 @@ public class SwitchConnectionProviderImpl implements SwitchConnectionProvider, C
             connectionInitializer.run();
         } else if (TransportProtocol.UDP.equals(transportProtocol)){
             server = new UdpHandler(connConfig.getAddress(), connConfig.getPort());
+            ((UdpHandler) server).setSocketConfiguration(socketConfig);
             ((UdpHandler) server).initiateEventLoopGroups(connConfig.getThreadConfiguration(), isEpollEnabled);
             ((UdpHandler) server).setChannelInitializer(factory.createUdpChannelInitializer());
         } else {
@@ -163,6 +196,34 @@ public class SwitchConnectionProviderImpl implements SwitchConnectionProvider, C
         return server;
     }
 
+    /**
+     * Replaces lazy PacketIn deserializer registered by previous startup with the default one. PacketIn
+     * deserializer registered meanwhile by an extension is left untouched.
+     */
+    private void restorePacketInDeserializer() {
+        final OFGeneralDeserializer current;
+        try {
+            current = deserializerRegistry.getDeserializer(PACKET_IN_KEY);
+        } catch (final IllegalStateException e) {
+            LOG.debug("PacketIn deserializer was unregistered, not restoring default", e);
+            lazyPacketInFactory = null;
+            return;
+        }
+        if (current == lazyPacketInFactory) {
+            deserializerRegistry.registerDeserializer(PACKET_IN_KEY, new PacketInMessageFactory());
+        }
+        lazyPacketInFactory = null;
+    }
+
+    private static HandshakeExecutor createHandshakeExecutor(final ThreadConfiguration threadConfig) {
+        if (threadConfig == null) {
+            return HandshakeExecutor.create(HandshakeExecutor.DEFAULT_THREADS, HandshakeExecutor.DEFAULT_QUEUE_SIZE,
+                    false);
+        }
+        return HandshakeExecutor.create(threadConfig.getHandshakeThreadCount(), threadConfig.getHandshakeQueueSize(),
+                threadConfig.useVirtualThreads());
+    }
+
     /**
      * @return servers
      */
@@ -292,6 +353,17 @@ public class SwitchConnectionProviderImpl implements SwitchConnectionProvider, C
         serializerRegistry.registerSerializer(key, serializer);
     }
 
+    @Override
+    public void updateSocketConfiguration(final SocketConfiguration socketConfiguration) {
+        if (serverFacade instanceof TcpHandler) {
+            ((TcpHandler) serverFacade).updateSocketConfiguration(socketConfiguration);
+        } else if (serverFacade instanceof UdpHandler) {
+            ((UdpHandler) serverFacade).updateSocketConfiguration(socketConfiguration);
+        } else {
+            throw new IllegalStateException("SwitchConnectionProvider is not started or not configured.");
+        }
+    }
+
     @Override
     public void initiateConnection(final String host, final int port) {
         connectionInitializer.initiateConnection(host, port);
@@ -302,6 +374,21 @@ public class SwitchConnectionProviderImpl implements SwitchConnectionProvider, C
         return this.connConfig;
     }
 
+    @Override
+    public EncodedMessage encodeMessage(final OfHeader message) {
+        final short version = message.getVersion();
+        final int estimate = serializationFactory.estimateSize(version, message);
+        final ByteBuf buffer = estimate > 0 ? PooledByteBufAllocator.DEFAULT.ioBuffer(estimate)
+                : PooledByteBufAllocator.DEFAULT.ioBuffer();
+        try {
+            serializationFactory.messageToBuffer(version, buffer, message);
+            return new EncodedMessage(message, buffer);
+        } catch (RuntimeException e) {
+            buffer.release();
+            throw e;
+        }
+    }
+
      @Override
     public <K> void registerSerializer(MessageTypeKey<K> key, OFGeneralSerializer serializer) {
         serializerRegistry.registerSerializer(key, serializer);
@@ -9,6 +9,8 @@
 package org.opendaylight.openflowjava.protocol.impl.core;
 
 import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.group.DefaultChannelGroup;
 import io.netty.channel.socket.SocketChannel;
 import io.netty.handler.ssl.SslHandler;
@@ -19,6 +21,9 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 import javax.net.ssl.SSLEngine;
+import org.opendaylight.openflowjava.protocol.api.connection.PacketInRateLimitConfiguration;
+import org.opendaylight.openflowjava.protocol.api.connection.SocketConfiguration;
+import org.opendaylight.openflowjava.protocol.api.connection.TlsConfiguration;
 import org.opendaylight.openflowjava.protocol.impl.core.connection.ConnectionAdapterFactory;
 import org.opendaylight.openflowjava.protocol.impl.core.connection.ConnectionAdapterFactoryImpl;
 import org.opendaylight.openflowjava.protocol.impl.core.connection.ConnectionFacade;
@@ -34,6 +39,15 @@ public class TcpChannelInitializer extends ProtocolChannelInitializer<SocketChan
     private static final Logger LOG = LoggerFactory.getLogger(TcpChannelInitializer.class);
     private final DefaultChannelGroup allChannels;
     private final ConnectionAdapterFactory connectionAdapterFactory;
+    private boolean useFusedDecoder;
+    private int outboundCoalescingBytes;
+    private int outboundQueueSegmentSize;
+    private int outboundQueueSegmentPoolSize;
+    private long rpcResponseTimeout;
+    private PacketInRateLimitConfiguration packetInRateLimit;
+    private PacketInBudget packetInBudget;
+    private SslContextFactory sslContextFactory;
+    private volatile SocketConfiguration socketConfig = SocketTuning.DEFAULTS;
 
     /**
      * Default constructor.
@@ -67,8 +81,17 @@ public class TcpChannelInitializer extends ProtocolChannelInitializer<SocketChan
         }
         LOG.debug("Incoming connection accepted - building pipeline");
         allChannels.add(ch);
+        SocketTuning.applyChannelOptions(ch.config(), socketConfig);
         ConnectionFacade connectionFacade = null;
-        connectionFacade = connectionAdapterFactory.createConnectionFacade(ch, null, useBarrier());
+        connectionFacade = connectionAdapterFactory.createConnectionFacade(ch, null, useBarrier(),
+                getHandshakeExecutor());
+        connectionFacade.setOutboundCoalescingBytes(outboundCoalescingBytes);
+        if (outboundQueueSegmentSize > 0) {
+            connectionFacade.setOutboundQueueSegments(outboundQueueSegmentSize, outboundQueueSegmentPoolSize);
+        }
+        if (rpcResponseTimeout > 0) {
+            connectionFacade.setRpcResponseTimeout(rpcResponseTimeout);
+        }
         try {
             LOG.debug("Calling OF plugin: {}", getSwitchConnectionHandler());
             getSwitchConnectionHandler().onSwitchConnected(connectionFacade);
@@ -80,8 +103,7 @@ public class TcpChannelInitializer extends ProtocolChannelInitializer<SocketChan
             // If this channel is configured to support SSL it will only support SSL
             if (getTlsConfiguration() != null) {
                 tlsPresent = true;
-                final SslContextFactory sslFactory = new SslContextFactory(getTlsConfiguration());
-                final SSLEngine engine = sslFactory.getServerContext().createSSLEngine();
+                final SSLEngine engine = sslContextFactory.getServerContext().createSSLEngine();
                 engine.setNeedClientAuth(true);
                 engine.setUseClientMode(false);
                 List<String> suitesList = getTlsConfiguration().getCipherSuites();
@@ -94,22 +116,49 @@ public class TcpChannelInitializer extends ProtocolChannelInitializer<SocketChan
                 final SslHandler ssl = new SslHandler(engine);
                 final Future<Channel> handshakeFuture = ssl.handshakeFuture();
                 final ConnectionFacade finalConnectionFacade = connectionFacade;
+                final TlsHandshakeStatistics handshakeStatistics = TlsHandshakeStatistics.getInstance();
+                final long handshakeStart = System.nanoTime();
                 handshakeFuture.addListener(new GenericFutureListener<Future<? super Channel>>() {
                     @Override
                     public void operationComplete(final Future<? super Channel> future) throws Exception {
+                        handshakeStatistics.recordHandshake(System.nanoTime() - handshakeStart, future.isSuccess());
                         finalConnectionFacade.fireConnectionReadyNotification();
                     }
                 });
                 ch.pipeline().addLast(PipelineHandlers.SSL_HANDLER.name(), ssl);
             }
-            ch.pipeline().addLast(PipelineHandlers.OF_FRAME_DECODER.name(),
-                    new OFFrameDecoder(connectionFacade, tlsPresent));
-            ch.pipeline().addLast(PipelineHandlers.OF_VERSION_DETECTOR.name(), new OFVersionDetector());
-            final OFDecoder ofDecoder = new OFDecoder();
-            ofDecoder.setDeserializationFactory(getDeserializationFactory());
-            ch.pipeline().addLast(PipelineHandlers.OF_DECODER.name(), ofDecoder);
+            final PacketInFilter packetInFilter;
+            if (useFusedDecoder) {
+                final OFFusedDecoder fusedDecoder = new OFFusedDecoder(connectionFacade, tlsPresent,
+                        getDeserializationFactory());
+                packetInFilter = fusedDecoder;
+                ch.pipeline().addLast(PipelineHandlers.OF_FUSED_DECODER.name(), fusedDecoder);
+            } else {
+                ch.pipeline().addLast(PipelineHandlers.OF_FRAME_DECODER.name(),
+                        new OFFrameDecoder(connectionFacade, tlsPresent));
+                final OFVersionDetector versionDetector = new OFVersionDetector();
+                packetInFilter = versionDetector;
+                ch.pipeline().addLast(PipelineHandlers.OF_VERSION_DETECTOR.name(), versionDetector);
+                final OFDecoder ofDecoder = new OFDecoder();
+                ofDecoder.setDeserializationFactory(getDeserializationFactory());
+                ofDecoder.setMessageStatistics(connectionFacade.getMessageStatistics());
+                ofDecoder.setConnectionFacade(connectionFacade);
+                ch.pipeline().addLast(PipelineHandlers.OF_DECODER.name(), ofDecoder);
+            }
+            if (packetInRateLimit != null) {
+                final PacketInRateLimiter rateLimiter = new PacketInRateLimiter(packetInRateLimit, packetInBudget,
+                        connectionFacade.getMessageStatistics());
+                packetInFilter.setPacketInRateLimiter(rateLimiter);
+                ch.closeFuture().addListener(new ChannelFutureListener() {
+                    @Override
+                    public void operationComplete(final ChannelFuture future) {
+                        rateLimiter.close();
+                    }
+                });
+            }
             final OFEncoder ofEncoder = new OFEncoder();
             ofEncoder.setSerializationFactory(getSerializationFactory());
+            ofEncoder.setMessageStatistics(connectionFacade.getMessageStatistics());
             ch.pipeline().addLast(PipelineHandlers.OF_ENCODER.name(), ofEncoder);
             ch.pipeline().addLast(PipelineHandlers.DELEGATING_INBOUND_HANDLER.name(),
                     new DelegatingInboundHandler(connectionFacade));
@@ -123,7 +172,137 @@ public class TcpChannelInitializer extends ProtocolChannelInitializer<SocketChan
     }
 
     /**
-     * @return iterator through active connections
+     * Sets TLS configuration. Server-side SSL context is created once and shared by all channels.
+     * @param tlsConfiguration TLS configuration, null if TLS is not used
+     */
+    @Override
+    public void setTlsConfiguration(final TlsConfiguration tlsConfiguration) {
+        super.setTlsConfiguration(tlsConfiguration);
+        sslContextFactory = tlsConfiguration == null ? null : new SslContextFactory(tlsConfiguration);
+    }
+
+    /**
+     * Selects the inbound decoding pipeline. By default the three-stage
+     * {@link OFFrameDecoder} - {@link OFVersionDetector} - {@link OFDecoder} pipeline is used.
+     * @param useFusedDecoder true if single-pass {@link OFFusedDecoder} should be used instead
+     */
+    public void setUseFusedDecoder(final boolean useFusedDecoder) {
+        this.useFusedDecoder = useFusedDecoder;
+    }
+
+    /**
+     * @return true if channels are initialized with {@link OFFusedDecoder}
+     */
+    public boolean useFusedDecoder() {
+        return useFusedDecoder;
+    }
+
+    /**
+     * @param outboundCoalescingBytes size of buffers into which outbound queue messages are coalesced,
+     *                                0 writes each message separately
+     */
+    public void setOutboundCoalescingBytes(final int outboundCoalescingBytes) {
+        this.outboundCoalescingBytes = outboundCoalescingBytes;
+    }
+
+    /**
+     * @return size of buffers into which outbound queue messages are coalesced
+     */
+    public int getOutboundCoalescingBytes() {
+        return outboundCoalescingBytes;
+    }
+
+    /**
+     * @param segmentSize number of entries in each outbound queue segment, a power of two, 0 keeps the default
+     * @param poolSize maximum number of segments pooled per event loop
+     */
+    public void setOutboundQueueSegments(final int segmentSize, final int poolSize) {
+        this.outboundQueueSegmentSize = segmentSize;
+        this.outboundQueueSegmentPoolSize = poolSize;
+    }
+
+    /**
+     * @return number of entries in each outbound queue segment, 0 for the default
+     */
+    public int getOutboundQueueSegmentSize() {
+        return outboundQueueSegmentSize;
+    }
+
+    /**
+     * @return maximum number of segments pooled per event loop
+     */
+    public int getOutboundQueueSegmentPoolSize() {
+        return outboundQueueSegmentPoolSize;
+    }
+
+    /**
+     * @param rpcResponseTimeout time to wait for switch response to a request (in milliseconds),
+     *                           0 keeps the default
+     */
+    public void setRpcResponseTimeout(final long rpcResponseTimeout) {
+        this.rpcResponseTimeout = rpcResponseTimeout;
+    }
+
+    /**
+     * @return time to wait for switch response to a request (in milliseconds), 0 if default is used
+     */
+    public long getRpcResponseTimeout() {
+        return rpcResponseTimeout;
+    }
+
+    /**
+     * Sets PacketIn admission control. All channels initialized by this initializer share the global budget.
+     * @param packetInRateLimit limits of admitted PacketIns, null if PacketIns are not rate limited
+     */
+    public void setPacketInRateLimit(final PacketInRateLimitConfiguration packetInRateLimit) {
+        this.packetInRateLimit = packetInRateLimit;
+        packetInBudget = packetInRateLimit != null && packetInRateLimit.getGlobalRate() > 0
+                ? new PacketInBudget(packetInRateLimit.getGlobalRate()) : null;
+    }
+
+    /**
+     * @return limits of admitted PacketIns, null if PacketIns are not rate limited
+     */
+    public PacketInRateLimitConfiguration getPacketInRateLimit() {
+        return packetInRateLimit;
+    }
+
+    /**
+     * @return PacketIn budget shared by all channels, null if global rate is not limited
+     */
+    public PacketInBudget getPacketInBudget() {
+        return packetInBudget;
+    }
+
+    /**
+     * @param socketConfig socket tuning applied to initialized channels, null if defaults should be used
+     */
+    public void setSocketConfiguration(final SocketConfiguration socketConfig) {
+        this.socketConfig = SocketTuning.checkConfiguration(socketConfig);
+    }
+
+    /**
+     * @return socket tuning applied to initialized channels
+     */
+    public SocketConfiguration getSocketConfiguration() {
+        return socketConfig;
+    }
+
+    /**
+     * Applies socket tuning to active channels and channels initialized later
+     * @param socketConfig socket configuration, null if defaults should be used
+     */
+    public void updateSocketConfiguration(final SocketConfiguration socketConfig) {
+        setSocketConfiguration(socketConfig);
+        final SocketConfiguration config = this.socketConfig;
+        for (final Channel channel : allChannels) {
+            SocketTuning.applyChannelOptions(channel.config(), config);
+        }
+        LOG.debug("Socket configuration applied to {} active channels", allChannels.size());
+    }
+
+    /**
+     * @return iterator through active connections, accepted by any listener sharing this initializer
      */
     public Iterator<Channel> getConnectionIterator() {
         return allChannels.iterator();
@@ -10,6 +10,7 @@ package org.opendaylight.openflowjava.protocol.impl.core;
 
 import io.netty.bootstrap.ServerBootstrap;
 import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.nio.NioEventLoopGroup;
@@ -19,14 +20,18 @@ import io.netty.handler.logging.LogLevel;
 import io.netty.handler.logging.LoggingHandler;
 import io.netty.util.concurrent.GenericFutureListener;
 
-import io.netty.channel.epoll.Epoll;
 import io.netty.channel.EventLoopGroup;
+import io.netty.channel.epoll.EpollChannelOption;
 import io.netty.channel.epoll.EpollEventLoopGroup;
 import io.netty.channel.epoll.EpollServerSocketChannel;
 
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
+import org.opendaylight.openflowjava.protocol.api.connection.SocketConfiguration;
 import org.opendaylight.openflowjava.protocol.api.connection.ThreadConfiguration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -40,17 +45,6 @@ import com.google.common.util.concurrent.SettableFuture;
  * @author michal.polkorab
  */
 public class TcpHandler implements ServerFacade {
-    /*
-     * High/low write watermarks, in KiB.
-     */
-    private static final int DEFAULT_WRITE_HIGH_WATERMARK = 64;
-    private static final int DEFAULT_WRITE_LOW_WATERMARK = 32;
-    /*
-     * Write spin count. This tells netty to immediately retry a non-blocking
-     * write this many times before moving on to selecting.
-     */
-    private static final int DEFAULT_WRITE_SPIN_COUNT = 16;
-
     private static final Logger LOG = LoggerFactory.getLogger(TcpHandler.class);
 
     private int port;
@@ -60,6 +54,8 @@ public class TcpHandler implements ServerFacade {
     private EventLoopGroup bossGroup;
     private final SettableFuture<Boolean> isOnlineFuture;
     private ThreadConfiguration threadConfig;
+    private volatile SocketConfiguration socketConfig = SocketTuning.DEFAULTS;
+    private volatile List<Channel> serverChannels = Collections.emptyList();
 
     private TcpChannelInitializer channelInitializer;
 
@@ -90,53 +86,42 @@ public class TcpHandler implements ServerFacade {
      */
     @Override
     public void run() {
-        /*
-         * We generally do not perform IO-unrelated tasks, so we want to have
-         * all outstanding tasks completed before the executing thread goes
-         * back into select.
-         *
-         * Any other setting means netty will measure the time it spent selecting
-         * and spend roughly proportional time executing tasks.
-         */
-        //workerGroup.setIoRatio(100);
-
-        final ChannelFuture f;
+        final int shards = listenerShards();
+        final List<Channel> channels = new ArrayList<>(shards);
+        boolean bound = false;
         try {
-            ServerBootstrap b = new ServerBootstrap();
-            b.group(bossGroup, workerGroup)
-                    .channel(socketChannelClass)
-                    .handler(new LoggingHandler(LogLevel.DEBUG))
-                    .childHandler(channelInitializer)
-                    .option(ChannelOption.SO_BACKLOG, 128)
-                    .option(ChannelOption.SO_REUSEADDR, true)
-                    .childOption(ChannelOption.SO_KEEPALIVE, true)
-                    .childOption(ChannelOption.TCP_NODELAY , true)
-                    .childOption(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
-                    .childOption(ChannelOption.WRITE_BUFFER_HIGH_WATER_MARK, DEFAULT_WRITE_HIGH_WATERMARK * 1024)
-                    .childOption(ChannelOption.WRITE_BUFFER_LOW_WATER_MARK, DEFAULT_WRITE_LOW_WATERMARK * 1024)
-                    .childOption(ChannelOption.WRITE_SPIN_COUNT, DEFAULT_WRITE_SPIN_COUNT);
-
-            if (startupAddress != null) {
-                f = b.bind(startupAddress.getHostAddress(), port).sync();
-            } else {
-                f = b.bind(port).sync();
+            // Boss loops are picked round-robin, so each shard is served by its own loop
+            channels.add(bind(bossGroup.next(), port, shards > 1));
+
+            // Update port, as it may have been specified as 0, other shards have to share it
+            this.port = ((InetSocketAddress) channels.get(0).localAddress()).getPort();
+            for (int i = 1; i < shards; ++i) {
+                channels.add(bind(bossGroup.next(), port, true));
             }
+            bound = true;
         } catch (InterruptedException e) {
             LOG.error("Interrupted while binding port {}", port, e);
             return;
+        } finally {
+            if (!bound) {
+                for (Channel channel : channels) {
+                    channel.close();
+                }
+            }
         }
 
         try {
-            InetSocketAddress isa = (InetSocketAddress) f.channel().localAddress();
+            serverChannels = channels;
+            InetSocketAddress isa = (InetSocketAddress) channels.get(0).localAddress();
             address = isa.getHostString();
 
-            // Update port, as it may have been specified as 0
-            this.port = isa.getPort();
-
             LOG.debug("address from tcphandler: {}", address);
             isOnlineFuture.set(true);
-            LOG.info("Switch listener started and ready to accept incoming tcp/tls connections on port: {}", port);
-            f.channel().closeFuture().sync();
+            LOG.info("Switch listener started and ready to accept incoming tcp/tls connections on port: {}"
+                    + " with {} listener(s)", port, shards);
+            for (Channel channel : channels) {
+                channel.closeFuture().sync();
+            }
         } catch (InterruptedException e) {
             LOG.error("Interrupted while waiting for port {} shutdown", port, e);
         } finally {
@@ -144,6 +129,61 @@ public class TcpHandler implements ServerFacade {
         }
     }
 
+    /**
+     * Binds one listener
+     * @param bossLoop event loop accepting connections of the listener
+     * @param bindPort port to bind
+     * @param reusePort true if the port is shared with other listeners
+     * @return bound server channel
+     * @throws InterruptedException if interrupted while binding
+     */
+    private Channel bind(final EventLoopGroup bossLoop, final int bindPort, final boolean reusePort)
+            throws InterruptedException {
+        // Tunable child options are applied by the channel initializer, so that they can be updated later
+        ServerBootstrap b = new ServerBootstrap();
+        b.group(bossLoop, workerGroup)
+                .channel(socketChannelClass)
+                .handler(new LoggingHandler(LogLevel.DEBUG))
+                .childHandler(channelInitializer)
+                .option(ChannelOption.SO_BACKLOG, socketConfig.getBacklog())
+                .option(ChannelOption.SO_REUSEADDR, true)
+                .childOption(ChannelOption.SO_KEEPALIVE, true)
+                .childOption(ChannelOption.TCP_NODELAY , true)
+                .childOption(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT);
+        if (reusePort) {
+            // Kernel load-balances incoming connections among listeners bound to the same port
+            b.option(EpollChannelOption.SO_REUSEPORT, true);
+        }
+        if (socketConfig.getReceiveBufferSize() > 0) {
+            // Accepted sockets inherit the receive buffer, it has to be set before listening to allow
+            // TCP window scaling beyond 64 KiB
+            b.option(ChannelOption.SO_RCVBUF, socketConfig.getReceiveBufferSize());
+        }
+
+        final ChannelFuture f;
+        if (startupAddress != null) {
+            f = b.bind(startupAddress.getHostAddress(), bindPort);
+        } else {
+            f = b.bind(bindPort);
+        }
+        return f.sync().channel();
+    }
+
+    /**
+     * @return number of listeners to bind, shards are supported by Epoll transport only
+     */
+    private int listenerShards() {
+        final int shards = socketConfig.getListenerShards();
+        if (shards <= 1) {
+            return 1;
+        }
+        if (!EpollServerSocketChannel.class.equals(socketChannelClass)) {
+            LOG.warn("Listener shards require Epoll transport, using single listener on port {}", port);
+            return 1;
+        }
+        return shards;
+    }
+
     /**
      * Shuts down {@link TcpHandler}}
      */
@@ -169,7 +209,7 @@ public class TcpHandler implements ServerFacade {
 
     /**
      *
-     * @return number of connected clients / channels
+     * @return number of connected clients / channels, accepted by any listener
      */
     public int getNumberOfConnections() {
         return channelInitializer.size();
@@ -180,6 +220,13 @@ public class TcpHandler implements ServerFacade {
         return isOnlineFuture;
     }
 
+    /**
+     * @return number of bound listeners, sharing the port if more than one
+     */
+    public int getListenerCount() {
+        return serverChannels.size();
+    }
+
     /**
      * @return the port
      */
@@ -206,6 +253,46 @@ public class TcpHandler implements ServerFacade {
         this.threadConfig = threadConfig;
     }
 
+    /**
+     * Sets socket and event loop tuning, needs to be called before event loop groups are initiated
+     * @param socketConfig socket configuration, null if defaults should be used
+     */
+    public void setSocketConfiguration(final SocketConfiguration socketConfig) {
+        this.socketConfig = SocketTuning.checkConfiguration(socketConfig);
+    }
+
+    /**
+     * @return socket and event loop tuning
+     */
+    public SocketConfiguration getSocketConfiguration() {
+        return socketConfig;
+    }
+
+    /**
+     * Applies socket and event loop tuning to the running server and its connections. Backlog and
+     * transport are kept until restart.
+     * @param socketConfig socket configuration, null if defaults should be used
+     */
+    public void updateSocketConfiguration(final SocketConfiguration socketConfig) {
+        final SocketConfiguration config = SocketTuning.checkConfiguration(socketConfig);
+        if (config.getBacklog() != this.socketConfig.getBacklog()
+                || config.getListenerShards() != this.socketConfig.getListenerShards()) {
+            LOG.info("Backlog and listener shards on port {} change on restart", port);
+        }
+        this.socketConfig = config;
+
+        if (workerGroup != null) {
+            SocketTuning.setIoRatio(workerGroup, config.getIoRatio());
+        }
+        if (config.getReceiveBufferSize() > 0) {
+            for (Channel channel : serverChannels) {
+                channel.config().setOption(ChannelOption.SO_RCVBUF, config.getReceiveBufferSize());
+            }
+        }
+        channelInitializer.updateSocketConfiguration(config);
+        LOG.debug("Socket configuration of listener on port {} updated", port);
+    }
+
     /**
      * Initiate event loop groups
      * @param threadConfiguration number of threads to be created, if not specified in threadConfig
@@ -232,7 +319,7 @@ public class TcpHandler implements ServerFacade {
             bossGroup = new NioEventLoopGroup();
             workerGroup = new NioEventLoopGroup();
         }
-        ((NioEventLoopGroup)workerGroup).setIoRatio(100);
+        ((NioEventLoopGroup)workerGroup).setIoRatio(socketConfig.getIoRatio());
     }
 
     /**
@@ -243,13 +330,13 @@ public class TcpHandler implements ServerFacade {
         try {
             socketChannelClass = EpollServerSocketChannel.class;
             if (threadConfiguration != null) {
-                    bossGroup = new EpollEventLoopGroup(threadConfiguration.getBossThreadCount());
+                bossGroup = new EpollEventLoopGroup(bossThreadCount(threadConfiguration.getBossThreadCount()));
                 workerGroup = new EpollEventLoopGroup(threadConfiguration.getWorkerThreadCount());
             } else {
-                bossGroup = new EpollEventLoopGroup();
+                bossGroup = new EpollEventLoopGroup(bossThreadCount(0));
                 workerGroup = new EpollEventLoopGroup();
             }
-            ((EpollEventLoopGroup)workerGroup).setIoRatio(100);
+            ((EpollEventLoopGroup)workerGroup).setIoRatio(socketConfig.getIoRatio());
             return;
         } catch (Throwable ex) {
             LOG.debug("Epoll initiation failed");
@@ -259,6 +346,15 @@ public class TcpHandler implements ServerFacade {
         initiateNioEventLoopGroups(threadConfiguration);
     }
 
+    /**
+     * @param configured configured number of boss threads, 0 for the default
+     * @return number of boss threads, so that each listener shard is served by its own thread
+     */
+    private int bossThreadCount(final int configured) {
+        final int shards = socketConfig.getListenerShards();
+        return shards > 1 && configured < shards ? shards : configured;
+    }
+
     /**
      * @return workerGroup
      */
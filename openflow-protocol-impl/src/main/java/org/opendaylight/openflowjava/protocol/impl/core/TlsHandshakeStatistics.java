@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.impl.core;
+
+import com.google.common.base.Preconditions;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import org.opendaylight.openflowjava.statistics.CounterEventTypes;
+import org.opendaylight.openflowjava.statistics.MBeanRegistration;
+import org.opendaylight.openflowjava.statistics.StatisticsCounters;
+
+/**
+ * Counts TLS handshakes and keeps a histogram of their durations. Bucket {@code i} holds handshakes
+ * which took less than 2<sup>i</sup> microseconds, the last bucket holds all longer handshakes.
+ * Statistics of all TLS listeners are exposed through JMX by the shared instance.
+ */
+public class TlsHandshakeStatistics implements TlsHandshakeStatisticsMXBean {
+
+    /**
+     * Name under which shared instance is registered in platform MBean server
+     */
+    public static final String OBJECT_NAME = "org.opendaylight.openflowjava:type=TlsHandshakes";
+
+    /** Number of histogram buckets, the last one is open-ended (above 2^26 us, about 67 s) */
+    static final int BUCKETS = 28;
+
+    private static final TlsHandshakeStatistics INSTANCE = new TlsHandshakeStatistics();
+
+    private final LongAdder successful = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+    private final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+    private final StatisticsCounters statisticsCounters = StatisticsCounters.getInstance();
+    private final MBeanRegistration registration = new MBeanRegistration(this, OBJECT_NAME);
+
+    /**
+     * @return statistics shared by all TLS listeners
+     */
+    public static TlsHandshakeStatistics getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Records finished handshake
+     * @param durationNanos time from handshake start to its completion
+     * @param success true if handshake succeeded
+     */
+    public void recordHandshake(final long durationNanos, final boolean success) {
+        if (success) {
+            successful.increment();
+            statisticsCounters.incrementCounter(CounterEventTypes.US_TLS_HANDSHAKE_SUCCESS);
+        } else {
+            failed.increment();
+            statisticsCounters.incrementCounter(CounterEventTypes.US_TLS_HANDSHAKE_FAIL);
+        }
+        totalNanos.add(durationNanos);
+        histogram.incrementAndGet(bucketOf(TimeUnit.NANOSECONDS.toMicros(durationNanos)));
+        long max = maxNanos.get();
+        while (durationNanos > max && !maxNanos.compareAndSet(max, durationNanos)) {
+            max = maxNanos.get();
+        }
+    }
+
+    private static int bucketOf(final long micros) {
+        // Number of significant bits, i.e. index of the smallest power of two greater than micros
+        return Math.min(Long.SIZE - Long.numberOfLeadingZeros(Math.max(micros, 0)), BUCKETS - 1);
+    }
+
+    @Override
+    public long getSuccessfulHandshakes() {
+        return successful.sum();
+    }
+
+    @Override
+    public long getFailedHandshakes() {
+        return failed.sum();
+    }
+
+    @Override
+    public long getAverageHandshakeMicros() {
+        final long count = successful.sum() + failed.sum();
+        return count == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(totalNanos.sum() / count);
+    }
+
+    @Override
+    public long getMaxHandshakeMicros() {
+        return TimeUnit.NANOSECONDS.toMicros(maxNanos.get());
+    }
+
+    @Override
+    public long getMedianHandshakeMicros() {
+        return getHandshakeMicrosPercentile(50);
+    }
+
+    @Override
+    public long getHandshakeMicros99thPercentile() {
+        return getHandshakeMicrosPercentile(99);
+    }
+
+    /**
+     * @param percentile requested percentile, from 0 to 100
+     * @return upper bound of the bucket containing the percentile, longest duration for the last bucket,
+     *         0 if no handshake finished yet
+     */
+    public long getHandshakeMicrosPercentile(final double percentile) {
+        Preconditions.checkArgument(percentile >= 0 && percentile <= 100, "Percentile %s is out of range",
+                percentile);
+        final long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; ++i) {
+            counts[i] = histogram.get(i);
+            total += counts[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        final long rank = Math.max((long) Math.ceil(total * percentile / 100), 1);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS - 1; ++i) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return 1L << i;
+            }
+        }
+        return getMaxHandshakeMicros();
+    }
+
+    @Override
+    public Map<String, Long> getHandshakeHistogram() {
+        final Map<String, Long> map = new LinkedHashMap<>();
+        for (int i = 0; i < BUCKETS; ++i) {
+            final long count = histogram.get(i);
+            if (count != 0) {
+                map.put(i < BUCKETS - 1 ? "<" + (1L << i) + "us" : ">=" + (1L << (i - 1)) + "us", count);
+            }
+        }
+        return map;
+    }
+
+    @Override
+    public void reset() {
+        successful.reset();
+        failed.reset();
+        totalNanos.reset();
+        maxNanos.set(0);
+        for (int i = 0; i < BUCKETS; ++i) {
+            histogram.set(i, 0);
+        }
+    }
+
+    /**
+     * Registers statistics in platform MBean server under {@link #OBJECT_NAME}, does nothing if already registered
+     */
+    public void registerMBean() {
+        registration.register();
+    }
+
+    /**
+     * Removes statistics from platform MBean server
+     */
+    public void unregisterMBean() {
+        registration.unregister();
+    }
+
+    @Override
+    public String toString() {
+        return "TlsHandshakeStatistics [successful=" + getSuccessfulHandshakes() + ", failed="
+                + getFailedHandshakes() + ", avgMicros=" + getAverageHandshakeMicros() + ", p50Micros="
+                + getMedianHandshakeMicros() + ", p99Micros=" + getHandshakeMicros99thPercentile() + ", maxMicros="
+                + getMaxHandshakeMicros() + "]";
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.impl.core;
+
+import java.util.Map;
+
+/**
+ * JMX view of {@link TlsHandshakeStatistics}. Durations are in microseconds, percentiles are
+ * upper bounds of histogram buckets.
+ */
+public interface TlsHandshakeStatisticsMXBean {
+
+    /**
+     * @return number of successful handshakes
+     */
+    long getSuccessfulHandshakes();
+
+    /**
+     * @return number of failed handshakes
+     */
+    long getFailedHandshakes();
+
+    /**
+     * @return average handshake duration, 0 if no handshake finished yet
+     */
+    long getAverageHandshakeMicros();
+
+    /**
+     * @return longest handshake duration
+     */
+    long getMaxHandshakeMicros();
+
+    /**
+     * @return median handshake duration, 0 if no handshake finished yet
+     */
+    long getMedianHandshakeMicros();
+
+    /**
+     * @return 99th percentile of handshake durations, 0 if no handshake finished yet
+     */
+    long getHandshakeMicros99thPercentile();
+
+    /**
+     * @return number of handshakes in each non-empty histogram bucket, keyed by bucket upper bound
+     */
+    Map<String, Long> getHandshakeHistogram();
+
+    /**
+     * Sets all counters to 0
+     */
+    void reset();
+}
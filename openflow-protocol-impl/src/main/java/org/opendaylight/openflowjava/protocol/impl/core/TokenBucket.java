@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.impl.core;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token bucket refilled continuously from {@link System#nanoTime()} based timestamps. Not thread-safe,
+ * buckets are owned by a single channel.
+ */
+final class TokenBucket {
+
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private double tokensPerNano;
+    private double capacity;
+    private double tokens;
+    private long lastRefill;
+
+    /**
+     * @param rate tokens added per second
+     * @param burst maximal number of tokens, 0 for one second worth of tokens
+     * @param now current time in nanoseconds
+     */
+    TokenBucket(final double rate, final double burst, final long now) {
+        setRate(rate, burst);
+        tokens = capacity;
+        lastRefill = now;
+    }
+
+    /**
+     * @param rate tokens added per second
+     * @param burst maximal number of tokens, 0 for one second worth of tokens
+     */
+    void setRate(final double rate, final double burst) {
+        tokensPerNano = rate / NANOS_PER_SECOND;
+        capacity = Math.max(burst > 0 ? burst : rate, 1);
+        tokens = Math.min(tokens, capacity);
+    }
+
+    /**
+     * Refills the bucket and checks for a token without consuming it
+     * @param now current time in nanoseconds
+     * @return true if at least one token is available
+     */
+    boolean refill(final long now) {
+        final long elapsed = now - lastRefill;
+        if (elapsed > 0) {
+            tokens = Math.min(capacity, tokens + elapsed * tokensPerNano);
+            lastRefill = now;
+        }
+        return tokens >= 1;
+    }
+
+    void consume() {
+        tokens -= 1;
+    }
+}
@@ -16,16 +16,33 @@ import io.netty.channel.socket.DatagramChannel;
  */
 public class UdpChannelInitializer extends ProtocolChannelInitializer<DatagramChannel> {
 
+    private UdpConnectionMap connectionMap = new UdpConnectionMap();
+
     @Override
     protected void initChannel(DatagramChannel ch) throws Exception {
         ch.pipeline().addLast(PipelineHandlers.OF_DATAGRAMPACKET_HANDLER.name(),
-                new OFDatagramPacketHandler(getSwitchConnectionHandler()));
+                new OFDatagramPacketHandler(getSwitchConnectionHandler(), getHandshakeExecutor(), connectionMap));
         OFDatagramPacketDecoder ofDatagramPacketDecoder = new OFDatagramPacketDecoder();
         ofDatagramPacketDecoder.setDeserializationFactory(getDeserializationFactory());
+        ofDatagramPacketDecoder.setConnectionMap(connectionMap);
         ch.pipeline().addLast(PipelineHandlers.OF_DATAGRAMPACKET_DECODER.name(),
                 ofDatagramPacketDecoder);
         OFDatagramPacketEncoder ofDatagramPacketEncoder = new OFDatagramPacketEncoder();
         ofDatagramPacketEncoder.setSerializationFactory(getSerializationFactory());
         ch.pipeline().addLast(PipelineHandlers.OF_ENCODER.name(), ofDatagramPacketEncoder);
     }
-}
\ No newline at end of file
+
+    /**
+     * @param connectionMap consumers of senders, shared by all channels of the listener
+     */
+    public void setConnectionMap(final UdpConnectionMap connectionMap) {
+        this.connectionMap = connectionMap;
+    }
+
+    /**
+     * @return consumers of senders, shared by all channels of the listener
+     */
+    public UdpConnectionMap getConnectionMap() {
+        return connectionMap;
+    }
+}
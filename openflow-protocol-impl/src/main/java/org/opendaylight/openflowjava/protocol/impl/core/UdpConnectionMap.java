@@ -8,55 +8,202 @@
 
 package org.opendaylight.openflowjava.protocol.impl.core;
 
+import com.google.common.base.Preconditions;
+import com.google.common.base.Ticker;
 import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.opendaylight.openflowjava.protocol.impl.core.connection.MessageConsumer;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.system.rev130927.DisconnectEventBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
- * As UDP communication is handled only by one channel, it is needed
- * to store MessageConsumers, so that we know which consumer handles which channel
-
+ * As UDP connections share the channels of their listener, it is needed
+ * to store MessageConsumers, so that we know which consumer handles which sender.
+ * Senders are spread over independently locked shards. Number of tracked senders
+ * can be capped and senders silent for longer than idle timeout are evicted.
+ *
  * @author michal.polkorab
  */
 public final class UdpConnectionMap {
 
-    private static Map<InetSocketAddress, MessageConsumer> connectionMap = new ConcurrentHashMap<>();
+    static final int DEFAULT_SHARDS = 16;
+
+    private static final Logger LOG = LoggerFactory.getLogger(UdpConnectionMap.class);
 
-    private UdpConnectionMap() {
-        throw new UnsupportedOperationException("Utility class shouldn't be instantiated");
+    private final Shard[] shards;
+    private final int shardMask;
+    private final int maxPeers;
+    private final long idleTimeoutNanos;
+    private final Ticker ticker;
+    private final AtomicInteger size = new AtomicInteger();
+
+    /**
+     * Creates map without limit on tracked senders, senders are never evicted
+     */
+    public UdpConnectionMap() {
+        this(0, 0, TimeUnit.MILLISECONDS);
     }
 
     /**
-     * @param address sender's address
-     * @return corresponding MessageConsumer
+     * @param maxPeers maximal number of tracked senders, 0 for unlimited
+     * @param idleTimeout time after which silent senders are evicted, 0 if senders should never be evicted
+     * @param unit unit of idleTimeout
      */
-    public static MessageConsumer getMessageConsumer(InetSocketAddress address) {
+    public UdpConnectionMap(final int maxPeers, final long idleTimeout, final TimeUnit unit) {
+        this(DEFAULT_SHARDS, maxPeers, unit.toNanos(idleTimeout), Ticker.systemTicker());
+    }
+
+    UdpConnectionMap(final int shardCount, final int maxPeers, final long idleTimeoutNanos, final Ticker ticker) {
+        Preconditions.checkArgument(shardCount > 0, "Shard count %s is not positive", shardCount);
+        Preconditions.checkArgument(maxPeers >= 0, "Maximal number of peers %s is negative", maxPeers);
+        Preconditions.checkArgument(idleTimeoutNanos >= 0, "Idle timeout %s is negative", idleTimeoutNanos);
+        // Round up to a power of two, so that a shard is picked by masking the hash
+        final int count = Integer.highestOneBit(shardCount - 1) << 1;
+        shards = new Shard[Math.max(count, 1)];
+        for (int i = 0; i < shards.length; ++i) {
+            shards[i] = new Shard();
+        }
+        shardMask = shards.length - 1;
+        this.maxPeers = maxPeers;
+        this.idleTimeoutNanos = idleTimeoutNanos;
+        this.ticker = Preconditions.checkNotNull(ticker);
+    }
+
+    private Shard shardFor(final InetSocketAddress address) {
         if(address == null){
             throw new IllegalArgumentException("Address can not be null");
         }
-        return connectionMap.get(address);
+        final int hash = address.hashCode();
+        return shards[(hash ^ (hash >>> 16)) & shardMask];
+    }
+
+    /**
+     * Looks up consumer of the sender and marks the sender as active
+     * @param address sender's address
+     * @return corresponding MessageConsumer, null if sender is not tracked
+     */
+    public MessageConsumer getMessageConsumer(final InetSocketAddress address) {
+        final Shard shard = shardFor(address);
+        final long now = ticker.read();
+        synchronized (shard) {
+            final Peer peer = shard.peers.get(address);
+            if (peer == null) {
+                return null;
+            }
+            peer.lastSeen = now;
+            return peer.consumer;
+        }
     }
 
     /**
      * @param address sender's address
      * @param consumer MessageConsumer to be added / paired with specified address
      */
-    public static void addConnection(InetSocketAddress address, MessageConsumer consumer) {
-        if(address == null){
-            throw new IllegalArgumentException("Address can not be null");
+    public void addConnection(final InetSocketAddress address, final MessageConsumer consumer) {
+        final Shard shard = shardFor(address);
+        final Peer peer = new Peer(consumer, ticker.read());
+        synchronized (shard) {
+            if (shard.peers.put(address, peer) == null) {
+                size.incrementAndGet();
+            }
         }
-        connectionMap.put(address, consumer);
     }
 
     /**
      * @param address sender's address
      */
-    public static void removeConnection(InetSocketAddress address) {
-        if(address == null){
-            throw new IllegalArgumentException("Address can not be null");
+    public void removeConnection(final InetSocketAddress address) {
+        final Shard shard = shardFor(address);
+        synchronized (shard) {
+            if (shard.peers.remove(address) != null) {
+                size.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Checks whether a new sender may be added. Each channel checks and adds its senders sequentially,
+     * so the limit may be exceeded by at most one sender per channel sharing this map.
+     * @return true if no more senders should be tracked
+     */
+    public boolean isFull() {
+        return maxPeers > 0 && size.get() >= maxPeers;
+    }
+
+    /**
+     * @return number of tracked senders
+     */
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * @param unit requested unit
+     * @return time after which silent senders are evicted, 0 if senders are never evicted
+     */
+    public long getIdleTimeout(final TimeUnit unit) {
+        return unit.convert(idleTimeoutNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Evicts senders which have been silent for longer than idle timeout. Consumers of evicted senders
+     * are notified by {@link org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.system.rev130927.DisconnectEvent}.
+     * @return number of evicted senders
+     */
+    public int evictIdle() {
+        if (idleTimeoutNanos == 0) {
+            return 0;
+        }
+        final List<Map.Entry<InetSocketAddress, Peer>> evicted = new ArrayList<>();
+        final long now = ticker.read();
+        for (Shard shard : shards) {
+            synchronized (shard) {
+                // Peers are kept in order of access, so the scan stops at the first active one
+                final Iterator<Map.Entry<InetSocketAddress, Peer>> it = shard.peers.entrySet().iterator();
+                while (it.hasNext()) {
+                    final Map.Entry<InetSocketAddress, Peer> entry = it.next();
+                    if (now - entry.getValue().lastSeen < idleTimeoutNanos) {
+                        break;
+                    }
+                    evicted.add(entry);
+                    it.remove();
+                    size.decrementAndGet();
+                }
+            }
+        }
+
+        // Consumers are notified outside of locks, as listeners may call back into the map
+        for (Map.Entry<InetSocketAddress, Peer> entry : evicted) {
+            LOG.debug("Evicting idle sender {}", entry.getKey());
+            try {
+                entry.getValue().consumer.consume(new DisconnectEventBuilder()
+                        .setInfo("UDP sender " + entry.getKey() + " idle").build());
+            } catch (RuntimeException e) {
+                LOG.warn("Failed to notify consumer of evicted sender {}", entry.getKey(), e);
+            }
+        }
+        return evicted.size();
+    }
+
+    private static final class Shard {
+        // Access order keeps least recently active peers first
+        final Map<InetSocketAddress, Peer> peers = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    private static final class Peer {
+        final MessageConsumer consumer;
+        long lastSeen;
+
+        Peer(final MessageConsumer consumer, final long lastSeen) {
+            this.consumer = consumer;
+            this.lastSeen = lastSeen;
         }
-        connectionMap.remove(address);
     }
-}
\ No newline at end of file
+}
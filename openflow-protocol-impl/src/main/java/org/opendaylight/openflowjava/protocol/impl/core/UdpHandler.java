@@ -9,19 +9,28 @@
 package org.opendaylight.openflowjava.protocol.impl.core;
 
 import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoop;
 import io.netty.channel.EventLoopGroup;
+import io.netty.channel.epoll.EpollChannelOption;
 import io.netty.channel.epoll.EpollDatagramChannel;
 import io.netty.channel.epoll.EpollEventLoopGroup;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.DatagramChannel;
 import io.netty.channel.socket.nio.NioDatagramChannel;
 import io.netty.util.concurrent.GenericFutureListener;
+import io.netty.util.concurrent.ScheduledFuture;
 
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
+import org.opendaylight.openflowjava.protocol.api.connection.SocketConfiguration;
 import org.opendaylight.openflowjava.protocol.api.connection.ThreadConfiguration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -38,6 +47,7 @@ public final class UdpHandler implements ServerFacade {
 
     private static final Logger LOG = LoggerFactory
             .getLogger(UdpHandler.class);
+    private static final long MIN_EVICTION_PERIOD = TimeUnit.SECONDS.toNanos(1);
     private int port;
     private EventLoopGroup group;
     private final InetAddress startupAddress;
@@ -45,6 +55,8 @@ public final class UdpHandler implements ServerFacade {
     private UdpChannelInitializer channelInitializer;
     private ThreadConfiguration threadConfig;
     private Class<? extends DatagramChannel> datagramChannelClass;
+    private volatile SocketConfiguration socketConfig = SocketTuning.DEFAULTS;
+    private volatile List<Channel> channels = Collections.emptyList();
 
     /**
      * Constructor of UdpHandler that listens on selected port.
@@ -68,42 +80,127 @@ public final class UdpHandler implements ServerFacade {
 
     @Override
     public void run() {
-        final ChannelFuture f;
+        final int shards = listenerShards();
+        final List<Channel> bound = new ArrayList<>(shards);
+        boolean success = false;
         try {
-            Bootstrap b = new Bootstrap();
-            b.group(group)
-             .channel(datagramChannelClass)
-             .option(ChannelOption.SO_BROADCAST, false)
-             .handler(channelInitializer);
-
-            if (startupAddress != null) {
-                f = b.bind(startupAddress.getHostAddress(), port).sync();
-            } else {
-                f = b.bind(port).sync();
+            // Event loops are picked round-robin, so each channel is read by its own loop
+            bound.add(bind(group.next(), port, shards > 1));
+
+            // Update port, as it may have been specified as 0, other channels have to share it
+            this.port = ((InetSocketAddress) bound.get(0).localAddress()).getPort();
+            for (int i = 1; i < shards; ++i) {
+                bound.add(bind(group.next(), port, true));
             }
+            success = true;
         } catch (InterruptedException e) {
             LOG.error("Interrupted while binding port {}", port, e);
             return;
+        } finally {
+            if (!success) {
+                for (Channel channel : bound) {
+                    channel.close();
+                }
+            }
         }
 
+        final ScheduledFuture<?> eviction = scheduleEviction(bound.get(0).eventLoop());
         try {
-            InetSocketAddress isa = (InetSocketAddress) f.channel().localAddress();
+            channels = bound;
+            for (Channel channel : bound) {
+                SocketTuning.applyChannelOptions(channel.config(), socketConfig);
+            }
+            InetSocketAddress isa = (InetSocketAddress) bound.get(0).localAddress();
             String address = isa.getHostString();
 
-            // Update port, as it may have been specified as 0
-            this.port = isa.getPort();
-
             LOG.debug("Address from udpHandler: {}", address);
             isOnlineFuture.set(true);
-            LOG.info("Switch listener started and ready to accept incoming udp connections on port: {}", port);
-            f.channel().closeFuture().sync();
+            LOG.info("Switch listener started and ready to accept incoming udp connections on port: {}"
+                    + " with {} channel(s)", port, shards);
+            for (Channel channel : bound) {
+                channel.closeFuture().sync();
+            }
         } catch (InterruptedException e) {
             LOG.error("Interrupted while waiting for port {} shutdown", port, e);
         } finally {
+            if (eviction != null) {
+                eviction.cancel(false);
+            }
             shutdown();
         }
     }
 
+    /**
+     * Binds one datagram channel
+     * @param loop event loop reading the channel
+     * @param bindPort port to bind
+     * @param reusePort true if the port is shared with other channels
+     * @return bound channel
+     * @throws InterruptedException if interrupted while binding
+     */
+    private Channel bind(final EventLoopGroup loop, final int bindPort, final boolean reusePort)
+            throws InterruptedException {
+        Bootstrap b = new Bootstrap();
+        b.group(loop)
+         .channel(datagramChannelClass)
+         .option(ChannelOption.SO_BROADCAST, false)
+         .handler(channelInitializer);
+        if (reusePort) {
+            // Kernel hashes the address pair of a datagram to pick the channel, so each switch
+            // is consistently served by the same channel and event loop
+            b.option(EpollChannelOption.SO_REUSEPORT, true);
+        }
+
+        final ChannelFuture f;
+        if (startupAddress != null) {
+            f = b.bind(startupAddress.getHostAddress(), bindPort);
+        } else {
+            f = b.bind(bindPort);
+        }
+        return f.sync().channel();
+    }
+
+    /**
+     * @return number of channels to bind, multiple channels are supported by Epoll transport only
+     */
+    private int listenerShards() {
+        final int shards = socketConfig.getListenerShards();
+        if (shards <= 1) {
+            return 1;
+        }
+        if (!EpollDatagramChannel.class.equals(datagramChannelClass)) {
+            LOG.warn("Listener shards require Epoll transport, using single channel on port {}", port);
+            return 1;
+        }
+        return shards;
+    }
+
+    /**
+     * @param loop event loop running the eviction
+     * @return periodic eviction of idle senders, null if senders are not evicted
+     */
+    private ScheduledFuture<?> scheduleEviction(final EventLoop loop) {
+        final UdpConnectionMap connectionMap = channelInitializer.getConnectionMap();
+        if (connectionMap == null) {
+            return null;
+        }
+        final long idleTimeout = connectionMap.getIdleTimeout(TimeUnit.NANOSECONDS);
+        if (idleTimeout == 0) {
+            return null;
+        }
+        // Senders are evicted at most a quarter of the timeout late
+        final long period = Math.max(idleTimeout / 4, MIN_EVICTION_PERIOD);
+        return loop.scheduleAtFixedRate(new Runnable() {
+            @Override
+            public void run() {
+                final int evicted = connectionMap.evictIdle();
+                if (evicted > 0) {
+                    LOG.debug("Evicted {} idle senders from port {}", evicted, port);
+                }
+            }
+        }, period, period, TimeUnit.NANOSECONDS);
+    }
+
     @Override
     public ListenableFuture<Boolean> shutdown() {
         final SettableFuture<Boolean> result = SettableFuture.create();
@@ -127,6 +224,13 @@ public final class UdpHandler implements ServerFacade {
         return isOnlineFuture;
     }
 
+    /**
+     * @return number of bound datagram channels
+     */
+    public int getListenerCount() {
+        return channels.size();
+    }
+
     /**
      * @return the port
      */
@@ -146,6 +250,29 @@ public final class UdpHandler implements ServerFacade {
         this.threadConfig = threadConfig;
     }
 
+    /**
+     * Sets socket and event loop tuning, needs to be called before event loop groups are initiated
+     * @param socketConfig socket configuration, null if defaults should be used
+     */
+    public void setSocketConfiguration(final SocketConfiguration socketConfig) {
+        this.socketConfig = SocketTuning.checkConfiguration(socketConfig);
+    }
+
+    /**
+     * Applies socket and event loop tuning to the running server. Transport is kept until restart.
+     * @param socketConfig socket configuration, null if defaults should be used
+     */
+    public void updateSocketConfiguration(final SocketConfiguration socketConfig) {
+        setSocketConfiguration(socketConfig);
+        if (group != null) {
+            SocketTuning.setIoRatio(group, this.socketConfig.getIoRatio());
+        }
+        for (Channel channel : channels) {
+            SocketTuning.applyChannelOptions(channel.config(), this.socketConfig);
+        }
+        LOG.debug("Socket configuration of listener on port {} updated", port);
+    }
+
     /**
      * Initiate event loop groups
      * @param threadConfiguration number of threads to be created, if not specified in threadConfig
@@ -170,6 +297,7 @@ public final class UdpHandler implements ServerFacade {
         } else {
             group = new NioEventLoopGroup();
         }
+        ((NioEventLoopGroup) group).setIoRatio(socketConfig.getIoRatio());
     }
 
     /**
@@ -180,10 +308,11 @@ public final class UdpHandler implements ServerFacade {
         try {
             datagramChannelClass = EpollDatagramChannel.class;
             if (threadConfiguration != null) {
-                group = new EpollEventLoopGroup(threadConfiguration.getWorkerThreadCount());
+                group = new EpollEventLoopGroup(threadCount(threadConfiguration.getWorkerThreadCount()));
             } else {
-                group = new EpollEventLoopGroup();
+                group = new EpollEventLoopGroup(threadCount(0));
             }
+            ((EpollEventLoopGroup) group).setIoRatio(socketConfig.getIoRatio());
             return;
         } catch (Throwable ex) {
             LOG.debug("Epoll initiation failed");
@@ -192,4 +321,18 @@ public final class UdpHandler implements ServerFacade {
         //Fallback mechanism
         initiateNioEventLoopGroups(threadConfiguration);
     }
+
+    /**
+     * @param configured configured number of threads, 0 for the default
+     * @return number of threads, so that each channel sharing the port gets its own event loop
+     */
+    private int threadCount(final int configured) {
+        final int shards = socketConfig.getListenerShards();
+        if (shards <= 1) {
+            return configured;
+        }
+        // Same as netty's default group size
+        final int threads = configured > 0 ? configured : 2 * Runtime.getRuntime().availableProcessors();
+        return Math.max(threads, shards);
+    }
 }
\ No newline at end of file
@@ -10,11 +10,6 @@ package org.opendaylight.openflowjava.protocol.impl.core.connection;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.RemovalCause;
-import com.google.common.cache.RemovalListener;
-import com.google.common.cache.RemovalNotification;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.SettableFuture;
 import io.netty.channel.Channel;
@@ -23,10 +18,12 @@ import io.netty.util.concurrent.GenericFutureListener;
 import java.net.InetSocketAddress;
 import java.util.concurrent.Future;
 import java.util.concurrent.RejectedExecutionException;
-import java.util.concurrent.TimeUnit;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import org.opendaylight.openflowjava.protocol.api.connection.ConnectionAdapter;
+import org.opendaylight.openflowjava.statistics.ConnectionStatistics;
+import org.opendaylight.openflowjava.statistics.MessageCounterType;
+import org.opendaylight.openflowjava.statistics.MessageStatisticsRegistry;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.BarrierInput;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.BarrierOutput;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.EchoInput;
@@ -68,9 +65,6 @@ abstract class AbstractConnectionAdapter implements ConnectionAdapter {
 
     private static final Logger LOG = LoggerFactory.getLogger(AbstractConnectionAdapter.class);
 
-    /** after this time, RPC future response objects will be thrown away (in minutes) */
-    private static final int RPC_RESPONSE_EXPIRATION = 1;
-
     private static final Exception QUEUE_FULL_EXCEPTION = new RejectedExecutionException("Output queue is full");
 
     /**
@@ -79,38 +73,33 @@ abstract class AbstractConnectionAdapter implements ConnectionAdapter {
      */
     private static final int DEFAULT_QUEUE_DEPTH = 1024;
 
-    protected static final RemovalListener<RpcResponseKey, ResponseExpectedRpcListener<?>> REMOVAL_LISTENER = new RemovalListener<RpcResponseKey, ResponseExpectedRpcListener<?>>() {
-        @Override
-        public void onRemoval(final RemovalNotification<RpcResponseKey, ResponseExpectedRpcListener<?>> notification) {
-            if (!notification.getCause().equals(RemovalCause.EXPLICIT)) {
-                notification.getValue().discard();
-            }
-        }
-    };
-
     protected final Channel channel;
     protected final InetSocketAddress address;
     protected boolean disconnectOccured = false;
     protected final ChannelOutboundQueue output;
+    /** per-message-type counters of this connection, null if message statistics are disabled or connection is UDP */
+    protected final ConnectionStatistics messageStatistics;
 
-    /** expiring cache for future rpcResponses */
-    protected Cache<RpcResponseKey, ResponseExpectedRpcListener<?>> responseCache;
+    /** requests waiting for rpcResponses, expired by shared timer */
+    protected RpcResponseTable responseTable;
 
 
     AbstractConnectionAdapter(@Nonnull final Channel channel, @Nullable final InetSocketAddress address) {
         this.channel = Preconditions.checkNotNull(channel);
         this.address = address;
 
-        responseCache = CacheBuilder.newBuilder().concurrencyLevel(1)
-                .expireAfterWrite(RPC_RESPONSE_EXPIRATION, TimeUnit.MINUTES).removalListener(REMOVAL_LISTENER).build();
+        responseTable = new RpcResponseTable();
         this.output = new ChannelOutboundQueue(channel, DEFAULT_QUEUE_DEPTH, address);
         channel.pipeline().addLast(output);
+        // UDP datagram codecs do not count messages, so UDP connections are not registered
+        messageStatistics = address == null
+                ? MessageStatisticsRegistry.getInstance().register(String.valueOf(channel.remoteAddress())) : null;
     }
 
     @Override
     public Future<Boolean> disconnect() {
         final ChannelFuture disconnectResult = channel.disconnect();
-        responseCache.invalidateAll();
+        responseTable.clear();
         disconnectOccured = true;
 
         return handleTransportChannelFuture(disconnectResult);
@@ -235,19 +224,21 @@ abstract class AbstractConnectionAdapter implements ConnectionAdapter {
 
     /**
      * Used only for testing purposes
-     * @param cache replacement
+     * @param table replacement
      */
     @VisibleForTesting
-    void setResponseCache(final Cache<RpcResponseKey, ResponseExpectedRpcListener<?>> cache) {
-        this.responseCache = cache;
+    void setResponseTable(final RpcResponseTable table) {
+        this.responseTable = table;
     }
 
     /**
-     * Return cached RpcListener or {@code null} if not cached
-     * @return
+     * Removes RpcListener waiting for given response
+     * @param message response received from switch
+     * @return RpcListener or {@code null} if no request is waiting for the response
      */
-    protected ResponseExpectedRpcListener<?> findRpcResponse(final RpcResponseKey key) {
-        return responseCache.getIfPresent(key);
+    protected ResponseExpectedRpcListener<?> findRpcResponse(final OfHeader message) {
+        final int responseType = RpcResponseTable.lookupResponseType(message.getImplementedInterface());
+        return responseType < 0 ? null : responseTable.remove(message.getXid(), responseType);
     }
 
     /**
@@ -259,21 +250,20 @@ abstract class AbstractConnectionAdapter implements ConnectionAdapter {
      * @return future object,
      *         <ul>
      *         <li>if send fails, {@link RpcResult} will contain errors and failed status</li>
-     *         <li>else {@link RpcResult} will be stored in responseCache and wait for particular timeout (
-     *         {@link ConnectionAdapterImpl#RPC_RESPONSE_EXPIRATION}),
+     *         <li>else {@link RpcResult} will be stored in responseTable and wait for particular timeout (
+     *         {@link RpcResponseTable#getTimeoutMillis()}),
      *         <ul>
      *         <li>either switch will manage to answer and then corresponding response message will be set into returned
      *         future</li>
-     *         <li>or response in cache will expire and returned future will be cancelled</li>
+     *         <li>or response in table will expire and returned future will be cancelled</li>
      *         </ul>
      *         </li>
      *         </ul>
      */
     protected <IN extends OfHeader, OUT extends OfHeader> ListenableFuture<RpcResult<OUT>> sendToSwitchExpectRpcResultFuture(
             final IN input, final Class<OUT> responseClazz, final String failureInfo) {
-        final RpcResponseKey key = new RpcResponseKey(input.getXid(), responseClazz.getName());
         final ResponseExpectedRpcListener<OUT> listener = new ResponseExpectedRpcListener<>(input, failureInfo,
-                responseCache, key);
+                responseTable, input.getXid(), RpcResponseTable.responseTypeOf(responseClazz));
         return enqueueMessage(listener);
     }
 
@@ -297,6 +287,9 @@ abstract class AbstractConnectionAdapter implements ConnectionAdapter {
 
         if (!output.enqueue(promise)) {
             LOG.debug("Message queue is full, rejecting execution");
+            if (messageStatistics != null) {
+                messageStatistics.increment(MessageCounterType.QUEUE_FULL, ConnectionStatistics.OTHER_MESSAGE_TYPE);
+            }
             promise.failedRpc(QUEUE_FULL_EXCEPTION);
         } else {
             LOG.debug("Promise enqueued successfully");
@@ -11,6 +11,7 @@ package org.opendaylight.openflowjava.protocol.impl.core.connection;
 import com.google.common.util.concurrent.ListenableFuture;
 import io.netty.channel.Channel;
 import java.net.InetSocketAddress;
+import java.util.List;
 import java.util.concurrent.Future;
 import org.opendaylight.openflowjava.statistics.CounterEventTypes;
 import org.opendaylight.openflowjava.statistics.StatisticsCounters;
@@ -56,6 +57,19 @@ abstract class AbstractConnectionAdapterStatistics extends AbstractConnectionAda
 
     @Override
     public void consume(final DataObject message) {
+        countMessagePass(message);
+        consumeDeviceMessage(message);
+    }
+
+    @Override
+    public void consume(final List<DataObject> messages) {
+        for (final DataObject message : messages) {
+            countMessagePass(message);
+        }
+        consumeDeviceMessages(messages);
+    }
+
+    private void countMessagePass(final DataObject message) {
         if (Notification.class.isInstance(message)) {
             if (!(DisconnectEvent.class.isInstance(message) || SwitchIdleEvent.class.isInstance(message))) {
                 statisticsCounters.incrementCounter(CounterEventTypes.US_MESSAGE_PASS);
@@ -63,7 +77,6 @@ abstract class AbstractConnectionAdapterStatistics extends AbstractConnectionAda
         } else if (OfHeader.class.isInstance(message)) {
             statisticsCounters.incrementCounter(CounterEventTypes.US_MESSAGE_PASS);
         }
-        consumeDeviceMessage(message);
     }
 
     /**
@@ -74,5 +87,12 @@ abstract class AbstractConnectionAdapterStatistics extends AbstractConnectionAda
      * @param message from device to processing
      */
     protected abstract void consumeDeviceMessage(DataObject message);
+
+    /**
+     * Method is equivalent to {@link MessageConsumer#consume(List)}, see {@link #consumeDeviceMessage(DataObject)}
+     *
+     * @param messages from device to processing, in order of arrival
+     */
+    protected abstract void consumeDeviceMessages(List<DataObject> messages);
 }
 
@@ -9,18 +9,30 @@
 package org.opendaylight.openflowjava.protocol.impl.core.connection;
 
 import com.google.common.base.Preconditions;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.socket.DatagramPacket;
 import io.netty.util.concurrent.Future;
 import io.netty.util.concurrent.GenericFutureListener;
 import java.net.InetSocketAddress;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import javax.annotation.Nonnull;
+import org.opendaylight.openflowjava.protocol.api.connection.EncodedMessage;
 import org.opendaylight.openflowjava.protocol.api.connection.OutboundQueueHandler;
+import org.opendaylight.openflowjava.protocol.impl.core.OFEncoder;
+import org.opendaylight.openflowjava.statistics.ConnectionStatistics;
+import org.opendaylight.openflowjava.statistics.CounterEventTypes;
+import org.opendaylight.openflowjava.statistics.MessageCounterType;
+import org.opendaylight.openflowjava.statistics.StatisticsCounters;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.EchoReplyInput;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.EchoReplyInputBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.EchoRequestMessage;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.FlowModInput;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.OfHeader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -53,23 +65,14 @@ abstract class AbstractOutboundQueueManager<T extends OutboundQueueHandler, O ex
         WRITING,
     }
 
-    /**
-     * Default low write watermark. Channel will become writable when number of outstanding
-     * bytes dips below this value.
-     */
-    private static final int DEFAULT_LOW_WATERMARK = 128 * 1024;
-
-    /**
-     * Default write high watermark. Channel will become un-writable when number of
-     * outstanding bytes hits this value.
-     */
-    private static final int DEFAULT_HIGH_WATERMARK = DEFAULT_LOW_WATERMARK * 2;
-
     private final AtomicBoolean flushScheduled = new AtomicBoolean();
     protected final ConnectionAdapterImpl parent;
     protected final InetSocketAddress address;
     protected final O currentQueue;
     private final T handler;
+    private final int coalescingBytes;
+    private final StackedSegmentPool segmentPool;
+    private final StatisticsCounters statisticsCounters = StatisticsCounters.getInstance();
 
     // Accessed concurrently
     private volatile PipelineState state = PipelineState.IDLE;
@@ -77,6 +80,24 @@ abstract class AbstractOutboundQueueManager<T extends OutboundQueueHandler, O ex
     // Updated from netty only
     private boolean alreadyReading;
     protected boolean shuttingDown;
+    // Set when messages are coalesced, encodes messages into coalescedBuffer
+    private OFEncoder coalescingEncoder;
+    private ByteBuf coalescedBuffer;
+
+    // Logs failed writes of coalesced buffers, each of them loses a whole batch of messages
+    private final ChannelFutureListener coalescedWriteListener = new ChannelFutureListener() {
+        @Override
+        public void operationComplete(final ChannelFuture future) {
+            if (future.isSuccess()) {
+                return;
+            }
+            LOG.warn("Channel {} failed to write coalesced messages", future.channel(), future.cause());
+            final ConnectionStatistics messageStatistics = parent.getMessageStatistics();
+            if (messageStatistics != null) {
+                messageStatistics.increment(MessageCounterType.WRITE_FAILURES, ConnectionStatistics.OTHER_MESSAGE_TYPE);
+            }
+        }
+    };
 
     // Passed to executor to request triggering of flush
     protected final Runnable flushRunnable = new Runnable() {
@@ -90,6 +111,8 @@ abstract class AbstractOutboundQueueManager<T extends OutboundQueueHandler, O ex
         this.parent = Preconditions.checkNotNull(parent);
         this.handler = Preconditions.checkNotNull(handler);
         this.address = address;
+        this.coalescingBytes = parent.getOutboundCoalescingBytes();
+        this.segmentPool = parent.getSegmentPool();
         /* Note: don't wish to use reflection here */
         currentQueue = initializeStackedOutboudnqueue();
         LOG.debug("Queue manager instantiated with queue {}", currentQueue);
@@ -104,6 +127,10 @@ abstract class AbstractOutboundQueueManager<T extends OutboundQueueHandler, O ex
      */
     protected abstract O initializeStackedOutboudnqueue();
 
+    StackedSegmentPool getSegmentPool() {
+        return segmentPool;
+    }
+
     @Override
     public void close() {
         handler.onConnectionQueueChanged(null);
@@ -116,18 +143,27 @@ abstract class AbstractOutboundQueueManager<T extends OutboundQueueHandler, O ex
 
     @Override
     public void handlerAdded(final ChannelHandlerContext ctx) throws Exception {
-        /*
-         * Tune channel write buffering. We increase the writability window
-         * to ensure we can flush an entire queue segment in one go. We definitely
-         * want to keep the difference above 64k, as that will ensure we use jam-packed
-         * TCP packets. UDP will fragment as appropriate.
-         */
-        ctx.channel().config().setWriteBufferHighWaterMark(DEFAULT_HIGH_WATERMARK);
-        ctx.channel().config().setWriteBufferLowWaterMark(DEFAULT_LOW_WATERMARK);
+        // Write watermarks are set from the socket configuration when the channel is initialized
+
+        // Coalescing is supported only on stream channels, datagrams carry single messages
+        if (coalescingBytes > 0 && address == null) {
+            coalescingEncoder = ctx.pipeline().get(OFEncoder.class);
+            if (coalescingEncoder == null) {
+                LOG.debug("Channel {} has no OFEncoder, not coalescing messages", ctx.channel());
+            } else {
+                LOG.debug("Channel {} coalescing messages up to {} bytes", ctx.channel(), coalescingBytes);
+            }
+        }
 
         super.handlerAdded(ctx);
     }
 
+    @Override
+    public void handlerRemoved(final ChannelHandlerContext ctx) throws Exception {
+        releaseCoalescedBuffer();
+        super.handlerRemoved(ctx);
+    }
+
     @Override
     public void channelActive(final ChannelHandlerContext ctx) throws Exception {
         super.channelActive(ctx);
@@ -169,12 +205,23 @@ abstract class AbstractOutboundQueueManager<T extends OutboundQueueHandler, O ex
         super.channelInactive(ctx);
 
         LOG.debug("Channel {} initiating shutdown...", ctx.channel());
+        startShutdown();
+    }
+
+    /**
+     * Shuts the queue down. Invoked when the channel becomes inactive, UDP connections invoke it directly
+     * on disconnect, as they share the listener channel which outlives them. Must be called from Netty context.
+     */
+    void startShutdown() {
+        if (shuttingDown) {
+            return;
+        }
 
-        // Then we start queue shutdown, start counting written messages (so that we don't keep sending messages
+        // Start queue shutdown, start counting written messages (so that we don't keep sending messages
         // indefinitely) and failing not completed entries.
         shuttingDown = true;
         final long entries = currentQueue.startShutdown();
-        LOG.debug("Cleared {} queue entries from channel {}", entries, ctx.channel());
+        LOG.debug("Cleared {} queue entries from channel {}", entries, parent.getChannel());
 
         // Finally, we schedule flush task that will take care of unflushed entries. We also cover the case,
         // when there is more than shutdownOffset messages enqueued in unflushed segments
@@ -256,10 +303,98 @@ abstract class AbstractOutboundQueueManager<T extends OutboundQueueHandler, O ex
      * @param now
      */
     void writeMessage(final OfHeader message, final long now) {
+        if (coalescingEncoder != null) {
+            coalesceMessage(message);
+            return;
+        }
         final Object wrapper = makeMessageListenerWrapper(message);
         parent.getChannel().write(wrapper);
     }
 
+    /**
+     * Writes already serialized message into the underlying channel, bypassing {@link OFEncoder}.
+     *
+     * @param encoded serialized message, ownership of one reference is transferred to this method
+     * @param xid XID reserved for the message, replaces XID of serialized message
+     * @param now time reference for 'now'
+     */
+    void writeEncodedMessage(final EncodedMessage encoded, final long xid, final long now) {
+        final Channel channel = parent.getChannel();
+        final short type = encoded.getType();
+        final ByteBuf buffer = encoded.withXid(channel.alloc(), xid);
+        final ConnectionStatistics messageStatistics = parent.getMessageStatistics();
+        if (messageStatistics != null) {
+            messageStatistics.countMessage(MessageCounterType.OUT_MESSAGES, MessageCounterType.OUT_BYTES, type,
+                    buffer.readableBytes());
+        }
+        if (FlowModInput.class.equals(encoded.getMessageType())) {
+            statisticsCounters.incrementCounter(CounterEventTypes.DS_FLOW_MODS_SENT);
+        }
+        statisticsCounters.incrementCounter(CounterEventTypes.DS_ENCODED_MESSAGE_SENT);
+
+        if (coalescingEncoder != null) {
+            try {
+                coalescingBuffer().writeBytes(buffer);
+            } finally {
+                buffer.release();
+            }
+            if (coalescedBuffer.readableBytes() >= coalescingBytes) {
+                writeCoalescedBuffer();
+            }
+            return;
+        }
+        channel.write(address == null ? buffer : new DatagramPacket(buffer, address)).addListener(LOG_ENCODER_LISTENER);
+    }
+
+    private ByteBuf coalescingBuffer() {
+        if (coalescedBuffer == null) {
+            coalescedBuffer = parent.getChannel().alloc().ioBuffer(coalescingBytes);
+        }
+        return coalescedBuffer;
+    }
+
+    /**
+     * Serializes message into the shared coalescing buffer, writing the buffer out once it reaches
+     * the configured size.
+     *
+     * @param message outgoing message
+     */
+    private void coalesceMessage(final OfHeader message) {
+        try {
+            coalescingEncoder.encodeMessage(parent.getChannel(), message, LOG_ENCODER_LISTENER, coalescingBuffer());
+        } catch (Exception e) {
+            LOG.warn("Failed to report encoding failure of message {}", message, e);
+        }
+        if (coalescedBuffer.readableBytes() >= coalescingBytes) {
+            writeCoalescedBuffer();
+        }
+    }
+
+    /**
+     * Writes out messages coalesced since the last write, if any.
+     */
+    private void writeCoalescedBuffer() {
+        final ByteBuf buffer = coalescedBuffer;
+        if (buffer == null) {
+            return;
+        }
+
+        coalescedBuffer = null;
+        if (buffer.isReadable()) {
+            parent.getChannel().write(buffer).addListener(coalescedWriteListener);
+            statisticsCounters.incrementCounter(CounterEventTypes.DS_COALESCED_BUFFER_WRITTEN);
+        } else {
+            buffer.release();
+        }
+    }
+
+    private void releaseCoalescedBuffer() {
+        if (coalescedBuffer != null) {
+            coalescedBuffer.release();
+            coalescedBuffer = null;
+        }
+    }
+
     /**
      * Wraps outgoing message and includes listener attached to this message
      * which is send to OFEncoder for serialization. Correct wrapper is
@@ -301,7 +436,8 @@ abstract class AbstractOutboundQueueManager<T extends OutboundQueueHandler, O ex
             rescheduleFlush();
         } else {
             close();
-            if (currentQueue.finishShutdown(parent.getChannel())) {
+            // Shared UDP channel stays writable, but nothing more is sent to the disconnected switch
+            if (currentQueue.finishShutdown(address == null && parent.getChannel().isWritable())) {
             	LOG.debug("Channel {} shutdown complete", parent.getChannel());
             } else {
             	LOG.trace("Channel {} current queue not completely flushed yet", parent.getChannel());
@@ -325,6 +461,7 @@ abstract class AbstractOutboundQueueManager<T extends OutboundQueueHandler, O ex
         final long start = System.nanoTime();
 
         final int entries = currentQueue.writeEntries(parent.getChannel(), start);
+        writeCoalescedBuffer();
         if (entries > 0) {
             LOG.trace("Flushing channel {}", parent.getChannel());
             parent.getChannel().flush();
@@ -12,6 +12,7 @@ import com.google.common.base.Preconditions;
 import com.google.common.base.Verify;
 import com.google.common.util.concurrent.FutureCallback;
 
+import io.netty.buffer.ByteBuf;
 import io.netty.channel.Channel;
 
 import java.util.ArrayList;
@@ -23,6 +24,7 @@ import java.util.function.Function;
 import javax.annotation.Nonnull;
 import javax.annotation.concurrent.GuardedBy;
 
+import org.opendaylight.openflowjava.protocol.api.connection.EncodedMessage;
 import org.opendaylight.openflowjava.protocol.api.connection.OutboundQueue;
 import org.opendaylight.openflowjava.protocol.api.connection.OutboundQueueException;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.MultipartReplyMessage;
@@ -36,6 +38,7 @@ abstract class AbstractStackedOutboundQueue implements OutboundQueue {
     private static final Logger LOG = LoggerFactory.getLogger(AbstractStackedOutboundQueue.class);
     protected static final AtomicLongFieldUpdater<AbstractStackedOutboundQueue> LAST_XID_OFFSET_UPDATER = AtomicLongFieldUpdater
             .newUpdater(AbstractStackedOutboundQueue.class, "lastXid");
+    private static final int INITIAL_INDEX_SIZE = 4;
 
     @GuardedBy("unflushedSegments")
     protected volatile StackedSegment firstSegment;
@@ -54,26 +57,82 @@ abstract class AbstractStackedOutboundQueue implements OutboundQueue {
     protected int flushOffset;
 
     protected final AbstractOutboundQueueManager<?, ?> manager;
+    protected final StackedSegmentPool segmentPool;
+    protected final int segmentSize;
+    private final int segmentShift;
+
+    // Uncompleted segments indexed by (baseXid / segmentSize) modulo length, accessed from Netty only
+    private StackedSegment[] uncompletedIndex = new StackedSegment[INITIAL_INDEX_SIZE];
 
     AbstractStackedOutboundQueue(final AbstractOutboundQueueManager<?, ?> manager) {
         this.manager = Preconditions.checkNotNull(manager);
-        firstSegment = StackedSegment.create(0L);
-        uncompletedSegments.add(firstSegment);
+        segmentPool = manager.getSegmentPool();
+        segmentSize = segmentPool.getSegmentSize();
+        segmentShift = Integer.numberOfTrailingZeros(segmentSize);
+        firstSegment = StackedSegment.create(0L, segmentPool);
+        addUncompletedSegment(firstSegment);
         unflushedSegments.add(firstSegment);
     }
 
     @Override
     public void commitEntry(final Long xid, final OfHeader message, final FutureCallback<OfHeader> callback) {
-        commitEntry(xid, message, callback, OutboundQueueEntry.DEFAULT_IS_COMPLETE);
+        commitEntry(xid, message, callback, OutboundQueueEntries.DEFAULT_IS_COMPLETE);
+    }
+
+    @Override
+    public void commitEntry(final Long xid, final OfHeader message, final FutureCallback<OfHeader> callback,
+            final Function<OfHeader, Boolean> isCompletedFunction) {
+        commitEntry(xid, message, null, callback, isCompletedFunction);
+    }
+
+    @Override
+    public void commitEncodedEntry(final Long xid, final EncodedMessage message,
+            final FutureCallback<OfHeader> callback) {
+        Preconditions.checkNotNull(message);
+        commitEntry(xid, message.getMessage(), message, callback, OutboundQueueEntries.DEFAULT_IS_COMPLETE);
+    }
+
+    @Override
+    public void commitRawEntry(final Long xid, final ByteBuf message, final Class<? extends OfHeader> messageType,
+            final FutureCallback<OfHeader> callback) {
+        final EncodedMessage encoded;
+        try {
+            encoded = new EncodedMessage(messageType, message);
+        } catch (RuntimeException e) {
+            message.release();
+            throw e;
+        }
+
+        try {
+            commitEntry(xid, null, encoded, callback, OutboundQueueEntries.DEFAULT_IS_COMPLETE);
+        } finally {
+            // The entry holds its own reference, if the commit succeeded
+            encoded.release();
+        }
     }
 
+    /**
+     * Commits message to the entry reserved for given XID. This method is expected to be called
+     * from multiple threads concurrently.
+     *
+     * @param xid Previously-reserved XID
+     * @param message Message which should be sent out, or null if the reservation should be cancelled
+     *                or the message is available only in serialized form
+     * @param encoded Serialized form of the message, null if the message should be serialized by the channel
+     * @param callback Callback to be invoked, or null if no callback should be invoked
+     * @param isCompletedFunction Function to determine if OfHeader is processing is complete
+     */
+    protected abstract void commitEntry(Long xid, OfHeader message, EncodedMessage encoded,
+            FutureCallback<OfHeader> callback, Function<OfHeader, Boolean> isCompletedFunction);
+
     @GuardedBy("unflushedSegments")
     protected void ensureSegment(final StackedSegment first, final int offset) {
-        final int segmentOffset = offset / StackedSegment.SEGMENT_SIZE;
+        final int segmentOffset = offset / segmentSize;
         LOG.debug("Queue {} slow offset {} maps to {} segments {}", this, offset, segmentOffset, unflushedSegments.size());
 
         for (int i = unflushedSegments.size(); i <= segmentOffset; ++i) {
-            final StackedSegment newSegment = StackedSegment.create(first.getBaseXid() + (StackedSegment.SEGMENT_SIZE * i));
+            final StackedSegment newSegment = StackedSegment.create(first.getBaseXid() + (segmentSize * i),
+                    segmentPool);
             LOG.debug("Adding segment {}", newSegment);
             unflushedSegments.add(newSegment);
         }
@@ -89,7 +148,7 @@ abstract class AbstractStackedOutboundQueue implements OutboundQueue {
         final long xid = LAST_XID_OFFSET_UPDATER.incrementAndGet(this);
         final StackedSegment fastSegment = firstSegment;
 
-        if (xid >= fastSegment.getBaseXid() + StackedSegment.SEGMENT_SIZE) {
+        if (xid >= fastSegment.getEndXid()) {
             if (xid >= allocatedXid) {
                 // Multiple segments, this a slow path
                 LOG.debug("Queue {} falling back to slow reservation for XID {}", this, xid);
@@ -136,24 +195,30 @@ abstract class AbstractStackedOutboundQueue implements OutboundQueue {
         int entries = 0;
 
         while (channel.isWritable()) {
-            final OutboundQueueEntry entry = segment.getEntry(flushOffset);
-            if (!entry.isCommitted()) {
+            final OutboundQueueEntries segmentEntries = segment.getEntries();
+            if (!segmentEntries.isCommitted(flushOffset)) {
                 LOG.debug("Queue {} XID {} segment {} offset {} not committed yet", this, segment.getBaseXid() + flushOffset, segment, flushOffset);
                 break;
             }
 
             LOG.trace("Queue {} flushing entry at offset {}", this, flushOffset);
-            final OfHeader message = entry.takeMessage();
+            final long xid = segment.getBaseXid() + flushOffset;
+            final int offset = flushOffset;
+            final EncodedMessage encoded = segmentEntries.takeEncoded(offset);
+            final OfHeader message = segmentEntries.takeMessage(offset);
             flushOffset++;
             entries++;
 
-            if (message != null) {
+            if (encoded != null) {
+                manager.writeEncodedMessage(encoded, xid, now);
+            } else if (message != null) {
                 manager.writeMessage(message, now);
-            } else {
-                entry.complete(null);
+            } else if (!segmentEntries.isCompleted(offset)) {
+                // cancelled reservation, or encoded message released by failing the entry
+                segmentEntries.complete(offset, null);
             }
 
-            if (flushOffset >= StackedSegment.SEGMENT_SIZE) {
+            if (flushOffset >= segmentSize) {
                 /*
                  * Slow path: purge the current segment unless it's the last one.
                  * If it is, we leave it for replacement when a new reservation
@@ -171,17 +236,17 @@ abstract class AbstractStackedOutboundQueue implements OutboundQueue {
                     // Remove the segment, update the firstSegment and reset flushOffset
                     final StackedSegment oldSegment = unflushedSegments.remove(0);
                     if (oldSegment.isComplete()) {
-                        uncompletedSegments.remove(oldSegment);
+                        removeUncompletedSegment(oldSegment);
                         oldSegment.recycle();
                     }
 
                     // Reset the first segment and add it to the uncompleted list
                     segment = unflushedSegments.get(0);
-                    uncompletedSegments.add(segment);
+                    addUncompletedSegment(segment);
 
                     // Update the shutdown offset
                     if (shutdownOffset != null) {
-                        shutdownOffset -= StackedSegment.SEGMENT_SIZE;
+                        shutdownOffset -= segmentSize;
                     }
 
                     // Allow reservations back on the fast path by publishing the new first segment
@@ -196,50 +261,100 @@ abstract class AbstractStackedOutboundQueue implements OutboundQueue {
         return entries;
     }
 
-    boolean pairRequest(final OfHeader message) {
-        Iterator<StackedSegment> it = uncompletedSegments.iterator();
-        while (it.hasNext()) {
-            final StackedSegment queue = it.next();
-            final OutboundQueueEntry entry = queue.pairRequest(message);
-            if (entry == null) {
-                continue;
+    private int indexSlot(final long xid) {
+        return (int) (xid >>> segmentShift) & (uncompletedIndex.length - 1);
+    }
+
+    private void indexSegment(final StackedSegment segment) {
+        for (;;) {
+            final int slot = indexSlot(segment.getBaseXid());
+            final StackedSegment existing = uncompletedIndex[slot];
+            if (existing == null || existing == segment) {
+                uncompletedIndex[slot] = segment;
+                return;
             }
 
-            LOG.trace("Queue {} accepted response {}", queue, message);
-
-            // This has been a barrier request, we need to flush all
-            // previous queues
-            if (entry.isBarrier() && uncompletedSegments.size() > 1) {
-                LOG.trace("Queue {} indicated request was a barrier", queue);
-
-                it = uncompletedSegments.iterator();
-                while (it.hasNext()) {
-                    final StackedSegment q = it.next();
-
-                    // We want to complete all queues before the current one, we will
-                    // complete the current queue below
-                    if (!queue.equals(q)) {
-                        LOG.trace("Queue {} is implied finished", q);
-                        q.completeAll();
-                        it.remove();
-                        q.recycle();
-                    } else {
-                        break;
-                    }
+            // Uncompleted segments span more XIDs than the index covers, double it. Segments which do not
+            // collide modulo the old length do not collide modulo the new one either.
+            final StackedSegment[] oldIndex = uncompletedIndex;
+            uncompletedIndex = new StackedSegment[oldIndex.length * 2];
+            for (StackedSegment indexed : oldIndex) {
+                if (indexed != null) {
+                    uncompletedIndex[indexSlot(indexed.getBaseXid())] = indexed;
                 }
             }
+            LOG.debug("Queue {} grew uncompleted segment index to {}", this, uncompletedIndex.length);
+        }
+    }
+
+    private void unindexSegment(final StackedSegment segment) {
+        final int slot = indexSlot(segment.getBaseXid());
+        if (uncompletedIndex[slot] == segment) {
+            uncompletedIndex[slot] = null;
+        }
+    }
 
-            if (queue.isComplete()) {
-                LOG.trace("Queue {} is finished", queue);
-                it.remove();
-                queue.recycle();
+    protected void addUncompletedSegment(final StackedSegment segment) {
+        uncompletedSegments.add(segment);
+        indexSegment(segment);
+    }
+
+    protected void removeUncompletedSegment(final StackedSegment segment) {
+        uncompletedSegments.remove(segment);
+        unindexSegment(segment);
+    }
+
+    /**
+     * @param xid XID of a response
+     * @return uncompleted segment covering the XID, or null
+     */
+    private StackedSegment findUncompletedSegment(final long xid) {
+        final StackedSegment segment = uncompletedIndex[indexSlot(xid)];
+        return segment != null && xid >= segment.getBaseXid() && xid < segment.getEndXid() ? segment : null;
+    }
+
+    boolean pairRequest(final OfHeader message) {
+        // Explicitly 'long' to force unboxing before performing operations
+        final long xid = message.getXid();
+        final StackedSegment queue = findUncompletedSegment(xid);
+        final int offset = queue == null ? -1 : queue.pairRequest(message);
+        if (offset < 0) {
+            LOG.debug("Failed to find completion for message {}", message);
+            return false;
+        }
+
+        LOG.trace("Queue {} accepted response {}", queue, message);
+
+        // This has been a barrier request, we need to flush all
+        // previous queues
+        if (queue.getEntries().isBarrier(offset) && uncompletedSegments.size() > 1) {
+            LOG.trace("Queue {} indicated request was a barrier", queue);
+
+            final Iterator<StackedSegment> it = uncompletedSegments.iterator();
+            while (it.hasNext()) {
+                final StackedSegment q = it.next();
+
+                // We want to complete all queues before the current one, we will
+                // complete the current queue below
+                if (!queue.equals(q)) {
+                    LOG.trace("Queue {} is implied finished", q);
+                    q.completeAll();
+                    it.remove();
+                    unindexSegment(q);
+                    q.recycle();
+                } else {
+                    break;
+                }
             }
+        }
 
-            return true;
+        if (queue.isComplete()) {
+            LOG.trace("Queue {} is finished", queue);
+            removeUncompletedSegment(queue);
+            queue.recycle();
         }
 
-        LOG.debug("Failed to find completion for message {}", message);
-        return false;
+        return true;
     }
 
     boolean needsFlush() {
@@ -253,7 +368,7 @@ abstract class AbstractStackedOutboundQueue implements OutboundQueue {
             return false;
         }
 
-        return firstSegment.getEntry(flushOffset).isCommitted();
+        return firstSegment.getEntries().isCommitted(flushOffset);
     }
 
     long startShutdown() {
@@ -269,8 +384,8 @@ abstract class AbstractStackedOutboundQueue implements OutboundQueue {
             // Increment the offset by the segment size, preventing fast path allocations,
             // since we are holding the slow path lock, any reservations will see the queue
             // in shutdown and fail accordingly.
-            final long xid = LAST_XID_OFFSET_UPDATER.addAndGet(this, StackedSegment.SEGMENT_SIZE);
-            shutdownOffset = (int) (xid - firstSegment.getBaseXid() - StackedSegment.SEGMENT_SIZE);
+            final long xid = LAST_XID_OFFSET_UPDATER.addAndGet(this, segmentSize);
+            shutdownOffset = (int) (xid - firstSegment.getBaseXid() - segmentSize);
 
             // Fails all uncompleted entries, because they will never be completed due to disconnected channel.
             return lockedFailSegments(uncompletedSegments.iterator());
@@ -280,10 +395,10 @@ abstract class AbstractStackedOutboundQueue implements OutboundQueue {
     /**
      * Checks if the shutdown is in final phase -> all allowed entries (number of entries < shutdownOffset) are flushed
      * and fails all not completed entries (if in final phase)
-     * @param channel netty channel
+     * @param writable true if entries may still be written to the channel
      * @return true if in final phase, false if a flush is needed
      */
-    boolean finishShutdown(final Channel channel) {
+    boolean finishShutdown(final boolean writable) {
         boolean needsFlush;
         synchronized (unflushedSegments) {
             // Fails all entries, that were flushed in shutdownOffset (became uncompleted)
@@ -292,7 +407,7 @@ abstract class AbstractStackedOutboundQueue implements OutboundQueue {
             // If no further flush is needed or we are not able to write to channel anymore, then we fail all unflushed
             // segments, so that each enqueued entry is reported as unsuccessful due to channel disconnection.
             // No further entries should be enqueued by this time.
-            needsFlush = channel.isWritable() && needsFlush();
+            needsFlush = writable && needsFlush();
             if (!needsFlush) {
                 lockedFailSegments(unflushedSegments.iterator());
             }
@@ -300,7 +415,11 @@ abstract class AbstractStackedOutboundQueue implements OutboundQueue {
         return !needsFlush;
     }
 
-    protected OutboundQueueEntry getEntry(final Long xid) {
+    /**
+     * @param xid previously-reserved XID
+     * @return segment holding the entry of given XID, the entry is at offset {@code xid - segment.getBaseXid()}
+     */
+    protected StackedSegment getSegment(final Long xid) {
         final StackedSegment fastSegment = firstSegment;
         final long calcOffset = xid - fastSegment.getBaseXid();
         Preconditions.checkArgument(calcOffset >= 0, "Commit of XID %s does not match up with base XID %s", xid, fastSegment.getBaseXid());
@@ -308,7 +427,7 @@ abstract class AbstractStackedOutboundQueue implements OutboundQueue {
         Verify.verify(calcOffset <= Integer.MAX_VALUE);
         final int fastOffset = (int) calcOffset;
 
-        if (fastOffset >= StackedSegment.SEGMENT_SIZE) {
+        if (fastOffset >= segmentSize) {
             LOG.debug("Queue {} falling back to slow commit of XID {} at offset {}", this, xid, fastOffset);
 
             final StackedSegment segment;
@@ -320,14 +439,14 @@ abstract class AbstractStackedOutboundQueue implements OutboundQueue {
                 slowOffset = (int) slowCalcOffset;
 
                 LOG.debug("Queue {} recalculated offset of XID {} to {}", this, xid, slowOffset);
-                segment = unflushedSegments.get(slowOffset / StackedSegment.SEGMENT_SIZE);
+                segment = unflushedSegments.get(slowOffset / segmentSize);
             }
 
-            final int segOffset = slowOffset % StackedSegment.SEGMENT_SIZE;
-            LOG.debug("Queue {} slow commit of XID {} completed at offset {} (segment {} offset {})", this, xid, slowOffset, segment, segOffset);
-            return segment.getEntry(segOffset);
+            LOG.debug("Queue {} slow commit of XID {} completed at offset {} (segment {} offset {})", this, xid,
+                    slowOffset, segment, slowOffset % segmentSize);
+            return segment;
         }
-        return fastSegment.getEntry(fastOffset);
+        return fastSegment;
     }
 
     /**
@@ -347,6 +466,7 @@ abstract class AbstractStackedOutboundQueue implements OutboundQueue {
             if (segment.isComplete()) {
                 LOG.trace("Cleared segment {}", segment);
                 iterator.remove();
+                unindexSegment(segment);
             }
         }
 
@@ -24,8 +24,8 @@ public class ConnectionAdapterFactoryImpl implements ConnectionAdapterFactory {
      */
 	@Override
     public ConnectionFacade createConnectionFacade(final Channel ch, final InetSocketAddress address,
-            final boolean useBarrier) {
-        return new ConnectionAdapterImpl(ch, address, useBarrier);
+            final boolean useBarrier, final HandshakeExecutor handshakeExecutor) {
+        return new ConnectionAdapterImpl(ch, address, useBarrier, handshakeExecutor);
     }
 
 }
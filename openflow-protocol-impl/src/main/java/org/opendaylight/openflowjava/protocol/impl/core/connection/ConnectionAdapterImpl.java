@@ -11,13 +11,22 @@ package org.opendaylight.openflowjava.protocol.impl.core.connection;
 
 import com.google.common.base.Preconditions;
 import io.netty.channel.Channel;
+import io.netty.util.ReferenceCountUtil;
 import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import org.opendaylight.openflowjava.protocol.api.connection.BarrierPolicy;
 import org.opendaylight.openflowjava.protocol.api.connection.ConnectionReadyListener;
+import org.opendaylight.openflowjava.protocol.api.connection.FixedBarrierPolicy;
+import org.opendaylight.openflowjava.protocol.api.connection.MessageBatchListener;
+import org.opendaylight.openflowjava.protocol.api.connection.MultipartReplyEntryConsumer;
 import org.opendaylight.openflowjava.protocol.api.connection.OutboundQueueHandler;
 import org.opendaylight.openflowjava.protocol.api.connection.OutboundQueueHandlerRegistration;
 import org.opendaylight.openflowjava.protocol.api.extensibility.AlienMessageListener;
-import org.opendaylight.openflowjava.protocol.impl.core.OFVersionDetector;
+import org.opendaylight.openflowjava.protocol.impl.core.PacketInFilter;
 import org.opendaylight.openflowjava.protocol.impl.core.PipelineHandlers;
+import org.opendaylight.openflowjava.statistics.ConnectionStatistics;
+import org.opendaylight.openflowjava.statistics.MessageStatisticsRegistry;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.EchoRequestMessage;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.ErrorMessage;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.ExperimenterMessage;
@@ -32,7 +41,6 @@ import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.system.rev130927.D
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.system.rev130927.SwitchIdleEvent;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.system.rev130927.SystemNotificationsListener;
 import org.opendaylight.yangtools.yang.binding.DataObject;
-import org.opendaylight.yangtools.yang.binding.Notification;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -49,10 +57,16 @@ public class ConnectionAdapterImpl extends AbstractConnectionAdapterStatistics i
     private OpenflowProtocolListener messageListener;
     private SystemNotificationsListener systemListener;
     private AlienMessageListener alienMessageListener;
+    private MessageBatchListener batchListener;
     private AbstractOutboundQueueManager<?, ?> outputManager;
-    private OFVersionDetector versionDetector;
+    private PacketInFilter packetInFilter;
+    private volatile MultipartReplyEntryConsumer multipartReplyEntryConsumer;
+    private int outboundCoalescingBytes;
+    private int outboundQueueSegmentSize = StackedSegment.DEFAULT_SEGMENT_SIZE;
+    private int outboundQueueSegmentPoolSize = StackedSegmentPool.DEFAULT_CAPACITY;
 
     private final boolean useBarrier;
+    private final HandshakeExecutor handshakeExecutor;
 
     /**
      * Default constructor.
@@ -62,8 +76,22 @@ public class ConnectionAdapterImpl extends AbstractConnectionAdapterStatistics i
      * @param useBarrier value is configurable by configSubsytem
      */
     public ConnectionAdapterImpl(final Channel channel, final InetSocketAddress address, final boolean useBarrier) {
+        this(channel, address, useBarrier, null);
+    }
+
+    /**
+     * @param channel the channel to be set - used for communication
+     * @param address client address (used only in case of UDP communication,
+     *                as there is no need to store address over tcp (stable channel))
+     * @param useBarrier value is configurable by configSubsytem
+     * @param handshakeExecutor executor running connection ready notification,
+     *                          if null, {@link HandshakeExecutor#getDefault()} is used
+     */
+    public ConnectionAdapterImpl(final Channel channel, final InetSocketAddress address, final boolean useBarrier,
+            final HandshakeExecutor handshakeExecutor) {
         super(channel, address);
         this.useBarrier = useBarrier;
+        this.handshakeExecutor = handshakeExecutor != null ? handshakeExecutor : HandshakeExecutor.getDefault();
         LOG.debug("ConnectionAdapter created");
     }
 
@@ -87,82 +115,184 @@ public class ConnectionAdapterImpl extends AbstractConnectionAdapterStatistics i
         this.alienMessageListener = alienMessageListener;
     }
 
+    @Override
+    public void setMessageBatchListener(final MessageBatchListener batchListener) {
+        this.batchListener = batchListener;
+    }
+
+    @Override
+    public boolean isBatching() {
+        return batchListener != null;
+    }
+
     @Override
     public void consumeDeviceMessage(final DataObject message) {
         LOG.debug("ConsumeIntern msg on {}", channel);
         if (disconnectOccured) {
+            // Lazily decoded messages hold the received buffer, nobody else is going to release it
+            ReferenceCountUtil.release(message);
             return;
         }
-        if (message instanceof Notification) {
+        if (batchListener == null) {
+            dispatchDeviceMessage(message, DeviceMessageType.forMessage(message), null);
+        } else {
+            final List<OfHeader> batch = new ArrayList<>(1);
+            dispatchDeviceMessage(message, DeviceMessageType.forMessage(message), batch);
+            flushBatch(batch);
+        }
+    }
+
+    @Override
+    protected void consumeDeviceMessages(final List<DataObject> messages) {
+        LOG.debug("ConsumeIntern {} msgs on {}", messages.size(), channel);
+        List<OfHeader> batch = batchListener == null ? null : new ArrayList<>(messages.size());
+        for (final DataObject message : messages) {
+            if (disconnectOccured) {
+                ReferenceCountUtil.release(message);
+                continue;
+            }
+            final DeviceMessageType type = DeviceMessageType.forMessage(message);
+            if (type == DeviceMessageType.DISCONNECT_EVENT && batch != null) {
+                // Deliver everything received so far before reporting the disconnect
+                flushBatch(batch);
+                batch = null;
+            }
+            dispatchDeviceMessage(message, type, batch);
+        }
+        if (batch != null) {
+            flushBatch(batch);
+        }
+    }
+
+    private void flushBatch(final List<OfHeader> batch) {
+        if (!batch.isEmpty()) {
+            batchListener.onMessageBatch(batch);
+        }
+    }
 
+    /**
+     * @param message message to process
+     * @param type type of the message
+     * @param batch list collecting messages for {@link MessageBatchListener}, null for per-message delivery
+     */
+    private void dispatchDeviceMessage(final DataObject message, final DeviceMessageType type,
+            final List<OfHeader> batch) {
+        switch (type) {
             // System events
-            if (message instanceof DisconnectEvent) {
+            case DISCONNECT_EVENT:
                 systemListener.onDisconnectEvent((DisconnectEvent) message);
-                responseCache.invalidateAll();
+                responseTable.clear();
                 disconnectOccured = true;
-            } else if (message instanceof SwitchIdleEvent) {
+                MessageStatisticsRegistry.getInstance().unregister(messageStatistics);
+                if (address != null) {
+                    // UDP connections share the listener channel, which outlives them
+                    if (channel.pipeline().context(output) != null) {
+                        channel.pipeline().remove(output);
+                    }
+                    if (outputManager != null) {
+                        outputManager.startShutdown();
+                        if (channel.pipeline().context(outputManager) != null) {
+                            channel.pipeline().remove(outputManager);
+                        }
+                    }
+                }
+                break;
+            case SWITCH_IDLE_EVENT:
                 systemListener.onSwitchIdleEvent((SwitchIdleEvent) message);
+                break;
             // OpenFlow messages
-            } else if (message instanceof EchoRequestMessage) {
+            case ECHO_REQUEST:
                 if (outputManager != null) {
                     outputManager.onEchoRequest((EchoRequestMessage) message);
                 } else {
-                    messageListener.onEchoRequestMessage((EchoRequestMessage) message);
+                    notifyMessageListener((OfHeader) message, type, batch);
                 }
-            } else if (message instanceof ErrorMessage) {
+                break;
+            case ERROR:
                 // Send only unmatched errors
                 if (outputManager == null || !outputManager.onMessage((OfHeader) message)) {
-                    messageListener.onErrorMessage((ErrorMessage) message);
+                    notifyMessageListener((OfHeader) message, type, batch);
                 }
-            } else if (message instanceof ExperimenterMessage) {
+                break;
+            case EXPERIMENTER:
+            case MULTIPART_REPLY:
                 if (outputManager != null) {
                     outputManager.onMessage((OfHeader) message);
                 }
+                notifyMessageListener((OfHeader) message, type, batch);
+                break;
+            case HELLO:
+                LOG.info("Hello received");
+                notifyMessageListener((OfHeader) message, type, batch);
+                break;
+            case FLOW_REMOVED:
+            case PACKET_IN:
+            case PORT_STATUS:
+                notifyMessageListener((OfHeader) message, type, batch);
+                break;
+            case RPC_RESPONSE:
+                consumeRpcResponse((OfHeader) message);
+                break;
+            default:
+                LOG.warn("message listening not supported for type: {}", message.getClass());
+                break;
+        }
+    }
+
+    private void notifyMessageListener(final OfHeader message, final DeviceMessageType type,
+            final List<OfHeader> batch) {
+        if (batch != null) {
+            batch.add(message);
+            return;
+        }
+        switch (type) {
+            case ECHO_REQUEST:
+                messageListener.onEchoRequestMessage((EchoRequestMessage) message);
+                break;
+            case ERROR:
+                messageListener.onErrorMessage((ErrorMessage) message);
+                break;
+            case EXPERIMENTER:
                 messageListener.onExperimenterMessage((ExperimenterMessage) message);
-            } else if (message instanceof FlowRemovedMessage) {
+                break;
+            case FLOW_REMOVED:
                 messageListener.onFlowRemovedMessage((FlowRemovedMessage) message);
-            } else if (message instanceof HelloMessage) {
-                LOG.info("Hello received");
+                break;
+            case HELLO:
                 messageListener.onHelloMessage((HelloMessage) message);
-            } else if (message instanceof MultipartReplyMessage) {
-                if (outputManager != null) {
-                    outputManager.onMessage((OfHeader) message);
-                }
+                break;
+            case MULTIPART_REPLY:
                 messageListener.onMultipartReplyMessage((MultipartReplyMessage) message);
-            } else if (message instanceof PacketInMessage) {
+                break;
+            case PACKET_IN:
                 messageListener.onPacketInMessage((PacketInMessage) message);
-            } else if (message instanceof PortStatusMessage) {
+                break;
+            case PORT_STATUS:
                 messageListener.onPortStatusMessage((PortStatusMessage) message);
-            } else {
-                LOG.warn("message listening not supported for type: {}", message.getClass());
-            }
-        } else if (message instanceof OfHeader) {
-            LOG.debug("OF header msg received");
-            boolean found = false;
-
-            if (outputManager == null || !outputManager.onMessage((OfHeader) message)) {
-                final RpcResponseKey key = createRpcResponseKey((OfHeader) message);
-                final ResponseExpectedRpcListener<?> listener = findRpcResponse(key);
-                if (listener != null) {
-                    found = true;
-                    LOG.debug("Corresponding rpcFuture found");
-                    listener.completed((OfHeader) message);
-                    LOG.debug("After setting rpcFuture");
-                    responseCache.invalidate(key);
-                }
-            }
+                break;
+            default:
+                throw new IllegalArgumentException("Unhandled message type " + type);
+        }
+    }
+
+    private void consumeRpcResponse(final OfHeader message) {
+        LOG.debug("OF header msg received");
+        boolean found = false;
 
-            if (!found && alienMessageListener != null) {
-                LOG.debug("Alien message {} received", message.getImplementedInterface());
-                alienMessageListener.onAlienMessage((OfHeader) message);
+        if (outputManager == null || !outputManager.onMessage(message)) {
+            final ResponseExpectedRpcListener<?> listener = findRpcResponse(message);
+            if (listener != null) {
+                found = true;
+                LOG.debug("Corresponding rpcFuture found");
+                listener.completed(message);
+                LOG.debug("After setting rpcFuture");
             }
-        } else {
-            LOG.warn("message listening not supported for type: {}", message.getClass());
         }
-    }
 
-    private static RpcResponseKey createRpcResponseKey(final OfHeader message) {
-        return new RpcResponseKey(message.getXid(), message.getImplementedInterface().getName());
+        if (!found && alienMessageListener != null) {
+            LOG.debug("Alien message {} received", message.getImplementedInterface());
+            alienMessageListener.onAlienMessage(message);
+        }
     }
 
     @Override
@@ -171,7 +301,7 @@ public class ConnectionAdapterImpl extends AbstractConnectionAdapterStatistics i
         if (systemListener == null) {
             buffer.append("SystemListener ");
         }
-        if (messageListener == null) {
+        if (messageListener == null && batchListener == null) {
             buffer.append("MessageListener ");
         }
         if (connectionReadyListener == null) {
@@ -183,25 +313,38 @@ public class ConnectionAdapterImpl extends AbstractConnectionAdapterStatistics i
 
     @Override
     public void fireConnectionReadyNotification() {
-        versionDetector = (OFVersionDetector) channel.pipeline().get(PipelineHandlers.OF_VERSION_DETECTOR.name());
-        Preconditions.checkState(versionDetector != null);
+        packetInFilter = (PacketInFilter) channel.pipeline().get(PipelineHandlers.OF_VERSION_DETECTOR.name());
+        if (packetInFilter == null) {
+            packetInFilter = (PacketInFilter) channel.pipeline().get(PipelineHandlers.OF_FUSED_DECODER.name());
+        }
+        Preconditions.checkState(packetInFilter != null);
 
-        new Thread(new Runnable() {
+        final boolean accepted = handshakeExecutor.execute(new Runnable() {
             @Override
             public void run() {
                 connectionReadyListener.onConnectionReady();
             }
-        }).start();
+        });
+        if (!accepted) {
+            LOG.warn("Too many pending connection ready notifications, disconnecting {}", channel.remoteAddress());
+            disconnect();
+        }
     }
 
     @Override
     public <T extends OutboundQueueHandler> OutboundQueueHandlerRegistration<T> registerOutboundQueueHandler(
             final T handler, final int maxQueueDepth, final long maxBarrierNanos) {
+        return registerOutboundQueueHandler(handler, new FixedBarrierPolicy(maxQueueDepth, maxBarrierNanos));
+    }
+
+    @Override
+    public <T extends OutboundQueueHandler> OutboundQueueHandlerRegistration<T> registerOutboundQueueHandler(
+            final T handler, final BarrierPolicy barrierPolicy) {
         Preconditions.checkState(outputManager == null, "Manager %s already registered", outputManager);
 
         final AbstractOutboundQueueManager<T, ?> ret;
         if (useBarrier) {
-            ret = new OutboundQueueManager<>(this, address, handler, maxQueueDepth, maxBarrierNanos);
+            ret = new OutboundQueueManager<>(this, address, handler, barrierPolicy);
         } else {
             LOG.warn("OutboundQueueManager without barrier is started.");
             ret = new OutboundQueueManagerNoBarrier<>(this, address, handler);
@@ -220,7 +363,10 @@ public class ConnectionAdapterImpl extends AbstractConnectionAdapterStatistics i
             @Override
             protected void removeRegistration() {
                 outputManager.close();
-                channel.pipeline().remove(outputManager);
+                if (channel.pipeline().context(outputManager) != null) {
+                    // Already removed if UDP connection was disconnected
+                    channel.pipeline().remove(outputManager);
+                }
                 outputManager = null;
             }
         };
@@ -230,9 +376,55 @@ public class ConnectionAdapterImpl extends AbstractConnectionAdapterStatistics i
         return channel;
     }
 
+    @Override
+    public void setOutboundCoalescingBytes(final int maxBytes) {
+        Preconditions.checkArgument(maxBytes >= 0 && maxBytes <= MAX_OUTBOUND_COALESCING_BYTES,
+                "Coalescing buffer size %s is out of range 0..%s", maxBytes, MAX_OUTBOUND_COALESCING_BYTES);
+        outboundCoalescingBytes = maxBytes;
+    }
+
+    int getOutboundCoalescingBytes() {
+        return outboundCoalescingBytes;
+    }
+
+    @Override
+    public void setOutboundQueueSegments(final int segmentSize, final int poolSize) {
+        Preconditions.checkArgument(segmentSize > 0 && Integer.bitCount(segmentSize) == 1,
+                "Segment size %s is not a power of two", segmentSize);
+        Preconditions.checkArgument(poolSize >= 0, "Segment pool size must not be negative");
+        outboundQueueSegmentSize = segmentSize;
+        outboundQueueSegmentPoolSize = poolSize;
+    }
+
+    StackedSegmentPool getSegmentPool() {
+        return SegmentPoolRegistry.getInstance().getPool(channel.eventLoop(), outboundQueueSegmentSize,
+                outboundQueueSegmentPoolSize);
+    }
+
+    @Override
+    public void setRpcResponseTimeout(final long timeoutMillis) {
+        responseTable.setTimeoutMillis(timeoutMillis);
+    }
+
+    @Override
+    public ConnectionStatistics getMessageStatistics() {
+        return messageStatistics;
+    }
+
     @Override
     public void setPacketInFiltering(final boolean enabled) {
-        versionDetector.setFilterPacketIns(enabled);
+        packetInFilter.setFilterPacketIns(enabled);
         LOG.debug("PacketIn filtering {}abled", enabled ? "en" : "dis");
     }
+
+    @Override
+    public void setMultipartReplyEntryConsumer(final MultipartReplyEntryConsumer consumer) {
+        multipartReplyEntryConsumer = consumer;
+        LOG.debug("Multipart reply entries {}streamed", consumer != null ? "" : "not ");
+    }
+
+    @Override
+    public MultipartReplyEntryConsumer getMultipartReplyEntryConsumer() {
+        return multipartReplyEntryConsumer;
+    }
 }
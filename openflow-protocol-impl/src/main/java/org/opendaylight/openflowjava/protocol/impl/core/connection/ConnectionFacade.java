@@ -10,11 +10,50 @@
 package org.opendaylight.openflowjava.protocol.impl.core.connection;
 
 import org.opendaylight.openflowjava.protocol.api.connection.ConnectionAdapter;
+import org.opendaylight.openflowjava.protocol.api.connection.MultipartReplyEntryConsumer;
+import org.opendaylight.openflowjava.statistics.ConnectionStatistics;
 
 /**
  * @author michal.polkorab
  */
 public interface ConnectionFacade extends MessageConsumer, ConnectionAdapter {
 
- // empty unifying superinterface
+    /**
+     * Largest coalescing buffer, matching the default write buffer high watermark
+     */
+    int MAX_OUTBOUND_COALESCING_BYTES = 256 * 1024;
+
+    /**
+     * Sets size of buffers into which the outbound queue coalesces messages before writing them
+     * to the channel. Takes effect for outbound queue handlers registered afterwards.
+     * @param maxBytes buffer size in bytes, 0 writes each message separately,
+     *                 at most {@link #MAX_OUTBOUND_COALESCING_BYTES}
+     */
+    void setOutboundCoalescingBytes(int maxBytes);
+
+    /**
+     * Sets geometry of outbound queue segments. Segments are recycled through a pool shared by connections
+     * of the same event loop. Takes effect for outbound queue handlers registered afterwards.
+     * @param segmentSize number of entries in each segment, must be a power of two
+     * @param poolSize maximum number of segments pooled per event loop, 0 disables pooling
+     */
+    void setOutboundQueueSegments(int segmentSize, int poolSize);
+
+    /**
+     * Sets time to wait for switch response to a request, requests not answered in time fail
+     * with {@link java.util.concurrent.TimeoutException}
+     * @param timeoutMillis timeout in milliseconds, must be positive
+     */
+    void setRpcResponseTimeout(long timeoutMillis);
+
+    /**
+     * @return per-message-type counters of this connection, null for UDP connections and if message statistics
+     *         were disabled when connection was created; counters ignore updates once statistics are disabled
+     */
+    ConnectionStatistics getMessageStatistics();
+
+    /**
+     * @return consumer of multipart reply body entries, null if entries are not streamed
+     */
+    MultipartReplyEntryConsumer getMultipartReplyEntryConsumer();
 }
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.impl.core.connection;
+
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.EchoRequestMessage;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.ErrorMessage;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.ExperimenterMessage;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.FlowRemovedMessage;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.HelloMessage;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.MultipartReplyMessage;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.OfHeader;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.PacketInMessage;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.PortStatusMessage;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.system.rev130927.DisconnectEvent;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.system.rev130927.SwitchIdleEvent;
+import org.opendaylight.yangtools.yang.binding.DataObject;
+import org.opendaylight.yangtools.yang.binding.Notification;
+
+/**
+ * Classification of messages consumed by {@link ConnectionAdapterImpl}. The type of each message class
+ * is resolved once and cached, so dispatching a message costs a single lookup instead of an instanceof cascade.
+ */
+enum DeviceMessageType {
+    DISCONNECT_EVENT(DisconnectEvent.class),
+    SWITCH_IDLE_EVENT(SwitchIdleEvent.class),
+    ECHO_REQUEST(EchoRequestMessage.class),
+    ERROR(ErrorMessage.class),
+    EXPERIMENTER(ExperimenterMessage.class),
+    FLOW_REMOVED(FlowRemovedMessage.class),
+    HELLO(HelloMessage.class),
+    MULTIPART_REPLY(MultipartReplyMessage.class),
+    PACKET_IN(PacketInMessage.class),
+    PORT_STATUS(PortStatusMessage.class),
+    /** Notification without a listener method */
+    UNSUPPORTED_NOTIFICATION(Notification.class),
+    /** Non-notification message, i.e. RPC response */
+    RPC_RESPONSE(OfHeader.class),
+    UNSUPPORTED(Object.class);
+
+    private static final ClassValue<DeviceMessageType> TYPES = new ClassValue<DeviceMessageType>() {
+        @Override
+        protected DeviceMessageType computeValue(final Class<?> type) {
+            for (final DeviceMessageType messageType : values()) {
+                if (messageType.implementedInterface.isAssignableFrom(type)) {
+                    return messageType;
+                }
+            }
+            return UNSUPPORTED;
+        }
+    };
+
+    private final Class<?> implementedInterface;
+
+    DeviceMessageType(final Class<?> implementedInterface) {
+        this.implementedInterface = implementedInterface;
+    }
+
+    /**
+     * @param message message to classify
+     * @return type of the message
+     */
+    static DeviceMessageType forMessage(final DataObject message) {
+        return TYPES.get(message.getClass());
+    }
+}
@@ -0,0 +1,229 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.impl.core.connection;
+
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bounded executor running {@link org.opendaylight.openflowjava.protocol.api.connection.ConnectionReadyListener}
+ * notifications. At most {@code threads} notifications run concurrently and at most {@code queueSize} further
+ * notifications wait for execution, any other notification is rejected.
+ */
+public final class HandshakeExecutor implements AutoCloseable {
+
+    /** Default number of concurrently running notifications */
+    public static final int DEFAULT_THREADS = 32;
+    /** Default number of notifications waiting for execution */
+    public static final int DEFAULT_QUEUE_SIZE = 8192;
+
+    private static final Logger LOG = LoggerFactory.getLogger(HandshakeExecutor.class);
+    private static final long KEEP_ALIVE_SECONDS = 60;
+
+    private final ExecutorService executor;
+    private final Semaphore admission;
+    private final Semaphore concurrency;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder totalQueueNanos = new LongAdder();
+    private final AtomicLong maxQueueNanos = new AtomicLong();
+
+    private HandshakeExecutor(final ExecutorService executor, final int queueSize, final int threads,
+            final boolean limitConcurrency) {
+        this.executor = executor;
+        admission = new Semaphore(threads + queueSize);
+        concurrency = limitConcurrency ? new Semaphore(threads) : null;
+        HandshakeExecutorRegistry.getInstance().add(this);
+    }
+
+    /**
+     * @param threads maximal number of concurrently running notifications
+     * @param queueSize maximal number of notifications waiting for execution
+     * @param useVirtualThreads true if each notification should run in its own virtual thread;
+     *                          ignored on runtimes without virtual thread support
+     * @return new executor
+     */
+    public static HandshakeExecutor create(final int threads, final int queueSize, final boolean useVirtualThreads) {
+        Preconditions.checkArgument(threads > 0, "Number of handshake threads must be positive");
+        Preconditions.checkArgument(queueSize >= 0, "Handshake queue size must not be negative");
+        if (useVirtualThreads) {
+            final ExecutorService virtual = createVirtualThreadExecutor();
+            if (virtual != null) {
+                LOG.debug("Using virtual threads for handshakes, concurrency limit {}", threads);
+                return new HandshakeExecutor(virtual, queueSize, threads, true);
+            }
+            LOG.warn("Virtual threads are not supported by this runtime, using {} platform threads", threads);
+        }
+
+        final ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, KEEP_ALIVE_SECONDS,
+                TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
+                new ThreadFactoryBuilder().setNameFormat("ofj-handshake-%d").setDaemon(true).build());
+        pool.allowCoreThreadTimeOut(true);
+        return new HandshakeExecutor(pool, queueSize, threads, false);
+    }
+
+    /**
+     * @return shared executor with default limits, used by connections without explicitly configured executor
+     */
+    public static HandshakeExecutor getDefault() {
+        return DefaultHolder.INSTANCE;
+    }
+
+    private static ExecutorService createVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            LOG.debug("Virtual thread executor not available", e);
+            return null;
+        }
+    }
+
+    /**
+     * Submits task for execution
+     * @param task task to run
+     * @return true if the task was accepted, false if admission limit was reached
+     */
+    public boolean execute(final Runnable task) {
+        if (!admission.tryAcquire()) {
+            rejected.increment();
+            return false;
+        }
+
+        final long enqueued = System.nanoTime();
+        queued.incrementAndGet();
+        try {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    runTask(task, enqueued);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            LOG.debug("Handshake executor is shut down", e);
+            queued.decrementAndGet();
+            admission.release();
+            rejected.increment();
+            return false;
+        }
+        accepted.increment();
+        return true;
+    }
+
+    private void runTask(final Runnable task, final long enqueued) {
+        try {
+            if (concurrency != null) {
+                concurrency.acquireUninterruptibly();
+            }
+            try {
+                queued.decrementAndGet();
+                recordQueueTime(System.nanoTime() - enqueued);
+                task.run();
+            } finally {
+                if (concurrency != null) {
+                    concurrency.release();
+                }
+            }
+        } catch (RuntimeException e) {
+            LOG.warn("Connection ready notification failed", e);
+        } finally {
+            completed.increment();
+            admission.release();
+        }
+    }
+
+    private void recordQueueTime(final long nanos) {
+        totalQueueNanos.add(nanos);
+        long max = maxQueueNanos.get();
+        while (nanos > max && !maxQueueNanos.compareAndSet(max, nanos)) {
+            max = maxQueueNanos.get();
+        }
+    }
+
+    /**
+     * @return number of notifications waiting for execution
+     */
+    public int getQueuedCount() {
+        return queued.get();
+    }
+
+    /**
+     * @return number of accepted notifications
+     */
+    public long getAcceptedCount() {
+        return accepted.sum();
+    }
+
+    /**
+     * @return number of notifications rejected due to admission limit
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * @return number of finished notifications
+     */
+    public long getCompletedCount() {
+        return completed.sum();
+    }
+
+    /**
+     * @return average time notifications spent waiting for execution, in microseconds
+     */
+    public long getAverageQueueMicros() {
+        final long count = getDequeuedCount();
+        return count <= 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(getTotalQueueNanos() / count);
+    }
+
+    long getDequeuedCount() {
+        return accepted.sum() - queued.get();
+    }
+
+    long getTotalQueueNanos() {
+        return totalQueueNanos.sum();
+    }
+
+    /**
+     * @return longest time a notification spent waiting for execution, in microseconds
+     */
+    public long getMaxQueueMicros() {
+        return TimeUnit.NANOSECONDS.toMicros(maxQueueNanos.get());
+    }
+
+    @Override
+    public void close() {
+        HandshakeExecutorRegistry.getInstance().remove(this);
+        executor.shutdown();
+    }
+
+    @Override
+    public String toString() {
+        return "HandshakeExecutor [queued=" + getQueuedCount() + ", accepted=" + getAcceptedCount()
+                + ", rejected=" + getRejectedCount() + ", completed=" + getCompletedCount()
+                + ", avgQueueMicros=" + getAverageQueueMicros() + ", maxQueueMicros=" + getMaxQueueMicros() + "]";
+    }
+
+    private static final class DefaultHolder {
+        static final HandshakeExecutor INSTANCE = create(DEFAULT_THREADS, DEFAULT_QUEUE_SIZE, false);
+    }
+}
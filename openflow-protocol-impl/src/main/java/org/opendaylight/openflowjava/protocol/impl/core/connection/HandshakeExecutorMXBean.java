@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.impl.core.connection;
+
+import java.util.Map;
+
+/**
+ * JMX view of {@link HandshakeExecutorRegistry}. Numbers are summed over executors of all connection providers.
+ */
+public interface HandshakeExecutorMXBean {
+
+    /**
+     * @return number of live executors
+     */
+    int getExecutorCount();
+
+    /**
+     * @return number of notifications waiting for execution
+     */
+    long getQueuedNotifications();
+
+    /**
+     * @return number of accepted notifications
+     */
+    long getAcceptedNotifications();
+
+    /**
+     * @return number of notifications rejected due to admission limit
+     */
+    long getRejectedNotifications();
+
+    /**
+     * @return number of finished notifications
+     */
+    long getCompletedNotifications();
+
+    /**
+     * @return average time notifications spent waiting for execution, in microseconds
+     */
+    long getAverageQueueMicros();
+
+    /**
+     * @return longest time a notification spent waiting for execution, in microseconds
+     */
+    long getMaxQueueMicros();
+
+    /**
+     * @return description of each executor
+     */
+    Map<String, String> getExecutors();
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.impl.core.connection;
+
+import com.google.common.collect.MapMaker;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.openflowjava.statistics.MBeanRegistration;
+
+/**
+ * Tracks live {@link HandshakeExecutor}s, so that their queue depth and wait times are exposed through JMX.
+ */
+public final class HandshakeExecutorRegistry implements HandshakeExecutorMXBean {
+
+    /**
+     * Name under which registry is registered in platform MBean server
+     */
+    public static final String OBJECT_NAME = "org.opendaylight.openflowjava:type=HandshakeExecutors";
+
+    private static final HandshakeExecutorRegistry INSTANCE = new HandshakeExecutorRegistry();
+
+    private final Set<HandshakeExecutor> executors =
+            Collections.newSetFromMap(new MapMaker().weakKeys().<HandshakeExecutor, Boolean>makeMap());
+    private final MBeanRegistration registration = new MBeanRegistration(this, OBJECT_NAME);
+
+    /**
+     * @return registry shared by all connection providers
+     */
+    public static HandshakeExecutorRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    private HandshakeExecutorRegistry() {
+        // singleton
+    }
+
+    void add(final HandshakeExecutor executor) {
+        executors.add(executor);
+    }
+
+    void remove(final HandshakeExecutor executor) {
+        executors.remove(executor);
+    }
+
+    boolean contains(final HandshakeExecutor executor) {
+        return executors.contains(executor);
+    }
+
+    private List<HandshakeExecutor> executors() {
+        return new ArrayList<>(executors);
+    }
+
+    @Override
+    public int getExecutorCount() {
+        return executors.size();
+    }
+
+    @Override
+    public long getQueuedNotifications() {
+        long sum = 0;
+        for (HandshakeExecutor executor : executors()) {
+            sum += executor.getQueuedCount();
+        }
+        return sum;
+    }
+
+    @Override
+    public long getAcceptedNotifications() {
+        long sum = 0;
+        for (HandshakeExecutor executor : executors()) {
+            sum += executor.getAcceptedCount();
+        }
+        return sum;
+    }
+
+    @Override
+    public long getRejectedNotifications() {
+        long sum = 0;
+        for (HandshakeExecutor executor : executors()) {
+            sum += executor.getRejectedCount();
+        }
+        return sum;
+    }
+
+    @Override
+    public long getCompletedNotifications() {
+        long sum = 0;
+        for (HandshakeExecutor executor : executors()) {
+            sum += executor.getCompletedCount();
+        }
+        return sum;
+    }
+
+    @Override
+    public long getAverageQueueMicros() {
+        long nanos = 0;
+        long count = 0;
+        for (HandshakeExecutor executor : executors()) {
+            nanos += executor.getTotalQueueNanos();
+            count += executor.getDequeuedCount();
+        }
+        return count <= 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(nanos / count);
+    }
+
+    @Override
+    public long getMaxQueueMicros() {
+        long max = 0;
+        for (HandshakeExecutor executor : executors()) {
+            max = Math.max(max, executor.getMaxQueueMicros());
+        }
+        return max;
+    }
+
+    @Override
+    public Map<String, String> getExecutors() {
+        final Map<String, String> map = new LinkedHashMap<>();
+        int index = 0;
+        for (HandshakeExecutor executor : executors()) {
+            map.put("executor-" + index++, executor.toString());
+        }
+        return map;
+    }
+
+    /**
+     * Registers registry in platform MBean server under {@link #OBJECT_NAME}, does nothing if already registered
+     */
+    public void registerMBean() {
+        registration.register();
+    }
+
+    /**
+     * Removes registry from platform MBean server
+     */
+    public void unregisterMBean() {
+        registration.unregister();
+    }
+}
@@ -9,6 +9,7 @@
 
 package org.opendaylight.openflowjava.protocol.impl.core.connection;
 
+import java.util.List;
 import org.opendaylight.yangtools.yang.binding.DataObject;
 
 /**
@@ -21,4 +22,14 @@ public interface MessageConsumer {
      */
     void consume(DataObject message);
 
+    /**
+     * @param messages to process, in order of arrival; the list must not be retained after return
+     */
+    void consume(List<DataObject> messages);
+
+    /**
+     * @return true if messages should be collected per read cycle and passed in via {@link #consume(List)}
+     */
+    boolean isBatching();
+
 }
@@ -0,0 +1,306 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.openflowjava.protocol.impl.core.connection;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.FutureCallback;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.function.Function;
+import org.opendaylight.openflowjava.protocol.api.connection.EncodedMessage;
+import org.opendaylight.openflowjava.protocol.api.connection.OutboundQueueException;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.BarrierInput;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.MultipartReplyMessage;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.OfHeader;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.PacketOutInput;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Entries of one {@link StackedSegment} in struct-of-arrays layout. Per-entry flags are kept in packed bitsets,
+ * messages and callbacks in reference arrays, so an idle entry costs a few bits and two null slots instead
+ * of an object. Completion functions and failure causes are rare and their arrays are allocated on first use.
+ *
+ * Entries are committed from multiple threads concurrently, all other operations run in the channel's
+ * event loop. Flags of neighbouring entries share words, hence all flag updates are atomic. The committed
+ * flag is set last on commit and cleared last on reset, so it publishes the rest of the entry.
+ */
+final class OutboundQueueEntries {
+    private static final Logger LOG = LoggerFactory.getLogger(OutboundQueueEntries.class);
+    static final Function<OfHeader, Boolean> DEFAULT_IS_COMPLETE = new Function<OfHeader, Boolean>() {
+
+        @Override
+        public Boolean apply(final OfHeader message) {
+            if (message instanceof MultipartReplyMessage) {
+                return !((MultipartReplyMessage) message).getFlags().isOFPMPFREQMORE();
+            }
+
+            return true;
+        }
+
+    };
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<OutboundQueueEntries, Function[]> FUNCTIONS_UPDATER =
+            AtomicReferenceFieldUpdater.newUpdater(OutboundQueueEntries.class, Function[].class, "completionFunctions");
+
+    private static final int COMMITTED = 0;
+    private static final int COMPLETED = 1;
+    private static final int BARRIER = 2;
+    private static final int PACKET_OUT = 3;
+    private static final int FLAG_COUNT = 4;
+
+    private final int size;
+    private final int words;
+    // Flag words, FLAG_COUNT consecutive blocks of 'words' longs
+    private final AtomicLongArray flags;
+    // OfHeader to be serialized, or EncodedMessage to be sent as is
+    private final Object[] payloads;
+    private final FutureCallback<OfHeader>[] callbacks;
+    // Non-default completion functions, allocated on first use
+    private volatile Function<OfHeader, Boolean>[] completionFunctions;
+    // Causes of failures reported to callbacks committed too late, allocated on first use
+    private OutboundQueueException[] failures;
+
+    @SuppressWarnings("unchecked")
+    OutboundQueueEntries(final int size) {
+        Preconditions.checkArgument(size > 0, "Number of entries must be positive");
+        this.size = size;
+        words = (size + Long.SIZE - 1) / Long.SIZE;
+        flags = new AtomicLongArray(FLAG_COUNT * words);
+        payloads = new Object[size];
+        callbacks = new FutureCallback[size];
+    }
+
+    int size() {
+        return size;
+    }
+
+    private int index(final int flag, final int offset) {
+        return flag * words + (offset >>> 6);
+    }
+
+    private boolean getFlag(final int flag, final int offset) {
+        return (flags.get(index(flag, offset)) & (1L << offset)) != 0;
+    }
+
+    private void setFlag(final int flag, final int offset, final boolean value) {
+        final int index = index(flag, offset);
+        final long mask = 1L << offset;
+        for (;;) {
+            final long prev = flags.get(index);
+            final long next = value ? prev | mask : prev & ~mask;
+            if (prev == next || flags.compareAndSet(index, prev, next)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * @param message message to be sent, may be null if only its serialized form is available
+     * @param encoded serialized form of the message, or null
+     * @param type binding interface to check
+     * @return true if the message, or the serialized message if present, is of given type
+     */
+    static boolean isMessageOfType(final OfHeader message, final EncodedMessage encoded,
+            final Class<? extends OfHeader> type) {
+        return encoded != null ? type.equals(encoded.getMessageType()) : type.isInstance(message);
+    }
+
+    void commit(final int offset, final OfHeader message, final FutureCallback<OfHeader> callback) {
+        commit(offset, message, null, callback, DEFAULT_IS_COMPLETE);
+    }
+
+    /**
+     * @param encoded serialized form of the message, retained by the entry until it is taken or the entry fails
+     */
+    void commit(final int offset, final OfHeader message, final EncodedMessage encoded,
+            final FutureCallback<OfHeader> callback, final Function<OfHeader, Boolean> isCompletedFunction) {
+        if (isCompleted(offset)) {
+            LOG.warn("Can't commit a completed message.");
+            if (callback != null) {
+                callback.onFailure(failures == null ? null : failures[offset]);
+            }
+            return;
+        }
+
+        payloads[offset] = encoded != null ? encoded.retain() : message;
+        callbacks[offset] = callback;
+        if (isCompletedFunction != DEFAULT_IS_COMPLETE || completionFunctions != null) {
+            completionFunctions()[offset] = isCompletedFunction == DEFAULT_IS_COMPLETE ? null : isCompletedFunction;
+        }
+        setFlag(BARRIER, offset, isMessageOfType(message, encoded, BarrierInput.class));
+        setFlag(PACKET_OUT, offset, isMessageOfType(message, encoded, PacketOutInput.class));
+
+        // Publishes the entry, needs to be last
+        setFlag(COMMITTED, offset, true);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Function<OfHeader, Boolean>[] completionFunctions() {
+        final Function<OfHeader, Boolean>[] existing = completionFunctions;
+        if (existing != null) {
+            return existing;
+        }
+        FUNCTIONS_UPDATER.compareAndSet(this, null, new Function[size]);
+        return completionFunctions;
+    }
+
+    /**
+     * Resets all entries, releasing messages which were not sent
+     */
+    void reset() {
+        for (int i = 0; i < size; ++i) {
+            releaseEncoded(i);
+        }
+        Arrays.fill(payloads, null);
+        Arrays.fill(callbacks, null);
+        final Function<OfHeader, Boolean>[] functions = completionFunctions;
+        if (functions != null) {
+            Arrays.fill(functions, null);
+        }
+        if (failures != null) {
+            Arrays.fill(failures, null);
+        }
+
+        // Committed flags go last, they publish the entries
+        for (int i = flags.length() - 1; i >= 0; --i) {
+            flags.set(i, 0);
+        }
+    }
+
+    boolean isBarrier(final int offset) {
+        return getFlag(BARRIER, offset);
+    }
+
+    boolean isCommitted(final int offset) {
+        return getFlag(COMMITTED, offset);
+    }
+
+    boolean isCompleted(final int offset) {
+        return getFlag(COMPLETED, offset);
+    }
+
+    /**
+     * Finds the next entry which has not been completed, skipping completed entries a word at a time
+     * @param fromOffset first offset to check
+     * @param toOffset offset after the last one to check
+     * @return offset of the first incomplete entry, or toOffset if there is none
+     */
+    int nextIncomplete(final int fromOffset, final int toOffset) {
+        if (fromOffset >= toOffset) {
+            return toOffset;
+        }
+
+        int word = fromOffset >>> 6;
+        // Completed entries, with bits below fromOffset treated as completed
+        long completed = flags.get(index(COMPLETED, fromOffset)) | ((1L << fromOffset) - 1);
+        for (;;) {
+            if (completed != -1L) {
+                final int offset = (word << 6) + Long.numberOfTrailingZeros(~completed);
+                return Math.min(offset, toOffset);
+            }
+            if (++word << 6 >= toOffset) {
+                return toOffset;
+            }
+            completed = flags.get(COMPLETED * words + word);
+        }
+    }
+
+    /**
+     * @return serialized form of the message, ownership of its reference is transferred to the caller
+     */
+    EncodedMessage takeEncoded(final int offset) {
+        final Object payload = payloads[offset];
+        if (payload instanceof EncodedMessage) {
+            payloads[offset] = null;
+            return (EncodedMessage) payload;
+        }
+        return null;
+    }
+
+    private void releaseEncoded(final int offset) {
+        final Object payload = payloads[offset];
+        if (payload instanceof EncodedMessage) {
+            ((EncodedMessage) payload).release();
+            // message is not sent without its serialized form, its XID does not match the reserved one
+            payloads[offset] = null;
+        }
+    }
+
+    OfHeader takeMessage(final int offset) {
+        final Object payload = payloads[offset];
+        if (!isBarrier(offset)) {
+            checkCompletionNeed(offset);
+        }
+        payloads[offset] = null;
+        return payload instanceof OfHeader ? (OfHeader) payload : null;
+    }
+
+    private void checkCompletionNeed(final int offset) {
+        final FutureCallback<OfHeader> callback = callbacks[offset];
+        if (callback == null || getFlag(PACKET_OUT, offset)) {
+            setFlag(COMPLETED, offset, true);
+            if (callback != null) {
+                callback.onSuccess(null);
+                callbacks[offset] = null;
+            }
+            setFlag(COMMITTED, offset, false);
+        }
+    }
+
+    boolean complete(final int offset, final OfHeader response) {
+        Preconditions.checkState(!isCompleted(offset), "Attempted to complete a completed message with response %s",
+                response);
+
+        // Multipart requests are special, we have to look at them to see
+        // if there is something outstanding and adjust ourselves accordingly
+        final Function<OfHeader, Boolean>[] functions = completionFunctions;
+        final Function<OfHeader, Boolean> isCompletedFunction = functions == null || functions[offset] == null
+                ? DEFAULT_IS_COMPLETE : functions[offset];
+        final boolean reallyComplete = isCompletedFunction.apply(response);
+
+        setFlag(COMPLETED, offset, reallyComplete);
+        final FutureCallback<OfHeader> callback = callbacks[offset];
+        if (callback != null) {
+            callback.onSuccess(response);
+            if (reallyComplete) {
+                // We will not need the callback anymore, make sure it can be GC'd
+                callbacks[offset] = null;
+            }
+        }
+        LOG.debug("Entry {} completed {} with response {}", offset, reallyComplete, response);
+        return reallyComplete;
+    }
+
+    void fail(final int offset, final OutboundQueueException cause) {
+        releaseEncoded(offset);
+        if (!isCompleted(offset)) {
+            if (failures == null) {
+                failures = new OutboundQueueException[size];
+            }
+            failures[offset] = cause;
+            setFlag(COMPLETED, offset, true);
+            final FutureCallback<OfHeader> callback = callbacks[offset];
+            if (callback != null) {
+                callback.onFailure(cause);
+                callbacks[offset] = null;
+            }
+        } else {
+            LOG.warn("Ignoring failure {} for completed message", cause);
+        }
+    }
+
+    @VisibleForTesting
+    /** This method is only for testing to prove that after queue entry is completed there is not callback future */
+    boolean hasCallback(final int offset) {
+        return callbacks[offset] != null;
+    }
+}
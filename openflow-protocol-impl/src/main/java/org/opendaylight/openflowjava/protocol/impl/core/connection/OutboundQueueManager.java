@@ -10,8 +10,13 @@ package org.opendaylight.openflowjava.protocol.impl.core.connection;
 import com.google.common.base.Preconditions;
 import java.net.InetSocketAddress;
 import java.util.concurrent.TimeUnit;
+import org.opendaylight.openflowjava.protocol.api.connection.BarrierPolicy;
+import org.opendaylight.openflowjava.protocol.api.connection.EncodedMessage;
 import org.opendaylight.openflowjava.protocol.api.connection.OutboundQueueHandler;
+import org.opendaylight.openflowjava.statistics.ConnectionGaugeType;
+import org.opendaylight.openflowjava.statistics.ConnectionStatistics;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.BarrierInput;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.BarrierOutput;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.OfHeader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -20,14 +25,19 @@ final class OutboundQueueManager<T extends OutboundQueueHandler> extends
         AbstractOutboundQueueManager<T, StackedOutboundQueue> {
     private static final Logger LOG = LoggerFactory.getLogger(OutboundQueueManager.class);
 
-    private final int maxNonBarrierMessages;
-    private final long maxBarrierNanos;
+    private final BarrierPolicy barrierPolicy;
 
     // Updated from netty only
     private boolean barrierTimerEnabled;
     private long lastBarrierNanos = System.nanoTime();
     private int nonBarrierMessages;
 
+    // Round-trip time sample, one barrier at a time is measured, updated from netty only
+    private long writtenMessages;
+    private long sampledBarrierXid = -1;
+    private long sampledBarrierNanos;
+    private long sampledWrittenMessages;
+
     // Passed to executor to request a periodic barrier check
     private final Runnable barrierRunnable = new Runnable() {
         @Override
@@ -37,12 +47,10 @@ final class OutboundQueueManager<T extends OutboundQueueHandler> extends
     };
 
     OutboundQueueManager(final ConnectionAdapterImpl parent, final InetSocketAddress address, final T handler,
-        final int maxNonBarrierMessages, final long maxBarrierNanos) {
+        final BarrierPolicy barrierPolicy) {
         super(parent, address, handler);
-        Preconditions.checkArgument(maxNonBarrierMessages > 0);
-        this.maxNonBarrierMessages = maxNonBarrierMessages;
-        Preconditions.checkArgument(maxBarrierNanos > 0);
-        this.maxBarrierNanos = maxBarrierNanos;
+        this.barrierPolicy = Preconditions.checkNotNull(barrierPolicy);
+        publishBarrierThresholds(0);
     }
 
     @Override
@@ -51,10 +59,11 @@ final class OutboundQueueManager<T extends OutboundQueueHandler> extends
     }
 
     private void scheduleBarrierTimer(final long now) {
-        long next = lastBarrierNanos + maxBarrierNanos;
+        final long barrierNanos = barrierPolicy.getIntervalNanos();
+        long next = lastBarrierNanos + barrierNanos;
         if (next < now) {
             LOG.trace("Attempted to schedule barrier in the past, reset maximum)");
-            next = now + maxBarrierNanos;
+            next = now + barrierNanos;
         }
 
         final long delay = next - now;
@@ -108,17 +117,75 @@ final class OutboundQueueManager<T extends OutboundQueueHandler> extends
     void writeMessage(final OfHeader message, final long now) {
         super.writeMessage(message, now);
         if (message instanceof BarrierInput) {
-            LOG.trace("Barrier message seen, resetting counters");
-            nonBarrierMessages = 0;
-            lastBarrierNanos = now;
+            onBarrierWritten(message.getXid(), now);
+        } else {
+            onMessageWritten(now);
+        }
+    }
+
+    @Override
+    void writeEncodedMessage(final EncodedMessage encoded, final long xid, final long now) {
+        super.writeEncodedMessage(encoded, xid, now);
+        if (BarrierInput.class.equals(encoded.getMessageType())) {
+            onBarrierWritten(xid, now);
         } else {
-            nonBarrierMessages++;
-            if (nonBarrierMessages >= maxNonBarrierMessages) {
-                LOG.trace("Scheduled barrier request after {} non-barrier messages", nonBarrierMessages);
-                scheduleBarrierMessage();
-            } else if (!barrierTimerEnabled) {
-                scheduleBarrierTimer(now);
+            onMessageWritten(now);
+        }
+    }
+
+    private void onBarrierWritten(final Long xid, final long now) {
+        LOG.trace("Barrier message seen, resetting counters");
+        nonBarrierMessages = 0;
+        lastBarrierNanos = now;
+        if (sampledBarrierXid < 0 && xid != null) {
+            sampledBarrierXid = xid;
+            sampledBarrierNanos = now;
+            sampledWrittenMessages = writtenMessages;
+        }
+    }
+
+    private void onMessageWritten(final long now) {
+        writtenMessages++;
+        nonBarrierMessages++;
+        if (nonBarrierMessages >= barrierPolicy.getMessageThreshold()) {
+            LOG.trace("Scheduled barrier request after {} non-barrier messages", nonBarrierMessages);
+            scheduleBarrierMessage();
+        } else if (!barrierTimerEnabled) {
+            scheduleBarrierTimer(now);
+        }
+    }
+
+    @Override
+    boolean onMessage(final OfHeader message) {
+        final boolean paired = super.onMessage(message);
+        if (!paired || sampledBarrierXid < 0 || message.getXid() == null) {
+            return paired;
+        }
+        if (message.getXid() > sampledBarrierXid && message instanceof BarrierOutput) {
+            // Reply to the sampled barrier was lost or merged by the switch, the later barrier has completed it
+            LOG.debug("Barrier XID {} completed by later barrier XID {}, dropping sample", sampledBarrierXid,
+                    message.getXid());
+            sampledBarrierXid = -1;
+        } else if (message.getXid() == sampledBarrierXid) {
+            sampledBarrierXid = -1;
+            // Failed barrier does not tell anything about switch processing
+            if (message instanceof BarrierOutput) {
+                final long rttNanos = System.nanoTime() - sampledBarrierNanos;
+                barrierPolicy.onBarrierCompleted(rttNanos,
+                        (int) Math.min(Integer.MAX_VALUE, writtenMessages - sampledWrittenMessages));
+                LOG.trace("Barrier round-trip {}us, policy {}", TimeUnit.NANOSECONDS.toMicros(rttNanos), barrierPolicy);
+                publishBarrierThresholds(rttNanos);
             }
         }
+        return paired;
+    }
+
+    private void publishBarrierThresholds(final long rttNanos) {
+        final ConnectionStatistics statistics = parent.getMessageStatistics();
+        if (statistics != null) {
+            statistics.setGauge(ConnectionGaugeType.BARRIER_MESSAGE_THRESHOLD, barrierPolicy.getMessageThreshold());
+            statistics.setGauge(ConnectionGaugeType.BARRIER_INTERVAL_NANOS, barrierPolicy.getIntervalNanos());
+            statistics.setGauge(ConnectionGaugeType.BARRIER_RTT_NANOS, rttNanos);
+        }
     }
 }
@@ -14,22 +14,46 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.common.base.Preconditions;
-import com.google.common.cache.Cache;
 
-final class ResponseExpectedRpcListener<T extends OfHeader> extends AbstractRpcListener<T> {
+import io.netty.util.Timeout;
+import io.netty.util.TimerTask;
+
+final class ResponseExpectedRpcListener<T extends OfHeader> extends AbstractRpcListener<T> implements TimerTask {
     private static final Logger LOG = LoggerFactory.getLogger(ResponseExpectedRpcListener.class);
-    private final Cache<RpcResponseKey, ResponseExpectedRpcListener<?>> cache;
-    private final RpcResponseKey key;
+    private final RpcResponseTable table;
+    private final long xid;
+    private final int responseType;
+    private volatile Timeout timeout;
 
     ResponseExpectedRpcListener(final Object message, final String failureInfo,
-            final Cache<RpcResponseKey, ResponseExpectedRpcListener<?>> cache, final RpcResponseKey key) {
+            final RpcResponseTable table, final long xid, final int responseType) {
         super(message, failureInfo);
-        this.cache = Preconditions.checkNotNull(cache);
-        this.key = Preconditions.checkNotNull(key);
+        this.table = Preconditions.checkNotNull(table);
+        this.xid = xid;
+        this.responseType = responseType;
+    }
+
+    long getXid() {
+        return xid;
+    }
+
+    int getResponseType() {
+        return responseType;
+    }
+
+    void setTimeout(final Timeout timeout) {
+        this.timeout = timeout;
+    }
+
+    void cancelTimeout() {
+        final Timeout current = timeout;
+        if (current != null) {
+            current.cancel();
+        }
     }
 
     public void discard() {
-        LOG.warn("Request for {} did not receive a response", key);
+        LOG.warn("Request with xid {} did not receive a response", xid);
         failedRpc(new TimeoutException("Request timed out"));
     }
 
@@ -40,7 +64,17 @@ final class ResponseExpectedRpcListener<T extends OfHeader> extends AbstractRpcL
 
     @Override
     protected void operationSuccessful() {
-        LOG.debug("Request for {} sent successfully", key);
-        cache.put(key, this);
+        LOG.debug("Request with xid {} sent successfully", xid);
+        final ResponseExpectedRpcListener<?> replaced = table.put(this);
+        if (replaced != null) {
+            replaced.discard();
+        }
+    }
+
+    @Override
+    public void run(final Timeout expired) {
+        if (table.remove(this)) {
+            discard();
+        }
     }
 }
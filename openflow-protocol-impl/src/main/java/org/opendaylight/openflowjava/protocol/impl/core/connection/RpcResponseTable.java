@@ -0,0 +1,235 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.impl.core.connection;
+
+import com.google.common.base.Preconditions;
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timer;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Requests of one connection waiting for a response from switch. Requests are kept in an open-addressing
+ * table keyed by XID and a small integer code of the expected response type. Expiry of requests of all
+ * connections is driven by a single shared {@link HashedWheelTimer}.
+ */
+class RpcResponseTable {
+
+    /** Default time to wait for response (in milliseconds) */
+    static final long DEFAULT_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final long TIMER_TICK_MILLIS = 100;
+    private static final Object TYPES_LOCK = new Object();
+    private static volatile Class<?>[] responseTypes = new Class<?>[0];
+
+    private long[] xids = new long[INITIAL_CAPACITY];
+    // response type code + 1, 0 marks an empty slot
+    private int[] types = new int[INITIAL_CAPACITY];
+    private ResponseExpectedRpcListener<?>[] listeners = new ResponseExpectedRpcListener<?>[INITIAL_CAPACITY];
+    private int size;
+    private volatile long timeoutMillis = DEFAULT_TIMEOUT_MILLIS;
+
+    private static final class TimerHolder {
+        static final Timer TIMER = new HashedWheelTimer(new DefaultThreadFactory("ofjava-rpc-timeout", true),
+                TIMER_TICK_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Returns code of response type, assigning a new code to types seen for the first time
+     * @param responseClazz expected response type
+     * @return small non-negative code, same for all connections
+     */
+    static int responseTypeOf(final Class<?> responseClazz) {
+        final int code = lookupResponseType(responseClazz);
+        if (code >= 0) {
+            return code;
+        }
+        synchronized (TYPES_LOCK) {
+            final Class<?>[] current = responseTypes;
+            for (int i = 0; i < current.length; i++) {
+                if (current[i] == responseClazz) {
+                    return i;
+                }
+            }
+            final Class<?>[] extended = Arrays.copyOf(current, current.length + 1);
+            extended[current.length] = Preconditions.checkNotNull(responseClazz);
+            responseTypes = extended;
+            return current.length;
+        }
+    }
+
+    /**
+     * @param messageClazz type of received message
+     * @return code of response type, -1 if no request ever expected this type
+     */
+    static int lookupResponseType(final Class<?> messageClazz) {
+        final Class<?>[] current = responseTypes;
+        for (int i = 0; i < current.length; i++) {
+            if (current[i] == messageClazz) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @param timeoutMillis time to wait for response of requests stored from now on
+     */
+    void setTimeoutMillis(final long timeoutMillis) {
+        Preconditions.checkArgument(timeoutMillis > 0, "RPC response timeout must be positive");
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * @return time to wait for response (in milliseconds)
+     */
+    long getTimeoutMillis() {
+        return timeoutMillis;
+    }
+
+    private int slot(final long xid, final int type) {
+        long hash = xid * 31 + type;
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return (int) hash & (types.length - 1);
+    }
+
+    private int indexOf(final long xid, final int type) {
+        final int mask = types.length - 1;
+        for (int i = slot(xid, type); types[i] != 0; i = (i + 1) & mask) {
+            if (xids[i] == xid && types[i] == type + 1) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Stores request waiting for response and schedules its expiry
+     * @param listener request sent to switch
+     * @return request previously stored under the same XID and response type, null if there was none
+     */
+    synchronized ResponseExpectedRpcListener<?> put(final ResponseExpectedRpcListener<?> listener) {
+        final long xid = listener.getXid();
+        final int type = listener.getResponseType();
+        ResponseExpectedRpcListener<?> previous = null;
+        int index = indexOf(xid, type);
+        if (index >= 0) {
+            previous = listeners[index];
+            previous.cancelTimeout();
+        } else {
+            if ((size + 1) * 2 > types.length) {
+                resize(types.length * 2);
+            }
+            index = slot(xid, type);
+            while (types[index] != 0) {
+                index = (index + 1) & (types.length - 1);
+            }
+            xids[index] = xid;
+            types[index] = type + 1;
+            size++;
+        }
+        listeners[index] = listener;
+        listener.setTimeout(TimerHolder.TIMER.newTimeout(listener, timeoutMillis, TimeUnit.MILLISECONDS));
+        return previous;
+    }
+
+    /**
+     * Removes request answered by switch and cancels its expiry
+     * @param xid XID of response
+     * @param type code of response type
+     * @return request waiting for the response, null if there is none
+     */
+    synchronized ResponseExpectedRpcListener<?> remove(final long xid, final int type) {
+        final int index = indexOf(xid, type);
+        if (index < 0) {
+            return null;
+        }
+        final ResponseExpectedRpcListener<?> listener = listeners[index];
+        removeAt(index);
+        listener.cancelTimeout();
+        return listener;
+    }
+
+    /**
+     * Removes request if it is still waiting for response
+     * @param listener expired request
+     * @return true if request was removed
+     */
+    synchronized boolean remove(final ResponseExpectedRpcListener<?> listener) {
+        final int index = indexOf(listener.getXid(), listener.getResponseType());
+        if (index < 0 || listeners[index] != listener) {
+            return false;
+        }
+        removeAt(index);
+        return true;
+    }
+
+    /**
+     * Forgets all waiting requests, their futures are left uncompleted
+     */
+    synchronized void clear() {
+        for (int i = 0; i < listeners.length; i++) {
+            if (listeners[i] != null) {
+                listeners[i].cancelTimeout();
+            }
+        }
+        Arrays.fill(types, 0);
+        Arrays.fill(listeners, null);
+        size = 0;
+    }
+
+    /**
+     * @return number of requests waiting for response
+     */
+    synchronized int size() {
+        return size;
+    }
+
+    private void removeAt(final int index) {
+        final int mask = types.length - 1;
+        int hole = index;
+        // shift following entries of the probe sequence back, so that lookups need no tombstones
+        for (int i = (index + 1) & mask; types[i] != 0; i = (i + 1) & mask) {
+            final int home = slot(xids[i], types[i] - 1);
+            if (((i - home) & mask) >= ((i - hole) & mask)) {
+                xids[hole] = xids[i];
+                types[hole] = types[i];
+                listeners[hole] = listeners[i];
+                hole = i;
+            }
+        }
+        types[hole] = 0;
+        listeners[hole] = null;
+        size--;
+    }
+
+    private void resize(final int capacity) {
+        final long[] oldXids = xids;
+        final int[] oldTypes = types;
+        final ResponseExpectedRpcListener<?>[] oldListeners = listeners;
+        xids = new long[capacity];
+        types = new int[capacity];
+        listeners = new ResponseExpectedRpcListener<?>[capacity];
+        for (int i = 0; i < oldTypes.length; i++) {
+            if (oldTypes[i] != 0) {
+                int index = slot(oldXids[i], oldTypes[i] - 1);
+                while (types[index] != 0) {
+                    index = (index + 1) & (capacity - 1);
+                }
+                xids[index] = oldXids[i];
+                types[index] = oldTypes[i];
+                listeners[index] = oldListeners[i];
+            }
+        }
+    }
+}
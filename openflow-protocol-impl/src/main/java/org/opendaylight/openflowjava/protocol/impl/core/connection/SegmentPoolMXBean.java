@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.impl.core.connection;
+
+import java.util.Map;
+
+/**
+ * JMX view of {@link SegmentPoolRegistry}. Numbers are summed over pools of all event loops.
+ */
+public interface SegmentPoolMXBean {
+
+    /**
+     * @return number of event loops with a segment pool
+     */
+    int getPoolCount();
+
+    /**
+     * @return number of segments currently held in pools
+     */
+    long getPooledSegments();
+
+    /**
+     * @return maximum number of segments pools may hold
+     */
+    long getPoolCapacity();
+
+    /**
+     * @return number of segments allocated because pool was empty
+     */
+    long getAllocatedSegments();
+
+    /**
+     * @return number of segments taken from pools
+     */
+    long getReusedSegments();
+
+    /**
+     * @return number of released segments discarded because pool was full
+     */
+    long getDroppedSegments();
+
+    /**
+     * @return description of each pool, keyed by event loop
+     */
+    Map<String, String> getPools();
+}
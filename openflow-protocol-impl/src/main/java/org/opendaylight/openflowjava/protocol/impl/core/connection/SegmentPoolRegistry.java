@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.impl.core.connection;
+
+import com.google.common.collect.MapMaker;
+import io.netty.channel.EventLoop;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import org.opendaylight.openflowjava.statistics.MBeanRegistration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps one outbound queue segment pool per event loop, so that segments are recycled by the thread which
+ * allocates most of them and pools do not outlive their event loops. Pool occupancy is exposed through JMX.
+ */
+public final class SegmentPoolRegistry implements SegmentPoolMXBean {
+
+    /**
+     * Name under which registry is registered in platform MBean server
+     */
+    public static final String OBJECT_NAME = "org.opendaylight.openflowjava:type=SegmentPools";
+
+    private static final Logger LOG = LoggerFactory.getLogger(SegmentPoolRegistry.class);
+    private static final SegmentPoolRegistry INSTANCE = new SegmentPoolRegistry();
+
+    private final ConcurrentMap<EventLoop, StackedSegmentPool> pools = new MapMaker().weakKeys().makeMap();
+    private final MBeanRegistration registration = new MBeanRegistration(this, OBJECT_NAME);
+
+    /**
+     * @return registry shared by all connections
+     */
+    public static SegmentPoolRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    private SegmentPoolRegistry() {
+        // singleton
+    }
+
+    /**
+     * Returns pool of given event loop, replacing it if it was created for different segment size or capacity
+     * @param eventLoop event loop of the channel
+     * @param segmentSize number of entries in each segment
+     * @param capacity maximum number of pooled segments
+     * @return pool to acquire segments from
+     */
+    StackedSegmentPool getPool(final EventLoop eventLoop, final int segmentSize, final int capacity) {
+        for (;;) {
+            final StackedSegmentPool existing = pools.get(eventLoop);
+            if (existing != null && existing.getSegmentSize() == segmentSize && existing.getCapacity() == capacity) {
+                return existing;
+            }
+
+            final StackedSegmentPool created = new StackedSegmentPool(segmentSize, capacity);
+            if (existing == null ? pools.putIfAbsent(eventLoop, created) == null
+                    : pools.replace(eventLoop, existing, created)) {
+                LOG.debug("Event loop {} uses segment pool {}", eventLoop, created);
+                return created;
+            }
+        }
+    }
+
+    private List<StackedSegmentPool> pools() {
+        return new ArrayList<>(pools.values());
+    }
+
+    @Override
+    public int getPoolCount() {
+        return pools.size();
+    }
+
+    @Override
+    public long getPooledSegments() {
+        long sum = 0;
+        for (StackedSegmentPool pool : pools()) {
+            sum += pool.getPooled();
+        }
+        return sum;
+    }
+
+    @Override
+    public long getPoolCapacity() {
+        long sum = 0;
+        for (StackedSegmentPool pool : pools()) {
+            sum += pool.getCapacity();
+        }
+        return sum;
+    }
+
+    @Override
+    public long getAllocatedSegments() {
+        long sum = 0;
+        for (StackedSegmentPool pool : pools()) {
+            sum += pool.getAllocated();
+        }
+        return sum;
+    }
+
+    @Override
+    public long getReusedSegments() {
+        long sum = 0;
+        for (StackedSegmentPool pool : pools()) {
+            sum += pool.getReused();
+        }
+        return sum;
+    }
+
+    @Override
+    public long getDroppedSegments() {
+        long sum = 0;
+        for (StackedSegmentPool pool : pools()) {
+            sum += pool.getDropped();
+        }
+        return sum;
+    }
+
+    @Override
+    public Map<String, String> getPools() {
+        final Map<String, String> map = new LinkedHashMap<>();
+        for (Map.Entry<EventLoop, StackedSegmentPool> entry : pools.entrySet()) {
+            map.put(entry.getKey().toString(), entry.getValue().toString());
+        }
+        return map;
+    }
+
+    /**
+     * Registers registry in platform MBean server under {@link #OBJECT_NAME}, does nothing if already registered
+     */
+    public void registerMBean() {
+        registration.register();
+    }
+
+    /**
+     * Removes registry from platform MBean server
+     */
+    public void unregisterMBean() {
+        registration.unregister();
+    }
+}
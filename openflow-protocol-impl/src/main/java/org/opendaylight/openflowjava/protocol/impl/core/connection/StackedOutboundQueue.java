@@ -12,6 +12,7 @@ import com.google.common.util.concurrent.FutureCallback;
 import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 import java.util.function.Function;
 
+import org.opendaylight.openflowjava.protocol.api.connection.EncodedMessage;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.OfHeader;
 
 import org.slf4j.Logger;
@@ -31,12 +32,14 @@ final class StackedOutboundQueue extends AbstractStackedOutboundQueue {
      * This method is expected to be called from multiple threads concurrently
      */
     @Override
-    public void commitEntry(final Long xid, final OfHeader message, final FutureCallback<OfHeader> callback,
-            final Function<OfHeader, Boolean> isCompletedFunction) {
-        final OutboundQueueEntry entry = getEntry(xid);
+    protected void commitEntry(final Long xid, final OfHeader message, final EncodedMessage encoded,
+            final FutureCallback<OfHeader> callback, final Function<OfHeader, Boolean> isCompletedFunction) {
+        final StackedSegment segment = getSegment(xid);
+        final OutboundQueueEntries entries = segment.getEntries();
+        final int offset = (int) (xid - segment.getBaseXid());
 
-        entry.commit(message, callback, isCompletedFunction);
-        if (entry.isBarrier()) {
+        entries.commit(offset, message, encoded, callback, isCompletedFunction);
+        if (entries.isBarrier(offset)) {
             long my = xid;
             for (;;) {
                 final long prev = BARRIER_XID_UPDATER.getAndSet(this, my);
@@ -16,6 +16,7 @@ import java.util.function.Function;
 
 import javax.annotation.Nonnull;
 
+import org.opendaylight.openflowjava.protocol.api.connection.EncodedMessage;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.FlowModInput;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.MultipartReplyMessage;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.OfHeader;
@@ -39,15 +40,16 @@ public class StackedOutboundQueueNoBarrier extends AbstractStackedOutboundQueue
      * This method is expected to be called from multiple threads concurrently
      */
     @Override
-    public void commitEntry(final Long xid, final OfHeader message, final FutureCallback<OfHeader> callback,
-            final Function<OfHeader, Boolean> isCompletedFunction) {
-        final OutboundQueueEntry entry = getEntry(xid);
+    protected void commitEntry(final Long xid, final OfHeader message, final EncodedMessage encoded,
+            final FutureCallback<OfHeader> callback, final Function<OfHeader, Boolean> isCompletedFunction) {
+        final StackedSegment segment = getSegment(xid);
+        final int offset = (int) (xid - segment.getBaseXid());
 
-        if (message instanceof FlowModInput) {
+        if (OutboundQueueEntries.isMessageOfType(message, encoded, FlowModInput.class)) {
             callback.onSuccess(null);
-            entry.commit(message, null, isCompletedFunction);
+            segment.getEntries().commit(offset, message, encoded, null, isCompletedFunction);
         } else {
-            entry.commit(message, callback, isCompletedFunction);
+            segment.getEntries().commit(offset, message, encoded, callback, isCompletedFunction);
         }
 
         LOG.trace("Queue {} committed XID {}", this, xid);
@@ -61,25 +63,31 @@ public class StackedOutboundQueueNoBarrier extends AbstractStackedOutboundQueue
         int entries = 0;
 
         while (channel.isWritable()) {
-            final OutboundQueueEntry entry = segment.getEntry(flushOffset);
-            if (!entry.isCommitted()) {
+            final OutboundQueueEntries segmentEntries = segment.getEntries();
+            if (!segmentEntries.isCommitted(flushOffset)) {
                 LOG.debug("Queue {} XID {} segment {} offset {} not committed yet", this, segment.getBaseXid()
                         + flushOffset, segment, flushOffset);
                 break;
             }
 
             LOG.trace("Queue {} flushing entry at offset {}", this, flushOffset);
-            final OfHeader message = entry.takeMessage();
+            final long xid = segment.getBaseXid() + flushOffset;
+            final int offset = flushOffset;
+            final EncodedMessage encoded = segmentEntries.takeEncoded(offset);
+            final OfHeader message = segmentEntries.takeMessage(offset);
             flushOffset++;
             entries++;
 
-            if (message != null) {
+            if (encoded != null) {
+                manager.writeEncodedMessage(encoded, xid, now);
+            } else if (message != null) {
                 manager.writeMessage(message, now);
-            } else {
-                entry.complete(null);
+            } else if (!segmentEntries.isCompleted(offset)) {
+                // cancelled reservation, or encoded message released by failing the entry
+                segmentEntries.complete(offset, null);
             }
 
-            if (flushOffset >= StackedSegment.SEGMENT_SIZE) {
+            if (flushOffset >= segmentSize) {
                 /*
                  * Slow path: purge the current segment unless it's the last one.
                  * If it is, we leave it for replacement when a new reservation
@@ -96,16 +104,16 @@ public class StackedOutboundQueueNoBarrier extends AbstractStackedOutboundQueue
                     // Remove the segment, update the firstSegment and reset flushOffset
                     final StackedSegment oldSegment = unflushedSegments.remove(0);
                     oldSegment.completeAll();
-                    uncompletedSegments.remove(oldSegment);
+                    removeUncompletedSegment(oldSegment);
                     oldSegment.recycle();
 
                     // Reset the first segment and add it to the uncompleted list
                     segment = unflushedSegments.get(0);
-                    uncompletedSegments.add(segment);
+                    addUncompletedSegment(segment);
 
                     // Update the shutdown offset
                     if (shutdownOffset != null) {
-                        shutdownOffset -= StackedSegment.SEGMENT_SIZE;
+                        shutdownOffset -= segmentSize;
                     }
 
                     // Allow reservations back on the fast path by publishing the new first segment
@@ -7,13 +7,9 @@
  */
 package org.opendaylight.openflowjava.protocol.impl.core.connection;
 
-import com.google.common.base.FinalizableReferenceQueue;
-import com.google.common.base.FinalizableSoftReference;
 import com.google.common.base.MoreObjects;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Verify;
-import java.lang.ref.Reference;
-import java.util.concurrent.ConcurrentLinkedDeque;
 import org.opendaylight.openflowjava.protocol.api.connection.DeviceRequestFailedException;
 import org.opendaylight.openflowjava.protocol.api.connection.OutboundQueueException;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.Error;
@@ -22,27 +18,15 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 final class StackedSegment {
-    private static final class QueueRef extends FinalizableSoftReference<OutboundQueueEntry[]> {
-        QueueRef(final FinalizableReferenceQueue queue, final OutboundQueueEntry[] referent) {
-            super(referent, queue);
-        }
-
-        @Override
-        public void finalizeReferent() {
-            CACHE.remove(this);
-        }
-    }
-
     /**
-     * Size of each individual segment
+     * Default size of each individual segment
      */
-    static final int SEGMENT_SIZE = 4096;
+    static final int DEFAULT_SEGMENT_SIZE = 4096;
 
     private static final Logger LOG = LoggerFactory.getLogger(StackedSegment.class);
-    private static final FinalizableReferenceQueue REF_QUEUE = new FinalizableReferenceQueue();
-    private static final ConcurrentLinkedDeque<QueueRef> CACHE = new ConcurrentLinkedDeque<>();
 
-    private final OutboundQueueEntry[] entries;
+    private final OutboundQueueEntries entries;
+    private final StackedSegmentPool pool;
     private final long baseXid;
     private final long endXid;
 
@@ -50,35 +34,16 @@ final class StackedSegment {
     private int lastBarrierOffset = -1;
     private int completeCount;
 
-    StackedSegment(final long baseXid, final OutboundQueueEntry[] entries) {
+    StackedSegment(final long baseXid, final OutboundQueueEntries entries, final StackedSegmentPool pool) {
         this.baseXid = baseXid;
-        this.endXid = baseXid + SEGMENT_SIZE;
+        this.endXid = baseXid + entries.size();
         this.entries = Preconditions.checkNotNull(entries);
+        this.pool = Preconditions.checkNotNull(pool);
     }
 
-    static StackedSegment create(final long baseXid) {
-        final StackedSegment ret;
-        for (;;) {
-            final Reference<OutboundQueueEntry[]> item = CACHE.pollLast();
-            if (item == null) {
-                break;
-            }
-
-            final OutboundQueueEntry[] cached = item.get();
-            if (cached != null) {
-                ret = new StackedSegment(baseXid, cached);
-                LOG.trace("Reusing array {} in segment {}", cached, ret);
-                return ret;
-            }
-        }
-
-        final OutboundQueueEntry[] entries = new OutboundQueueEntry[SEGMENT_SIZE];
-        for (int i = 0; i < SEGMENT_SIZE; ++i) {
-            entries[i] = new OutboundQueueEntry();
-        }
-
-        ret = new StackedSegment(baseXid, entries);
-        LOG.trace("Allocated new segment {}", ret);
+    static StackedSegment create(final long baseXid, final StackedSegmentPool pool) {
+        final StackedSegment ret = new StackedSegment(baseXid, pool.acquire(), pool);
+        LOG.trace("Created segment {}", ret);
         return ret;
     }
 
@@ -95,49 +60,43 @@ final class StackedSegment {
         return endXid;
     }
 
-    OutboundQueueEntry getEntry(final int offset) {
-        return entries[offset];
+    OutboundQueueEntries getEntries() {
+        return entries;
     }
 
     private boolean xidInRange(final long xid) {
         return xid < endXid && (xid >= baseXid || baseXid > endXid);
     }
 
-    private static boolean completeEntry(final OutboundQueueEntry entry, final OfHeader response) {
+    private boolean completeEntry(final int offset, final OfHeader response) {
         if (response instanceof Error) {
             final Error err = (Error)response;
             LOG.debug("Device-reported request XID {} failed {}:{}", response.getXid(), err.getTypeString(), err.getCodeString());
-            entry.fail(new DeviceRequestFailedException("Device-side failure", err));
+            entries.fail(offset, new DeviceRequestFailedException("Device-side failure", err));
             return true;
         }
-        return entry.complete(response);
-    }
-
-    OutboundQueueEntry findEntry(final long xid) {
-        if (! xidInRange(xid)) {
-            LOG.debug("Queue {} {}/{} ignoring XID {}", this, baseXid, entries.length, xid);
-            return null;
-        }
-        final int offset = (int)(xid - baseXid);
-        return entries[offset];
+        return entries.complete(offset, response);
     }
 
-    OutboundQueueEntry pairRequest(final OfHeader response) {
+    /**
+     * @param response response from the device
+     * @return offset of the entry completed by the response, -1 if the response does not belong to this segment
+     */
+    int pairRequest(final OfHeader response) {
         // Explicitly 'long' to force unboxing before performing operations
         final long xid = response.getXid();
         if (!xidInRange(xid)) {
-            LOG.debug("Queue {} {}/{} ignoring XID {}", this, baseXid, entries.length, xid);
-            return null;
+            LOG.debug("Queue {} {}/{} ignoring XID {}", this, baseXid, entries.size(), xid);
+            return -1;
         }
 
         final int offset = (int) (xid - baseXid);
-        final OutboundQueueEntry entry = entries[offset];
-        if (entry.isCompleted()) {
-            LOG.debug("Entry {} already is completed, not accepting response {}", entry, response);
-            return null;
+        if (entries.isCompleted(offset)) {
+            LOG.debug("Entry {} already is completed, not accepting response {}", xid, response);
+            return -1;
         }
 
-        if (entry.isBarrier()) {
+        if (entries.isBarrier(offset)) {
             // This has been a barrier -- make sure we complete all preceding requests.
             // XXX: Barriers are expected to complete in one message.
             //      If this assumption is changed, this logic will need to be expanded
@@ -147,39 +106,39 @@ final class StackedSegment {
             completeRequests(offset);
             lastBarrierOffset = offset;
 
-            final boolean success = completeEntry(entry, response);
+            final boolean success = completeEntry(offset, response);
             Verify.verify(success, "Barrier request failed to complete");
             completeCount++;
-        } else if (completeEntry(entry, response)) {
+        } else if (completeEntry(offset, response)) {
             completeCount++;
         }
 
-        return entry;
+        return offset;
     }
 
     private void completeRequests(final int toOffset) {
-        for (int i = lastBarrierOffset + 1; i < toOffset; ++i) {
-            final OutboundQueueEntry entry = entries[i];
-            if (!entry.isCompleted() && entry.complete(null)) {
+        // Only entries with a clear completed bit are visited
+        for (int i = entries.nextIncomplete(lastBarrierOffset + 1, toOffset); i < toOffset;
+                i = entries.nextIncomplete(i + 1, toOffset)) {
+            if (entries.complete(i, null)) {
                 completeCount++;
             }
         }
     }
 
     void completeAll() {
-        completeRequests(entries.length);
+        completeRequests(entries.size());
     }
 
     int failAll(final OutboundQueueException cause) {
         int ret = 0;
-        for (int i = lastBarrierOffset + 1; i < entries.length; ++i) {
-            final OutboundQueueEntry entry = entries[i];
-            if (!entry.isCommitted()) {
+        for (int i = lastBarrierOffset + 1; i < entries.size(); ++i) {
+            if (!entries.isCommitted(i)) {
                 break;
             }
 
-            if (!entry.isCompleted()) {
-                entry.fail(cause);
+            if (!entries.isCompleted(i)) {
+                entries.fail(i, cause);
                 completeCount++;
                 ret++;
             }
@@ -189,14 +148,11 @@ final class StackedSegment {
     }
 
     boolean isComplete() {
-        return completeCount >= entries.length;
+        return completeCount >= entries.size();
     }
 
     void recycle() {
-        for (final OutboundQueueEntry e : entries) {
-            e.reset();
-        }
-
-        CACHE.offer(new QueueRef(REF_QUEUE, entries));
+        entries.reset();
+        pool.release(entries);
     }
 }
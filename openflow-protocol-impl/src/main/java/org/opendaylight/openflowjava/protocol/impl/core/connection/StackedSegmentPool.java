@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.openflowjava.protocol.impl.core.connection;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import java.util.ArrayDeque;
+import javax.annotation.concurrent.GuardedBy;
+
+/**
+ * Bounded pool of {@link OutboundQueueEntries} shared by outbound queues of one event loop. Entries are
+ * released from the event loop, but may be acquired from any thread reserving a new segment, hence the pool
+ * is synchronized. Released entries which do not fit into the pool, or were sized for a different
+ * configuration, are left to the garbage collector.
+ */
+final class StackedSegmentPool {
+    /**
+     * Default number of segments pooled per event loop
+     */
+    static final int DEFAULT_CAPACITY = 64;
+
+    private final int segmentSize;
+    private final int capacity;
+
+    @GuardedBy("this")
+    private final ArrayDeque<OutboundQueueEntries> pooled;
+    @GuardedBy("this")
+    private long allocated;
+    @GuardedBy("this")
+    private long reused;
+    @GuardedBy("this")
+    private long dropped;
+
+    /**
+     * @param segmentSize number of entries in each segment, must be a power of two
+     * @param capacity maximum number of pooled segments, 0 disables pooling
+     */
+    StackedSegmentPool(final int segmentSize, final int capacity) {
+        Preconditions.checkArgument(segmentSize > 0 && Integer.bitCount(segmentSize) == 1,
+                "Segment size %s is not a power of two", segmentSize);
+        Preconditions.checkArgument(capacity >= 0, "Pool capacity must not be negative");
+        this.segmentSize = segmentSize;
+        this.capacity = capacity;
+        pooled = new ArrayDeque<>(Math.min(capacity, 64));
+    }
+
+    int getSegmentSize() {
+        return segmentSize;
+    }
+
+    int getCapacity() {
+        return capacity;
+    }
+
+    OutboundQueueEntries acquire() {
+        synchronized (this) {
+            final OutboundQueueEntries cached = pooled.pollLast();
+            if (cached != null) {
+                reused++;
+                return cached;
+            }
+            allocated++;
+        }
+        return new OutboundQueueEntries(segmentSize);
+    }
+
+    /**
+     * @param entries entries which were reset and are no longer referenced by any segment
+     */
+    synchronized void release(final OutboundQueueEntries entries) {
+        if (entries.size() == segmentSize && pooled.size() < capacity) {
+            pooled.offerLast(entries);
+        } else {
+            dropped++;
+        }
+    }
+
+    /**
+     * @return number of segments currently in pool
+     */
+    synchronized int getPooled() {
+        return pooled.size();
+    }
+
+    /**
+     * @return number of segments allocated because pool was empty
+     */
+    synchronized long getAllocated() {
+        return allocated;
+    }
+
+    /**
+     * @return number of segments taken from pool
+     */
+    synchronized long getReused() {
+        return reused;
+    }
+
+    /**
+     * @return number of released segments discarded because pool was full
+     */
+    synchronized long getDropped() {
+        return dropped;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return MoreObjects.toStringHelper(this).add("segmentSize", segmentSize).add("capacity", capacity)
+                .add("pooled", pooled.size()).add("allocated", allocated).add("reused", reused)
+                .add("dropped", dropped).toString();
+    }
+}
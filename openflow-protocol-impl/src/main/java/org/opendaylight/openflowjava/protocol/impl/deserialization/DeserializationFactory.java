@@ -11,12 +11,15 @@ package org.opendaylight.openflowjava.protocol.impl.deserialization;
 import io.netty.buffer.ByteBuf;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import org.opendaylight.openflowjava.protocol.api.connection.MultipartReplyEntryConsumer;
 import org.opendaylight.openflowjava.protocol.api.extensibility.DeserializerRegistry;
 import org.opendaylight.openflowjava.protocol.api.extensibility.OFDeserializer;
 import org.opendaylight.openflowjava.protocol.api.keys.MessageCodeKey;
 import org.opendaylight.openflowjava.protocol.api.keys.TypeToClassKey;
 import org.opendaylight.openflowjava.protocol.api.util.EncodeConstants;
 import org.opendaylight.yangtools.yang.binding.DataObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * @author michal.polkorab
@@ -25,8 +28,13 @@ import org.opendaylight.yangtools.yang.binding.DataObject;
  */
 public class DeserializationFactory {
 
+    private static final Logger LOG = LoggerFactory.getLogger(DeserializationFactory.class);
+    private static final int MAX_VERSION = 0xff;
+    private static final int MAX_TYPE = 0xff;
+
     private final Map<TypeToClassKey, Class<?>> messageClassMap = new ConcurrentHashMap<>();
     private DeserializerRegistry registry;
+    private volatile DispatchTable dispatchTable;
 
     /**
      * Constructor
@@ -47,13 +55,96 @@ public class DeserializationFactory {
      * @return correct POJO as DataObject
      */
     public DataObject deserialize(final ByteBuf rawMessage, final short version) {
-        DataObject dataObject = null;
+        return deserialize(rawMessage, version, null);
+    }
+
+    /**
+     * Transforms ByteBuf into correct POJO message, body entries of multipart replies may be streamed
+     *
+     * @param rawMessage
+     * @param version
+     *            version decoded from OpenFlow protocol message
+     * @param entryConsumer
+     *            consumer of multipart reply body entries, null if entries should be kept in the message
+     * @return correct POJO as DataObject
+     */
+    public DataObject deserialize(final ByteBuf rawMessage, final short version,
+            final MultipartReplyEntryConsumer entryConsumer) {
         int type = rawMessage.readUnsignedByte();
-        Class<?> clazz = messageClassMap.get(new TypeToClassKey(version, type));
+        final DispatchTable table = getDispatchTable();
+        OFDeserializer<DataObject> deserializer = table == null ? null : table.get(version, type);
+        if (deserializer == null) {
+            // Not covered by dispatch table - resolve through registry (throws if deserializer is missing)
+            Class<?> clazz = messageClassMap.get(new TypeToClassKey(version, type));
+            deserializer = registry.getDeserializer(new MessageCodeKey(version, type, clazz));
+        }
         rawMessage.skipBytes(EncodeConstants.SIZE_OF_SHORT_IN_BYTES);
-        OFDeserializer<DataObject> deserializer = registry.getDeserializer(new MessageCodeKey(version, type, clazz));
-        dataObject = deserializer.deserialize(rawMessage);
-        return dataObject;
+        if (entryConsumer != null && deserializer instanceof StreamingDeserializer) {
+            return ((StreamingDeserializer) deserializer).deserialize(rawMessage, entryConsumer);
+        }
+        return deserializer.deserialize(rawMessage);
+    }
+
+    /**
+     * @param version OpenFlow protocol version
+     * @param type message type
+     * @return true if message is OpenFlow 1.0 stats reply or multipart reply of newer versions, i.e. it may be
+     *         deserialized with {@link MultipartReplyEntryConsumer}
+     */
+    public static boolean isMultipartReply(final short version, final short type) {
+        if (version == EncodeConstants.OF10_VERSION_ID) {
+            return type == EncodeConstants.OF10_STATS_REPLY_MESSAGE_TYPE_VALUE;
+        }
+        return type == EncodeConstants.OF_MULTIPART_REPLY_MESSAGE_TYPE_VALUE;
+    }
+
+    /**
+     * Returns up-to-date dispatch table, rebuilding it if mappings or registered deserializers changed.
+     * Dispatch table is used only with {@link DeserializerRegistryImpl}, which reports its modifications.
+     */
+    private DispatchTable getDispatchTable() {
+        final DeserializerRegistry currentRegistry = registry;
+        if (!(currentRegistry instanceof DeserializerRegistryImpl)) {
+            return null;
+        }
+        final int generation = ((DeserializerRegistryImpl) currentRegistry).getGeneration();
+        final DispatchTable table = dispatchTable;
+        if (table != null && table.registry == currentRegistry && table.generation == generation) {
+            return table;
+        }
+        return rebuildDispatchTable((DeserializerRegistryImpl) currentRegistry);
+    }
+
+    private synchronized DispatchTable rebuildDispatchTable(final DeserializerRegistryImpl currentRegistry) {
+        final int generation = currentRegistry.getGeneration();
+        final DispatchTable existing = dispatchTable;
+        if (existing != null && existing.registry == currentRegistry && existing.generation == generation) {
+            return existing;
+        }
+
+        final DispatchTable table = new DispatchTable(currentRegistry, generation);
+        for (Map.Entry<TypeToClassKey, Class<?>> entry : messageClassMap.entrySet()) {
+            final TypeToClassKey key = entry.getKey();
+            if (key.getVersion() < 0 || key.getVersion() > MAX_VERSION || key.getType() < 0
+                    || key.getType() > MAX_TYPE) {
+                continue;
+            }
+            final OFDeserializer<DataObject> deserializer;
+            try {
+                deserializer = currentRegistry.getDeserializer(
+                        new MessageCodeKey(key.getVersion(), key.getType(), entry.getValue()));
+            } catch (IllegalStateException e) {
+                LOG.trace("No deserializer registered for mapping {} -> {}", key, entry.getValue(), e);
+                continue;
+            }
+            table.put(key.getVersion(), key.getType(), deserializer);
+        }
+        dispatchTable = table;
+        return table;
+    }
+
+    private synchronized void invalidateDispatchTable() {
+        dispatchTable = null;
     }
 
     /**
@@ -63,6 +154,7 @@ public class DeserializationFactory {
      */
     public void registerMapping(final TypeToClassKey key, final Class<?> clazz) {
         messageClassMap.put(key, clazz);
+        invalidateDispatchTable();
     }
 
     /**
@@ -75,7 +167,9 @@ public class DeserializationFactory {
             throw new IllegalArgumentException("TypeToClassKey is null");
         }
 
-        return messageClassMap.remove(key) != null;
+        final boolean removed = messageClassMap.remove(key) != null;
+        invalidateDispatchTable();
+        return removed;
     }
 
     /**
@@ -83,6 +177,39 @@ public class DeserializationFactory {
      */
     public void setRegistry(final DeserializerRegistry registry) {
         this.registry = registry;
+        invalidateDispatchTable();
+    }
+
+    /**
+     * Deserializers indexed by [version][message type], immutable once published
+     */
+    private static final class DispatchTable {
+        private final OFDeserializer<DataObject>[][] deserializers;
+        private final DeserializerRegistryImpl registry;
+        private final int generation;
+
+        @SuppressWarnings("unchecked")
+        DispatchTable(final DeserializerRegistryImpl registry, final int generation) {
+            this.registry = registry;
+            this.generation = generation;
+            deserializers = new OFDeserializer[MAX_VERSION + 1][];
+        }
+
+        @SuppressWarnings("unchecked")
+        void put(final short version, final int type, final OFDeserializer<DataObject> deserializer) {
+            if (deserializers[version] == null) {
+                deserializers[version] = new OFDeserializer[MAX_TYPE + 1];
+            }
+            deserializers[version][type] = deserializer;
+        }
+
+        OFDeserializer<DataObject> get(final short version, final int type) {
+            if (version < 0 || version > MAX_VERSION) {
+                return null;
+            }
+            final OFDeserializer<DataObject>[] byType = deserializers[version];
+            return byType == null ? null : byType[type];
+        }
     }
 
 }
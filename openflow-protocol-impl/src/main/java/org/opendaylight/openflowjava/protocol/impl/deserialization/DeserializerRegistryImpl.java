@@ -8,13 +8,16 @@
 
 package org.opendaylight.openflowjava.protocol.impl.deserialization;
 
+import io.netty.buffer.ByteBuf;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.opendaylight.openflowjava.protocol.api.extensibility.DeserializerRegistry;
 import org.opendaylight.openflowjava.protocol.api.extensibility.DeserializerRegistryInjector;
 import org.opendaylight.openflowjava.protocol.api.extensibility.OFGeneralDeserializer;
 import org.opendaylight.openflowjava.protocol.api.keys.MessageCodeKey;
 import org.opendaylight.openflowjava.protocol.api.util.EncodeConstants;
+import org.opendaylight.openflowjava.protocol.impl.util.AbstractCodeKeyMaker;
 import org.opendaylight.openflowjava.protocol.impl.util.MatchDeserializer;
 import org.opendaylight.openflowjava.protocol.impl.util.OF10MatchDeserializer;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.match.grouping.Match;
@@ -31,6 +34,8 @@ public class DeserializerRegistryImpl implements DeserializerRegistry {
 
     private static final Logger LOG = LoggerFactory.getLogger(DeserializerRegistryImpl.class);
     private Map<MessageCodeKey, OFGeneralDeserializer> registry;
+    private final AtomicInteger generation = new AtomicInteger();
+    private volatile ResolvedDeserializerCache resolvedDeserializers = new ResolvedDeserializerCache();
 
     /**
      * Decoder table provisioning
@@ -38,6 +43,7 @@ public class DeserializerRegistryImpl implements DeserializerRegistry {
     @Override
     public void init() {
         registry = new HashMap<>();
+        modified();
 
         // register message deserializers
         MessageDeserializerInitializer.registerMessageDeserializers(this);
@@ -78,6 +84,7 @@ public class DeserializerRegistryImpl implements DeserializerRegistry {
             throw new IllegalArgumentException("MessageCodeKey or Deserializer is null");
         }
         OFGeneralDeserializer desInRegistry = registry.put(key, deserializer);
+        modified();
         if (desInRegistry != null) {
             LOG.debug("Deserializer for key {} overwritten. Old deserializer: {}, new deserializer: {}", key,
                     desInRegistry.getClass().getName(), deserializer.getClass().getName());
@@ -96,7 +103,44 @@ public class DeserializerRegistryImpl implements DeserializerRegistry {
         if (deserializer == null) {
             return false;
         }
+        modified();
         return true;
     }
 
+    /**
+     * Returns deserializer of entry at reader index of input. Resolved deserializers are cached until
+     * the registry is modified, so entries with deserializer code provided by the key maker are resolved
+     * without allocating keys.
+     * @param keyMaker creates key for registry lookup
+     * @param input buffer with entry at reader index
+     * @return deserializer for the entry
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends OFGeneralDeserializer> T getDeserializer(AbstractCodeKeyMaker keyMaker, ByteBuf input) {
+        final long code = keyMaker.getDeserializerCode(input);
+        if (code == AbstractCodeKeyMaker.NO_CODE) {
+            return getDeserializer(keyMaker.make(input));
+        }
+        final ResolvedDeserializerCache cache = resolvedDeserializers;
+        OFGeneralDeserializer deserializer = cache.get(keyMaker.getClass(), keyMaker.getVersion(), code);
+        if (deserializer == null) {
+            deserializer = getDeserializer(keyMaker.make(input));
+            cache.put(keyMaker.getClass(), keyMaker.getVersion(), code, deserializer);
+        }
+        return (T) deserializer;
+    }
+
+    private void modified() {
+        generation.incrementAndGet();
+        resolvedDeserializers = new ResolvedDeserializerCache();
+    }
+
+    /**
+     * @return number incremented on every registry modification, used by lookup tables built from this registry
+     *         to detect that they are stale
+     */
+    int getGeneration() {
+        return generation.get();
+    }
+
 }
@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.impl.deserialization;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import org.opendaylight.openflowjava.protocol.api.extensibility.OFGeneralDeserializer;
+import org.opendaylight.openflowjava.protocol.impl.util.AbstractCodeKeyMaker;
+
+/**
+ * Caches deserializers resolved from {@link DeserializerRegistryImpl} by key maker class, version and code
+ * provided by {@link AbstractCodeKeyMaker#getDeserializerCode(io.netty.buffer.ByteBuf)}, so that lookups
+ * do not allocate registry keys. Small codes (standard OXM fields, actions and instructions) are stored
+ * in flat per-version table, other codes (experimenter entries) in primitive long keyed map. Instances are
+ * never cleared - registry replaces the whole cache whenever it is modified.
+ */
+final class ResolvedDeserializerCache {
+
+    /** Versions cached (wire version must be lower) */
+    static final int VERSION_COUNT = 8;
+    /** Codes stored in flat table (code must be lower) */
+    static final int FLAT_CODE_COUNT = 256;
+
+    private final ClassValue<CodeTable> tables = new ClassValue<CodeTable>() {
+        @Override
+        protected CodeTable computeValue(final Class<?> type) {
+            return new CodeTable();
+        }
+    };
+
+    /**
+     * @param keyMakerClass class of key maker providing the code
+     * @param version openflow wire version
+     * @param code deserializer code
+     * @return cached deserializer or null if the deserializer was not resolved yet
+     */
+    OFGeneralDeserializer get(final Class<?> keyMakerClass, final short version, final long code) {
+        if (version < 0 || version >= VERSION_COUNT || code < 0) {
+            return null;
+        }
+        return tables.get(keyMakerClass).get(version, code);
+    }
+
+    /**
+     * Stores resolved deserializer, uncacheable versions and codes are ignored
+     * @param keyMakerClass class of key maker providing the code
+     * @param version openflow wire version
+     * @param code deserializer code
+     * @param deserializer resolved deserializer
+     */
+    void put(final Class<?> keyMakerClass, final short version, final long code,
+            final OFGeneralDeserializer deserializer) {
+        if (version < 0 || version >= VERSION_COUNT || code < 0) {
+            return;
+        }
+        tables.get(keyMakerClass).put(version, code, deserializer);
+    }
+
+    private static final class CodeTable {
+        private final AtomicReferenceArray<OFGeneralDeserializer> flat =
+                new AtomicReferenceArray<>(VERSION_COUNT * FLAT_CODE_COUNT);
+        private volatile LongMap sparse = LongMap.EMPTY;
+
+        OFGeneralDeserializer get(final short version, final long code) {
+            if (code < FLAT_CODE_COUNT) {
+                return flat.get(version * FLAT_CODE_COUNT + (int) code);
+            }
+            return sparse.get(sparseKey(version, code));
+        }
+
+        void put(final short version, final long code, final OFGeneralDeserializer deserializer) {
+            if (code < FLAT_CODE_COUNT) {
+                flat.compareAndSet(version * FLAT_CODE_COUNT + (int) code, null, deserializer);
+                return;
+            }
+            synchronized (this) {
+                final long key = sparseKey(version, code);
+                if (sparse.get(key) == null) {
+                    sparse = sparse.with(key, deserializer);
+                }
+            }
+        }
+
+        private static long sparseKey(final short version, final long code) {
+            return code << 3 | version;
+        }
+    }
+
+    /**
+     * Immutable open addressing map with primitive long keys
+     */
+    private static final class LongMap {
+        static final LongMap EMPTY = new LongMap(new long[0], new OFGeneralDeserializer[0], 0);
+
+        private final long[] keys;
+        private final OFGeneralDeserializer[] values;
+        private final int size;
+
+        private LongMap(final long[] keys, final OFGeneralDeserializer[] values, final int size) {
+            this.keys = keys;
+            this.values = values;
+            this.size = size;
+        }
+
+        OFGeneralDeserializer get(final long key) {
+            if (size == 0) {
+                return null;
+            }
+            final int mask = keys.length - 1;
+            for (int i = index(key, mask); values[i] != null; i = (i + 1) & mask) {
+                if (keys[i] == key) {
+                    return values[i];
+                }
+            }
+            return null;
+        }
+
+        LongMap with(final long key, final OFGeneralDeserializer value) {
+            final int capacity = Integer.highestOneBit((size + 1) * 4 - 1);
+            final long[] newKeys = new long[capacity];
+            final OFGeneralDeserializer[] newValues = new OFGeneralDeserializer[capacity];
+            for (int i = 0; i < values.length; i++) {
+                if (values[i] != null) {
+                    insert(newKeys, newValues, keys[i], values[i]);
+                }
+            }
+            insert(newKeys, newValues, key, value);
+            return new LongMap(newKeys, newValues, size + 1);
+        }
+
+        private static void insert(final long[] keys, final OFGeneralDeserializer[] values, final long key,
+                final OFGeneralDeserializer value) {
+            final int mask = keys.length - 1;
+            int i = index(key, mask);
+            while (values[i] != null) {
+                i = (i + 1) & mask;
+            }
+            keys[i] = key;
+            values[i] = value;
+        }
+
+        private static int index(final long key, final int mask) {
+            final long hash = key * 0x9E3779B97F4A7C15L;
+            return (int) (hash ^ (hash >>> 32)) & mask;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.impl.deserialization;
+
+import io.netty.buffer.ByteBuf;
+import org.opendaylight.openflowjava.protocol.api.connection.MultipartReplyEntryConsumer;
+import org.opendaylight.yangtools.yang.binding.DataObject;
+
+/**
+ * Message deserializer able to pass body entries to a {@link MultipartReplyEntryConsumer}
+ * instead of collecting them in the message.
+ */
+public interface StreamingDeserializer {
+
+    /**
+     * @param rawMessage message starting with xid
+     * @param consumer consumer of body entries, null if entries should be collected in the message
+     * @return deserialized message
+     */
+    DataObject deserialize(ByteBuf rawMessage, MultipartReplyEntryConsumer consumer);
+}
@@ -16,8 +16,10 @@ import java.util.List;
 import org.opendaylight.openflowjava.protocol.api.extensibility.DeserializerRegistry;
 import org.opendaylight.openflowjava.protocol.api.extensibility.DeserializerRegistryInjector;
 import org.opendaylight.openflowjava.protocol.api.extensibility.OFDeserializer;
-import org.opendaylight.openflowjava.protocol.api.keys.MatchEntryDeserializerKey;
 import org.opendaylight.openflowjava.protocol.api.util.EncodeConstants;
+import org.opendaylight.openflowjava.protocol.impl.util.CodeKeyMaker;
+import org.opendaylight.openflowjava.protocol.impl.util.CodeKeyMakerFactory;
+import org.opendaylight.openflowjava.protocol.impl.util.ListDeserializer;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.common.action.rev150203.action.grouping.ActionChoice;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.common.action.rev150203.action.grouping.action.choice.SetFieldCaseBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.common.action.rev150203.action.grouping.action.choice.set.field._case.SetFieldActionBuilder;
@@ -32,6 +34,8 @@ import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.matc
 public class OF13SetFieldActionDeserializer extends AbstractActionDeserializer
         implements DeserializerRegistryInjector {
 
+    private static final CodeKeyMaker MATCH_ENTRY_KEY_MAKER =
+            CodeKeyMakerFactory.createMatchEntriesKeyMaker(EncodeConstants.OF13_VERSION_ID);
     private DeserializerRegistry registry;
 
     @Override
@@ -41,18 +45,8 @@ public class OF13SetFieldActionDeserializer extends AbstractActionDeserializer
         input.skipBytes(2 * EncodeConstants.SIZE_OF_SHORT_IN_BYTES);
         SetFieldCaseBuilder caseBuilder = new SetFieldCaseBuilder();
         SetFieldActionBuilder actionBuilder = new SetFieldActionBuilder();
-        int oxmClass = input.getUnsignedShort(input.readerIndex());
-        // get oxm_field & hasMask byte and extract the field value
-        int oxmField = input.getUnsignedByte(input.readerIndex()
-                + EncodeConstants.SIZE_OF_SHORT_IN_BYTES) >>> 1;
-        MatchEntryDeserializerKey key = new MatchEntryDeserializerKey(EncodeConstants.OF13_VERSION_ID,
-                oxmClass, oxmField);
-        if (oxmClass == EncodeConstants.EXPERIMENTER_VALUE) {
-            long expId = input.getUnsignedInt(input.readerIndex() + EncodeConstants.SIZE_OF_SHORT_IN_BYTES
-                    + 2 * EncodeConstants.SIZE_OF_BYTE_IN_BYTES);
-            key.setExperimenterId(expId);
-        }
-        OFDeserializer<MatchEntry> matchDeserializer = registry.getDeserializer(key);
+        OFDeserializer<MatchEntry> matchDeserializer = ListDeserializer.lookupDeserializer(registry,
+                MATCH_ENTRY_KEY_MAKER, input);
         List<MatchEntry> entry = new ArrayList<>();
         entry.add(matchDeserializer.deserialize(input));
         actionBuilder.setMatchEntry(entry);
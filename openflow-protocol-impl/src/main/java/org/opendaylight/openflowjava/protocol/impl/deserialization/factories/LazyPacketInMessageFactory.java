@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.impl.deserialization.factories;
+
+import com.google.common.base.Preconditions;
+import io.netty.buffer.ByteBuf;
+import org.opendaylight.openflowjava.protocol.api.connection.LazyPacketInMessage;
+import org.opendaylight.openflowjava.protocol.api.extensibility.DeserializerRegistry;
+import org.opendaylight.openflowjava.protocol.api.extensibility.DeserializerRegistryInjector;
+import org.opendaylight.openflowjava.protocol.api.extensibility.OFDeserializer;
+import org.opendaylight.openflowjava.protocol.api.keys.MessageCodeKey;
+import org.opendaylight.openflowjava.protocol.api.util.EncodeConstants;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.match.grouping.Match;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.PacketInMessage;
+
+/**
+ * Translates OF1.3 PacketIn messages into {@link LazyPacketInMessage}, which retains a slice of the received
+ * buffer instead of decoding match and copying data.
+ */
+public class LazyPacketInMessageFactory implements OFDeserializer<PacketInMessage>,
+        DeserializerRegistryInjector {
+
+    private static final byte PADDING_IN_PACKET_IN_HEADER = 2;
+    private static final MessageCodeKey MATCH_KEY = new MessageCodeKey(
+            EncodeConstants.OF13_VERSION_ID, EncodeConstants.EMPTY_VALUE, Match.class);
+    private DeserializerRegistry registry;
+
+    @Override
+    public LazyPacketInMessage deserialize(final ByteBuf rawMessage) {
+        final long xid = rawMessage.readUnsignedInt();
+        final long bufferId = rawMessage.readUnsignedInt();
+        final int totalLen = rawMessage.readUnsignedShort();
+        final short reason = rawMessage.readUnsignedByte();
+        final short tableId = rawMessage.readUnsignedByte();
+        final long cookie = rawMessage.readLong();
+
+        final int readable = rawMessage.readableBytes();
+        Preconditions.checkArgument(readable >= 2 * EncodeConstants.SIZE_OF_SHORT_IN_BYTES,
+                "PacketIn too short to carry match: %s", readable);
+        final int matchLength = rawMessage.getUnsignedShort(rawMessage.readerIndex()
+                + EncodeConstants.SIZE_OF_SHORT_IN_BYTES);
+        final int paddedLength = (matchLength + EncodeConstants.PADDING - 1)
+                / EncodeConstants.PADDING * EncodeConstants.PADDING;
+        final int dataOffset = paddedLength + PADDING_IN_PACKET_IN_HEADER;
+        Preconditions.checkArgument(matchLength >= 2 * EncodeConstants.SIZE_OF_SHORT_IN_BYTES
+                && dataOffset <= readable, "Invalid match length %s, %s bytes available", matchLength, readable);
+
+        final OFDeserializer<Match> matchDeserializer = registry.getDeserializer(MATCH_KEY);
+        return new LazyPacketInMessageImpl(xid, bufferId, totalLen, reason, tableId, cookie,
+                rawMessage.readRetainedSlice(readable), matchLength, dataOffset, matchDeserializer);
+    }
+
+    @Override
+    public void injectDeserializerRegistry(final DeserializerRegistry deserializerRegistry) {
+        registry = deserializerRegistry;
+    }
+}
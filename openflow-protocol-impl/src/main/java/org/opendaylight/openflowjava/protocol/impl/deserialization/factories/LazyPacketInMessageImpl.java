@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.impl.deserialization.factories;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import java.math.BigInteger;
+import org.opendaylight.openflowjava.protocol.api.connection.LazyPacketInMessage;
+import org.opendaylight.openflowjava.protocol.api.extensibility.OFDeserializer;
+import org.opendaylight.openflowjava.protocol.api.util.EncodeConstants;
+import org.opendaylight.openflowjava.protocol.api.util.OxmMatchConstants;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.common.types.rev130731.PacketInReason;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.common.types.rev130731.TableId;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.match.grouping.Match;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.PacketInMessage;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.PacketInMessageBuilder;
+import org.opendaylight.yangtools.yang.binding.Augmentation;
+
+/**
+ * {@link LazyPacketInMessage} backed by a retained slice of the received buffer. The slice starts at
+ * ofp_match and spans up to the end of packet data.
+ */
+final class LazyPacketInMessageImpl implements LazyPacketInMessage {
+
+    private static final int OXM_HEADER_LENGTH = 4;
+    private static final int IN_PORT_LENGTH = 4;
+
+    private final long xid;
+    private final long bufferId;
+    private final int totalLen;
+    private final short reason;
+    private final short tableId;
+    private final long cookie;
+    private final ByteBuf buffer;
+    private final int matchLength;
+    private final int dataOffset;
+    private final OFDeserializer<Match> matchDeserializer;
+    private volatile Match match;
+
+    LazyPacketInMessageImpl(final long xid, final long bufferId, final int totalLen, final short reason,
+            final short tableId, final long cookie, final ByteBuf buffer, final int matchLength,
+            final int dataOffset, final OFDeserializer<Match> matchDeserializer) {
+        this.xid = xid;
+        this.bufferId = bufferId;
+        this.totalLen = totalLen;
+        this.reason = reason;
+        this.tableId = tableId;
+        this.cookie = cookie;
+        this.buffer = buffer;
+        this.matchLength = matchLength;
+        this.dataOffset = dataOffset;
+        this.matchDeserializer = matchDeserializer;
+    }
+
+    @Override
+    public Short getVersion() {
+        return (short) EncodeConstants.OF13_VERSION_ID;
+    }
+
+    @Override
+    public Long getXid() {
+        return xid;
+    }
+
+    @Override
+    public Long getBufferId() {
+        return bufferId;
+    }
+
+    @Override
+    public Integer getTotalLen() {
+        return totalLen;
+    }
+
+    @Override
+    public PacketInReason getReason() {
+        return PacketInReason.forValue(reason);
+    }
+
+    @Override
+    public TableId getTableId() {
+        return new TableId((long) tableId);
+    }
+
+    @Override
+    public BigInteger getCookie() {
+        final BigInteger value = BigInteger.valueOf(cookie & Long.MAX_VALUE);
+        return cookie < 0 ? value.setBit(Long.SIZE - 1) : value;
+    }
+
+    @Override
+    public Match getMatch() {
+        Match result = match;
+        if (result == null) {
+            // duplicate keeps indices of the shared slice untouched
+            result = matchDeserializer.deserialize(buffer.duplicate());
+            match = result;
+        }
+        return result;
+    }
+
+    @Override
+    public byte[] getData() {
+        return ByteBufUtil.getBytes(buffer, buffer.readerIndex() + dataOffset, dataLength());
+    }
+
+    @Override
+    public Integer getInPort() {
+        // OF1.0 only
+        return null;
+    }
+
+    @Override
+    public long getMatchInPort() {
+        final int start = buffer.readerIndex();
+        int offset = start + 2 * EncodeConstants.SIZE_OF_SHORT_IN_BYTES;
+        final int end = start + matchLength;
+        while (offset + OXM_HEADER_LENGTH <= end) {
+            final int oxmClass = buffer.getUnsignedShort(offset);
+            final int oxmField = buffer.getUnsignedByte(offset + 2) >>> 1;
+            final int oxmLength = buffer.getUnsignedByte(offset + 3);
+            if (oxmClass == OxmMatchConstants.OPENFLOW_BASIC_CLASS && oxmField == OxmMatchConstants.IN_PORT
+                    && oxmLength == IN_PORT_LENGTH && offset + OXM_HEADER_LENGTH + IN_PORT_LENGTH <= end) {
+                return buffer.getUnsignedInt(offset + OXM_HEADER_LENGTH);
+            }
+            offset += OXM_HEADER_LENGTH + oxmLength;
+        }
+        return -1;
+    }
+
+    @Override
+    public ByteBuf getPayload() {
+        return buffer.slice(buffer.readerIndex() + dataOffset, dataLength()).asReadOnly();
+    }
+
+    @Override
+    public byte[] getPayload(final int maxLength) {
+        return ByteBufUtil.getBytes(buffer, buffer.readerIndex() + dataOffset, Math.min(maxLength, dataLength()));
+    }
+
+    private int dataLength() {
+        return buffer.readableBytes() - dataOffset;
+    }
+
+    @Override
+    public PacketInMessage toPacketInMessage() {
+        return new PacketInMessageBuilder()
+                .setVersion(getVersion())
+                .setXid(xid)
+                .setBufferId(bufferId)
+                .setTotalLen(totalLen)
+                .setReason(getReason())
+                .setTableId(getTableId())
+                .setCookie(getCookie())
+                .setMatch(getMatch())
+                .setData(getData())
+                .build();
+    }
+
+    @Override
+    public <E extends Augmentation<PacketInMessage>> E getAugmentation(final Class<E> augmentationType) {
+        return null;
+    }
+
+    @Override
+    public Class<PacketInMessage> getImplementedInterface() {
+        return PacketInMessage.class;
+    }
+
+    @Override
+    public int refCnt() {
+        return buffer.refCnt();
+    }
+
+    @Override
+    public LazyPacketInMessage retain() {
+        buffer.retain();
+        return this;
+    }
+
+    @Override
+    public LazyPacketInMessage retain(final int increment) {
+        buffer.retain(increment);
+        return this;
+    }
+
+    @Override
+    public LazyPacketInMessage touch() {
+        buffer.touch();
+        return this;
+    }
+
+    @Override
+    public LazyPacketInMessage touch(final Object hint) {
+        buffer.touch(hint);
+        return this;
+    }
+
+    @Override
+    public boolean release() {
+        return buffer.release();
+    }
+
+    @Override
+    public boolean release(final int decrement) {
+        return buffer.release(decrement);
+    }
+
+    @Override
+    public String toString() {
+        return "LazyPacketInMessage [xid=" + xid + ", bufferId=" + bufferId + ", totalLen=" + totalLen
+                + ", reason=" + reason + ", tableId=" + tableId + ", cookie=" + Long.toUnsignedString(cookie)
+                + ", refCnt=" + buffer.refCnt() + "]";
+    }
+}
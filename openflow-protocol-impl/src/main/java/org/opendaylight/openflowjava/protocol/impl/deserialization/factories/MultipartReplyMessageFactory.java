@@ -12,11 +12,14 @@ import io.netty.buffer.ByteBuf;
 import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.List;
+import org.opendaylight.openflowjava.protocol.api.connection.MultipartReplyEntryConsumer;
+import org.opendaylight.openflowjava.protocol.api.connection.StatisticsColumns;
 import org.opendaylight.openflowjava.protocol.api.extensibility.DeserializerRegistry;
 import org.opendaylight.openflowjava.protocol.api.extensibility.DeserializerRegistryInjector;
 import org.opendaylight.openflowjava.protocol.api.extensibility.OFDeserializer;
 import org.opendaylight.openflowjava.protocol.api.keys.MessageCodeKey;
 import org.opendaylight.openflowjava.protocol.api.util.EncodeConstants;
+import org.opendaylight.openflowjava.protocol.impl.deserialization.StreamingDeserializer;
 import org.opendaylight.openflowjava.protocol.impl.util.CodeKeyMaker;
 import org.opendaylight.openflowjava.protocol.impl.util.CodeKeyMakerFactory;
 import org.opendaylight.openflowjava.protocol.impl.util.ListDeserializer;
@@ -138,15 +141,18 @@ import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.multipart.reply.multipart.reply.body.multipart.reply.table.features._case.multipart.reply.table.features.TableFeaturesBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.table.features.properties.grouping.TableFeatureProperties;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.table.features.properties.grouping.TableFeaturePropertiesBuilder;
+import org.opendaylight.yangtools.yang.binding.DataObject;
 
 /**
- * Translates MultipartReply messages
+ * Translates MultipartReply messages. Entries of list bodies can be streamed to a
+ * {@link MultipartReplyEntryConsumer} as they are decoded, instead of being collected in the body.
+ * Flow, port and queue statistics can be decoded into primitive columns, see {@link StatisticsColumnsDecoder}.
  *
  * @author timotej.kubas
  * @author michal.polkorab
  */
 public class MultipartReplyMessageFactory implements OFDeserializer<MultipartReplyMessage>,
-        DeserializerRegistryInjector {
+        StreamingDeserializer, DeserializerRegistryInjector {
 
     private static final byte PADDING_IN_MULTIPART_REPLY_HEADER = 4;
     private static final int DESC_STR_LEN = 256;
@@ -182,56 +188,71 @@ public class MultipartReplyMessageFactory implements OFDeserializer<MultipartRep
 
     @Override
     public MultipartReplyMessage deserialize(final ByteBuf rawMessage) {
+        return deserialize(rawMessage, null);
+    }
+
+    @Override
+    public MultipartReplyMessage deserialize(final ByteBuf rawMessage, final MultipartReplyEntryConsumer consumer) {
         MultipartReplyMessageBuilder builder = new MultipartReplyMessageBuilder();
         builder.setVersion((short) EncodeConstants.OF13_VERSION_ID);
-        builder.setXid(rawMessage.readUnsignedInt());
+        final long xid = rawMessage.readUnsignedInt();
+        builder.setXid(xid);
         int type = rawMessage.readUnsignedShort();
         builder.setType(MultipartType.forValue(type));
-        builder.setFlags(new MultipartRequestFlags((rawMessage.readUnsignedShort() & 0x01) != 0));
+        final boolean replyMore = (rawMessage.readUnsignedShort() & 0x01) != 0;
+        builder.setFlags(new MultipartRequestFlags(replyMore));
         rawMessage.skipBytes(PADDING_IN_MULTIPART_REPLY_HEADER);
+        final StatisticsColumns columns = StatisticsColumnsDecoder.columnsFor(consumer, MultipartType.forValue(type));
+        if (columns != null) {
+            builder.setMultipartReplyBody(StatisticsColumnsDecoder.decode(rawMessage, EncodeConstants.OF13_VERSION_ID,
+                    consumer, columns, xid, MultipartType.forValue(type), replyMore));
+            return builder.build();
+        }
+        final EntrySink sink = consumer != null && consumer.isStreamed(MultipartType.forValue(type))
+                ? new EntrySink(consumer, xid, MultipartType.forValue(type), replyMore) : null;
 
         switch (MultipartType.forValue(type)) {
             case OFPMPDESC:
                 builder.setMultipartReplyBody(setDesc(rawMessage));
                 break;
             case OFPMPFLOW:
-                builder.setMultipartReplyBody(setFlow(rawMessage));
+                builder.setMultipartReplyBody(setFlow(rawMessage, sink));
                 break;
             case OFPMPAGGREGATE:
                 builder.setMultipartReplyBody(setAggregate(rawMessage));
                 break;
             case OFPMPTABLE:
-                builder.setMultipartReplyBody(setTable(rawMessage));
+                builder.setMultipartReplyBody(setTable(rawMessage, sink));
                 break;
             case OFPMPPORTSTATS:
-                builder.setMultipartReplyBody(setPortStats(rawMessage));
+                builder.setMultipartReplyBody(setPortStats(rawMessage, sink));
                 break;
             case OFPMPQUEUE:
-                builder.setMultipartReplyBody(setQueue(rawMessage));
+                builder.setMultipartReplyBody(setQueue(rawMessage, sink));
                 break;
             case OFPMPGROUP:
-                builder.setMultipartReplyBody(setGroup(rawMessage));
+                builder.setMultipartReplyBody(setGroup(rawMessage, sink));
                 break;
             case OFPMPGROUPDESC:
-                builder.setMultipartReplyBody(setGroupDesc(rawMessage));
+                builder.setMultipartReplyBody(setGroupDesc(rawMessage, sink));
                 break;
             case OFPMPGROUPFEATURES:
                 builder.setMultipartReplyBody(setGroupFeatures(rawMessage));
                 break;
             case OFPMPMETER:
-                builder.setMultipartReplyBody(setMeter(rawMessage));
+                builder.setMultipartReplyBody(setMeter(rawMessage, sink));
                 break;
             case OFPMPMETERCONFIG:
-                builder.setMultipartReplyBody(setMeterConfig(rawMessage));
+                builder.setMultipartReplyBody(setMeterConfig(rawMessage, sink));
                 break;
             case OFPMPMETERFEATURES:
                 builder.setMultipartReplyBody(setMeterFeatures(rawMessage));
                 break;
             case OFPMPTABLEFEATURES:
-                builder.setMultipartReplyBody(setTableFeatures(rawMessage));
+                builder.setMultipartReplyBody(setTableFeatures(rawMessage, sink));
                 break;
             case OFPMPPORTDESC:
-                builder.setMultipartReplyBody(setPortDesc(rawMessage));
+                builder.setMultipartReplyBody(setPortDesc(rawMessage, sink));
                 break;
             case OFPMPEXPERIMENTER:
                 builder.setMultipartReplyBody(setExperimenter(rawMessage));
@@ -243,6 +264,17 @@ public class MultipartReplyMessageFactory implements OFDeserializer<MultipartRep
         return builder.build();
     }
 
+    /**
+     * Collects body entry into the list, or passes it to the consumer if the body is streamed
+     */
+    private static <T extends DataObject> void addEntry(final EntrySink sink, final List<T> entries, final T entry) {
+        if (sink == null) {
+            entries.add(entry);
+        } else {
+            sink.consumer.onEntry(sink.xid, sink.type, entry, sink.replyMore);
+        }
+    }
+
     private static MultipartReplyDescCase setDesc(final ByteBuf input) {
         MultipartReplyDescCaseBuilder caseBuilder = new MultipartReplyDescCaseBuilder();
         MultipartReplyDescBuilder descBuilder = new MultipartReplyDescBuilder();
@@ -270,7 +302,7 @@ public class MultipartReplyMessageFactory implements OFDeserializer<MultipartRep
         return caseBuilder.build();
     }
 
-    private MultipartReplyFlowCase setFlow(final ByteBuf input) {
+    private MultipartReplyFlowCase setFlow(final ByteBuf input, final EntrySink sink) {
         MultipartReplyFlowCaseBuilder caseBuilder = new MultipartReplyFlowCaseBuilder();
         MultipartReplyFlowBuilder flowBuilder = new MultipartReplyFlowBuilder();
         List<FlowStats> flowStatsList = new ArrayList<>();
@@ -304,7 +336,7 @@ public class MultipartReplyMessageFactory implements OFDeserializer<MultipartRep
             List<Instruction> instructions = ListDeserializer.deserializeList(
                     EncodeConstants.OF13_VERSION_ID, subInput.readableBytes(), subInput, keyMaker, registry);
             flowStatsBuilder.setInstruction(instructions);
-            flowStatsList.add(flowStatsBuilder.build());
+            addEntry(sink, flowStatsList, flowStatsBuilder.build());
         }
         flowBuilder.setFlowStats(flowStatsList);
         caseBuilder.setMultipartReplyFlow(flowBuilder.build());
@@ -335,7 +367,7 @@ public class MultipartReplyMessageFactory implements OFDeserializer<MultipartRep
         return caseBuilder.build();
     }
 
-    private static MultipartReplyTableCase setTable(final ByteBuf input) {
+    private static MultipartReplyTableCase setTable(final ByteBuf input, final EntrySink sink) {
         MultipartReplyTableCaseBuilder caseBuilder = new MultipartReplyTableCaseBuilder();
         MultipartReplyTableBuilder builder = new MultipartReplyTableBuilder();
         List<TableStats> tableStatsList = new ArrayList<>();
@@ -350,14 +382,14 @@ public class MultipartReplyMessageFactory implements OFDeserializer<MultipartRep
             byte[] matchedCount = new byte[EncodeConstants.SIZE_OF_LONG_IN_BYTES];
             input.readBytes(matchedCount);
             tableStatsBuilder.setMatchedCount(new BigInteger(1, matchedCount));
-            tableStatsList.add(tableStatsBuilder.build());
+            addEntry(sink, tableStatsList, tableStatsBuilder.build());
         }
         builder.setTableStats(tableStatsList);
         caseBuilder.setMultipartReplyTable(builder.build());
         return caseBuilder.build();
     }
 
-    private MultipartReplyTableFeaturesCase setTableFeatures(final ByteBuf input) {
+    private MultipartReplyTableFeaturesCase setTableFeatures(final ByteBuf input, final EntrySink sink) {
         MultipartReplyTableFeaturesCaseBuilder caseBuilder = new MultipartReplyTableFeaturesCaseBuilder();
         MultipartReplyTableFeaturesBuilder builder = new MultipartReplyTableFeaturesBuilder();
         List<TableFeatures> features = new ArrayList<>();
@@ -377,7 +409,7 @@ public class MultipartReplyMessageFactory implements OFDeserializer<MultipartRep
             featuresBuilder.setMaxEntries(input.readUnsignedInt());
             featuresBuilder.setTableFeatureProperties(createTableFeaturesProperties(input,
                     length - MULTIPART_REPLY_TABLE_FEATURES_STRUCTURE_LENGTH));
-            features.add(featuresBuilder.build());
+            addEntry(sink, features, featuresBuilder.build());
         }
         builder.setTableFeatures(features);
         caseBuilder.setMultipartReplyTableFeatures(builder.build());
@@ -464,7 +496,7 @@ public class MultipartReplyMessageFactory implements OFDeserializer<MultipartRep
         return properties;
     }
 
-    private static MultipartReplyPortStatsCase setPortStats(final ByteBuf input) {
+    private static MultipartReplyPortStatsCase setPortStats(final ByteBuf input, final EntrySink sink) {
         MultipartReplyPortStatsCaseBuilder caseBuilder = new MultipartReplyPortStatsCaseBuilder();
         MultipartReplyPortStatsBuilder builder = new MultipartReplyPortStatsBuilder();
         List<PortStats> portStatsList = new ArrayList<>();
@@ -510,14 +542,14 @@ public class MultipartReplyMessageFactory implements OFDeserializer<MultipartRep
             portStatsBuilder.setCollisions(new BigInteger(1, collisions));
             portStatsBuilder.setDurationSec(input.readUnsignedInt());
             portStatsBuilder.setDurationNsec(input.readUnsignedInt());
-            portStatsList.add(portStatsBuilder.build());
+            addEntry(sink, portStatsList, portStatsBuilder.build());
         }
         builder.setPortStats(portStatsList);
         caseBuilder.setMultipartReplyPortStats(builder.build());
         return caseBuilder.build();
     }
 
-    private static MultipartReplyQueueCase setQueue(final ByteBuf input) {
+    private static MultipartReplyQueueCase setQueue(final ByteBuf input, final EntrySink sink) {
         MultipartReplyQueueCaseBuilder caseBuilder = new MultipartReplyQueueCaseBuilder();
         MultipartReplyQueueBuilder builder = new MultipartReplyQueueBuilder();
         List<QueueStats> queueStatsList = new ArrayList<>();
@@ -536,14 +568,14 @@ public class MultipartReplyMessageFactory implements OFDeserializer<MultipartRep
             queueStatsBuilder.setTxErrors(new BigInteger(1, txErrors));
             queueStatsBuilder.setDurationSec(input.readUnsignedInt());
             queueStatsBuilder.setDurationNsec(input.readUnsignedInt());
-            queueStatsList.add(queueStatsBuilder.build());
+            addEntry(sink, queueStatsList, queueStatsBuilder.build());
         }
         builder.setQueueStats(queueStatsList);
         caseBuilder.setMultipartReplyQueue(builder.build());
         return caseBuilder.build();
     }
 
-    private static MultipartReplyGroupCase setGroup(final ByteBuf input) {
+    private static MultipartReplyGroupCase setGroup(final ByteBuf input, final EntrySink sink) {
         MultipartReplyGroupCaseBuilder caseBuilder = new MultipartReplyGroupCaseBuilder();
         MultipartReplyGroupBuilder builder = new MultipartReplyGroupBuilder();
         List<GroupStats> groupStatsList = new ArrayList<>();
@@ -576,7 +608,7 @@ public class MultipartReplyMessageFactory implements OFDeserializer<MultipartRep
                 actualLength += BUCKET_COUNTER_LENGTH;
             }
             groupStatsBuilder.setBucketStats(bucketStatsList);
-            groupStatsList.add(groupStatsBuilder.build());
+            addEntry(sink, groupStatsList, groupStatsBuilder.build());
         }
         builder.setGroupStats(groupStatsList);
         caseBuilder.setMultipartReplyGroup(builder.build());
@@ -610,7 +642,7 @@ public class MultipartReplyMessageFactory implements OFDeserializer<MultipartRep
         return new MeterBandTypeBitmap(mbtDROP, mbtDSCPREMARK);
     }
 
-    private static MultipartReplyMeterCase setMeter(final ByteBuf input) {
+    private static MultipartReplyMeterCase setMeter(final ByteBuf input, final EntrySink sink) {
         MultipartReplyMeterCaseBuilder caseBuilder = new MultipartReplyMeterCaseBuilder();
         MultipartReplyMeterBuilder builder = new MultipartReplyMeterBuilder();
         List<MeterStats> meterStatsList = new ArrayList<>();
@@ -642,14 +674,14 @@ public class MultipartReplyMessageFactory implements OFDeserializer<MultipartRep
                 actualLength += METER_BAND_STATS_LENGTH;
             }
             meterStatsBuilder.setMeterBandStats(meterBandStatsList);
-            meterStatsList.add(meterStatsBuilder.build());
+            addEntry(sink, meterStatsList, meterStatsBuilder.build());
         }
         builder.setMeterStats(meterStatsList);
         caseBuilder.setMultipartReplyMeter(builder.build());
         return caseBuilder.build();
     }
 
-    private MultipartReplyMeterConfigCase setMeterConfig(final ByteBuf input) {
+    private MultipartReplyMeterConfigCase setMeterConfig(final ByteBuf input, final EntrySink sink) {
         MultipartReplyMeterConfigCaseBuilder caseBuilder = new MultipartReplyMeterConfigCaseBuilder();
         MultipartReplyMeterConfigBuilder builder = new MultipartReplyMeterConfigBuilder();
         List<MeterConfig> meterConfigList = new ArrayList<>();
@@ -703,7 +735,7 @@ public class MultipartReplyMessageFactory implements OFDeserializer<MultipartRep
                 bandsList.add(bandsBuilder.build());
             }
             meterConfigBuilder.setBands(bandsList);
-            meterConfigList.add(meterConfigBuilder.build());
+            addEntry(sink, meterConfigList, meterConfigBuilder.build());
         }
         builder.setMeterConfig(meterConfigList);
         caseBuilder.setMultipartReplyMeterConfig(builder.build());
@@ -727,7 +759,7 @@ public class MultipartReplyMessageFactory implements OFDeserializer<MultipartRep
         return mpReplyExperimenterCaseBld.build();
     }
 
-    private static MultipartReplyPortDescCase setPortDesc(final ByteBuf input) {
+    private static MultipartReplyPortDescCase setPortDesc(final ByteBuf input, final EntrySink sink) {
         MultipartReplyPortDescCaseBuilder caseBuilder = new MultipartReplyPortDescCaseBuilder();
         MultipartReplyPortDescBuilder builder = new MultipartReplyPortDescBuilder();
         List<Ports> portsList = new ArrayList<>();
@@ -746,7 +778,7 @@ public class MultipartReplyMessageFactory implements OFDeserializer<MultipartRep
             portsBuilder.setPeerFeatures(createPortFeatures(input.readUnsignedInt()));
             portsBuilder.setCurrSpeed(input.readUnsignedInt());
             portsBuilder.setMaxSpeed(input.readUnsignedInt());
-            portsList.add(portsBuilder.build());
+            addEntry(sink, portsList, portsBuilder.build());
         }
         builder.setPorts(portsList);
         caseBuilder.setMultipartReplyPortDesc(builder.build());
@@ -848,7 +880,7 @@ public class MultipartReplyMessageFactory implements OFDeserializer<MultipartRep
         return new GroupTypes(gtAll, gtFF, gtIndirect, gtSelect);
     }
 
-    private MultipartReplyGroupDescCase setGroupDesc(final ByteBuf input) {
+    private MultipartReplyGroupDescCase setGroupDesc(final ByteBuf input, final EntrySink sink) {
         MultipartReplyGroupDescCaseBuilder caseBuilder = new MultipartReplyGroupDescCaseBuilder();
         MultipartReplyGroupDescBuilder builder = new MultipartReplyGroupDescBuilder();
         List<GroupDesc> groupDescsList = new ArrayList<>();
@@ -875,7 +907,7 @@ public class MultipartReplyMessageFactory implements OFDeserializer<MultipartRep
                 actualLength += bucketsLength;
             }
             groupDescBuilder.setBucketsList(bucketsList);
-            groupDescsList.add(groupDescBuilder.build());
+            addEntry(sink, groupDescsList, groupDescBuilder.build());
         }
         builder.setGroupDesc(groupDescsList);
         caseBuilder.setMultipartReplyGroupDesc(builder.build());
@@ -887,4 +919,19 @@ public class MultipartReplyMessageFactory implements OFDeserializer<MultipartRep
             final DeserializerRegistry deserializerRegistry) {
         registry = deserializerRegistry;
     }
+
+    private static final class EntrySink {
+        private final MultipartReplyEntryConsumer consumer;
+        private final long xid;
+        private final MultipartType type;
+        private final boolean replyMore;
+
+        EntrySink(final MultipartReplyEntryConsumer consumer, final long xid, final MultipartType type,
+                final boolean replyMore) {
+            this.consumer = consumer;
+            this.xid = xid;
+            this.type = type;
+            this.replyMore = replyMore;
+        }
+    }
 }
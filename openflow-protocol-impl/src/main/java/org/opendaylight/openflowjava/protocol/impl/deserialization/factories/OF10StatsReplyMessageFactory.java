@@ -12,11 +12,14 @@ import io.netty.buffer.ByteBuf;
 import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.List;
+import org.opendaylight.openflowjava.protocol.api.connection.MultipartReplyEntryConsumer;
+import org.opendaylight.openflowjava.protocol.api.connection.StatisticsColumns;
 import org.opendaylight.openflowjava.protocol.api.extensibility.DeserializerRegistry;
 import org.opendaylight.openflowjava.protocol.api.extensibility.DeserializerRegistryInjector;
 import org.opendaylight.openflowjava.protocol.api.extensibility.OFDeserializer;
 import org.opendaylight.openflowjava.protocol.api.keys.MessageCodeKey;
 import org.opendaylight.openflowjava.protocol.api.util.EncodeConstants;
+import org.opendaylight.openflowjava.protocol.impl.deserialization.StreamingDeserializer;
 import org.opendaylight.openflowjava.protocol.impl.util.CodeKeyMaker;
 import org.opendaylight.openflowjava.protocol.impl.util.CodeKeyMakerFactory;
 import org.opendaylight.openflowjava.protocol.impl.util.ListDeserializer;
@@ -62,12 +65,13 @@ import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.multipart.reply.multipart.reply.body.multipart.reply.table._case.multipart.reply.table.TableStatsBuilder;
 
 /**
- * Translates StatsReply messages (OpenFlow v1.0)
+ * Translates StatsReply messages (OpenFlow v1.0). Flow, port and queue statistics can be decoded into
+ * primitive columns, see {@link StatisticsColumnsDecoder}. Entries of other consumers are not streamed.
  *
  * @author michal.polkorab
  */
 public class OF10StatsReplyMessageFactory implements OFDeserializer<MultipartReplyMessage>,
-        DeserializerRegistryInjector {
+        StreamingDeserializer, DeserializerRegistryInjector {
 
     private static final int DESC_STR_LEN = 256;
     private static final int SERIAL_NUM_LEN = 32;
@@ -84,12 +88,25 @@ public class OF10StatsReplyMessageFactory implements OFDeserializer<MultipartRep
 
     @Override
     public MultipartReplyMessage deserialize(ByteBuf rawMessage) {
+        return deserialize(rawMessage, null);
+    }
+
+    @Override
+    public MultipartReplyMessage deserialize(ByteBuf rawMessage, MultipartReplyEntryConsumer consumer) {
         MultipartReplyMessageBuilder builder = new MultipartReplyMessageBuilder();
         builder.setVersion((short) EncodeConstants.OF10_VERSION_ID);
-        builder.setXid(rawMessage.readUnsignedInt());
+        final long xid = rawMessage.readUnsignedInt();
+        builder.setXid(xid);
         int type = rawMessage.readUnsignedShort();
         builder.setType(MultipartType.forValue(type));
-        builder.setFlags(new MultipartRequestFlags((rawMessage.readUnsignedShort() & 0x01) != 0));
+        final boolean replyMore = (rawMessage.readUnsignedShort() & 0x01) != 0;
+        builder.setFlags(new MultipartRequestFlags(replyMore));
+        final StatisticsColumns columns = StatisticsColumnsDecoder.columnsFor(consumer, MultipartType.forValue(type));
+        if (columns != null) {
+            builder.setMultipartReplyBody(StatisticsColumnsDecoder.decode(rawMessage, EncodeConstants.OF10_VERSION_ID,
+                    consumer, columns, xid, MultipartType.forValue(type), replyMore));
+            return builder.build();
+        }
         switch (MultipartType.forValue(type)) {
             case OFPMPDESC:
                 builder.setMultipartReplyBody(setDesc(rawMessage));
@@ -0,0 +1,235 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.impl.deserialization.factories;
+
+import com.google.common.base.Preconditions;
+import io.netty.buffer.ByteBuf;
+import java.util.Collections;
+import org.opendaylight.openflowjava.protocol.api.connection.ColumnarStatisticsConsumer;
+import org.opendaylight.openflowjava.protocol.api.connection.FlowStatsColumns;
+import org.opendaylight.openflowjava.protocol.api.connection.MultipartReplyEntryConsumer;
+import org.opendaylight.openflowjava.protocol.api.connection.PortStatsColumns;
+import org.opendaylight.openflowjava.protocol.api.connection.QueueStatsColumns;
+import org.opendaylight.openflowjava.protocol.api.connection.StatisticsColumns;
+import org.opendaylight.openflowjava.protocol.api.util.EncodeConstants;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.common.types.rev130731.MultipartType;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.multipart.reply.MultipartReplyBody;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.multipart.reply.multipart.reply.body.MultipartReplyFlowCaseBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.multipart.reply.multipart.reply.body.MultipartReplyPortStatsCaseBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.multipart.reply.multipart.reply.body.MultipartReplyQueueCaseBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.multipart.reply.multipart.reply.body.multipart.reply.flow._case.MultipartReplyFlowBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.multipart.reply.multipart.reply.body.multipart.reply.flow._case.multipart.reply.flow.FlowStats;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.multipart.reply.multipart.reply.body.multipart.reply.port.stats._case.MultipartReplyPortStatsBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.multipart.reply.multipart.reply.body.multipart.reply.port.stats._case.multipart.reply.port.stats.PortStats;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.multipart.reply.multipart.reply.body.multipart.reply.queue._case.MultipartReplyQueueBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.multipart.reply.multipart.reply.body.multipart.reply.queue._case.multipart.reply.queue.QueueStats;
+
+/**
+ * Decodes flow, port and queue statistics of OpenFlow 1.0 stats replies and OpenFlow 1.3 multipart replies
+ * into {@link StatisticsColumns} provided by {@link ColumnarStatisticsConsumer}. Fields are read with absolute
+ * indexes, no objects are created per entry.
+ */
+final class StatisticsColumnsDecoder {
+
+    private static final int OF13_FLOW_STATS_LENGTH = 48;
+    private static final int OF13_OFP_MATCH_LENGTH_INDEX = 2;
+    private static final int OF13_PORT_STATS_LENGTH = 112;
+    private static final int OF13_QUEUE_STATS_LENGTH = 40;
+    private static final int OF10_FLOW_STATS_LENGTH = 88;
+    private static final int OF10_MATCH_LENGTH = 40;
+    private static final int OF10_PORT_STATS_LENGTH = 104;
+    private static final int OF10_QUEUE_STATS_LENGTH = 32;
+    private static final int PORT_COUNTERS_OFFSET = 8;
+
+    private StatisticsColumnsDecoder() {
+        throw new UnsupportedOperationException("Utility class shouldn't be instantiated");
+    }
+
+    /**
+     * Returns columns for the reply if the consumer wants it to be decoded columnar
+     * @param consumer consumer of multipart reply, may be null
+     * @param type multipart type of the reply
+     * @return columns to decode the reply into, null if the reply should be decoded as usual
+     */
+    static StatisticsColumns columnsFor(final MultipartReplyEntryConsumer consumer, final MultipartType type) {
+        if (!(consumer instanceof ColumnarStatisticsConsumer) || type == null) {
+            return null;
+        }
+        switch (type) {
+            case OFPMPFLOW:
+            case OFPMPPORTSTATS:
+            case OFPMPQUEUE:
+                return ((ColumnarStatisticsConsumer) consumer).getColumns(type);
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Decodes all remaining entries of the reply into columns and passes them to the consumer
+     * @param input reply body, reader index is moved to its end
+     * @param version OpenFlow version of the reply
+     * @param consumer consumer which provided the columns
+     * @param columns columns to decode into
+     * @param xid transaction id of the reply
+     * @param type multipart type of the reply, one of flow, port stats or queue
+     * @param replyMore true if more reply parts will follow
+     * @return empty reply body
+     */
+    static MultipartReplyBody decode(final ByteBuf input, final short version,
+            final MultipartReplyEntryConsumer consumer, final StatisticsColumns columns, final long xid,
+            final MultipartType type, final boolean replyMore) {
+        columns.clear();
+        final MultipartReplyBody body;
+        switch (type) {
+            case OFPMPFLOW:
+                Preconditions.checkArgument(columns instanceof FlowStatsColumns,
+                        "Flow stats require FlowStatsColumns, got %s", columns);
+                if (version == EncodeConstants.OF10_VERSION_ID) {
+                    decodeFlowStatsV10(input, (FlowStatsColumns) columns);
+                } else {
+                    decodeFlowStatsV13(input, (FlowStatsColumns) columns);
+                }
+                body = new MultipartReplyFlowCaseBuilder().setMultipartReplyFlow(new MultipartReplyFlowBuilder()
+                        .setFlowStats(Collections.<FlowStats>emptyList()).build()).build();
+                break;
+            case OFPMPPORTSTATS:
+                Preconditions.checkArgument(columns instanceof PortStatsColumns,
+                        "Port stats require PortStatsColumns, got %s", columns);
+                decodePortStats(input, version, (PortStatsColumns) columns);
+                body = new MultipartReplyPortStatsCaseBuilder().setMultipartReplyPortStats(
+                        new MultipartReplyPortStatsBuilder().setPortStats(Collections.<PortStats>emptyList())
+                        .build()).build();
+                break;
+            case OFPMPQUEUE:
+                Preconditions.checkArgument(columns instanceof QueueStatsColumns,
+                        "Queue stats require QueueStatsColumns, got %s", columns);
+                decodeQueueStats(input, version, (QueueStatsColumns) columns);
+                body = new MultipartReplyQueueCaseBuilder().setMultipartReplyQueue(new MultipartReplyQueueBuilder()
+                        .setQueueStats(Collections.<QueueStats>emptyList()).build()).build();
+                break;
+            default:
+                throw new IllegalArgumentException("Columnar decoding not supported for " + type);
+        }
+        try {
+            ((ColumnarStatisticsConsumer) consumer).onColumns(xid, type, columns, replyMore);
+        } finally {
+            // columns must not keep referring the message buffer once it gets released
+            columns.clear();
+        }
+        return body;
+    }
+
+    private static void decodeFlowStatsV13(final ByteBuf input, final FlowStatsColumns columns) {
+        columns.setMatchBuffer(input);
+        int offset = input.readerIndex();
+        final int end = input.writerIndex();
+        while (offset < end) {
+            final int length = input.getUnsignedShort(offset);
+            Preconditions.checkArgument(length >= OF13_FLOW_STATS_LENGTH && offset + length <= end,
+                    "Invalid flow stats length %s", length);
+            final int i = columns.append();
+            columns.getTableIds()[i] = input.getUnsignedByte(offset + 2);
+            columns.getDurationSec()[i] = input.getInt(offset + 4);
+            columns.getDurationNsec()[i] = input.getInt(offset + 8);
+            columns.getPriorities()[i] = input.getUnsignedShort(offset + 12);
+            columns.getIdleTimeouts()[i] = input.getUnsignedShort(offset + 14);
+            columns.getHardTimeouts()[i] = input.getUnsignedShort(offset + 16);
+            columns.getFlags()[i] = input.getUnsignedShort(offset + 18);
+            columns.getCookies()[i] = input.getLong(offset + 24);
+            columns.getPacketCounts()[i] = input.getLong(offset + 32);
+            columns.getByteCounts()[i] = input.getLong(offset + 40);
+            final int matchOffset = offset + OF13_FLOW_STATS_LENGTH;
+            columns.getMatchOffsets()[i] = matchOffset;
+            columns.getMatchLengths()[i] = matchOffset + OF13_OFP_MATCH_LENGTH_INDEX
+                    + EncodeConstants.SIZE_OF_SHORT_IN_BYTES <= offset + length
+                    ? input.getUnsignedShort(matchOffset + OF13_OFP_MATCH_LENGTH_INDEX) : 0;
+            offset += length;
+        }
+        input.readerIndex(end);
+    }
+
+    private static void decodeFlowStatsV10(final ByteBuf input, final FlowStatsColumns columns) {
+        columns.setMatchBuffer(input);
+        int offset = input.readerIndex();
+        final int end = input.writerIndex();
+        while (offset < end) {
+            final int length = input.getUnsignedShort(offset);
+            Preconditions.checkArgument(length >= OF10_FLOW_STATS_LENGTH && offset + length <= end,
+                    "Invalid flow stats length %s", length);
+            final int i = columns.append();
+            columns.getTableIds()[i] = input.getUnsignedByte(offset + 2);
+            columns.getMatchOffsets()[i] = offset + 4;
+            columns.getMatchLengths()[i] = OF10_MATCH_LENGTH;
+            columns.getDurationSec()[i] = input.getInt(offset + 44);
+            columns.getDurationNsec()[i] = input.getInt(offset + 48);
+            columns.getPriorities()[i] = input.getUnsignedShort(offset + 52);
+            columns.getIdleTimeouts()[i] = input.getUnsignedShort(offset + 54);
+            columns.getHardTimeouts()[i] = input.getUnsignedShort(offset + 56);
+            columns.getFlags()[i] = 0;
+            columns.getCookies()[i] = input.getLong(offset + 64);
+            columns.getPacketCounts()[i] = input.getLong(offset + 72);
+            columns.getByteCounts()[i] = input.getLong(offset + 80);
+            offset += length;
+        }
+        input.readerIndex(end);
+    }
+
+    private static void decodePortStats(final ByteBuf input, final short version, final PortStatsColumns columns) {
+        final boolean v10 = version == EncodeConstants.OF10_VERSION_ID;
+        final int entryLength = v10 ? OF10_PORT_STATS_LENGTH : OF13_PORT_STATS_LENGTH;
+        int offset = input.readerIndex();
+        final int end = input.writerIndex();
+        Preconditions.checkArgument((end - offset) % entryLength == 0, "Invalid port stats body length %s",
+                end - offset);
+        while (offset < end) {
+            final int i = columns.append();
+            columns.getPortNos()[i] = v10 ? input.getUnsignedShort(offset) : input.getInt(offset);
+            int counter = offset + PORT_COUNTERS_OFFSET;
+            columns.getRxPackets()[i] = input.getLong(counter);
+            columns.getTxPackets()[i] = input.getLong(counter += EncodeConstants.SIZE_OF_LONG_IN_BYTES);
+            columns.getRxBytes()[i] = input.getLong(counter += EncodeConstants.SIZE_OF_LONG_IN_BYTES);
+            columns.getTxBytes()[i] = input.getLong(counter += EncodeConstants.SIZE_OF_LONG_IN_BYTES);
+            columns.getRxDropped()[i] = input.getLong(counter += EncodeConstants.SIZE_OF_LONG_IN_BYTES);
+            columns.getTxDropped()[i] = input.getLong(counter += EncodeConstants.SIZE_OF_LONG_IN_BYTES);
+            columns.getRxErrors()[i] = input.getLong(counter += EncodeConstants.SIZE_OF_LONG_IN_BYTES);
+            columns.getTxErrors()[i] = input.getLong(counter += EncodeConstants.SIZE_OF_LONG_IN_BYTES);
+            columns.getRxFrameErr()[i] = input.getLong(counter += EncodeConstants.SIZE_OF_LONG_IN_BYTES);
+            columns.getRxOverErr()[i] = input.getLong(counter += EncodeConstants.SIZE_OF_LONG_IN_BYTES);
+            columns.getRxCrcErr()[i] = input.getLong(counter += EncodeConstants.SIZE_OF_LONG_IN_BYTES);
+            columns.getCollisions()[i] = input.getLong(counter += EncodeConstants.SIZE_OF_LONG_IN_BYTES);
+            counter += EncodeConstants.SIZE_OF_LONG_IN_BYTES;
+            columns.getDurationSec()[i] = v10 ? 0 : input.getInt(counter);
+            columns.getDurationNsec()[i] = v10 ? 0 : input.getInt(counter + EncodeConstants.SIZE_OF_INT_IN_BYTES);
+            offset += entryLength;
+        }
+        input.readerIndex(end);
+    }
+
+    private static void decodeQueueStats(final ByteBuf input, final short version, final QueueStatsColumns columns) {
+        final boolean v10 = version == EncodeConstants.OF10_VERSION_ID;
+        final int entryLength = v10 ? OF10_QUEUE_STATS_LENGTH : OF13_QUEUE_STATS_LENGTH;
+        int offset = input.readerIndex();
+        final int end = input.writerIndex();
+        Preconditions.checkArgument((end - offset) % entryLength == 0, "Invalid queue stats body length %s",
+                end - offset);
+        while (offset < end) {
+            final int i = columns.append();
+            columns.getPortNos()[i] = v10 ? input.getUnsignedShort(offset) : input.getInt(offset);
+            columns.getQueueIds()[i] = input.getInt(offset + 4);
+            columns.getTxBytes()[i] = input.getLong(offset + 8);
+            columns.getTxPackets()[i] = input.getLong(offset + 16);
+            columns.getTxErrors()[i] = input.getLong(offset + 24);
+            columns.getDurationSec()[i] = v10 ? 0 : input.getInt(offset + 32);
+            columns.getDurationNsec()[i] = v10 ? 0 : input.getInt(offset + 36);
+            offset += entryLength;
+        }
+        input.readerIndex(end);
+    }
+}
@@ -30,13 +30,14 @@ import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.common.instruction
 public abstract class AbstractActionInstructionDeserializer implements OFDeserializer<Instruction>,
         DeserializerRegistryInjector {
 
+    private static final CodeKeyMaker ACTION_KEY_MAKER =
+            CodeKeyMakerFactory.createActionsKeyMaker(EncodeConstants.OF13_VERSION_ID);
     private DeserializerRegistry registry;
 
     protected List<Action> deserializeActions(ByteBuf input, int instructionLength) {
         int length = instructionLength - InstructionConstants.STANDARD_INSTRUCTION_LENGTH;
-        CodeKeyMaker keyMaker = CodeKeyMakerFactory.createActionsKeyMaker(EncodeConstants.OF13_VERSION_ID);
         List<Action> actions = ListDeserializer.deserializeList(
-                EncodeConstants.OF13_VERSION_ID, length, input, keyMaker, getRegistry());
+                EncodeConstants.OF13_VERSION_ID, length, input, ACTION_KEY_MAKER, getRegistry());
         return actions;
     }
 
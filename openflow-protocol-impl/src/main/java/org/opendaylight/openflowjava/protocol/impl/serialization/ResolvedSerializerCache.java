@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.impl.serialization;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
+import org.opendaylight.openflowjava.protocol.api.extensibility.OFGeneralSerializer;
+
+/**
+ * Caches serializers resolved from {@link SerializerRegistryImpl} by binding class, version and qualifier
+ * (e.g. OXM class of match entry), so that lookups do not allocate registry keys. Instances are never
+ * cleared - registry replaces the whole cache whenever it is modified.
+ */
+final class ResolvedSerializerCache {
+
+    private static final Entry[] EMPTY = new Entry[0];
+
+    private final ClassValue<AtomicReference<Entry[]>> entries = new ClassValue<AtomicReference<Entry[]>>() {
+        @Override
+        protected AtomicReference<Entry[]> computeValue(final Class<?> type) {
+            return new AtomicReference<>(EMPTY);
+        }
+    };
+
+    /**
+     * @param version openflow wire version
+     * @param type binding class the serializer is resolved by
+     * @param qualifier additional class distinguishing serializers of the same type, may be null
+     * @return cached serializer or null if the serializer was not resolved yet
+     */
+    OFGeneralSerializer get(final short version, final Class<?> type, final Class<?> qualifier) {
+        for (Entry entry : entries.get(type).get()) {
+            if (entry.version == version && entry.qualifier == qualifier) {
+                return entry.serializer;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Stores resolved serializer
+     * @param version openflow wire version
+     * @param type binding class the serializer is resolved by
+     * @param qualifier additional class distinguishing serializers of the same type, may be null
+     * @param serializer resolved serializer
+     */
+    void put(final short version, final Class<?> type, final Class<?> qualifier,
+            final OFGeneralSerializer serializer) {
+        final AtomicReference<Entry[]> ref = entries.get(type);
+        final Entry added = new Entry(version, qualifier, serializer);
+        while (true) {
+            final Entry[] current = ref.get();
+            for (Entry entry : current) {
+                if (entry.version == version && entry.qualifier == qualifier) {
+                    return;
+                }
+            }
+            final Entry[] updated = Arrays.copyOf(current, current.length + 1);
+            updated[current.length] = added;
+            if (ref.compareAndSet(current, updated)) {
+                return;
+            }
+        }
+    }
+
+    private static final class Entry {
+        final short version;
+        final Class<?> qualifier;
+        final OFGeneralSerializer serializer;
+
+        Entry(final short version, final Class<?> qualifier, final OFGeneralSerializer serializer) {
+            this.version = version;
+            this.qualifier = qualifier;
+            this.serializer = serializer;
+        }
+    }
+}
@@ -10,10 +10,15 @@ package org.opendaylight.openflowjava.protocol.impl.serialization;
 
 import io.netty.buffer.ByteBuf;
 
+import org.opendaylight.openflowjava.protocol.api.extensibility.OFGeneralSerializer;
 import org.opendaylight.openflowjava.protocol.api.extensibility.OFSerializer;
+import org.opendaylight.openflowjava.protocol.api.extensibility.SerializedSizeEstimator;
 import org.opendaylight.openflowjava.protocol.api.extensibility.SerializerRegistry;
 import org.opendaylight.openflowjava.protocol.api.keys.MessageTypeKey;
+import org.opendaylight.openflowjava.protocol.impl.util.SerializedSizeUtils;
 import org.opendaylight.yangtools.yang.binding.DataObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * @author michal.polkorab
@@ -21,6 +26,8 @@ import org.opendaylight.yangtools.yang.binding.DataObject;
  */
 public class SerializationFactory {
 
+    private static final Logger LOG = LoggerFactory.getLogger(SerializationFactory.class);
+
     private SerializerRegistry registry;
 
     /**
@@ -30,11 +37,35 @@ public class SerializationFactory {
      * @param message POJO message
      */
     public void messageToBuffer(short version, ByteBuf out, DataObject message) {
-        OFSerializer<DataObject> serializer = registry.getSerializer(
-                new MessageTypeKey<>(version, message.getImplementedInterface()));
+        final OFSerializer<DataObject> serializer = getSerializer(version, message);
         serializer.serialize(message, out);
     }
 
+    /**
+     * Estimates length of serialized message, so that output buffer of the right size can be allocated
+     * @param version version used for encoding received message
+     * @param message POJO message
+     * @return estimated length in bytes, or {@link SerializedSizeEstimator#UNKNOWN_SIZE} if the message
+     *         serializer does not provide estimates
+     */
+    public int estimateSize(short version, DataObject message) {
+        try {
+            return SerializedSizeUtils.estimateSize(getSerializer(version, message), message);
+        } catch (RuntimeException e) {
+            // Serialization reports the failure, estimate just falls back to default allocation
+            LOG.trace("Failed to estimate length of message {}", message, e);
+            return SerializedSizeEstimator.UNKNOWN_SIZE;
+        }
+    }
+
+    private <S extends OFGeneralSerializer> S getSerializer(short version, DataObject message) {
+        if (registry instanceof SerializerRegistryImpl) {
+            return ((SerializerRegistryImpl) registry).getMessageSerializer(version,
+                    message.getImplementedInterface());
+        }
+        return registry.getSerializer(new MessageTypeKey<>(version, message.getImplementedInterface()));
+    }
+
     /**
      * @param serializerRegistry registry with serializers
      */
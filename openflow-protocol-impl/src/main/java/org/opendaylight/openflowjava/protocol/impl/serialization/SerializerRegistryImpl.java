@@ -15,8 +15,10 @@ import org.opendaylight.openflowjava.protocol.api.extensibility.SerializerRegist
 import org.opendaylight.openflowjava.protocol.api.extensibility.SerializerRegistryInjector;
 import org.opendaylight.openflowjava.protocol.api.keys.MessageTypeKey;
 import org.opendaylight.openflowjava.protocol.api.util.EncodeConstants;
+import org.opendaylight.openflowjava.protocol.impl.util.AbstractTypeKeyMaker;
 import org.opendaylight.openflowjava.protocol.impl.util.OF10MatchSerializer;
 import org.opendaylight.openflowjava.protocol.impl.util.OF13MatchSerializer;
+import org.opendaylight.openflowjava.protocol.impl.util.TypeKeyMaker;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.match.grouping.Match;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.match.v10.grouping.MatchV10;
 import org.slf4j.Logger;
@@ -38,10 +40,12 @@ public class SerializerRegistryImpl implements SerializerRegistry {
     private static final short OF10 = EncodeConstants.OF10_VERSION_ID;
     private static final short OF13 = EncodeConstants.OF13_VERSION_ID;
     private Map<MessageTypeKey<?>, OFGeneralSerializer> registry;
+    private volatile ResolvedSerializerCache resolvedSerializers = new ResolvedSerializerCache();
 
     @Override
     public void init() {
         registry = new HashMap<>();
+        resolvedSerializers = new ResolvedSerializerCache();
         // Openflow message type serializers
         MessageFactoryInitializer.registerMessageSerializers(this);
 
@@ -76,12 +80,58 @@ public class SerializerRegistryImpl implements SerializerRegistry {
         return (S) serializer;
     }
 
+    /**
+     * Returns serializer of given message type. Resolved serializers are cached until the registry
+     * is modified, so repeated lookups do not allocate keys.
+     * @param version openflow wire version
+     * @param type implemented interface of the message
+     * @return encoder for given type of message
+     */
+    @SuppressWarnings("unchecked")
+    public <S extends OFGeneralSerializer> S getMessageSerializer(short version, Class<?> type) {
+        final ResolvedSerializerCache cache = resolvedSerializers;
+        OFGeneralSerializer serializer = cache.get(version, type, null);
+        if (serializer == null) {
+            serializer = getSerializer(new MessageTypeKey<>(version, type));
+            cache.put(version, type, null, serializer);
+        }
+        return (S) serializer;
+    }
+
+    /**
+     * Returns serializer of given entry. Serializers of entries with serializer type provided
+     * by the key maker are cached until the registry is modified, other entries are looked up by key.
+     * @param keyMaker creates key for registry lookup
+     * @param entry entry to be serialized
+     * @return serializer for given entry
+     */
+    @SuppressWarnings("unchecked")
+    public <T, S extends OFGeneralSerializer> S getSerializer(TypeKeyMaker<T> keyMaker, T entry) {
+        if (keyMaker instanceof AbstractTypeKeyMaker) {
+            final AbstractTypeKeyMaker<T> cachingKeyMaker = (AbstractTypeKeyMaker<T>) keyMaker;
+            final Class<?> type = cachingKeyMaker.getSerializerType(entry);
+            if (type != null) {
+                final ResolvedSerializerCache cache = resolvedSerializers;
+                final short version = cachingKeyMaker.getVersion();
+                final Class<?> qualifier = cachingKeyMaker.getSerializerQualifier(entry);
+                OFGeneralSerializer serializer = cache.get(version, type, qualifier);
+                if (serializer == null) {
+                    serializer = getSerializer(keyMaker.make(entry));
+                    cache.put(version, type, qualifier, serializer);
+                }
+                return (S) serializer;
+            }
+        }
+        return getSerializer(keyMaker.make(entry));
+    }
+
     @Override
     public <K> void registerSerializer(MessageTypeKey<K> msgTypeKey, OFGeneralSerializer serializer) {
         if ((msgTypeKey == null) || (serializer == null)) {
             throw new IllegalArgumentException("MessageTypeKey or Serializer is null");
         }
         OFGeneralSerializer serInRegistry = registry.put(msgTypeKey, serializer);
+        resolvedSerializers = new ResolvedSerializerCache();
         if (serInRegistry != null) {
             LOG.debug("Serializer for key {} overwritten. Old serializer: {}, new serializer: {}", msgTypeKey,
                     serInRegistry.getClass().getName(), serializer.getClass().getName());
@@ -100,6 +150,7 @@ public class SerializerRegistryImpl implements SerializerRegistry {
         if (serializer == null) {
             return false;
         }
+        resolvedSerializers = new ResolvedSerializerCache();
         return true;
     }
 }
@@ -12,6 +12,7 @@ import io.netty.buffer.ByteBuf;
 
 import org.opendaylight.openflowjava.protocol.api.extensibility.HeaderSerializer;
 import org.opendaylight.openflowjava.protocol.api.extensibility.OFSerializer;
+import org.opendaylight.openflowjava.protocol.api.extensibility.SerializedSizeEstimator;
 import org.opendaylight.openflowjava.protocol.impl.util.ActionConstants;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.common.action.rev150203.actions.grouping.Action;
 
@@ -20,7 +21,7 @@ import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.common.action.rev1
  *
  */
 public abstract class AbstractActionSerializer implements OFSerializer<Action>,
-        HeaderSerializer<Action>{
+        HeaderSerializer<Action>, SerializedSizeEstimator<Action> {
 
     @Override
     public void serialize(Action input, ByteBuf outBuffer) {
@@ -28,6 +29,11 @@ public abstract class AbstractActionSerializer implements OFSerializer<Action>,
         outBuffer.writeShort(getLength());
     }
 
+    @Override
+    public int estimateSerializedSize(Action input) {
+        return getLength();
+    }
+
     @Override
     public void serializeHeader(Action input, ByteBuf outBuffer) {
         outBuffer.writeShort(getType());
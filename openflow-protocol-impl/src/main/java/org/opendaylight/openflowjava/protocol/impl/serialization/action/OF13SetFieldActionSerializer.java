@@ -12,15 +12,17 @@ import io.netty.buffer.ByteBuf;
 
 import org.opendaylight.openflowjava.protocol.api.extensibility.HeaderSerializer;
 import org.opendaylight.openflowjava.protocol.api.extensibility.OFSerializer;
+import org.opendaylight.openflowjava.protocol.api.extensibility.SerializedSizeEstimator;
 import org.opendaylight.openflowjava.protocol.api.extensibility.SerializerRegistry;
 import org.opendaylight.openflowjava.protocol.api.extensibility.SerializerRegistryInjector;
-import org.opendaylight.openflowjava.protocol.api.keys.MatchEntrySerializerKey;
 import org.opendaylight.openflowjava.protocol.api.util.EncodeConstants;
 import org.opendaylight.openflowjava.protocol.impl.util.ActionConstants;
-import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.augments.rev150225.oxm.container.match.entry.value.ExperimenterIdCase;
+import org.opendaylight.openflowjava.protocol.impl.util.ListSerializer;
+import org.opendaylight.openflowjava.protocol.impl.util.SerializedSizeUtils;
+import org.opendaylight.openflowjava.protocol.impl.util.TypeKeyMaker;
+import org.opendaylight.openflowjava.protocol.impl.util.TypeKeyMakerFactory;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.common.action.rev150203.action.grouping.action.choice.SetFieldCase;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.common.action.rev150203.actions.grouping.Action;
-import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.ExperimenterClass;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.match.entries.grouping.MatchEntry;
 
 /**
@@ -28,8 +30,10 @@ import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.matc
  *
  */
 public class OF13SetFieldActionSerializer implements OFSerializer<Action>,
-        HeaderSerializer<Action>, SerializerRegistryInjector {
+        HeaderSerializer<Action>, SerializedSizeEstimator<Action>, SerializerRegistryInjector {
 
+    private static final TypeKeyMaker<MatchEntry> KEY_MAKER =
+            TypeKeyMakerFactory.createMatchEntriesKeyMaker(EncodeConstants.OF13_VERSION_ID);
     private SerializerRegistry registry;
 
     @Override
@@ -38,17 +42,8 @@ public class OF13SetFieldActionSerializer implements OFSerializer<Action>,
         outBuffer.writeShort(ActionConstants.SET_FIELD_CODE);
         int lengthIndex = outBuffer.writerIndex();
         outBuffer.writeShort(EncodeConstants.EMPTY_LENGTH);
-        MatchEntry entry = ((SetFieldCase) action.getActionChoice()).getSetFieldAction()
-                .getMatchEntry().get(0);
-        MatchEntrySerializerKey<?, ?> key = new MatchEntrySerializerKey<>(
-                EncodeConstants.OF13_VERSION_ID, entry.getOxmClass(), entry.getOxmMatchField());
-        if (entry.getOxmClass().equals(ExperimenterClass.class)) {
-            ExperimenterIdCase experimenterIdCase = (ExperimenterIdCase) entry.getMatchEntryValue();
-            key.setExperimenterId(experimenterIdCase.getExperimenter().getExperimenter().getValue());
-        } else {
-            key.setExperimenterId(null);
-        }
-        OFSerializer<MatchEntry> serializer = registry.getSerializer(key);
+        MatchEntry entry = getMatchEntry(action);
+        OFSerializer<MatchEntry> serializer = ListSerializer.lookupSerializer(registry, KEY_MAKER, entry);
         serializer.serialize(entry, outBuffer);
         int paddingRemainder = (outBuffer.writerIndex() - startIndex) % EncodeConstants.PADDING;
         if (paddingRemainder != 0) {
@@ -57,6 +52,19 @@ public class OF13SetFieldActionSerializer implements OFSerializer<Action>,
         outBuffer.setShort(lengthIndex, outBuffer.writerIndex() - startIndex);
     }
 
+    @Override
+    public int estimateSerializedSize(Action action) {
+        MatchEntry entry = getMatchEntry(action);
+        OFSerializer<MatchEntry> serializer = ListSerializer.lookupSerializer(registry, KEY_MAKER, entry);
+        // type + length + match entry, padded
+        return SerializedSizeUtils.padded(SerializedSizeUtils.add(EncodeConstants.SIZE_OF_INT_IN_BYTES,
+                SerializedSizeUtils.estimateSize(serializer, entry)));
+    }
+
+    private static MatchEntry getMatchEntry(Action action) {
+        return ((SetFieldCase) action.getActionChoice()).getSetFieldAction().getMatchEntry().get(0);
+    }
+
     @Override
     public void serializeHeader(Action input, ByteBuf outBuffer) {
         outBuffer.writeShort(ActionConstants.SET_FIELD_CODE);
@@ -10,11 +10,13 @@ package org.opendaylight.openflowjava.protocol.impl.serialization.factories;
 
 import io.netty.buffer.ByteBuf;
 import org.opendaylight.openflowjava.protocol.api.extensibility.OFSerializer;
+import org.opendaylight.openflowjava.protocol.api.extensibility.SerializedSizeEstimator;
 import org.opendaylight.openflowjava.protocol.api.extensibility.SerializerRegistry;
 import org.opendaylight.openflowjava.protocol.api.extensibility.SerializerRegistryInjector;
 import org.opendaylight.openflowjava.protocol.api.keys.MessageTypeKey;
 import org.opendaylight.openflowjava.protocol.api.util.EncodeConstants;
 import org.opendaylight.openflowjava.protocol.impl.util.ListSerializer;
+import org.opendaylight.openflowjava.protocol.impl.util.SerializedSizeUtils;
 import org.opendaylight.openflowjava.protocol.impl.util.TypeKeyMaker;
 import org.opendaylight.openflowjava.protocol.impl.util.TypeKeyMakerFactory;
 import org.opendaylight.openflowjava.util.ByteBufUtils;
@@ -29,8 +31,10 @@ import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731
  * @author timotej.kubas
  * @author michal.polkorab
  */
-public class FlowModInputMessageFactory implements OFSerializer<FlowMod>, SerializerRegistryInjector {
+public class FlowModInputMessageFactory implements OFSerializer<FlowMod>, SerializedSizeEstimator<FlowMod>,
+        SerializerRegistryInjector {
     private static final byte MESSAGE_TYPE = 14;
+    private static final int FLOW_MOD_LENGTH_WITHOUT_MATCH = 48;
     private static final byte PADDING_IN_FLOW_MOD_MESSAGE = 2;
     private static final TypeKeyMaker<Instruction> INSTRUCTION_KEY_MAKER =
             TypeKeyMakerFactory.createInstructionKeyMaker(EncodeConstants.OF13_VERSION_ID);
@@ -58,6 +62,16 @@ public class FlowModInputMessageFactory implements OFSerializer<FlowMod>, Serial
         ByteBufUtils.updateOFHeaderLength(outBuffer, index);
     }
 
+    @Override
+    public int estimateSerializedSize(final FlowMod message) {
+        final OFSerializer<Match> matchSerializer = registry.getSerializer(
+                new MessageTypeKey<>(message.getVersion(), Match.class));
+        final int size = SerializedSizeUtils.add(FLOW_MOD_LENGTH_WITHOUT_MATCH,
+                SerializedSizeUtils.estimateSize(matchSerializer, message.getMatch()));
+        return SerializedSizeUtils.add(size,
+                SerializedSizeUtils.estimateListSize(message.getInstruction(), INSTRUCTION_KEY_MAKER, registry));
+    }
+
     @Override
     public void injectSerializerRegistry(final SerializerRegistry serializerRegistry) {
         this.registry = serializerRegistry;
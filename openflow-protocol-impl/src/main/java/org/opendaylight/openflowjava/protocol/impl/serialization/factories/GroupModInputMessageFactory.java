@@ -11,12 +11,16 @@ package org.opendaylight.openflowjava.protocol.impl.serialization.factories;
 import io.netty.buffer.ByteBuf;
 import java.util.List;
 import org.opendaylight.openflowjava.protocol.api.extensibility.OFSerializer;
+import org.opendaylight.openflowjava.protocol.api.extensibility.SerializedSizeEstimator;
 import org.opendaylight.openflowjava.protocol.api.extensibility.SerializerRegistry;
 import org.opendaylight.openflowjava.protocol.api.extensibility.SerializerRegistryInjector;
 import org.opendaylight.openflowjava.protocol.api.util.EncodeConstants;
 import org.opendaylight.openflowjava.protocol.impl.util.ListSerializer;
+import org.opendaylight.openflowjava.protocol.impl.util.SerializedSizeUtils;
+import org.opendaylight.openflowjava.protocol.impl.util.TypeKeyMaker;
 import org.opendaylight.openflowjava.protocol.impl.util.TypeKeyMakerFactory;
 import org.opendaylight.openflowjava.util.ByteBufUtils;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.common.action.rev150203.actions.grouping.Action;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.GroupMod;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.buckets.grouping.BucketsList;
 
@@ -26,10 +30,15 @@ import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731
  * @author timotej.kubas
  * @author michal.polkorab
  */
-public class GroupModInputMessageFactory implements OFSerializer<GroupMod>, SerializerRegistryInjector {
+public class GroupModInputMessageFactory implements OFSerializer<GroupMod>, SerializedSizeEstimator<GroupMod>,
+        SerializerRegistryInjector {
     private static final byte MESSAGE_TYPE = 15;
     private static final byte PADDING_IN_GROUP_MOD_MESSAGE = 1;
     private static final byte PADDING_IN_BUCKET = 4;
+    private static final int GROUP_MOD_LENGTH_WITHOUT_BUCKETS = 16;
+    private static final int BUCKET_LENGTH_WITHOUT_ACTIONS = 16;
+    private static final TypeKeyMaker<Action> ACTION_KEY_MAKER =
+            TypeKeyMakerFactory.createActionKeyMaker(EncodeConstants.OF13_VERSION_ID);
     private SerializerRegistry registry;
 
     @Override
@@ -53,13 +62,25 @@ public class GroupModInputMessageFactory implements OFSerializer<GroupMod>, Seri
                 outBuffer.writeInt(currentBucket.getWatchPort().getValue().intValue());
                 outBuffer.writeInt(currentBucket.getWatchGroup().intValue());
                 outBuffer.writeZero(PADDING_IN_BUCKET);
-                ListSerializer.serializeList(currentBucket.getAction(), TypeKeyMakerFactory
-                        .createActionKeyMaker(EncodeConstants.OF13_VERSION_ID), registry, outBuffer);
+                ListSerializer.serializeList(currentBucket.getAction(), ACTION_KEY_MAKER, registry, outBuffer);
                 outBuffer.setShort(bucketLengthIndex, outBuffer.writerIndex() - bucketLengthIndex);
             }
         }
     }
 
+    @Override
+    public int estimateSerializedSize(GroupMod message) {
+        int size = GROUP_MOD_LENGTH_WITHOUT_BUCKETS;
+        if (message.getBucketsList() != null) {
+            for (BucketsList bucket : message.getBucketsList()) {
+                size = SerializedSizeUtils.add(size, BUCKET_LENGTH_WITHOUT_ACTIONS);
+                size = SerializedSizeUtils.add(size,
+                        SerializedSizeUtils.estimateListSize(bucket.getAction(), ACTION_KEY_MAKER, registry));
+            }
+        }
+        return size;
+    }
+
     @Override
     public void injectSerializerRegistry(SerializerRegistry serializerRegistry) {
         this.registry = serializerRegistry;
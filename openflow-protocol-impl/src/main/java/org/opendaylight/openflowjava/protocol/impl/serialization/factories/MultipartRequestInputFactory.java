@@ -11,11 +11,13 @@ package org.opendaylight.openflowjava.protocol.impl.serialization.factories;
 import io.netty.buffer.ByteBuf;
 import java.util.List;
 import org.opendaylight.openflowjava.protocol.api.extensibility.OFSerializer;
+import org.opendaylight.openflowjava.protocol.api.extensibility.SerializedSizeEstimator;
 import org.opendaylight.openflowjava.protocol.api.extensibility.SerializerRegistry;
 import org.opendaylight.openflowjava.protocol.api.extensibility.SerializerRegistryInjector;
 import org.opendaylight.openflowjava.protocol.api.keys.MessageTypeKey;
 import org.opendaylight.openflowjava.protocol.api.util.EncodeConstants;
 import org.opendaylight.openflowjava.protocol.impl.util.ListSerializer;
+import org.opendaylight.openflowjava.protocol.impl.util.SerializedSizeUtils;
 import org.opendaylight.openflowjava.protocol.impl.util.TypeKeyMaker;
 import org.opendaylight.openflowjava.protocol.impl.util.TypeKeyMakerFactory;
 import org.opendaylight.openflowjava.util.ByteBufUtils;
@@ -68,8 +70,12 @@ import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731
  * @author timotej.kubas
  * @author michal.polkorab
  */
-public class MultipartRequestInputFactory implements OFSerializer<MultipartRequestInput>, SerializerRegistryInjector {
+public class MultipartRequestInputFactory implements OFSerializer<MultipartRequestInput>,
+        SerializedSizeEstimator<MultipartRequestInput>, SerializerRegistryInjector {
     private static final byte MESSAGE_TYPE = 18;
+    private static final int MULTIPART_REQUEST_HEADER_LENGTH = 16;
+    private static final int FLOW_BODY_LENGTH_WITHOUT_MATCH = 32;
+    private static final int FIXED_BODY_LENGTH = 8;
     private static final byte PADDING_IN_MULTIPART_REQUEST_MESSAGE = 4;
     private static final byte INSTRUCTIONS_CODE = 0;
     private static final byte INSTRUCTIONS_MISS_CODE = 1;
@@ -137,6 +143,35 @@ public class MultipartRequestInputFactory implements OFSerializer<MultipartReque
         ByteBufUtils.updateOFHeaderLength(outBuffer);
     }
 
+    @Override
+    public int estimateSerializedSize(final MultipartRequestInput message) {
+        final MultipartRequestBody body = message.getMultipartRequestBody();
+        if (body instanceof MultipartRequestFlowCase) {
+            return SerializedSizeUtils.add(MULTIPART_REQUEST_HEADER_LENGTH + FLOW_BODY_LENGTH_WITHOUT_MATCH,
+                    estimateMatchSize(((MultipartRequestFlowCase) body).getMultipartRequestFlow().getMatch()));
+        } else if (body instanceof MultipartRequestAggregateCase) {
+            return SerializedSizeUtils.add(MULTIPART_REQUEST_HEADER_LENGTH + FLOW_BODY_LENGTH_WITHOUT_MATCH,
+                    estimateMatchSize(((MultipartRequestAggregateCase) body).getMultipartRequestAggregate()
+                            .getMatch()));
+        } else if (body instanceof MultipartRequestPortStatsCase || body instanceof MultipartRequestQueueCase
+                || body instanceof MultipartRequestGroupCase || body instanceof MultipartRequestMeterCase
+                || body instanceof MultipartRequestMeterConfigCase) {
+            return MULTIPART_REQUEST_HEADER_LENGTH + FIXED_BODY_LENGTH;
+        } else if (body instanceof MultipartRequestTableFeaturesCase
+                || body instanceof MultipartRequestExperimenterCase) {
+            // rarely sent, table features properties and experimenter data are not worth estimating
+            return UNKNOWN_SIZE;
+        }
+        // remaining bodies are empty
+        return MULTIPART_REQUEST_HEADER_LENGTH;
+    }
+
+    private int estimateMatchSize(final Match match) {
+        OFSerializer<Match> serializer = registry.getSerializer(new MessageTypeKey<>(
+                EncodeConstants.OF13_VERSION_ID, Match.class));
+        return SerializedSizeUtils.estimateSize(serializer, match);
+    }
+
     private void serializeExperimenterBody(final MultipartRequestInput message,
             final ByteBuf outBuffer) {
         MultipartRequestExperimenterCase expCase =
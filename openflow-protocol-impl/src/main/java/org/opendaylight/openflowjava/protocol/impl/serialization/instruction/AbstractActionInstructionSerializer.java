@@ -17,6 +17,7 @@ import org.opendaylight.openflowjava.protocol.api.extensibility.SerializerRegist
 import org.opendaylight.openflowjava.protocol.api.util.EncodeConstants;
 import org.opendaylight.openflowjava.protocol.impl.util.InstructionConstants;
 import org.opendaylight.openflowjava.protocol.impl.util.ListSerializer;
+import org.opendaylight.openflowjava.protocol.impl.util.SerializedSizeUtils;
 import org.opendaylight.openflowjava.protocol.impl.util.TypeKeyMaker;
 import org.opendaylight.openflowjava.protocol.impl.util.TypeKeyMakerFactory;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.common.action.rev150203.actions.grouping.Action;
@@ -42,6 +43,15 @@ public abstract class AbstractActionInstructionSerializer extends AbstractInstru
         outBuffer.setShort(lengthIndex, instructionLength);
     }
 
+    /**
+     * @param actions actions of instruction
+     * @return estimated length of instruction carrying given actions
+     */
+    protected int estimateActionsSize(final List<Action> actions) {
+        return SerializedSizeUtils.add(InstructionConstants.STANDARD_INSTRUCTION_LENGTH,
+                SerializedSizeUtils.estimateListSize(actions, ACTION_KEY_MAKER, getRegistry()));
+    }
+
     protected SerializerRegistry getRegistry() {
         return registry;
     }
@@ -12,6 +12,7 @@ import io.netty.buffer.ByteBuf;
 
 import org.opendaylight.openflowjava.protocol.api.extensibility.HeaderSerializer;
 import org.opendaylight.openflowjava.protocol.api.extensibility.OFSerializer;
+import org.opendaylight.openflowjava.protocol.api.extensibility.SerializedSizeEstimator;
 import org.opendaylight.openflowjava.protocol.impl.util.InstructionConstants;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.common.instruction.rev130731.instructions.grouping.Instruction;
 
@@ -20,7 +21,12 @@ import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.common.instruction
  *
  */
 public abstract class AbstractInstructionSerializer implements OFSerializer<Instruction>,
-        HeaderSerializer<Instruction> {
+        HeaderSerializer<Instruction>, SerializedSizeEstimator<Instruction> {
+
+    @Override
+    public int estimateSerializedSize(Instruction input) {
+        return InstructionConstants.STANDARD_INSTRUCTION_LENGTH;
+    }
 
     @Override
     public void serializeHeader(Instruction input, ByteBuf outBuffer) {
@@ -37,6 +37,15 @@ public class ApplyActionsInstructionSerializer extends AbstractActionInstruction
         }
     }
 
+    @Override
+    public int estimateSerializedSize(final Instruction instruction) {
+        ApplyActionsCase actionsCase = (ApplyActionsCase) instruction.getInstructionChoice();
+        if (actionsCase != null) {
+            return estimateActionsSize(actionsCase.getApplyActions().getAction());
+        }
+        return InstructionConstants.STANDARD_INSTRUCTION_LENGTH;
+    }
+
     @Override
     protected int getType() {
         return InstructionConstants.APPLY_ACTIONS_TYPE;
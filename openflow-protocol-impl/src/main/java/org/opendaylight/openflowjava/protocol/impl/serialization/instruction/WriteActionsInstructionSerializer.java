@@ -37,6 +37,15 @@ public class WriteActionsInstructionSerializer extends AbstractActionInstruction
         }
     }
 
+    @Override
+    public int estimateSerializedSize(final Instruction instruction) {
+        WriteActionsCase actionsCase = (WriteActionsCase) instruction.getInstructionChoice();
+        if (actionsCase != null) {
+            return estimateActionsSize(actionsCase.getWriteActions().getAction());
+        }
+        return InstructionConstants.STANDARD_INSTRUCTION_LENGTH;
+    }
+
     @Override
     protected int getType() {
         return InstructionConstants.WRITE_ACTIONS_TYPE;
@@ -32,6 +32,11 @@ public class WriteMetadataInstructionSerializer extends AbstractInstructionSeria
         outBuffer.writeBytes(metadata.getMetadataMask());
     }
 
+    @Override
+    public int estimateSerializedSize(Instruction input) {
+        return InstructionConstants.WRITE_METADATA_LENGTH;
+    }
+
     @Override
     protected int getType() {
         return InstructionConstants.WRITE_METADATA_TYPE;
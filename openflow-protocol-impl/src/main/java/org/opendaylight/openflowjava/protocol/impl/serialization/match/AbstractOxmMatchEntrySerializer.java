@@ -11,6 +11,8 @@ import io.netty.buffer.ByteBuf;
 
 import org.opendaylight.openflowjava.protocol.api.extensibility.HeaderSerializer;
 import org.opendaylight.openflowjava.protocol.api.extensibility.OFSerializer;
+import org.opendaylight.openflowjava.protocol.api.extensibility.SerializedSizeEstimator;
+import org.opendaylight.openflowjava.protocol.api.util.EncodeConstants;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.match.entries.grouping.MatchEntry;
 
 /**
@@ -18,7 +20,7 @@ import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.matc
  * @author michal.polkorab
  */
 public abstract class AbstractOxmMatchEntrySerializer
-    implements OFSerializer<MatchEntry>, HeaderSerializer<MatchEntry>{
+    implements OFSerializer<MatchEntry>, HeaderSerializer<MatchEntry>, SerializedSizeEstimator<MatchEntry> {
 
     @Override
     public void serialize(MatchEntry entry, ByteBuf outBuffer) {
@@ -32,6 +34,11 @@ public abstract class AbstractOxmMatchEntrySerializer
                 getValueLength());
     }
 
+    @Override
+    public int estimateSerializedSize(MatchEntry entry) {
+        return EncodeConstants.SIZE_OF_INT_IN_BYTES + (entry.isHasMask() ? 2 : 1) * getValueLength();
+    }
+
     protected static void writeMask(byte[] mask, ByteBuf out, int length) {
         if (mask != null && mask.length != length) {
             throw new IllegalArgumentException("incorrect length of mask: "+
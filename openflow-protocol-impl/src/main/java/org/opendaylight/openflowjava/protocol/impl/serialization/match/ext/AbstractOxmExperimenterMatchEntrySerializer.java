@@ -31,6 +31,11 @@ public abstract class AbstractOxmExperimenterMatchEntrySerializer extends Abstra
                 getValueLength());
     }
 
+    @Override
+    public int estimateSerializedSize(MatchEntry entry) {
+        return super.estimateSerializedSize(entry) + EncodeConstants.SIZE_OF_INT_IN_BYTES;
+    }
+
     protected static void writeOxmFieldAndLength(ByteBuf out, int fieldValue, boolean hasMask, int lengthArg) {
         int fieldAndMask = fieldValue << 1;
         int length = lengthArg;
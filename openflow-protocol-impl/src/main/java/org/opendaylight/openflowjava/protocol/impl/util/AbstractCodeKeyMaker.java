@@ -7,11 +7,15 @@
  */
 package org.opendaylight.openflowjava.protocol.impl.util;
 
+import io.netty.buffer.ByteBuf;
 /**
  * @author michal.polkorab
  */
 public abstract class AbstractCodeKeyMaker implements CodeKeyMaker {
 
+    /** Returned by {@link #getDeserializerCode(ByteBuf)} if deserializer has to be looked up by key */
+    public static final long NO_CODE = -1;
+
     private short version;
 
     /**
@@ -29,4 +33,15 @@ public abstract class AbstractCodeKeyMaker implements CodeKeyMaker {
         return version;
     }
 
+    /**
+     * Deserializer of entry may be cached by the registry only if this method returns non-negative code.
+     * Entries with equal codes (within the same key maker class and version) have to produce equal keys
+     * in {@link #make(ByteBuf)}.
+     * @param input buffer with entry at reader index, reader index is not changed
+     * @return code identifying deserializer of entry, or {@link #NO_CODE}
+     */
+    public long getDeserializerCode(ByteBuf input) {
+        return NO_CODE;
+    }
+
 }
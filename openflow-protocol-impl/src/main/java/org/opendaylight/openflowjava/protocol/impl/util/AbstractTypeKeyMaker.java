@@ -32,4 +32,23 @@ public abstract class AbstractTypeKeyMaker<T> implements TypeKeyMaker<T> {
         return version;
     }
 
+    /**
+     * Serializer of entry may be cached by the registry only if this method returns non-null value.
+     * Together with {@link #getVersion()} and {@link #getSerializerQualifier(Object)} it has to identify
+     * the same serializer as the key made by {@link #make(Object)}.
+     * @param entry entry to be serialized
+     * @return binding class identifying serializer of entry, or null if it has to be looked up by key
+     */
+    public Class<?> getSerializerType(T entry) {
+        return null;
+    }
+
+    /**
+     * @param entry entry to be serialized
+     * @return class distinguishing serializers sharing the same serializer type, may be null
+     */
+    public Class<?> getSerializerQualifier(T entry) {
+        return null;
+    }
+
 }
@@ -17,6 +17,7 @@ import org.opendaylight.openflowjava.protocol.api.keys.InstructionDeserializerKe
 import org.opendaylight.openflowjava.protocol.api.keys.MatchEntryDeserializerKey;
 import org.opendaylight.openflowjava.protocol.api.keys.MessageCodeKey;
 import org.opendaylight.openflowjava.protocol.api.util.EncodeConstants;
+import org.opendaylight.openflowjava.protocol.api.util.OxmMatchConstants;
 
 /**
  * @author michal.polkorab
@@ -49,6 +50,20 @@ public abstract class CodeKeyMakerFactory {
                 key.setExperimenterId(null);
                 return key;
             }
+
+            @Override
+            public long getDeserializerCode(ByteBuf input) {
+                int oxmClass = input.getUnsignedShort(input.readerIndex());
+                int oxmField = input.getUnsignedByte(input.readerIndex()
+                        + EncodeConstants.SIZE_OF_SHORT_IN_BYTES) >>> 1;
+                // OpenFlow basic class fields get the lowest codes
+                long code = (long) (oxmClass ^ OxmMatchConstants.OPENFLOW_BASIC_CLASS) << 7 | oxmField;
+                if (oxmClass == EncodeConstants.EXPERIMENTER_VALUE) {
+                    return code << 32 | input.getUnsignedInt(input.readerIndex()
+                            + EncodeConstants.SIZE_OF_SHORT_IN_BYTES + 2 * EncodeConstants.SIZE_OF_BYTE_IN_BYTES);
+                }
+                return code;
+            }
         };
     }
 
@@ -69,6 +84,11 @@ public abstract class CodeKeyMakerFactory {
                 ActionDeserializerKey actionDeserializerKey = new ActionDeserializerKey(getVersion(), type, null);
                 return actionDeserializerKey;
             }
+
+            @Override
+            public long getDeserializerCode(ByteBuf input) {
+                return typeOrExperimenterCode(input);
+            }
         };
     }
 
@@ -88,6 +108,22 @@ public abstract class CodeKeyMakerFactory {
                 }
                 return new InstructionDeserializerKey(getVersion(), type, null);
             }
+
+            @Override
+            public long getDeserializerCode(ByteBuf input) {
+                return typeOrExperimenterCode(input);
+            }
         };
     }
+
+    /**
+     * @return type of action / instruction, experimenter id shifted above type range for experimenter ones
+     */
+    private static long typeOrExperimenterCode(ByteBuf input) {
+        int type = input.getUnsignedShort(input.readerIndex());
+        if (type == EncodeConstants.EXPERIMENTER_VALUE) {
+            return 1L << 32 | input.getUnsignedInt(input.readerIndex() + 2 * EncodeConstants.SIZE_OF_SHORT_IN_BYTES);
+        }
+        return type;
+    }
 }
@@ -16,8 +16,10 @@ import java.util.List;
 import org.opendaylight.openflowjava.protocol.api.extensibility.DeserializerRegistry;
 import org.opendaylight.openflowjava.protocol.api.extensibility.HeaderDeserializer;
 import org.opendaylight.openflowjava.protocol.api.extensibility.OFDeserializer;
+import org.opendaylight.openflowjava.protocol.api.extensibility.OFGeneralDeserializer;
 import org.opendaylight.openflowjava.protocol.api.keys.MessageCodeKey;
 import org.opendaylight.openflowjava.protocol.api.util.EncodeConstants;
+import org.opendaylight.openflowjava.protocol.impl.deserialization.DeserializerRegistryImpl;
 import org.opendaylight.yangtools.yang.binding.DataObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -49,7 +51,7 @@ public final class ListDeserializer {
             items = new ArrayList<>();
             int startIndex = input.readerIndex();
             while ((input.readerIndex() - startIndex) < length){
-                OFDeserializer<E> deserializer = registry.getDeserializer(keyMaker.make(input));
+                OFDeserializer<E> deserializer = lookupDeserializer(registry, keyMaker, input);
                 E item = deserializer.deserialize(input);
                 items.add(item);
             }
@@ -75,10 +77,10 @@ public final class ListDeserializer {
             boolean exceptionLogged = false;
             while ((input.readerIndex() - startIndex) < length){
                 HeaderDeserializer<E> deserializer;
-                MessageCodeKey key = keyMaker.make(input);
                 try {
-                    deserializer = registry.getDeserializer(key);
+                    deserializer = lookupDeserializer(registry, keyMaker, input);
                 } catch (ClassCastException | IllegalStateException e) {
+                    MessageCodeKey key = keyMaker.make(input);
                     // Following "if" is only hotfix to prevent log flooding. Log flooding is originally
                     // caused by using OVS 2.4 which directly uses / reports Nicira extensions. These extensions
                     // are not yet (2nd February 2016) fully supported by existing OF Plugin.
@@ -103,4 +105,20 @@ public final class ListDeserializer {
         }
         return items;
     }
+
+    /**
+     * Looks up deserializer of entry at reader index of input, using resolved deserializer cache
+     * if the registry provides it
+     * @param registry stores deserializers
+     * @param keyMaker creates key for registry lookup
+     * @param input buffer with entry at reader index
+     * @return deserializer of the entry
+     */
+    public static <S extends OFGeneralDeserializer> S lookupDeserializer(DeserializerRegistry registry,
+            CodeKeyMaker keyMaker, ByteBuf input) {
+        if (registry instanceof DeserializerRegistryImpl && keyMaker instanceof AbstractCodeKeyMaker) {
+            return ((DeserializerRegistryImpl) registry).getDeserializer((AbstractCodeKeyMaker) keyMaker, input);
+        }
+        return registry.getDeserializer(keyMaker.make(input));
+    }
 }
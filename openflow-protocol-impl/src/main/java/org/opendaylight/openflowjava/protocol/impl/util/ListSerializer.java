@@ -13,8 +13,10 @@ import io.netty.buffer.ByteBuf;
 import java.util.List;
 
 import org.opendaylight.openflowjava.protocol.api.extensibility.HeaderSerializer;
+import org.opendaylight.openflowjava.protocol.api.extensibility.OFGeneralSerializer;
 import org.opendaylight.openflowjava.protocol.api.extensibility.OFSerializer;
 import org.opendaylight.openflowjava.protocol.api.extensibility.SerializerRegistry;
+import org.opendaylight.openflowjava.protocol.impl.serialization.SerializerRegistryImpl;
 import org.opendaylight.yangtools.yang.binding.DataObject;
 
 /**
@@ -38,7 +40,7 @@ public abstract class ListSerializer {
             TypeKeyMaker<E> keyMaker, SerializerRegistry registry, ByteBuf outBuffer) {
         if (list != null) {
             for (E item : list) {
-                OFSerializer<E> serializer = registry.getSerializer(keyMaker.make(item));
+                OFSerializer<E> serializer = lookupSerializer(registry, keyMaker, item);
                 serializer.serialize(item, outBuffer);
             }
         }
@@ -55,10 +57,24 @@ public abstract class ListSerializer {
             TypeKeyMaker<E> keyMaker, SerializerRegistry registry, ByteBuf outBuffer) {
         if (list != null) {
             for (E item : list) {
-                HeaderSerializer<E> serializer = registry.getSerializer(keyMaker.make(item));
+                HeaderSerializer<E> serializer = lookupSerializer(registry, keyMaker, item);
                 serializer.serializeHeader(item, outBuffer);
             }
         }
     }
 
+    /**
+     * Looks up serializer of item, using resolved serializer cache if the registry provides it
+     * @param registry stores serializers
+     * @param keyMaker creates key for registry lookup
+     * @param item item to be serialized
+     * @return serializer of item
+     */
+    public static <E, S extends OFGeneralSerializer> S lookupSerializer(SerializerRegistry registry,
+            TypeKeyMaker<E> keyMaker, E item) {
+        if (registry instanceof SerializerRegistryImpl) {
+            return ((SerializerRegistryImpl) registry).getSerializer(keyMaker, item);
+        }
+        return registry.getSerializer(keyMaker.make(item));
+    }
 }
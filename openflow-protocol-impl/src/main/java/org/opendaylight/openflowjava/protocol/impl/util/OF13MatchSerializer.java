@@ -13,13 +13,11 @@ import io.netty.buffer.ByteBuf;
 import java.util.List;
 
 import org.opendaylight.openflowjava.protocol.api.extensibility.OFSerializer;
+import org.opendaylight.openflowjava.protocol.api.extensibility.SerializedSizeEstimator;
 import org.opendaylight.openflowjava.protocol.api.extensibility.SerializerRegistry;
 import org.opendaylight.openflowjava.protocol.api.extensibility.SerializerRegistryInjector;
-import org.opendaylight.openflowjava.protocol.api.keys.MatchEntrySerializerKey;
 import org.opendaylight.openflowjava.protocol.api.util.EncodeConstants;
-import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.augments.rev150225.oxm.container.match.entry.value.ExperimenterIdCase;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.common.types.rev130731.StandardMatchType;
-import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.ExperimenterClass;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.OxmMatchType;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.match.entries.grouping.MatchEntry;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.match.grouping.Match;
@@ -31,10 +29,14 @@ import org.slf4j.LoggerFactory;
  * @author michal.polkorab
  * @author timotej.kubas
  */
-public class OF13MatchSerializer implements OFSerializer<Match>, SerializerRegistryInjector {
+public class OF13MatchSerializer implements OFSerializer<Match>, SerializedSizeEstimator<Match>,
+        SerializerRegistryInjector {
     private static final Logger LOG = LoggerFactory.getLogger(OF13MatchSerializer.class);
     private static final byte STANDARD_MATCH_TYPE_CODE = 0;
     private static final byte OXM_MATCH_TYPE_CODE = 1;
+    private static final int MATCH_HEADER_LENGTH = 4;
+    private static final TypeKeyMaker<MatchEntry> KEY_MAKER =
+            TypeKeyMakerFactory.createMatchEntriesKeyMaker(EncodeConstants.OF13_VERSION_ID);
     private SerializerRegistry registry;
 
     @Override
@@ -57,6 +59,16 @@ public class OF13MatchSerializer implements OFSerializer<Match>, SerializerRegis
         }
     }
 
+    @Override
+    public int estimateSerializedSize(Match match) {
+        if (match == null) {
+            return 0;
+        }
+        // type + length + match entries, padded
+        return SerializedSizeUtils.padded(SerializedSizeUtils.add(MATCH_HEADER_LENGTH,
+                SerializedSizeUtils.estimateListSize(match.getMatchEntry(), KEY_MAKER, registry)));
+    }
+
     private static void serializeType(Match match, ByteBuf out) {
         if (match.getType().isAssignableFrom(StandardMatchType.class)) {
             out.writeShort(STANDARD_MATCH_TYPE_CODE);
@@ -76,16 +88,7 @@ public class OF13MatchSerializer implements OFSerializer<Match>, SerializerRegis
             return;
         }
         for (MatchEntry entry : matchEntries) {
-
-            MatchEntrySerializerKey<?, ?> key = new MatchEntrySerializerKey<>(
-                    EncodeConstants.OF13_VERSION_ID, entry.getOxmClass(), entry.getOxmMatchField());
-            if (entry.getOxmClass().equals(ExperimenterClass.class)) {
-                ExperimenterIdCase entryValue = (ExperimenterIdCase) entry.getMatchEntryValue();
-                key.setExperimenterId(entryValue.getExperimenter().getExperimenter().getValue());
-            } else {
-                key.setExperimenterId(null);
-            }
-            OFSerializer<MatchEntry> entrySerializer = registry.getSerializer(key);
+            OFSerializer<MatchEntry> entrySerializer = ListSerializer.lookupSerializer(registry, KEY_MAKER, entry);
             entrySerializer.serialize(entry, out);
         }
     }
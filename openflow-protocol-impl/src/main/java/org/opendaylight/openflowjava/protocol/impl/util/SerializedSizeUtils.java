@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.impl.util;
+
+import java.util.List;
+import org.opendaylight.openflowjava.protocol.api.extensibility.OFGeneralSerializer;
+import org.opendaylight.openflowjava.protocol.api.extensibility.SerializedSizeEstimator;
+import org.opendaylight.openflowjava.protocol.api.extensibility.SerializerRegistry;
+import org.opendaylight.openflowjava.protocol.api.util.EncodeConstants;
+import org.opendaylight.yangtools.yang.binding.DataContainer;
+import org.opendaylight.yangtools.yang.binding.DataObject;
+
+/**
+ * Helpers for composing serialized size estimates, see {@link SerializedSizeEstimator}
+ */
+public final class SerializedSizeUtils {
+
+    private SerializedSizeUtils() {
+        //not called
+    }
+
+    /**
+     * Estimates serialized length of object
+     * @param serializer serializer of input
+     * @param input object to be serialized
+     * @return estimated length, or {@link SerializedSizeEstimator#UNKNOWN_SIZE} if the serializer
+     *         does not provide estimates
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends DataContainer> int estimateSize(OFGeneralSerializer serializer, T input) {
+        if (serializer instanceof SerializedSizeEstimator) {
+            return ((SerializedSizeEstimator<T>) serializer).estimateSerializedSize(input);
+        }
+        return SerializedSizeEstimator.UNKNOWN_SIZE;
+    }
+
+    /**
+     * Estimates serialized length of item list
+     * @param list list of items to be serialized
+     * @param keyMaker creates key for registry lookup
+     * @param registry stores serializers
+     * @return estimated length, or {@link SerializedSizeEstimator#UNKNOWN_SIZE} if length of any item
+     *         cannot be estimated
+     */
+    public static <E extends DataObject> int estimateListSize(List<E> list, TypeKeyMaker<E> keyMaker,
+            SerializerRegistry registry) {
+        int size = 0;
+        if (list != null) {
+            for (E item : list) {
+                final OFGeneralSerializer serializer = ListSerializer.lookupSerializer(registry, keyMaker, item);
+                size = add(size, estimateSize(serializer, item));
+                if (size < 0) {
+                    break;
+                }
+            }
+        }
+        return size;
+    }
+
+    /**
+     * @param size estimated length
+     * @param other estimated length
+     * @return sum of both lengths, or {@link SerializedSizeEstimator#UNKNOWN_SIZE} if any of them is unknown
+     */
+    public static int add(int size, int other) {
+        if (size < 0 || other < 0) {
+            return SerializedSizeEstimator.UNKNOWN_SIZE;
+        }
+        return size + other;
+    }
+
+    /**
+     * @param size estimated length
+     * @return length rounded up to multiple of {@link EncodeConstants#PADDING}, unknown length is kept
+     */
+    public static int padded(int size) {
+        if (size < 0) {
+            return size;
+        }
+        final int remainder = size % EncodeConstants.PADDING;
+        return remainder == 0 ? size : size + EncodeConstants.PADDING - remainder;
+    }
+}
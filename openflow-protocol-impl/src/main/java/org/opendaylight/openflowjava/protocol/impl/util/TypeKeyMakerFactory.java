@@ -50,6 +50,19 @@ public abstract class TypeKeyMakerFactory {
                 key.setExperimenterId(null);
                 return key;
             }
+
+            @Override
+            public Class<?> getSerializerType(MatchEntry entry) {
+                if (entry.getOxmClass().equals(ExperimenterClass.class)) {
+                    return null;
+                }
+                return entry.getOxmMatchField();
+            }
+
+            @Override
+            public Class<?> getSerializerQualifier(MatchEntry entry) {
+                return entry.getOxmClass();
+            }
         };
     }
 
@@ -70,6 +83,19 @@ public abstract class TypeKeyMakerFactory {
                 return new ActionSerializerKey<>(getVersion(),
                         (Class<ActionChoice>) entry.getActionChoice().getImplementedInterface(), null);
             }
+
+            @Override
+            public Class<?> getSerializerType(Action entry) {
+                if (entry.getExperimenterId() != null) {
+                    return null;
+                }
+                return entry.getActionChoice().getImplementedInterface();
+            }
+
+            @Override
+            public Class<?> getSerializerQualifier(Action entry) {
+                return Action.class;
+            }
         };
     }
 
@@ -90,6 +116,19 @@ public abstract class TypeKeyMakerFactory {
                 return new InstructionSerializerKey<>(getVersion(),
                         (Class<InstructionChoice>) entry.getInstructionChoice().getImplementedInterface(), null);
             }
+
+            @Override
+            public Class<?> getSerializerType(Instruction entry) {
+                if (entry.getExperimenterId() != null) {
+                    return null;
+                }
+                return entry.getInstructionChoice().getImplementedInterface();
+            }
+
+            @Override
+            public Class<?> getSerializerQualifier(Instruction entry) {
+                return Instruction.class;
+            }
         };
     }
 }
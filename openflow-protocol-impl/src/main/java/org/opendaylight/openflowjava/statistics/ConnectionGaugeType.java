@@ -0,0 +1,28 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.statistics;
+
+/**
+ * Enumeration of per-connection gauges kept by {@link ConnectionStatistics}. Unlike counters, gauges
+ * hold the current value of a connection setting and are not affected by reset.
+ */
+public enum ConnectionGaugeType {
+    /**
+     * number of non-barrier messages after which outbound queue sends a barrier
+     */
+    BARRIER_MESSAGE_THRESHOLD,
+    /**
+     * maximum time in nanoseconds between barriers sent by outbound queue
+     */
+    BARRIER_INTERVAL_NANOS,
+    /**
+     * round-trip time in nanoseconds of the last sampled barrier
+     */
+    BARRIER_RTT_NANOS
+}
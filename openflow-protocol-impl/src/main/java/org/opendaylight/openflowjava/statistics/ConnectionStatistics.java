@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.statistics;
+
+import com.google.common.base.Preconditions;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Message counters of a single switch connection, broken down by {@link MessageCounterType} and
+ * OpenFlow message type. Counters are flat array of {@link LongAdder}s indexed by counter ordinal and
+ * message type, adders are created on first use so that connections pay only for message types they see.
+ * Current values of connection settings are kept as {@link ConnectionGaugeType} gauges.
+ * Once closed by {@link MessageStatisticsRegistry}, updates are ignored.
+ */
+public class ConnectionStatistics {
+
+    /**
+     * Number of tracked OpenFlow message types, types above are counted together
+     */
+    public static final int MESSAGE_TYPES = 32;
+    /**
+     * Index under which message types out of range (and unknown types) are counted
+     */
+    public static final int OTHER_MESSAGE_TYPE = MESSAGE_TYPES;
+
+    private static final int SLOTS_PER_COUNTER = MESSAGE_TYPES + 1;
+    private static final MessageCounterType[] COUNTERS = MessageCounterType.values();
+    private static final ConnectionGaugeType[] GAUGES = ConnectionGaugeType.values();
+
+    private final String connectionId;
+    private final AtomicReferenceArray<LongAdder> adders =
+            new AtomicReferenceArray<>(COUNTERS.length * SLOTS_PER_COUNTER);
+    private final AtomicLongArray gauges = new AtomicLongArray(GAUGES.length);
+    private volatile boolean closed;
+
+    /**
+     * @param connectionId identifier of connection, usually switch address
+     */
+    public ConnectionStatistics(final String connectionId) {
+        this.connectionId = Preconditions.checkNotNull(connectionId);
+    }
+
+    /**
+     * @return identifier of connection
+     */
+    public String getConnectionId() {
+        return connectionId;
+    }
+
+    private static int index(final MessageCounterType counter, final int messageType) {
+        final int slot = messageType >= 0 && messageType < MESSAGE_TYPES ? messageType : OTHER_MESSAGE_TYPE;
+        return counter.ordinal() * SLOTS_PER_COUNTER + slot;
+    }
+
+    private LongAdder adder(final int index) {
+        final LongAdder existing = adders.get(index);
+        if (existing != null) {
+            return existing;
+        }
+        final LongAdder created = new LongAdder();
+        return adders.compareAndSet(index, null, created) ? created : adders.get(index);
+    }
+
+    /**
+     * Increments counter of given message type
+     * @param counter counter to be incremented
+     * @param messageType OpenFlow message type, negative if unknown
+     */
+    public void increment(final MessageCounterType counter, final int messageType) {
+        if (closed) {
+            return;
+        }
+        adder(index(counter, messageType)).increment();
+    }
+
+    /**
+     * Adds value to counter of given message type
+     * @param counter counter to be updated
+     * @param messageType OpenFlow message type, negative if unknown
+     * @param value value to be added
+     */
+    public void add(final MessageCounterType counter, final int messageType, final long value) {
+        if (closed) {
+            return;
+        }
+        adder(index(counter, messageType)).add(value);
+    }
+
+    /**
+     * Counts one message together with its size
+     * @param messages {@link MessageCounterType#IN_MESSAGES} or {@link MessageCounterType#OUT_MESSAGES}
+     * @param bytes matching {@link MessageCounterType#IN_BYTES} or {@link MessageCounterType#OUT_BYTES}
+     * @param messageType OpenFlow message type
+     * @param length message length in bytes
+     */
+    public void countMessage(final MessageCounterType messages, final MessageCounterType bytes,
+            final int messageType, final int length) {
+        if (closed) {
+            return;
+        }
+        increment(messages, messageType);
+        add(bytes, messageType, length);
+    }
+
+    /**
+     * @param counter requested counter
+     * @param messageType OpenFlow message type, {@link #OTHER_MESSAGE_TYPE} for types out of tracked range
+     * @return current value of counter for given message type
+     */
+    public long get(final MessageCounterType counter, final int messageType) {
+        final LongAdder adder = adders.get(index(counter, messageType));
+        return adder == null ? 0 : adder.sum();
+    }
+
+    /**
+     * @param counter requested counter
+     * @return current value of counter summed over all message types
+     */
+    public long getTotal(final MessageCounterType counter) {
+        long total = 0;
+        final int base = counter.ordinal() * SLOTS_PER_COUNTER;
+        for (int i = base; i < base + SLOTS_PER_COUNTER; i++) {
+            final LongAdder adder = adders.get(i);
+            if (adder != null) {
+                total += adder.sum();
+            }
+        }
+        return total;
+    }
+
+    /**
+     * @param gauge gauge to be updated
+     * @param value current value
+     */
+    public void setGauge(final ConnectionGaugeType gauge, final long value) {
+        if (closed) {
+            return;
+        }
+        gauges.lazySet(gauge.ordinal(), value);
+    }
+
+    /**
+     * @param gauge requested gauge
+     * @return last value set to the gauge, 0 if it was never set
+     */
+    public long getGauge(final ConnectionGaugeType gauge) {
+        return gauges.get(gauge.ordinal());
+    }
+
+    /**
+     * Stops counting, connections keep their reference but further updates are ignored
+     */
+    void close() {
+        closed = true;
+    }
+
+    /**
+     * @return true if updates are ignored
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Sets all counters to 0, gauges are kept
+     */
+    public void reset() {
+        for (int i = 0; i < adders.length(); i++) {
+            final LongAdder adder = adders.get(i);
+            if (adder != null) {
+                adder.reset();
+            }
+        }
+    }
+
+    /**
+     * @return point-in-time copy of all counters, concurrent updates may or may not be included
+     */
+    public MessageStatisticsSnapshot snapshot() {
+        final long[][] values = new long[COUNTERS.length][SLOTS_PER_COUNTER];
+        for (int i = 0; i < adders.length(); i++) {
+            final LongAdder adder = adders.get(i);
+            if (adder != null) {
+                values[i / SLOTS_PER_COUNTER][i % SLOTS_PER_COUNTER] = adder.sum();
+            }
+        }
+        final long[] gaugeValues = new long[GAUGES.length];
+        for (int i = 0; i < gaugeValues.length; i++) {
+            gaugeValues[i] = gauges.get(i);
+        }
+        return new MessageStatisticsSnapshot(connectionId, values, gaugeValues);
+    }
+
+    @Override
+    public String toString() {
+        return "ConnectionStatistics [connectionId=" + connectionId + ", in=" + getTotal(MessageCounterType.IN_MESSAGES)
+                + ", out=" + getTotal(MessageCounterType.OUT_MESSAGES) + "]";
+    }
+}
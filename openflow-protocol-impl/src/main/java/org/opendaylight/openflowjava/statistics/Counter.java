@@ -9,6 +9,7 @@
 package org.opendaylight.openflowjava.statistics;
 
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 /**
  * Counts statistics
  *
@@ -16,14 +17,14 @@ import java.util.concurrent.atomic.AtomicLong;
  */
 public class Counter {
 
-    private AtomicLong counterValue;
-    private AtomicLong counterLastReadValue;
+    private final LongAdder counterValue;
+    private final AtomicLong counterLastReadValue;
 
     /**
      * Default constructor
      */
     public Counter() {
-        counterValue = new AtomicLong(0L);
+        counterValue = new LongAdder();
         counterLastReadValue = new AtomicLong(0L);
     }
 
@@ -31,7 +32,7 @@ public class Counter {
      * Increment current counter value
      */
     public void incrementCounter(){
-        counterValue.incrementAndGet();
+        counterValue.increment();
     }
 
     /**
@@ -59,17 +60,18 @@ public class Counter {
      * @return the current value of counter
      */
     public long getCounterValue(boolean modifyLastReadValue) {
+        final long value = counterValue.sum();
         if(modifyLastReadValue){
-            counterLastReadValue.set(counterValue.get());
+            counterLastReadValue.set(value);
         }
-        return counterValue.get();
+        return value;
     }
 
     /**
      * set current counter value and CounterLastReadValue to 0 (zero)
      */
     public void reset(){
-        counterValue.set(0l);
+        counterValue.reset();
         counterLastReadValue.set(0l);
     }
 
@@ -34,6 +34,22 @@ public enum CounterEventTypes {
      * flow-mod encoded and sent to downstream
      */
     DS_FLOW_MODS_SENT,
+    /**
+     * output buffer allocated from serialized size estimate
+     */
+    DS_ENCODE_SIZE_ESTIMATED,
+    /**
+     * output buffer had to grow during encoding
+     */
+    DS_ENCODE_BUFFER_REALLOCATED,
+    /**
+     * buffer with coalesced outbound queue messages written to downstream
+     */
+    DS_COALESCED_BUFFER_WRITTEN,
+    /**
+     * message serialized in advance written to downstream without encoding
+     */
+    DS_ENCODED_MESSAGE_SENT,
     /**
      * packetIn message got dropped -filtering is active
      */
@@ -53,5 +69,13 @@ public enum CounterEventTypes {
     /**
      * pass message to consumer (end of upstream)
      */
-    US_MESSAGE_PASS;
+    US_MESSAGE_PASS,
+    /**
+     * TLS handshake finished successfully
+     */
+    US_TLS_HANDSHAKE_SUCCESS,
+    /**
+     * TLS handshake failed
+     */
+    US_TLS_HANDSHAKE_FAIL;
 }
\ No newline at end of file
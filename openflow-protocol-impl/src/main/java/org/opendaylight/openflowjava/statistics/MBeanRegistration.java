@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.statistics;
+
+import com.google.common.base.Preconditions;
+import java.lang.management.ManagementFactory;
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Registration of a single bean in platform MBean server. Only the bean registered by this instance
+ * is unregistered, a bean registered under the same name by another owner is left untouched.
+ */
+public final class MBeanRegistration {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MBeanRegistration.class);
+
+    private final Object bean;
+    private final String objectName;
+    private ObjectName registeredName;
+
+    /**
+     * @param bean bean to be registered
+     * @param objectName name under which bean is registered
+     */
+    public MBeanRegistration(final Object bean, final String objectName) {
+        this.bean = Preconditions.checkNotNull(bean);
+        this.objectName = Preconditions.checkNotNull(objectName);
+    }
+
+    /**
+     * Registers bean, does nothing if already registered by this instance
+     */
+    public synchronized void register() {
+        if (registeredName != null) {
+            return;
+        }
+        try {
+            final ObjectName name = new ObjectName(objectName);
+            ManagementFactory.getPlatformMBeanServer().registerMBean(bean, name);
+            registeredName = name;
+        } catch (InstanceAlreadyExistsException e) {
+            LOG.warn("MBean {} is already registered by another owner", objectName);
+        } catch (JMException e) {
+            LOG.warn("Failed to register MBean {}", objectName, e);
+        }
+    }
+
+    /**
+     * Removes bean registered by this instance
+     */
+    public synchronized void unregister() {
+        if (registeredName == null) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(registeredName);
+        } catch (JMException e) {
+            LOG.warn("Failed to unregister MBean {}", objectName, e);
+        }
+        registeredName = null;
+    }
+
+    /**
+     * @return true if bean is currently registered by this instance
+     */
+    public synchronized boolean isRegistered() {
+        return registeredName != null;
+    }
+}
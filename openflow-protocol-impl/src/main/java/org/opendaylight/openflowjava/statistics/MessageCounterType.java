@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.statistics;
+
+/**
+ * Enumeration of per-connection counters kept by {@link ConnectionStatistics},
+ * each counter is broken down by OpenFlow message type
+ */
+public enum MessageCounterType {
+    /**
+     * message received from switch
+     */
+    IN_MESSAGES,
+    /**
+     * bytes of messages received from switch
+     */
+    IN_BYTES,
+    /**
+     * message encoded and sent to switch
+     */
+    OUT_MESSAGES,
+    /**
+     * bytes of messages encoded and sent to switch
+     */
+    OUT_BYTES,
+    /**
+     * received message could not be decoded
+     */
+    DECODE_FAILURES,
+    /**
+     * message could not be encoded
+     */
+    ENCODE_FAILURES,
+    /**
+     * write of coalesced messages failed, whole batch is counted once under
+     * {@link ConnectionStatistics#OTHER_MESSAGE_TYPE}
+     */
+    WRITE_FAILURES,
+    /**
+     * message rejected because output queue was full, message is not serialized yet so it is counted
+     * under {@link ConnectionStatistics#OTHER_MESSAGE_TYPE}
+     */
+    QUEUE_FULL,
+    /**
+     * PacketIn admitted by rate limiter
+     */
+    RATE_LIMIT_PASSES,
+    /**
+     * PacketIn dropped by rate limiter before being deserialized
+     */
+    RATE_LIMIT_DROPS;
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.statistics;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JMX view of {@link MessageStatisticsRegistry}.
+ */
+public interface MessageStatisticsMXBean {
+
+    /**
+     * @return true if connections created from now on are counted
+     */
+    boolean isEnabled();
+
+    /**
+     * @param enabled true if connections created from now on should be counted
+     */
+    void setEnabled(boolean enabled);
+
+    /**
+     * @return identifiers of counted connections
+     */
+    List<String> getConnectionIds();
+
+    /**
+     * @return counters summed over all counted connections, keyed by counter name
+     */
+    Map<String, Long> getTotals();
+
+    /**
+     * @param connectionId identifier of connection
+     * @return non-zero counters of connection keyed by {@code COUNTER[type]} and non-zero gauges keyed by
+     *         their name, empty if connection is not counted
+     */
+    Map<String, Long> getConnectionCounters(String connectionId);
+
+    /**
+     * @param counter name of {@link MessageCounterType}
+     * @param count maximum number of returned connections
+     * @return identifiers of connections with highest value of given counter, in descending order
+     */
+    List<String> getTopConnections(String counter, int count);
+
+    /**
+     * Sets counters of all counted connections to 0
+     */
+    void reset();
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.statistics;
+
+import com.google.common.base.Preconditions;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps {@link ConnectionStatistics} of live switch connections and exposes them through
+ * pull-style snapshots and JMX. When disabled, {@link #register(String)} returns null and connections
+ * skip counting with a single null check. Statistics of connections registered before counting was
+ * disabled are closed, so those connections stop counting as well.
+ */
+public final class MessageStatisticsRegistry implements MessageStatisticsMXBean {
+
+    /**
+     * Name under which registry is registered in platform MBean server
+     */
+    public static final String OBJECT_NAME = "org.opendaylight.openflowjava:type=MessageStatistics";
+
+    private static final Logger LOG = LoggerFactory.getLogger(MessageStatisticsRegistry.class);
+    private static final MessageStatisticsRegistry INSTANCE = new MessageStatisticsRegistry();
+
+    private final ConcurrentMap<String, ConnectionStatistics> connections = new ConcurrentHashMap<>();
+    private final MBeanRegistration registration = new MBeanRegistration(this, OBJECT_NAME);
+    private volatile boolean enabled;
+
+    /**
+     * @return registry shared by all connections
+     */
+    public static MessageStatisticsRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    private MessageStatisticsRegistry() {
+        // singleton
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public synchronized void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+        if (!enabled) {
+            for (ConnectionStatistics statistics : connections.values()) {
+                statistics.close();
+            }
+            connections.clear();
+        }
+        LOG.debug("Message statistics {}abled", enabled ? "en" : "dis");
+    }
+
+    /**
+     * Creates statistics of new connection, replaces statistics of previous connection with the same identifier
+     * @param connectionId identifier of connection, usually switch address
+     * @return statistics to be updated by connection, null if counting is disabled
+     */
+    public synchronized ConnectionStatistics register(final String connectionId) {
+        if (!enabled) {
+            return null;
+        }
+        final ConnectionStatistics statistics = new ConnectionStatistics(connectionId);
+        connections.put(connectionId, statistics);
+        return statistics;
+    }
+
+    /**
+     * Removes statistics of closed connection
+     * @param statistics statistics returned by {@link #register(String)}, may be null
+     */
+    public void unregister(final ConnectionStatistics statistics) {
+        if (statistics != null) {
+            connections.remove(statistics.getConnectionId(), statistics);
+        }
+    }
+
+    /**
+     * @param connectionId identifier of connection
+     * @return snapshot of connection counters, null if connection is not counted
+     */
+    public MessageStatisticsSnapshot snapshot(final String connectionId) {
+        final ConnectionStatistics statistics = connections.get(connectionId);
+        return statistics == null ? null : statistics.snapshot();
+    }
+
+    /**
+     * @return snapshots of all counted connections
+     */
+    public List<MessageStatisticsSnapshot> snapshot() {
+        final List<MessageStatisticsSnapshot> snapshots = new ArrayList<>(connections.size());
+        for (ConnectionStatistics statistics : connections.values()) {
+            snapshots.add(statistics.snapshot());
+        }
+        return snapshots;
+    }
+
+    @Override
+    public List<String> getConnectionIds() {
+        return new ArrayList<>(connections.keySet());
+    }
+
+    @Override
+    public Map<String, Long> getTotals() {
+        final MessageCounterType[] counters = MessageCounterType.values();
+        final long[] totals = new long[counters.length];
+        for (ConnectionStatistics statistics : connections.values()) {
+            for (MessageCounterType counter : counters) {
+                totals[counter.ordinal()] += statistics.getTotal(counter);
+            }
+        }
+        final Map<String, Long> map = new LinkedHashMap<>();
+        for (MessageCounterType counter : counters) {
+            map.put(counter.name(), totals[counter.ordinal()]);
+        }
+        return map;
+    }
+
+    @Override
+    public Map<String, Long> getConnectionCounters(final String connectionId) {
+        final MessageStatisticsSnapshot snapshot = snapshot(connectionId);
+        return snapshot == null ? Collections.<String, Long>emptyMap() : snapshot.toMap();
+    }
+
+    @Override
+    public List<String> getTopConnections(final String counter, final int count) {
+        Preconditions.checkArgument(count >= 0, "Count must not be negative");
+        final MessageCounterType type = MessageCounterType.valueOf(counter);
+        final List<MessageStatisticsSnapshot> snapshots = snapshot();
+        Collections.sort(snapshots, new Comparator<MessageStatisticsSnapshot>() {
+            @Override
+            public int compare(final MessageStatisticsSnapshot first, final MessageStatisticsSnapshot second) {
+                return Long.compare(second.getTotal(type), first.getTotal(type));
+            }
+        });
+        final List<String> top = new ArrayList<>(Math.min(count, snapshots.size()));
+        for (MessageStatisticsSnapshot snapshot : snapshots.subList(0, Math.min(count, snapshots.size()))) {
+            top.add(snapshot.getConnectionId());
+        }
+        return top;
+    }
+
+    @Override
+    public void reset() {
+        for (ConnectionStatistics statistics : connections.values()) {
+            statistics.reset();
+        }
+        LOG.debug("Message statistics have been reset");
+    }
+
+    /**
+     * Registers registry in platform MBean server under {@link #OBJECT_NAME}, does nothing if already registered
+     */
+    public void registerMBean() {
+        registration.register();
+    }
+
+    /**
+     * Removes registry from platform MBean server
+     */
+    public void unregisterMBean() {
+        registration.unregister();
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.statistics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Immutable copy of {@link ConnectionStatistics} counters and gauges taken at one point in time.
+ */
+public final class MessageStatisticsSnapshot {
+
+    private final String connectionId;
+    private final long[][] values;
+    private final long[] gauges;
+
+    MessageStatisticsSnapshot(final String connectionId, final long[][] values, final long[] gauges) {
+        this.connectionId = connectionId;
+        this.values = values;
+        this.gauges = gauges;
+    }
+
+    /**
+     * @return identifier of connection
+     */
+    public String getConnectionId() {
+        return connectionId;
+    }
+
+    /**
+     * @param counter requested counter
+     * @param messageType OpenFlow message type, {@link ConnectionStatistics#OTHER_MESSAGE_TYPE}
+     *                    for types out of tracked range
+     * @return value of counter for given message type
+     */
+    public long get(final MessageCounterType counter, final int messageType) {
+        final long[] row = values[counter.ordinal()];
+        return messageType >= 0 && messageType < row.length ? row[messageType] : 0;
+    }
+
+    /**
+     * @param counter requested counter
+     * @return value of counter summed over all message types
+     */
+    public long getTotal(final MessageCounterType counter) {
+        long total = 0;
+        for (long value : values[counter.ordinal()]) {
+            total += value;
+        }
+        return total;
+    }
+
+    /**
+     * @param gauge requested gauge
+     * @return value of the gauge
+     */
+    public long getGauge(final ConnectionGaugeType gauge) {
+        return gauges[gauge.ordinal()];
+    }
+
+    /**
+     * @return non-zero counters keyed by {@code COUNTER[type]}, types out of tracked range use {@code other},
+     *         followed by non-zero gauges keyed by their name
+     */
+    public Map<String, Long> toMap() {
+        final Map<String, Long> map = new LinkedHashMap<>();
+        for (MessageCounterType counter : MessageCounterType.values()) {
+            final long[] row = values[counter.ordinal()];
+            for (int type = 0; type < row.length; type++) {
+                if (row[type] != 0) {
+                    final String typeName = type == ConnectionStatistics.OTHER_MESSAGE_TYPE
+                            ? "other" : String.valueOf(type);
+                    map.put(counter.name() + "[" + typeName + "]", row[type]);
+                }
+            }
+        }
+        for (ConnectionGaugeType gauge : ConnectionGaugeType.values()) {
+            if (gauges[gauge.ordinal()] != 0) {
+                map.put(gauge.name(), gauges[gauge.ordinal()]);
+            }
+        }
+        return map;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("MessageStatisticsSnapshot [connectionId=").append(connectionId);
+        for (MessageCounterType counter : MessageCounterType.values()) {
+            sb.append(", ").append(counter.name()).append('=').append(getTotal(counter));
+        }
+        return sb.append(']').toString();
+    }
+}
@@ -37,7 +37,9 @@ public final class StatisticsCounters implements StatisticsHandler {
     private int logReportPeriod;
     private boolean runLogReport;
     private Map<CounterEventTypes, Counter> countersMap;
-    private boolean runCounting;
+    // counters indexed by CounterEventTypes ordinal, null for disabled counters
+    private final Counter[] counters = new Counter[CounterEventTypes.values().length];
+    private volatile boolean runCounting;
     // array to hold enabled counter types
     private CounterEventTypes[] enabledCounters = {
                     CounterEventTypes.DS_ENCODE_FAIL,
@@ -45,11 +47,17 @@ public final class StatisticsCounters implements StatisticsHandler {
                     CounterEventTypes.DS_ENTERED_OFJAVA,
                     CounterEventTypes.DS_FLOW_MODS_ENTERED,
                     CounterEventTypes.DS_FLOW_MODS_SENT,
+                    CounterEventTypes.DS_ENCODE_SIZE_ESTIMATED,
+                    CounterEventTypes.DS_ENCODE_BUFFER_REALLOCATED,
+                    CounterEventTypes.DS_COALESCED_BUFFER_WRITTEN,
+                    CounterEventTypes.DS_ENCODED_MESSAGE_SENT,
             CounterEventTypes.US_DROPPED_PACKET_IN,
                     CounterEventTypes.US_DECODE_FAIL,
                     CounterEventTypes.US_DECODE_SUCCESS,
                     CounterEventTypes.US_MESSAGE_PASS,
-                    CounterEventTypes.US_RECEIVED_IN_OFJAVA};
+                    CounterEventTypes.US_RECEIVED_IN_OFJAVA,
+                    CounterEventTypes.US_TLS_HANDSHAKE_FAIL,
+                    CounterEventTypes.US_TLS_HANDSHAKE_SUCCESS};
 
     /**
      * Get instance of statistics counters, first created object does not start counting and log reporting
@@ -65,7 +73,9 @@ public final class StatisticsCounters implements StatisticsHandler {
     private StatisticsCounters() {
         countersMap = new ConcurrentHashMap<>();
         for(CounterEventTypes cet : enabledCounters){
-            countersMap.put(cet, new Counter());
+            final Counter counter = new Counter();
+            countersMap.put(cet, counter);
+            counters[cet.ordinal()] = counter;
         }
         runCounting = false;
         this.logReportPeriod = 0;
@@ -180,7 +190,7 @@ public final class StatisticsCounters implements StatisticsHandler {
         if (counterEventKey == null) {
             return false;
         }
-        return countersMap.containsKey(counterEventKey);
+        return counters[counterEventKey.ordinal()] != null;
     }
 
     /**
@@ -193,7 +203,7 @@ public final class StatisticsCounters implements StatisticsHandler {
         if (counterEventKey == null) {
             throw new IllegalArgumentException("counterEventKey can not be null");
         }
-        return countersMap.get(counterEventKey);
+        return counters[counterEventKey.ordinal()];
     }
 
     /**
@@ -201,9 +211,10 @@ public final class StatisticsCounters implements StatisticsHandler {
      * @param counterEventKey key to identify counter
      */
     public void incrementCounter(CounterEventTypes counterEventKey) {
-        if(runCounting){
-            if (isCounterEnabled(counterEventKey)){
-                countersMap.get(counterEventKey).incrementCounter();
+        if(runCounting && counterEventKey != null){
+            final Counter counter = counters[counterEventKey.ordinal()];
+            if (counter != null){
+                counter.incrementCounter();
             }
         }
     }
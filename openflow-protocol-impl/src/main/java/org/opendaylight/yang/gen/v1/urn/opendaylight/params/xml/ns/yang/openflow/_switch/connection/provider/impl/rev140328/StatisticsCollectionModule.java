@@ -1,7 +1,11 @@
 package org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.openflow._switch.connection.provider.impl.rev140328;
 
 import org.opendaylight.openflowjava.protocol.api.connection.StatisticsConfiguration;
+import org.opendaylight.openflowjava.protocol.impl.core.TlsHandshakeStatistics;
+import org.opendaylight.openflowjava.protocol.impl.core.connection.HandshakeExecutorRegistry;
+import org.opendaylight.openflowjava.protocol.impl.core.connection.SegmentPoolRegistry;
 import org.opendaylight.openflowjava.protocol.spi.statistics.StatisticsHandler;
+import org.opendaylight.openflowjava.statistics.MessageStatisticsRegistry;
 import org.opendaylight.openflowjava.statistics.StatisticsCounters;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -30,6 +34,7 @@ public class StatisticsCollectionModule extends org.opendaylight.yang.gen.v1.urn
     public java.lang.AutoCloseable createInstance() {
         final Statistics statistics = getStatistics();
         final StatisticsCounters statsCounter = StatisticsCounters.getInstance();
+        final MessageStatisticsRegistry messageStatistics = MessageStatisticsRegistry.getInstance();
         StatisticsConfiguration statsConfig = null;
         if (statistics != null) {
             statsConfig = new StatisticsConfiguration() {
@@ -53,6 +58,11 @@ public class StatisticsCollectionModule extends org.opendaylight.yang.gen.v1.urn
         }
         if (statsConfig != null) {
             statsCounter.startCounting(statsConfig.getStatisticsCollect(), statsConfig.getLogReportDelay());
+            messageStatistics.setEnabled(statsConfig.getStatisticsCollect());
+            messageStatistics.registerMBean();
+            SegmentPoolRegistry.getInstance().registerMBean();
+            HandshakeExecutorRegistry.getInstance().registerMBean();
+            TlsHandshakeStatistics.getInstance().registerMBean();
         } else {
             LOG.debug("Unable to start StatisticCounter - wrong configuration");
         }
@@ -74,6 +84,8 @@ public class StatisticsCollectionModule extends org.opendaylight.yang.gen.v1.urn
             @Override
             public String resetOfjavaStatistics() {
                 statsCounter.resetCounters();
+                messageStatistics.reset();
+                TlsHandshakeStatistics.getInstance().reset();
                 return "Statistics have been reset";
             }
         };
@@ -97,12 +109,19 @@ public class StatisticsCollectionModule extends org.opendaylight.yang.gen.v1.urn
                         throw new IllegalStateException(errMsg, e);
                     }
                 }
+                messageStatistics.unregisterMBean();
+                SegmentPoolRegistry.getInstance().unregisterMBean();
+                HandshakeExecutorRegistry.getInstance().unregisterMBean();
+                TlsHandshakeStatistics.getInstance().unregisterMBean();
+                messageStatistics.setEnabled(false);
                 LOG.info("StatisticsCollection Service consumer (instance {} turn down.)", this);
             }
 
             @Override
             public void resetCounters() {
                 statsCounter.resetCounters();
+                messageStatistics.reset();
+                TlsHandshakeStatistics.getInstance().reset();
             }
 
             @Override
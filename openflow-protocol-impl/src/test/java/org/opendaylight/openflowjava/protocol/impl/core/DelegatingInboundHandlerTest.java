@@ -8,15 +8,24 @@
 
 package org.opendaylight.openflowjava.protocol.impl.core;
 
+import static org.junit.Assert.assertEquals;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 import io.netty.channel.ChannelHandlerContext;
 
+import java.util.ArrayList;
+import java.util.List;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 import org.opendaylight.openflowjava.protocol.impl.core.connection.MessageConsumer;
 import org.opendaylight.yangtools.yang.binding.DataObject;
 
@@ -50,6 +59,47 @@ public class DelegatingInboundHandlerTest {
         // Verify that the message buf was released...
         verify( mockMsgConsumer, times(1)).consume(mockDataObject);
     }
+    /**
+     * Test that messages are collected until read completes when consumer is batching
+     */
+    @Test
+    public void testChannelReadBatching()   {
+        when(mockMsgConsumer.isBatching()).thenReturn(true);
+        final List<List<DataObject>> batches = new ArrayList<>();
+        doAnswer(new Answer<Void>() {
+            @SuppressWarnings("unchecked")
+            @Override
+            public Void answer(final InvocationOnMock invocation) {
+                batches.add(new ArrayList<>((List<DataObject>) invocation.getArguments()[0]));
+                return null;
+            }
+        }).when(mockMsgConsumer).consume(anyListOf(DataObject.class));
+
+        dih.channelRead(mockChHndlrCtx, mockDataObject) ;
+        dih.channelRead(mockChHndlrCtx, mockDataObject) ;
+        verify( mockMsgConsumer, never()).consume(anyListOf(DataObject.class));
+        dih.channelReadComplete(mockChHndlrCtx);
+        dih.channelReadComplete(mockChHndlrCtx);
+
+        verify( mockMsgConsumer, never()).consume(any(DataObject.class));
+        verify( mockMsgConsumer, times(1)).consume(anyListOf(DataObject.class));
+        verify( mockChHndlrCtx, times(2)).fireChannelReadComplete();
+        assertEquals(2, batches.get(0).size());
+    }
+
+    /**
+     * Test that pending batch is passed on before disconnect event
+     */
+    @Test
+    public void testChannelInactiveBatching()   {
+        when(mockMsgConsumer.isBatching()).thenReturn(true);
+        dih.channelRead(mockChHndlrCtx, mockDataObject) ;
+        dih.channelInactive(mockChHndlrCtx);
+
+        verify( mockMsgConsumer, times(1)).consume(anyListOf(DataObject.class));
+        verify( mockMsgConsumer, times(1)).consume(any(DataObject.class));
+    }
+
     /**
      *
      */
@@ -7,7 +7,11 @@
  */
 package org.opendaylight.openflowjava.protocol.impl.core;
 
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandlerContext;
@@ -16,12 +20,14 @@ import io.netty.channel.socket.DatagramPacket;
 import java.net.InetSocketAddress;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.opendaylight.openflowjava.protocol.api.connection.ConnectionAdapter;
 import org.opendaylight.openflowjava.protocol.api.connection.SwitchConnectionHandler;
 import org.opendaylight.openflowjava.protocol.api.util.EncodeConstants;
 import org.opendaylight.openflowjava.protocol.impl.core.connection.MessageConsumer;
@@ -48,13 +54,14 @@ public class OFDatagramPacketHandlerTest {
      */
     @Test
     public void test(){
-        OFDatagramPacketHandler handler = new OFDatagramPacketHandler(switchConnHandler);
+        UdpConnectionMap connectionMap = new UdpConnectionMap();
+        OFDatagramPacketHandler handler = new OFDatagramPacketHandler(switchConnHandler, null, connectionMap);
         byte version = EncodeConstants.OF13_VERSION_ID;
         ByteBuf messageBuffer = ByteBufUtils.hexStringToByteBuf("04 02 00 08 01 02 03 04");
         InetSocketAddress recipientISA = InetSocketAddress.createUnresolved("localhost", 9876);
         InetSocketAddress senderISA = InetSocketAddress.createUnresolved("192.168.15.24", 21021);
         DatagramPacket datagramPacket = new DatagramPacket(messageBuffer, recipientISA, senderISA);
-        UdpConnectionMap.addConnection(datagramPacket.sender(), consumerMock);
+        connectionMap.addConnection(datagramPacket.sender(), consumerMock);
         List<Object> outList = new ArrayList<>();
         try {
             handler.decode(ctxMock, datagramPacket, outList);
@@ -67,4 +74,24 @@ public class OFDatagramPacketHandlerTest {
         messageBuffer.readerIndex(1);
         Assert.assertEquals("Wrong - undecoded part of input ByteBuff is differnt to output",0, messageBuffer.compareTo(versionUdpWrapper.getMessageBuffer()));
     }
+
+    /**
+     * Test {@link OFDatagramPacketHandler} - datagrams of new senders are dropped once maximal number
+     * of senders is tracked
+     */
+    @Test
+    public void testMaxPeers() throws Exception {
+        UdpConnectionMap connectionMap = new UdpConnectionMap(1, 0, TimeUnit.MILLISECONDS);
+        OFDatagramPacketHandler handler = new OFDatagramPacketHandler(switchConnHandler, null, connectionMap);
+        InetSocketAddress recipientISA = InetSocketAddress.createUnresolved("localhost", 9876);
+        connectionMap.addConnection(InetSocketAddress.createUnresolved("192.168.15.24", 21021), consumerMock);
+        ByteBuf messageBuffer = ByteBufUtils.hexStringToByteBuf("04 00 00 08 01 02 03 04");
+        DatagramPacket datagramPacket = new DatagramPacket(messageBuffer, recipientISA,
+                InetSocketAddress.createUnresolved("192.168.15.25", 21021));
+        List<Object> outList = new ArrayList<>();
+        handler.decode(ctxMock, datagramPacket, outList);
+        Assert.assertTrue("Wrong - datagram of untracked sender has been decoded", outList.isEmpty());
+        Assert.assertEquals("Wrong - untracked sender has been added", 1, connectionMap.size());
+        verify(switchConnHandler, never()).onSwitchConnected(any(ConnectionAdapter.class));
+    }
 }
@@ -10,11 +10,14 @@ package org.opendaylight.openflowjava.protocol.impl.core;
 
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyShort;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.util.concurrent.Future;
 import io.netty.util.concurrent.GenericFutureListener;
@@ -24,6 +27,8 @@ import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 import org.opendaylight.openflowjava.protocol.api.util.EncodeConstants;
 import org.opendaylight.openflowjava.protocol.impl.core.connection.MessageListenerWrapper;
 import org.opendaylight.openflowjava.protocol.impl.serialization.SerializationFactory;
@@ -41,6 +46,7 @@ public class OFEncoderTest {
     @Mock MessageListenerWrapper wrapper;
     @Mock OfHeader mockMsg ;
     @Mock ByteBuf mockOut ;
+    @Mock ByteBufAllocator mockAllocator ;
     @Mock Future<Void> future;
     @Mock GenericFutureListener<Future<Void>> listener;
 
@@ -93,6 +99,61 @@ public class OFEncoderTest {
         verify(mockOut, times(1)).clear();
     }
 
+    /**
+     * Test that failed message does not discard previously coalesced messages
+     * @throws Exception
+     */
+    @Test
+    public void testEncodeMessageKeepsPreviousContent() throws Exception {
+        when(mockMsg.getVersion()).thenReturn((short) EncodeConstants.OF13_VERSION_ID);
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(final InvocationOnMock invocation) {
+                ((ByteBuf) invocation.getArguments()[1]).writeZero(3);
+                throw new IllegalArgumentException("expected");
+            }
+        }).when(mockSerializationFactory).messageToBuffer(anyShort(), any(ByteBuf.class), any(DataObject.class));
+        ByteBuf out = Unpooled.buffer();
+        out.writeInt(42);
+
+        Assert.assertFalse(ofEncoder.encodeMessage(mockChHndlrCtx, mockMsg, listener, out));
+        Assert.assertEquals("Previous content lost", 4, out.readableBytes());
+        Assert.assertEquals("Previous content changed", 42, out.readInt());
+        verify(listener, times(1)).operationComplete(any(Future.class));
+    }
+
+    /**
+     * Test output buffer allocation from serialized size estimate
+     * @throws Exception
+     */
+    @Test
+    public void testAllocateEstimatedBuffer() throws Exception {
+        when(wrapper.getMsg()).thenReturn(mockMsg);
+        when(wrapper.getMsg().getVersion()).thenReturn((short) EncodeConstants.OF13_VERSION_ID);
+        when(mockSerializationFactory.estimateSize(EncodeConstants.OF13_VERSION_ID, mockMsg)).thenReturn(88);
+        when(mockChHndlrCtx.alloc()).thenReturn(mockAllocator);
+        when(mockAllocator.ioBuffer(88)).thenReturn(mockOut);
+
+        Assert.assertSame(mockOut, ofEncoder.allocateBuffer(mockChHndlrCtx, wrapper, true));
+        verify(mockAllocator, times(0)).ioBuffer();
+    }
+
+    /**
+     * Test default output buffer allocation when the size cannot be estimated
+     * @throws Exception
+     */
+    @Test
+    public void testAllocateDefaultBuffer() throws Exception {
+        when(wrapper.getMsg()).thenReturn(mockMsg);
+        when(wrapper.getMsg().getVersion()).thenReturn((short) EncodeConstants.OF13_VERSION_ID);
+        when(mockSerializationFactory.estimateSize(EncodeConstants.OF13_VERSION_ID, mockMsg)).thenReturn(-1);
+        when(mockChHndlrCtx.alloc()).thenReturn(mockAllocator);
+        when(mockAllocator.ioBuffer()).thenReturn(mockOut);
+
+        Assert.assertSame(mockOut, ofEncoder.allocateBuffer(mockChHndlrCtx, wrapper, true));
+        verify(mockAllocator, times(1)).ioBuffer();
+    }
+
     /**
      * Test no action on empty bytebuf
      */
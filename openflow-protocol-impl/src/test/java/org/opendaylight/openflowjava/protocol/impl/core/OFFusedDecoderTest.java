@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.impl.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyShort;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.opendaylight.openflowjava.protocol.impl.core.connection.ConnectionFacade;
+import org.opendaylight.openflowjava.protocol.impl.deserialization.DeserializationFactory;
+import org.opendaylight.openflowjava.util.ByteBufUtils;
+import org.opendaylight.yangtools.yang.binding.DataObject;
+
+/**
+ * Testing class of {@link OFFusedDecoder}
+ */
+public class OFFusedDecoderTest {
+
+    @Mock ChannelHandlerContext channelHandlerContext;
+    @Mock ConnectionFacade connectionFacade;
+    @Mock DeserializationFactory deserializationFactory;
+    @Mock DataObject dataObject;
+
+    private OFFusedDecoder decoder;
+    private final List<Object> list = new ArrayList<>();
+    private final List<Integer> seenLengths = new ArrayList<>();
+
+    /**
+     * Sets up tests
+     */
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+        decoder = new OFFusedDecoder(connectionFacade, false, deserializationFactory);
+        list.clear();
+        seenLengths.clear();
+        when(deserializationFactory.deserialize(any(ByteBuf.class), anyShort())).thenAnswer(new Answer<DataObject>() {
+            @Override
+            public DataObject answer(final InvocationOnMock invocation) {
+                final ByteBuf buf = (ByteBuf) invocation.getArguments()[0];
+                seenLengths.add(buf.readableBytes());
+                buf.skipBytes(buf.readableBytes());
+                return dataObject;
+            }
+        });
+    }
+
+    /**
+     * Test decoding of two messages contained in one buffer
+     */
+    @Test
+    public void testDecodeTwoMessages() {
+        final ByteBuf bb = ByteBufUtils.hexStringToByteBuf("04 00 00 08 00 00 00 01 "
+                + "04 0a 00 0c 00 00 00 02 01 02 03 04");
+        decoder.decode(channelHandlerContext, bb, list);
+        decoder.decode(channelHandlerContext, bb, list);
+
+        assertEquals(2, list.size());
+        assertEquals(Integer.valueOf(7), seenLengths.get(0));
+        assertEquals(Integer.valueOf(11), seenLengths.get(1));
+        assertEquals(0, bb.readableBytes());
+        assertEquals(1, bb.refCnt());
+    }
+
+    /**
+     * Test that incomplete message is left in the buffer
+     */
+    @Test
+    public void testDecodeIncompleteMessage() {
+        final ByteBuf bb = ByteBufUtils.hexStringToByteBuf("04 00 00 10 00 00 00 01 00 00");
+        decoder.decode(channelHandlerContext, bb, list);
+
+        assertEquals(0, list.size());
+        assertEquals(10, bb.readableBytes());
+    }
+
+    /**
+     * Test that unsupported version is discarded
+     */
+    @Test
+    public void testDecodeNotSupportedVersion() {
+        final ByteBuf bb = ByteBufUtils.hexStringToByteBuf("02 01 00 08 00 00 00 01");
+        decoder.decode(channelHandlerContext, bb, list);
+
+        assertEquals(0, list.size());
+        assertEquals(0, bb.readableBytes());
+        verify(deserializationFactory, never()).deserialize(any(ByteBuf.class), anyShort());
+    }
+
+    /**
+     * Test that hello message of unsupported version is passed on
+     */
+    @Test
+    public void testDecodeHelloMessage() {
+        final ByteBuf bb = ByteBufUtils.hexStringToByteBuf("05 00 00 08 00 00 00 01");
+        decoder.decode(channelHandlerContext, bb, list);
+
+        assertEquals(1, list.size());
+        verify(deserializationFactory).deserialize(any(ByteBuf.class), eq((short) 5));
+    }
+
+    /**
+     * Test PacketIn filtering
+     */
+    @Test
+    public void testFilterPacketIn() {
+        decoder.setFilterPacketIns(true);
+        final ByteBuf bb = ByteBufUtils.hexStringToByteBuf("04 0a 00 08 00 00 00 01 04 00 00 08 00 00 00 02");
+        decoder.decode(channelHandlerContext, bb, list);
+        decoder.decode(channelHandlerContext, bb, list);
+
+        assertEquals(1, list.size());
+        assertEquals(0, bb.readableBytes());
+    }
+
+    /**
+     * Test that failed deserialization skips the whole message
+     */
+    @Test
+    public void testDecodeDeserializeException() {
+        doThrow(new IllegalArgumentException()).when(deserializationFactory)
+                .deserialize(any(ByteBuf.class), anyShort());
+        final ByteBuf bb = ByteBufUtils.hexStringToByteBuf("04 00 00 0c 00 00 00 01 00 00 00 00");
+        decoder.decode(channelHandlerContext, bb, list);
+
+        assertEquals(0, list.size());
+        assertEquals(0, bb.readableBytes());
+        assertEquals(12, bb.writerIndex());
+    }
+
+    /**
+     * Test connection ready notification on first TLS pass
+     */
+    @Test
+    public void testFirstTlsPass() {
+        decoder = new OFFusedDecoder(connectionFacade, true, deserializationFactory);
+        decoder.decode(channelHandlerContext, ByteBufUtils.hexStringToByteBuf("04 00"), list);
+
+        verify(connectionFacade).fireConnectionReadyNotification();
+    }
+}
@@ -18,7 +18,9 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.Matchers;
 import org.mockito.Mock;
+import org.mockito.Mockito;
 import org.mockito.runners.MockitoJUnitRunner;
 import org.opendaylight.openflowjava.util.ByteBufUtils;
 
@@ -65,6 +67,27 @@ public class OFVersionDetectorTest {
         Assert.assertEquals("List is not empty", 0, list.size());
     }
 
+    @Test
+    public void testDecodePacketInFiltering() {
+        detector.setFilterPacketIns(true);
+        detector.decode(channelHandlerContext, ByteBufUtils.hexStringToByteBuf("04 0A 00 08 00 00 00 01"), list);
+        Assert.assertEquals("List is not empty", 0, list.size());
+    }
+
+    @Test
+    public void testDecodePacketInRateLimit() {
+        final PacketInRateLimiter rateLimiter = Mockito.mock(PacketInRateLimiter.class);
+        Mockito.when(rateLimiter.tryAcquire(Matchers.any(ByteBuf.class), Matchers.eq(0), Matchers.eq(8)))
+                .thenReturn(true, false);
+        detector.setPacketInRateLimiter(rateLimiter);
+        detector.decode(channelHandlerContext, ByteBufUtils.hexStringToByteBuf("04 0A 00 08 00 00 00 01"), list);
+        detector.decode(channelHandlerContext, ByteBufUtils.hexStringToByteBuf("04 0A 00 08 00 00 00 02"), list);
+        detector.decode(channelHandlerContext, ByteBufUtils.hexStringToByteBuf("04 00 00 08 00 00 00 03"), list);
+        Assert.assertEquals(2, list.size());
+        Mockito.verify(rateLimiter, Mockito.times(2)).tryAcquire(Matchers.any(ByteBuf.class), Matchers.eq(0),
+                Matchers.eq(8));
+    }
+
     @Test
     public void testDecodeHelloProtocolMessage() {
         detector.decode(channelHandlerContext, ByteBufUtils.hexStringToByteBuf("05 00 00 08 00 00 00 01"), list);
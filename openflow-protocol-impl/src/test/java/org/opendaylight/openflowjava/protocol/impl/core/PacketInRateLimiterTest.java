@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.impl.core;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.Assert;
+import org.junit.Test;
+import org.opendaylight.openflowjava.protocol.api.connection.PacketInRateLimitConfiguration;
+import org.opendaylight.openflowjava.protocol.api.util.EncodeConstants;
+import org.opendaylight.openflowjava.statistics.ConnectionStatistics;
+import org.opendaylight.openflowjava.statistics.MessageCounterType;
+
+/**
+ * Unit tests for {@link PacketInRateLimiter}
+ */
+public class PacketInRateLimiterTest {
+
+    private static final long START = 1000;
+    private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private static PacketInRateLimitConfiguration config(final long switchRate, final long switchBurst,
+            final long tableRate, final long reasonRate) {
+        return new PacketInRateLimitConfiguration() {
+            @Override
+            public long getSwitchRate() {
+                return switchRate;
+            }
+
+            @Override
+            public long getSwitchBurst() {
+                return switchBurst;
+            }
+
+            @Override
+            public long getTableRate() {
+                return tableRate;
+            }
+
+            @Override
+            public long getReasonRate() {
+                return reasonRate;
+            }
+
+            @Override
+            public long getGlobalRate() {
+                return 0;
+            }
+        };
+    }
+
+    private static ByteBuf packetInV13(final int reason, final int tableId) {
+        final ByteBuf frame = Unpooled.buffer();
+        frame.writeByte(EncodeConstants.OF13_VERSION_ID);
+        frame.writeByte(EncodeConstants.OF_PACKETIN_MESSAGE_TYPE_VALUE);
+        frame.writeShort(40);
+        frame.writeInt(1);
+        frame.writeInt(0xFFFFFFFF);
+        frame.writeShort(0);
+        frame.writeByte(reason);
+        frame.writeByte(tableId);
+        frame.writeZero(24);
+        return frame;
+    }
+
+    private static ByteBuf packetInV10(final int reason) {
+        final ByteBuf frame = Unpooled.buffer();
+        frame.writeByte(EncodeConstants.OF10_VERSION_ID);
+        frame.writeByte(EncodeConstants.OF_PACKETIN_MESSAGE_TYPE_VALUE);
+        frame.writeShort(18);
+        frame.writeInt(1);
+        frame.writeInt(0xFFFFFFFF);
+        frame.writeShort(0);
+        frame.writeShort(1);
+        frame.writeByte(reason);
+        frame.writeByte(0);
+        return frame;
+    }
+
+    private static boolean tryAcquire(final PacketInRateLimiter limiter, final ByteBuf frame, final long now) {
+        return limiter.tryAcquire(frame, frame.readerIndex(), frame.readableBytes(), now);
+    }
+
+    /**
+     * Tests switch bucket burst and refill
+     */
+    @Test
+    public void testSwitchRate() {
+        final ConnectionStatistics statistics = new ConnectionStatistics("switch");
+        final PacketInRateLimiter limiter = new PacketInRateLimiter(config(10, 2, 0, 0), null, statistics, START);
+        final ByteBuf frame = packetInV13(0, 0);
+
+        Assert.assertTrue(tryAcquire(limiter, frame, START));
+        Assert.assertTrue(tryAcquire(limiter, frame, START));
+        Assert.assertFalse(tryAcquire(limiter, frame, START));
+        Assert.assertFalse(tryAcquire(limiter, frame, START + 50 * MILLIS));
+        Assert.assertTrue(tryAcquire(limiter, frame, START + 100 * MILLIS));
+        Assert.assertFalse(tryAcquire(limiter, frame, START + 100 * MILLIS));
+
+        Assert.assertEquals(3, limiter.getAdmitted());
+        Assert.assertEquals(3, limiter.getDropped());
+        Assert.assertEquals(3, statistics.get(MessageCounterType.RATE_LIMIT_PASSES,
+                EncodeConstants.OF_PACKETIN_MESSAGE_TYPE_VALUE));
+        Assert.assertEquals(3, statistics.get(MessageCounterType.RATE_LIMIT_DROPS,
+                EncodeConstants.OF_PACKETIN_MESSAGE_TYPE_VALUE));
+    }
+
+    /**
+     * Tests that tables are limited separately and a drop does not consume tokens of other buckets
+     */
+    @Test
+    public void testTableRate() {
+        final PacketInRateLimiter limiter = new PacketInRateLimiter(config(2, 0, 1, 0), null, null, START);
+        final ByteBuf table1 = packetInV13(0, 1);
+        final ByteBuf table2 = packetInV13(0, 2);
+
+        Assert.assertTrue(tryAcquire(limiter, table1, START));
+        Assert.assertFalse(tryAcquire(limiter, table1, START));
+        Assert.assertTrue(tryAcquire(limiter, table2, START));
+        Assert.assertFalse(tryAcquire(limiter, table2, START));
+    }
+
+    /**
+     * Tests reason buckets of OF1.0 PacketIns
+     */
+    @Test
+    public void testReasonRateV10() {
+        final PacketInRateLimiter limiter = new PacketInRateLimiter(config(0, 0, 1, 1), null, null, START);
+        final ByteBuf noMatch = packetInV10(0);
+        final ByteBuf action = packetInV10(1);
+
+        Assert.assertTrue(tryAcquire(limiter, noMatch, START));
+        Assert.assertFalse(tryAcquire(limiter, noMatch, START));
+        Assert.assertTrue(tryAcquire(limiter, action, START));
+        Assert.assertTrue(tryAcquire(limiter, noMatch, START + TimeUnit.SECONDS.toNanos(1)));
+    }
+
+    /**
+     * Tests that global budget is split among switches and share is returned on close
+     */
+    @Test
+    public void testGlobalBudget() {
+        final PacketInBudget budget = new PacketInBudget(10, START);
+        final PacketInRateLimiter first = new PacketInRateLimiter(config(0, 0, 0, 0), budget, null, START);
+        final PacketInRateLimiter second = new PacketInRateLimiter(config(0, 0, 0, 0), budget, null, START);
+        Assert.assertEquals(2, budget.getSwitchCount());
+        Assert.assertEquals(5, budget.getFairShare(), 0);
+
+        final ByteBuf frame = packetInV13(0, 0);
+        // own share of 5 and 5 borrowed from idle second switch
+        for (int i = 0; i < 10; i++) {
+            Assert.assertTrue(tryAcquire(first, frame, START));
+        }
+        Assert.assertFalse(tryAcquire(first, frame, START));
+        // own share is guaranteed even if the shared bucket is exhausted
+        for (int i = 0; i < 5; i++) {
+            Assert.assertTrue(tryAcquire(second, frame, START));
+        }
+        Assert.assertFalse(tryAcquire(second, frame, START));
+
+        second.close();
+        second.close();
+        Assert.assertEquals(1, budget.getSwitchCount());
+        Assert.assertEquals(10, budget.getFairShare(), 0);
+        Assert.assertTrue(tryAcquire(first, frame, START + 100 * MILLIS));
+    }
+
+    /**
+     * Tests that busy switch uses the share of idle switches
+     */
+    @Test
+    public void testGlobalBudgetIdleSwitches() {
+        final PacketInBudget budget = new PacketInBudget(40, START);
+        final PacketInRateLimiter busy = new PacketInRateLimiter(config(0, 0, 0, 0), budget, null, START);
+        final List<PacketInRateLimiter> idle = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            idle.add(new PacketInRateLimiter(config(0, 0, 0, 0), budget, null, START));
+        }
+        Assert.assertEquals(10, budget.getFairShare(), 0);
+
+        final ByteBuf frame = packetInV13(0, 0);
+        for (long second = 0; second < 3; second++) {
+            final long now = START + second * 1000 * MILLIS;
+            for (int i = 0; i < 40; i++) {
+                Assert.assertTrue(tryAcquire(busy, frame, now));
+            }
+            Assert.assertFalse(tryAcquire(busy, frame, now));
+        }
+        Assert.assertEquals(120, busy.getAdmitted());
+
+        // idle switch waking up still gets its own share
+        final long now = START + 2000 * MILLIS;
+        for (int i = 0; i < 10; i++) {
+            Assert.assertTrue(tryAcquire(idle.get(0), frame, now));
+        }
+        Assert.assertFalse(tryAcquire(idle.get(0), frame, now));
+    }
+}
@@ -10,15 +10,24 @@ package org.opendaylight.openflowjava.protocol.impl.core;
 
 import static org.junit.Assert.assertEquals;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyLong;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelOption;
 import io.netty.channel.ChannelPipeline;
+import io.netty.channel.WriteBufferWaterMark;
 import io.netty.channel.group.DefaultChannelGroup;
 import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.SocketChannelConfig;
 import io.netty.handler.ssl.SslHandler;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
@@ -28,6 +37,8 @@ import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.opendaylight.openflowjava.protocol.api.connection.PacketInRateLimitConfiguration;
+import org.opendaylight.openflowjava.protocol.api.connection.SocketConfiguration;
 import org.opendaylight.openflowjava.protocol.api.connection.SwitchConnectionHandler;
 import org.opendaylight.openflowjava.protocol.api.connection.TlsConfiguration;
 import org.opendaylight.openflowjava.protocol.api.connection.TlsConfigurationImpl;
@@ -39,6 +50,7 @@ import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.config.rev140630.K
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.config.rev140630.PathType;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.openflow._switch.connection.provider.impl.rev140328.Tls;
 
+import com.google.common.collect.Iterators;
 import com.google.common.collect.Lists;
 
 /**
@@ -48,12 +60,16 @@ import com.google.common.collect.Lists;
 public class PublishingChannelInitializerTest {
 
     @Mock SocketChannel mockSocketCh ;
+    @Mock SocketChannelConfig mockSocketChConfig ;
+    @Mock SocketConfiguration mockSocketConfig ;
     @Mock ChannelPipeline mockChPipeline ;
     @Mock SwitchConnectionHandler mockSwConnHandler ;
     @Mock ConnectionAdapterFactory mockConnAdaptorFactory;
     @Mock DefaultChannelGroup mockChGrp ;
     @Mock ConnectionFacade mockConnFacade ;
     @Mock Tls mockTls ;
+    @Mock ChannelFuture mockCloseFuture ;
+    @Mock PacketInRateLimitConfiguration mockRateLimit ;
     SSLEngine sslEngine ;
 
     @Mock SerializationFactory mockSerializationFactory ;
@@ -82,13 +98,14 @@ public class PublishingChannelInitializerTest {
 
         inetSockAddr = new InetSocketAddress(InetAddress.getLocalHost(), 8675 ) ;
 
-        when(mockConnAdaptorFactory.createConnectionFacade(mockSocketCh, null, true))
+        when(mockConnAdaptorFactory.createConnectionFacade(mockSocketCh, null, true, null))
         .thenReturn(mockConnFacade);
         when(mockSocketCh.remoteAddress()).thenReturn(inetSockAddr) ;
         when(mockSocketCh.localAddress()).thenReturn(inetSockAddr) ;
         when(mockSocketCh.remoteAddress()).thenReturn(inetSockAddr) ;
         when(mockSwConnHandler.accept(eq(InetAddress.getLocalHost()))).thenReturn(true) ;
         when(mockSocketCh.pipeline()).thenReturn(mockChPipeline) ;
+        when(mockSocketCh.config()).thenReturn(mockSocketChConfig) ;
 
         tlsConfiguration = new TlsConfigurationImpl(KeystoreType.JKS, "/selfSignedSwitch", PathType.CLASSPATH,
                 KeystoreType.JKS, "/selfSignedController", PathType.CLASSPATH,
@@ -131,6 +148,98 @@ public class PublishingChannelInitializerTest {
         verifyCommonHandlers();
     }
 
+    /**
+     * Test channel initialization with fused decoder
+     */
+    @Test
+    public void testinitChannelFusedDecoder()  {
+        pubChInitializer.setUseFusedDecoder(true);
+        pubChInitializer.initChannel(mockSocketCh) ;
+
+        verify(mockChPipeline, times(1)).addLast(eq(PipelineHandlers.OF_FUSED_DECODER.name()),any(OFFusedDecoder.class)) ;
+        verify(mockChPipeline, times(0)).addLast(eq(PipelineHandlers.OF_FRAME_DECODER.name()),any(OFFrameDecoder.class)) ;
+        verify(mockChPipeline, times(0)).addLast(eq(PipelineHandlers.OF_VERSION_DETECTOR.name()),any(OFVersionDetector.class)) ;
+        verify(mockChPipeline, times(0)).addLast(eq(PipelineHandlers.OF_DECODER.name()),any(OFDecoder.class)) ;
+        verify(mockChPipeline, times(1)).addLast(eq(PipelineHandlers.OF_ENCODER.name()),any(OFEncoder.class)) ;
+        verify(mockChPipeline, times(1)).addLast(eq(PipelineHandlers.DELEGATING_INBOUND_HANDLER.name()),any(DelegatingInboundHandler.class));
+    }
+
+    /**
+     * Test outbound coalescing configuration is passed to connection
+     */
+    @Test
+    public void testinitChannelOutboundCoalescing()  {
+        pubChInitializer.setOutboundCoalescingBytes(65536);
+        pubChInitializer.initChannel(mockSocketCh) ;
+
+        verify(mockConnFacade, times(1)).setOutboundCoalescingBytes(65536);
+    }
+
+    /**
+     * Test outbound queue segment configuration is passed to connection only when set
+     */
+    @Test
+    public void testinitChannelOutboundQueueSegments()  {
+        pubChInitializer.initChannel(mockSocketCh) ;
+        verify(mockConnFacade, never()).setOutboundQueueSegments(anyInt(), anyInt());
+
+        pubChInitializer.setOutboundQueueSegments(1024, 16);
+        pubChInitializer.initChannel(mockSocketCh) ;
+        verify(mockConnFacade, times(1)).setOutboundQueueSegments(1024, 16);
+    }
+
+    /**
+     * Test RPC response timeout configuration is passed to connection
+     */
+    @Test
+    public void testinitChannelRpcResponseTimeout()  {
+        pubChInitializer.initChannel(mockSocketCh) ;
+        verify(mockConnFacade, never()).setRpcResponseTimeout(anyLong());
+
+        pubChInitializer.setRpcResponseTimeout(5000);
+        pubChInitializer.initChannel(mockSocketCh) ;
+        verify(mockConnFacade, times(1)).setRpcResponseTimeout(5000);
+    }
+
+    /**
+     * Test PacketIn rate limiter is created for the connection and registered in the shared budget
+     */
+    @Test
+    public void testinitChannelPacketInRateLimit()  {
+        when(mockSocketCh.closeFuture()).thenReturn(mockCloseFuture);
+        when(mockRateLimit.getSwitchRate()).thenReturn(100L);
+        when(mockRateLimit.getGlobalRate()).thenReturn(1000L);
+        pubChInitializer.setPacketInRateLimit(mockRateLimit);
+        pubChInitializer.initChannel(mockSocketCh) ;
+
+        verify(mockSocketCh, never()).close();
+        verify(mockCloseFuture, times(1)).addListener(any(ChannelFutureListener.class));
+        assertEquals(1, pubChInitializer.getPacketInBudget().getSwitchCount());
+    }
+
+    /**
+     * Test socket configuration is applied to new channels and, when updated, to active channels
+     */
+    @Test
+    public void testinitChannelSocketConfiguration()  {
+        pubChInitializer.initChannel(mockSocketCh) ;
+        verify(mockSocketChConfig, times(1)).setWriteSpinCount(SocketTuning.DEFAULT_WRITE_SPIN_COUNT);
+        verify(mockSocketChConfig, never()).setOption(eq(ChannelOption.SO_RCVBUF), anyInt());
+
+        when(mockSocketConfig.getWriteBufferHighWaterMark()).thenReturn(1 << 20);
+        when(mockSocketConfig.getWriteBufferLowWaterMark()).thenReturn(1 << 19);
+        when(mockSocketConfig.getWriteSpinCount()).thenReturn(8);
+        when(mockSocketConfig.getIoRatio()).thenReturn(50);
+        when(mockSocketConfig.getMaxMessagesPerRead()).thenReturn(4);
+        when(mockSocketConfig.getReceiveBufferSize()).thenReturn(4 << 20);
+        when(mockChGrp.iterator()).thenReturn(Iterators.<Channel>singletonIterator(mockSocketCh));
+        pubChInitializer.updateSocketConfiguration(mockSocketConfig);
+
+        verify(mockSocketChConfig, times(2)).setWriteBufferWaterMark(any(WriteBufferWaterMark.class));
+        verify(mockSocketChConfig, times(1)).setWriteSpinCount(8);
+        verify(mockSocketChConfig, times(1)).setOption(ChannelOption.SO_RCVBUF, 4 << 20);
+    }
+
     /**
      * Test disconnect on new connection rejected
      * @throws UnknownHostException
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.impl.core;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.netty.channel.AdaptiveRecvByteBufAllocator;
+import io.netty.channel.ChannelConfig;
+import io.netty.channel.FixedRecvByteBufAllocator;
+import io.netty.channel.MaxMessagesRecvByteBufAllocator;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.opendaylight.openflowjava.protocol.api.connection.SocketConfiguration;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.config.rev140630.ReceiveBufferAllocator;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.config.rev140630.SocketTransport;
+
+/**
+ * Unit tests for {@link SocketTuning}
+ */
+public class SocketTuningTest {
+
+    private final EmbeddedChannel channel = new EmbeddedChannel();
+
+    @After
+    public void tearDown() {
+        channel.finishAndReleaseAll();
+    }
+
+    private static SocketConfiguration config(final int lowWaterMark, final int highWaterMark) {
+        final SocketConfiguration config = mock(SocketConfiguration.class);
+        when(config.getWriteBufferLowWaterMark()).thenReturn(lowWaterMark);
+        when(config.getWriteBufferHighWaterMark()).thenReturn(highWaterMark);
+        when(config.getWriteSpinCount()).thenReturn(4);
+        when(config.getIoRatio()).thenReturn(80);
+        when(config.getMaxMessagesPerRead()).thenReturn(2);
+        when(config.getReceiveBufferAllocator()).thenReturn(ReceiveBufferAllocator.FIXED);
+        when(config.getReceiveBufferInitial()).thenReturn(2048);
+        when(config.getReceiveBufferMaximum()).thenReturn(2048);
+        return config;
+    }
+
+    /**
+     * Test defaults are applied to channels and event loops when no configuration is provided
+     */
+    @Test
+    public void testDefaults() {
+        final SocketConfiguration config = SocketTuning.checkConfiguration(null);
+        Assert.assertSame(SocketTuning.DEFAULTS, config);
+        Assert.assertFalse(SocketTuning.isEpollEnabled(SocketTransport.NIO));
+
+        SocketTuning.applyChannelOptions(channel.config(), config);
+        final ChannelConfig channelConfig = channel.config();
+        Assert.assertEquals(SocketTuning.DEFAULT_WRITE_HIGH_WATERMARK, channelConfig.getWriteBufferHighWaterMark());
+        Assert.assertEquals(SocketTuning.DEFAULT_WRITE_LOW_WATERMARK, channelConfig.getWriteBufferLowWaterMark());
+        Assert.assertEquals(SocketTuning.DEFAULT_WRITE_SPIN_COUNT, channelConfig.getWriteSpinCount());
+        Assert.assertTrue(channelConfig.getRecvByteBufAllocator() instanceof AdaptiveRecvByteBufAllocator);
+    }
+
+    /**
+     * Test options are applied to an active channel, including options it has already been configured with
+     */
+    @Test
+    public void testApplyChannelOptions() {
+        SocketTuning.applyChannelOptions(channel.config(), SocketTuning.DEFAULTS);
+        SocketTuning.applyChannelOptions(channel.config(), config(1 << 20, 1 << 21));
+
+        final ChannelConfig channelConfig = channel.config();
+        Assert.assertEquals(1 << 21, channelConfig.getWriteBufferHighWaterMark());
+        Assert.assertEquals(1 << 20, channelConfig.getWriteBufferLowWaterMark());
+        Assert.assertEquals(4, channelConfig.getWriteSpinCount());
+        Assert.assertTrue(channelConfig.getRecvByteBufAllocator() instanceof FixedRecvByteBufAllocator);
+        Assert.assertEquals(2,
+                ((MaxMessagesRecvByteBufAllocator) channelConfig.getRecvByteBufAllocator()).maxMessagesPerRead());
+    }
+
+    /**
+     * Test inconsistent watermarks are rejected
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testCheckConfigurationWaterMarks() {
+        SocketTuning.checkConfiguration(config(1 << 21, 1 << 20));
+    }
+}
@@ -8,18 +8,31 @@
 
 package org.opendaylight.openflowjava.protocol.impl.core;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.io.File;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.net.ssl.SSLContext;
 
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.mockito.MockitoAnnotations;
 import org.opendaylight.openflowjava.protocol.api.connection.TlsConfiguration;
 import org.opendaylight.openflowjava.protocol.api.connection.TlsConfigurationImpl;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.config.rev140630.KeystoreType;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.config.rev140630.PathType;
 
+import com.google.common.base.Ticker;
 import com.google.common.collect.Lists;
 
 /**
@@ -31,6 +44,10 @@ public class SslContextFactoryTest {
     SslContextFactory sslContextFactory;
     TlsConfiguration tlsConfiguration ;
 
+    /** Folder for keystore copies */
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
     /**
      * Sets up test environment
      */
@@ -53,5 +70,54 @@ public class SslContextFactoryTest {
         assertNotNull( context );
     }
 
-}
+    /**
+     * Test that server context is shared and has session caching enabled
+     */
+    @Test
+    public void testServerContextCached() {
+        final SSLContext context = sslContextFactory.getServerContext();
+
+        assertSame(context, sslContextFactory.getServerContext());
+        assertEquals(SslContextFactory.SESSION_CACHE_SIZE, context.getServerSessionContext().getSessionCacheSize());
+        assertEquals(SslContextFactory.SESSION_TIMEOUT_SECONDS, context.getServerSessionContext().getSessionTimeout());
+    }
+
+    /**
+     * Test that server context is reloaded after keystore file changes
+     * @throws Exception
+     */
+    @Test
+    public void testServerContextReload() throws Exception {
+        final File keystore = copyResource("/exemplary-ctlKeystore");
+        final File truststore = copyResource("/exemplary-ctlTrustStore");
+        final AtomicLong time = new AtomicLong();
+        sslContextFactory = new SslContextFactory(new TlsConfigurationImpl(KeystoreType.JKS,
+                truststore.getAbsolutePath(), PathType.PATH, KeystoreType.JKS, keystore.getAbsolutePath(),
+                PathType.PATH, Lists.<String>newArrayList()), new Ticker() {
+                    @Override
+                    public long read() {
+                        return time.get();
+                    }
+                });
+        final SSLContext context = sslContextFactory.getServerContext();
+        assertNotNull(context);
+
+        keystore.setLastModified(keystore.lastModified() - 10000);
+        // Modification is not noticed until the next check is due
+        assertSame(context, sslContextFactory.getServerContext());
+        time.addAndGet(TimeUnit.SECONDS.toNanos(1));
 
+        final SSLContext reloaded = sslContextFactory.getServerContext();
+        assertNotNull(reloaded);
+        assertNotSame(context, reloaded);
+        assertSame(reloaded, sslContextFactory.getServerContext());
+    }
+
+    private File copyResource(final String resource) throws Exception {
+        final File file = folder.newFile();
+        try (InputStream in = getClass().getResourceAsStream(resource)) {
+            Files.copy(in, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+        return file;
+    }
+}
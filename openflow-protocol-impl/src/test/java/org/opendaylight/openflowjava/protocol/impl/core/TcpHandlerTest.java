@@ -9,6 +9,7 @@
 package org.opendaylight.openflowjava.protocol.impl.core;
 
 import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.when;
 import io.netty.channel.ChannelHandlerContext;
 
 import java.io.IOException;
@@ -18,11 +19,13 @@ import java.net.InetSocketAddress;
 import java.net.Socket;
 import java.util.concurrent.ExecutionException;
 
+import io.netty.channel.epoll.Epoll;
 import io.netty.channel.unix.Errors;
 import org.junit.Assert;
 import org.junit.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.opendaylight.openflowjava.protocol.api.connection.SocketConfiguration;
 import org.opendaylight.openflowjava.protocol.api.connection.SwitchConnectionHandler;
 import org.opendaylight.openflowjava.protocol.impl.deserialization.DeserializationFactory;
 import org.opendaylight.openflowjava.protocol.impl.serialization.SerializationFactory;
@@ -41,6 +44,7 @@ public class TcpHandlerTest {
     @Mock SwitchConnectionHandler mockSwitchConnHndler ;
     @Mock SerializationFactory mockSerializationFactory ;
     @Mock DeserializationFactory mockDeserializationFactory ;
+    @Mock SocketConfiguration mockSocketConfig ;
 
     TcpHandler tcpHandler ;
 
@@ -121,6 +125,30 @@ public class TcpHandlerTest {
         shutdownServer();
     }
 
+    /**
+     * Test run with listeners sharing the port on Epoll native transport, single listener is bound without Epoll
+     * @throws IOException
+     * @throws InterruptedException
+     * @throws ExecutionException
+     */
+    @Test
+    public void testRunWithListenerShards() throws IOException, InterruptedException, ExecutionException  {
+        when(mockSocketConfig.getBacklog()).thenReturn(128);
+        when(mockSocketConfig.getIoRatio()).thenReturn(100);
+        when(mockSocketConfig.getListenerShards()).thenReturn(4);
+
+        tcpHandler = new TcpHandler(serverAddress, 0);
+        tcpHandler.setChannelInitializer(mockChannelInitializer);
+        tcpHandler.setSocketConfiguration(mockSocketConfig);
+
+        assertEquals("failed to start server", true, startupServer(true));
+        assertEquals("wrong listener count", Epoll.isAvailable() ? 4 : 1, tcpHandler.getListenerCount());
+        for (int i = 0; i < 8; ++i) {
+            assertEquals("failed to connect client", true, clientConnection(tcpHandler.getPort()));
+        }
+        shutdownServer();
+    }
+
     /**
      * Test run with encryption
      * @throws InterruptedException
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.impl.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import javax.management.ObjectName;
+import org.junit.Test;
+
+/**
+ * Testing class of {@link TlsHandshakeStatistics}
+ */
+public class TlsHandshakeStatisticsTest {
+
+    /**
+     * Test handshake recording
+     */
+    @Test
+    public void testRecordHandshake() {
+        final TlsHandshakeStatistics statistics = new TlsHandshakeStatistics();
+        assertEquals(0, statistics.getAverageHandshakeMicros());
+
+        statistics.recordHandshake(TimeUnit.MILLISECONDS.toNanos(2), true);
+        statistics.recordHandshake(TimeUnit.MILLISECONDS.toNanos(6), true);
+        statistics.recordHandshake(TimeUnit.MILLISECONDS.toNanos(4), false);
+
+        assertEquals(2, statistics.getSuccessfulHandshakes());
+        assertEquals(1, statistics.getFailedHandshakes());
+        assertEquals(4000, statistics.getAverageHandshakeMicros());
+        assertEquals(6000, statistics.getMaxHandshakeMicros());
+    }
+
+    /**
+     * Test percentiles and histogram of handshake durations
+     */
+    @Test
+    public void testHistogram() {
+        final TlsHandshakeStatistics statistics = new TlsHandshakeStatistics();
+        assertEquals(0, statistics.getMedianHandshakeMicros());
+
+        for (int i = 0; i < 98; ++i) {
+            statistics.recordHandshake(TimeUnit.MICROSECONDS.toNanos(700), true);
+        }
+        statistics.recordHandshake(TimeUnit.MILLISECONDS.toNanos(3), true);
+        statistics.recordHandshake(TimeUnit.MINUTES.toNanos(5), false);
+
+        assertEquals(1024, statistics.getMedianHandshakeMicros());
+        assertEquals(4096, statistics.getHandshakeMicros99thPercentile());
+        assertEquals(TimeUnit.MINUTES.toMicros(5), statistics.getHandshakeMicrosPercentile(100));
+        final Map<String, Long> histogram = statistics.getHandshakeHistogram();
+        assertEquals(3, histogram.size());
+        assertEquals(Long.valueOf(98), histogram.get("<1024us"));
+        assertEquals(Long.valueOf(1), histogram.get(">=67108864us"));
+
+        statistics.reset();
+        assertEquals(0, statistics.getSuccessfulHandshakes());
+        assertTrue(statistics.getHandshakeHistogram().isEmpty());
+    }
+
+    /**
+     * Test shared statistics are exposed through JMX
+     * @throws Exception
+     */
+    @Test
+    public void testRegisterMBean() throws Exception {
+        final TlsHandshakeStatistics statistics = TlsHandshakeStatistics.getInstance();
+        final ObjectName name = new ObjectName(TlsHandshakeStatistics.OBJECT_NAME);
+        statistics.registerMBean();
+        try {
+            assertTrue(ManagementFactory.getPlatformMBeanServer().isRegistered(name));
+            ManagementFactory.getPlatformMBeanServer().getAttribute(name, "HandshakeHistogram");
+        } finally {
+            statistics.unregisterMBean();
+        }
+        assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(name));
+    }
+}
@@ -7,17 +7,37 @@
  */
 package org.opendaylight.openflowjava.protocol.impl.core;
 
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.google.common.base.Ticker;
+import com.google.common.util.concurrent.FutureCallback;
 import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
 import io.netty.channel.socket.DatagramPacket;
 
 import java.net.InetSocketAddress;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.opendaylight.openflowjava.protocol.api.connection.OutboundQueue;
+import org.opendaylight.openflowjava.protocol.api.connection.OutboundQueueException;
+import org.opendaylight.openflowjava.protocol.api.connection.OutboundQueueHandler;
+import org.opendaylight.openflowjava.protocol.impl.core.connection.ConnectionAdapterImpl;
 import org.opendaylight.openflowjava.protocol.impl.core.connection.MessageConsumer;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.EchoInputBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.OfHeader;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.system.rev130927.DisconnectEvent;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.system.rev130927.SystemNotificationsListener;
+import org.opendaylight.yangtools.yang.binding.DataObject;
 
 /**
  * @author madamjak
@@ -26,7 +46,20 @@ import org.opendaylight.openflowjava.protocol.impl.core.connection.MessageConsum
 public class UdpConnectionMapTest {
 
     @Mock MessageConsumer consumerMock;
+    @Mock MessageConsumer consumerMock2;
     @Mock  ByteBuf messageBuffer;
+    @Mock SystemNotificationsListener systemListener;
+    @Mock OutboundQueueHandler queueHandler;
+    @Mock FutureCallback<OfHeader> callback;
+
+    private final UdpConnectionMap connectionMap = new UdpConnectionMap();
+    private long time;
+    private final Ticker ticker = new Ticker() {
+        @Override
+        public long read() {
+            return time;
+        }
+    };
 
     @Before
     public void startUp(){
@@ -41,12 +74,12 @@ public class UdpConnectionMapTest {
         InetSocketAddress recipientISA = InetSocketAddress.createUnresolved("localhost", 9876);
         InetSocketAddress senderISA = InetSocketAddress.createUnresolved("192.168.15.2", 21021);
         DatagramPacket datagramPacket = new DatagramPacket(messageBuffer, recipientISA, senderISA);
-        UdpConnectionMap.addConnection(datagramPacket.sender(), consumerMock);
+        connectionMap.addConnection(datagramPacket.sender(), consumerMock);
         Assert.assertEquals("Wrong - different object has been returned",
-                consumerMock, UdpConnectionMap.getMessageConsumer(datagramPacket.sender()));
-        UdpConnectionMap.removeConnection(datagramPacket.sender());
+                consumerMock, connectionMap.getMessageConsumer(datagramPacket.sender()));
+        connectionMap.removeConnection(datagramPacket.sender());
         Assert.assertNull("Wrong - object has been returned after remove key-value pair",
-                UdpConnectionMap.getMessageConsumer(datagramPacket.sender()));
+                connectionMap.getMessageConsumer(datagramPacket.sender()));
     }
 
     /**
@@ -54,7 +87,7 @@ public class UdpConnectionMapTest {
      */
     @Test(expected = IllegalArgumentException.class)
     public void testWithoutSenderAddressOnAdd(){
-        UdpConnectionMap.addConnection(null, consumerMock);
+        connectionMap.addConnection(null, consumerMock);
     }
 
     /**
@@ -62,7 +95,7 @@ public class UdpConnectionMapTest {
      */
     @Test(expected = IllegalArgumentException.class)
     public void testWithoutSenderAddressOnGet(){
-        UdpConnectionMap.getMessageConsumer(null);
+        connectionMap.getMessageConsumer(null);
     }
 
     /**
@@ -70,6 +103,85 @@ public class UdpConnectionMapTest {
      */
     @Test(expected = IllegalArgumentException.class)
     public void testWithoutSenderAddressOnRemove(){
-        UdpConnectionMap.removeConnection(null);
+        connectionMap.removeConnection(null);
+    }
+
+    /**
+     * Test {@link UdpConnectionMap} - map is full once maximal number of senders is tracked
+     */
+    @Test
+    public void testMaxPeers(){
+        UdpConnectionMap limitedMap = new UdpConnectionMap(4, 2, 0, ticker);
+        InetSocketAddress sender1 = InetSocketAddress.createUnresolved("192.168.15.2", 21021);
+        InetSocketAddress sender2 = InetSocketAddress.createUnresolved("192.168.15.3", 21021);
+        limitedMap.addConnection(sender1, consumerMock);
+        limitedMap.addConnection(sender1, consumerMock);
+        Assert.assertFalse("Wrong - replaced sender has been counted twice", limitedMap.isFull());
+        limitedMap.addConnection(sender2, consumerMock2);
+        Assert.assertTrue("Wrong - map with two senders is not full", limitedMap.isFull());
+        Assert.assertEquals(2, limitedMap.size());
+        limitedMap.removeConnection(sender1);
+        Assert.assertFalse("Wrong - map is full after remove", limitedMap.isFull());
+    }
+
+    /**
+     * Test {@link UdpConnectionMap} - silent senders are evicted and notified, active ones are kept
+     */
+    @Test
+    public void testEvictIdle(){
+        UdpConnectionMap evictingMap = new UdpConnectionMap(1, 0, 100, ticker);
+        InetSocketAddress sender1 = InetSocketAddress.createUnresolved("192.168.15.2", 21021);
+        InetSocketAddress sender2 = InetSocketAddress.createUnresolved("192.168.15.3", 21021);
+        evictingMap.addConnection(sender1, consumerMock);
+        evictingMap.addConnection(sender2, consumerMock2);
+        time = 60;
+        Assert.assertSame(consumerMock, evictingMap.getMessageConsumer(sender1));
+        time = 120;
+        Assert.assertEquals("Wrong - number of evicted senders", 1, evictingMap.evictIdle());
+        Assert.assertNull("Wrong - idle sender is still tracked", evictingMap.getMessageConsumer(sender2));
+        Assert.assertSame("Wrong - active sender has been evicted", consumerMock,
+                evictingMap.getMessageConsumer(sender1));
+        Assert.assertEquals(1, evictingMap.size());
+        verify(consumerMock2).consume(any(DisconnectEvent.class));
+        verify(consumerMock, never()).consume(any(DataObject.class));
+    }
+
+    /**
+     * Test {@link UdpConnectionMap} - outbound queue of evicted sender is shut down, its entries fail
+     * and nothing more is written to the sender
+     */
+    @Test
+    public void testEvictIdleShutsDownQueue(){
+        UdpConnectionMap evictingMap = new UdpConnectionMap(1, 0, 100, ticker);
+        InetSocketAddress sender = InetSocketAddress.createUnresolved("192.168.15.2", 21021);
+        EmbeddedChannel channel = new EmbeddedChannel();
+        channel.pipeline().addLast(PipelineHandlers.DELEGATING_INBOUND_HANDLER.name(),
+                new ChannelInboundHandlerAdapter());
+        ConnectionAdapterImpl adapter = new ConnectionAdapterImpl(channel, sender, true);
+        adapter.setSystemListener(systemListener);
+        adapter.registerOutboundQueueHandler(queueHandler, 64, TimeUnit.HOURS.toNanos(1));
+        ArgumentCaptor<OutboundQueue> queueCaptor = ArgumentCaptor.forClass(OutboundQueue.class);
+        verify(queueHandler).onConnectionQueueChanged(queueCaptor.capture());
+        OutboundQueue queue = queueCaptor.getValue();
+        evictingMap.addConnection(sender, adapter);
+
+        // First echo is written and waits for reply, second one is committed but not flushed yet
+        Long xid = queue.reserveEntry();
+        queue.commitEntry(xid, new EchoInputBuilder().setVersion((short) 4).setXid(xid).build(), callback);
+        channel.runPendingTasks();
+        Assert.assertNotNull("Wrong - echo not written", channel.readOutbound());
+        xid = queue.reserveEntry();
+        queue.commitEntry(xid, new EchoInputBuilder().setVersion((short) 4).setXid(xid).build(), callback);
+
+        time = 100;
+        Assert.assertEquals("Wrong - number of evicted senders", 1, evictingMap.evictIdle());
+        channel.runPendingTasks();
+        verify(systemListener).onDisconnectEvent(any(DisconnectEvent.class));
+        verify(callback, times(2)).onFailure(any(OutboundQueueException.class));
+        verify(queueHandler).onConnectionQueueChanged(null);
+        Assert.assertNull("Wrong - queue manager left in shared pipeline",
+                channel.pipeline().get(PipelineHandlers.CHANNEL_OUTBOUND_QUEUE_MANAGER.name()));
+        Assert.assertNull("Wrong - message written to evicted sender", channel.readOutbound());
+        channel.finishAndReleaseAll();
     }
 }
@@ -7,17 +7,12 @@
  */
 package org.opendaylight.openflowjava.protocol.impl.core.connection;
 
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.RemovalListener;
-import com.google.common.cache.RemovalNotification;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelOutboundHandlerAdapter;
 import io.netty.channel.ChannelPromise;
 import io.netty.channel.embedded.EmbeddedChannel;
 import java.net.InetSocketAddress;
-import java.util.concurrent.TimeUnit;
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
@@ -35,22 +30,11 @@ import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731
  */
 public class ChannelOutboundQueue02Test {
     private static int counter;
-    private static final int RPC_RESPONSE_EXPIRATION = 1;
-    private static final RemovalListener<RpcResponseKey, ResponseExpectedRpcListener<?>> REMOVAL_LISTENER =
-            new RemovalListener<RpcResponseKey, ResponseExpectedRpcListener<?>>() {
-        @Override
-        public void onRemoval(
-                final RemovalNotification<RpcResponseKey, ResponseExpectedRpcListener<?>> notification) {
-            notification.getValue().discard();
-        }
-    };
-
     @Mock EchoInput echoInput;
     @Mock BarrierInput barrierInput;
     @Mock EchoReplyInput echoReplyInput;
     @Mock ExperimenterInput experimenterInput;
     private ConnectionAdapterImpl adapter;
-    private Cache<RpcResponseKey, ResponseExpectedRpcListener<?>> cache;
     /**
      * Initialize mocks
      */
@@ -76,9 +60,6 @@ public class ChannelOutboundQueue02Test {
     public void test01() throws Exception {
         final EmbeddedChannel ec = new EmbeddedChannel(new EmbededChannelHandler());
         adapter = new ConnectionAdapterImpl(ec, InetSocketAddress.createUnresolved("localhost", 9876), true);
-        cache = CacheBuilder.newBuilder().concurrencyLevel(1).expireAfterWrite(RPC_RESPONSE_EXPIRATION, TimeUnit.MINUTES)
-                .removalListener(REMOVAL_LISTENER).build();
-        adapter.setResponseCache(cache);
         final ChannelOutboundQueue cq = (ChannelOutboundQueue) ec.pipeline().last();
         counter=0;
         adapter.barrier(barrierInput);
@@ -101,9 +82,6 @@ public class ChannelOutboundQueue02Test {
     public void test02(){
         final ChangeWritableEmbededChannel ec = new ChangeWritableEmbededChannel(new EmbededChannelHandler());
         adapter = new ConnectionAdapterImpl(ec, InetSocketAddress.createUnresolved("localhost", 9876), true);
-        cache = CacheBuilder.newBuilder().concurrencyLevel(1).expireAfterWrite(RPC_RESPONSE_EXPIRATION, TimeUnit.MINUTES)
-                .removalListener(REMOVAL_LISTENER).build();
-        adapter.setResponseCache(cache);
         ec.setReadOnly();
         counter=0;
         adapter.barrier(barrierInput);
@@ -36,7 +36,7 @@ public class ConnectionAdapterFactoryImplTest {
     @Test
     public void test(){
         final ConnectionAdapterFactoryImpl connAdapterFactory = new ConnectionAdapterFactoryImpl();
-        final ConnectionFacade connFacade = connAdapterFactory.createConnectionFacade(channel, address, true);
+        final ConnectionFacade connFacade = connAdapterFactory.createConnectionFacade(channel, address, true, null);
         Assert.assertNotNull("Wrong - ConnectionFacade has not created.", connFacade);
         Assert.assertEquals("Wrong - diffrence between channel.isOpen() and ConnectionFacade.isAlive()", channel.isOpen(), connFacade.isAlive());
     }
@@ -9,25 +9,37 @@
 package org.opendaylight.openflowjava.protocol.impl.core.connection;
 
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.RemovalListener;
-import com.google.common.cache.RemovalNotification;
+import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelPipeline;
 import io.netty.channel.socket.SocketChannel;
 import java.net.InetSocketAddress;
-import java.util.concurrent.TimeUnit;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.opendaylight.openflowjava.protocol.api.connection.ConnectionReadyListener;
+import org.opendaylight.openflowjava.protocol.api.connection.LazyPacketInMessage;
+import org.opendaylight.openflowjava.protocol.api.connection.MessageBatchListener;
 import org.opendaylight.openflowjava.protocol.api.util.EncodeConstants;
+import org.opendaylight.openflowjava.protocol.impl.deserialization.DeserializerRegistryImpl;
+import org.opendaylight.openflowjava.protocol.impl.deserialization.factories.LazyPacketInMessageFactory;
+import org.opendaylight.openflowjava.protocol.impl.util.BufferHelper;
+import org.opendaylight.openflowjava.statistics.MessageStatisticsRegistry;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.BarrierInput;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.BarrierInputBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.BarrierOutput;
@@ -64,26 +76,16 @@ import org.opendaylight.yangtools.yang.binding.DataObject;
  */
 public class ConnectionAdapterImplTest {
 
-    private static final int RPC_RESPONSE_EXPIRATION = 1;
-    private static final RemovalListener<RpcResponseKey, ResponseExpectedRpcListener<?>> REMOVAL_LISTENER =
-            new RemovalListener<RpcResponseKey, ResponseExpectedRpcListener<?>>() {
-        @Override
-        public void onRemoval(
-                final RemovalNotification<RpcResponseKey, ResponseExpectedRpcListener<?>> notification) {
-            notification.getValue().discard();
-        }
-    };
-
     @Mock SocketChannel channel;
     @Mock ChannelPipeline pipeline;
     @Mock OpenflowProtocolListener messageListener;
     @Mock SystemNotificationsListener systemListener;
     @Mock ConnectionReadyListener readyListener;
-    @Mock Cache<RpcResponseKey, ResponseExpectedRpcListener<?>> mockCache;
+    @Mock RpcResponseTable mockTable;
     @Mock ChannelFuture channelFuture;
+    @Mock MessageBatchListener batchListener;
 
     private ConnectionAdapterImpl adapter;
-    private Cache<RpcResponseKey, ResponseExpectedRpcListener<?>> cache;
 
     /**
      * Initializes ConnectionAdapter
@@ -96,9 +98,6 @@ public class ConnectionAdapterImplTest {
         adapter.setMessageListener(messageListener);
         adapter.setSystemListener(systemListener);
         adapter.setConnectionReadyListener(readyListener);
-        cache = CacheBuilder.newBuilder().concurrencyLevel(1).expireAfterWrite(RPC_RESPONSE_EXPIRATION, TimeUnit.MINUTES)
-                .removalListener(REMOVAL_LISTENER).build();
-        adapter.setResponseCache(cache);
         when(channel.disconnect()).thenReturn(channelFuture);
     }
 
@@ -147,12 +146,13 @@ public class ConnectionAdapterImplTest {
      */
     @Test
     public void testConsume2() {
-        adapter.setResponseCache(mockCache);
+        adapter.setResponseTable(mockTable);
+        final int responseType = RpcResponseTable.responseTypeOf(BarrierOutput.class);
         final BarrierOutputBuilder barrierBuilder = new BarrierOutputBuilder();
         barrierBuilder.setXid(42L);
         final BarrierOutput barrier = barrierBuilder.build();
         adapter.consume(barrier);
-        verify(mockCache, times(1)).getIfPresent(any(RpcResponseKey.class));
+        verify(mockTable, times(1)).remove(42L, responseType);
     }
 
     /**
@@ -164,17 +164,135 @@ public class ConnectionAdapterImplTest {
         inputBuilder.setVersion((short) EncodeConstants.OF13_VERSION_ID);
         inputBuilder.setXid(42L);
         final BarrierInput barrierInput = inputBuilder.build();
-        final RpcResponseKey key = new RpcResponseKey(42L, "org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.BarrierOutput");
+        final RpcResponseTable table = new RpcResponseTable();
+        adapter.setResponseTable(table);
         final ResponseExpectedRpcListener<OfHeader> listener = new ResponseExpectedRpcListener<>(barrierInput,
-                "failure", mockCache, key);
-        cache.put(key, listener);
+                "failure", table, 42L, RpcResponseTable.responseTypeOf(BarrierOutput.class));
+        table.put(listener);
         final BarrierOutputBuilder barrierBuilder = new BarrierOutputBuilder();
         barrierBuilder.setXid(42L);
         final BarrierOutput barrierOutput = barrierBuilder.build();
         adapter.consume(barrierOutput);
-        final ResponseExpectedRpcListener<?> ifPresent = cache.getIfPresent(key);
-        Assert.assertNull("Listener was not discarded", ifPresent);
+        Assert.assertEquals("Listener was not removed", 0, table.size());
+        Assert.assertTrue("Listener was not completed", listener.getResult().isDone());
+    }
+    /**
+     * Tests {@link ConnectionAdapterImpl#consume(List)} with batch listener set
+     */
+    @Test
+    public void testConsumeBatch() {
+        adapter.setMessageBatchListener(batchListener);
+        Assert.assertTrue(adapter.isBatching());
+        final PacketInMessage packetIn = new PacketInMessageBuilder().setXid(1L).build();
+        final PortStatusMessage portStatus = new PortStatusMessageBuilder().setXid(2L).build();
+        final SwitchIdleEvent idle = new SwitchIdleEventBuilder().build();
+        final MultipartReplyMessage multipart = new MultipartReplyMessageBuilder().setXid(3L).build();
+        adapter.consume(Arrays.<DataObject>asList(packetIn, idle, portStatus, multipart));
+
+        verify(systemListener, times(1)).onSwitchIdleEvent(idle);
+        verify(batchListener, times(1)).onMessageBatch(Arrays.<OfHeader>asList(packetIn, portStatus, multipart));
+        verify(messageListener, never()).onPacketInMessage(any(PacketInMessage.class));
     }
+
+    /**
+     * Tests {@link ConnectionAdapterImpl#consume(List)} with disconnect in the middle of batch
+     */
+    @Test
+    public void testConsumeBatchDisconnect() {
+        adapter.setMessageBatchListener(batchListener);
+        final PacketInMessage packetIn = new PacketInMessageBuilder().setXid(1L).build();
+        final DisconnectEvent disconnect = new DisconnectEventBuilder().build();
+        final PacketInMessage packetIn2 = new PacketInMessageBuilder().setXid(2L).build();
+        adapter.consume(Arrays.<DataObject>asList(packetIn, disconnect, packetIn2));
+
+        final InOrder order = inOrder(batchListener, systemListener);
+        order.verify(batchListener).onMessageBatch(Collections.<OfHeader>singletonList(packetIn));
+        order.verify(systemListener).onDisconnectEvent(disconnect);
+        verify(batchListener, times(1)).onMessageBatch(anyListOf(OfHeader.class));
+    }
+
+    private static LazyPacketInMessage lazyPacketIn() {
+        final DeserializerRegistryImpl registry = new DeserializerRegistryImpl();
+        registry.init();
+        final LazyPacketInMessageFactory factory = new LazyPacketInMessageFactory();
+        factory.injectDeserializerRegistry(registry);
+        final ByteBuf buffer = BufferHelper.buildBuffer("00 01 02 03 01 02 01 04 FF 01 02 03 04 05 06 07"
+                + " 00 01 00 0C 80 00 00 04 00 00 00 05 00 00 00 00 00 00 01 02 03 04");
+        final LazyPacketInMessage message = factory.deserialize(buffer);
+        buffer.release();
+        return message;
+    }
+
+    /**
+     * Tests lazy PacketIn received after disconnect is released instead of being silently dropped
+     */
+    @Test
+    public void testConsumeAfterDisconnectReleases() {
+        adapter.consume(new DisconnectEventBuilder().build());
+        final LazyPacketInMessage packetIn = lazyPacketIn();
+        adapter.consume(packetIn);
+
+        verify(messageListener, never()).onPacketInMessage(any(PacketInMessage.class));
+        Assert.assertEquals("Wrong - message not released", 0, packetIn.refCnt());
+    }
+
+    /**
+     * Tests lazy PacketIns following disconnect in a batch are released
+     */
+    @Test
+    public void testConsumeBatchDisconnectReleases() {
+        adapter.setMessageBatchListener(batchListener);
+        final LazyPacketInMessage packetIn = lazyPacketIn();
+        final LazyPacketInMessage packetIn2 = lazyPacketIn();
+        adapter.consume(Arrays.<DataObject>asList(new DisconnectEventBuilder().build(), packetIn, packetIn2));
+
+        verify(batchListener, never()).onMessageBatch(anyListOf(OfHeader.class));
+        Assert.assertEquals("Wrong - message not released", 0, packetIn.refCnt());
+        Assert.assertEquals("Wrong - message not released", 0, packetIn2.refCnt());
+    }
+
+    /**
+     * Tests UDP connection is not registered in message statistics, as datagram codecs do not count messages
+     */
+    @Test
+    public void testUdpConnectionNotCounted() {
+        MessageStatisticsRegistry.getInstance().setEnabled(true);
+        try {
+            final ConnectionAdapterImpl udpAdapter = new ConnectionAdapterImpl(channel,
+                    InetSocketAddress.createUnresolved("10.0.0.2", 6653), true);
+            Assert.assertNull("Wrong - UDP connection counted", udpAdapter.getMessageStatistics());
+            Assert.assertTrue("Wrong - UDP connection registered",
+                    MessageStatisticsRegistry.getInstance().getConnectionIds().isEmpty());
+        } finally {
+            MessageStatisticsRegistry.getInstance().setEnabled(false);
+        }
+    }
+
+    /**
+     * Tests UDP connection releases its handler from the listener channel shared with other connections
+     */
+    @Test
+    public void testConsumeDisconnectReleasesSharedChannel() {
+        when(pipeline.context(any(ChannelHandler.class))).thenReturn(mock(ChannelHandlerContext.class));
+        adapter.consume(new DisconnectEventBuilder().build());
+        verify(pipeline).remove(any(ChannelOutboundQueue.class));
+    }
+
+    /**
+     * Tests {@link ConnectionAdapterImpl#consume(List)} without batch listener
+     */
+    @Test
+    public void testConsumeListWithoutBatchListener() {
+        Assert.assertFalse(adapter.isBatching());
+        final PacketInMessage packetIn = new PacketInMessageBuilder().setXid(1L).build();
+        final FlowRemovedMessage flowRemoved = new FlowRemovedMessageBuilder().setXid(2L).build();
+        final List<DataObject> messages = Arrays.<DataObject>asList(packetIn, flowRemoved);
+        adapter.consume(messages);
+
+        verify(messageListener, times(1)).onPacketInMessage(packetIn);
+        verify(messageListener, times(1)).onFlowRemovedMessage(flowRemoved);
+    }
+
     /**
      * Test IsAlive method
      */
@@ -10,6 +10,8 @@ package org.opendaylight.openflowjava.protocol.impl.core.connection;
 
 import java.net.InetAddress;
 import org.opendaylight.openflowjava.protocol.api.connection.ConnectionConfiguration;
+import org.opendaylight.openflowjava.protocol.api.connection.PacketInRateLimitConfiguration;
+import org.opendaylight.openflowjava.protocol.api.connection.SocketConfiguration;
 import org.opendaylight.openflowjava.protocol.api.connection.ThreadConfiguration;
 import org.opendaylight.openflowjava.protocol.api.connection.TlsConfiguration;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.config.rev140630.TransportProtocol;
@@ -27,6 +29,14 @@ public class ConnectionConfigurationImpl implements ConnectionConfiguration {
     private final long switchIdleTimeout;
     private ThreadConfiguration threadConfig;
     private final boolean useBarrier;
+    private boolean useFusedDecoder;
+    private int outboundCoalescingBytes;
+    private int outboundQueueSegmentSize;
+    private int outboundQueueSegmentPoolSize;
+    private long rpcResponseTimeout;
+    private boolean useLazyPacketIn;
+    private PacketInRateLimitConfiguration packetInRateLimit;
+    private SocketConfiguration socketConfig;
 
     /**
      * Creates {@link ConnectionConfigurationImpl}
@@ -101,4 +111,95 @@ public class ConnectionConfigurationImpl implements ConnectionConfiguration {
     public boolean useBarrier() {
         return useBarrier;
     }
-}
\ No newline at end of file
+
+    @Override
+    public boolean useFusedDecoder() {
+        return useFusedDecoder;
+    }
+
+    /**
+     * @param useFusedDecoder true if single-pass inbound decoder should be used
+     */
+    public void setUseFusedDecoder(final boolean useFusedDecoder) {
+        this.useFusedDecoder = useFusedDecoder;
+    }
+
+    @Override
+    public int getOutboundCoalescingBytes() {
+        return outboundCoalescingBytes;
+    }
+
+    /**
+     * @param outboundCoalescingBytes size of buffers into which outbound queue messages are coalesced
+     */
+    public void setOutboundCoalescingBytes(final int outboundCoalescingBytes) {
+        this.outboundCoalescingBytes = outboundCoalescingBytes;
+    }
+
+    @Override
+    public int getOutboundQueueSegmentSize() {
+        return outboundQueueSegmentSize;
+    }
+
+    @Override
+    public int getOutboundQueueSegmentPoolSize() {
+        return outboundQueueSegmentPoolSize;
+    }
+
+    /**
+     * @param segmentSize number of entries in each outbound queue segment
+     * @param poolSize maximum number of segments pooled per event loop
+     */
+    public void setOutboundQueueSegments(final int segmentSize, final int poolSize) {
+        this.outboundQueueSegmentSize = segmentSize;
+        this.outboundQueueSegmentPoolSize = poolSize;
+    }
+
+    @Override
+    public long getRpcResponseTimeout() {
+        return rpcResponseTimeout;
+    }
+
+    /**
+     * @param rpcResponseTimeout time to wait for switch response to a request (in milliseconds)
+     */
+    public void setRpcResponseTimeout(final long rpcResponseTimeout) {
+        this.rpcResponseTimeout = rpcResponseTimeout;
+    }
+
+    @Override
+    public boolean useLazyPacketIn() {
+        return useLazyPacketIn;
+    }
+
+    /**
+     * @param useLazyPacketIn true if OF1.3 packet-in messages should be decoded lazily
+     */
+    public void setUseLazyPacketIn(final boolean useLazyPacketIn) {
+        this.useLazyPacketIn = useLazyPacketIn;
+    }
+
+    @Override
+    public PacketInRateLimitConfiguration getPacketInRateLimitConfiguration() {
+        return packetInRateLimit;
+    }
+
+    /**
+     * @param packetInRateLimit limits of admitted PacketIns, null if PacketIns are not rate limited
+     */
+    public void setPacketInRateLimitConfiguration(final PacketInRateLimitConfiguration packetInRateLimit) {
+        this.packetInRateLimit = packetInRateLimit;
+    }
+
+    @Override
+    public SocketConfiguration getSocketConfiguration() {
+        return socketConfig;
+    }
+
+    /**
+     * @param socketConfig socket and event loop tuning, null if defaults should be used
+     */
+    public void setSocketConfiguration(final SocketConfiguration socketConfig) {
+        this.socketConfig = socketConfig;
+    }
+}
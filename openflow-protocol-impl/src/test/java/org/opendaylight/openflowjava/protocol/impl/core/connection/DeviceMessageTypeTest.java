@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.impl.core.connection;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.BarrierOutputBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.EchoRequestMessageBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.PacketInMessageBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.system.rev130927.DisconnectEventBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.system.rev130927.SwitchIdleEventBuilder;
+import org.opendaylight.yangtools.yang.binding.DataObject;
+import org.opendaylight.yangtools.yang.binding.Notification;
+
+/**
+ * Testing class of {@link DeviceMessageType}
+ */
+public class DeviceMessageTypeTest {
+
+    /**
+     * Test message classification
+     */
+    @Test
+    public void testForMessage() {
+        assertEquals(DeviceMessageType.PACKET_IN, DeviceMessageType.forMessage(new PacketInMessageBuilder().build()));
+        assertEquals(DeviceMessageType.ECHO_REQUEST,
+                DeviceMessageType.forMessage(new EchoRequestMessageBuilder().build()));
+        assertEquals(DeviceMessageType.DISCONNECT_EVENT,
+                DeviceMessageType.forMessage(new DisconnectEventBuilder().build()));
+        assertEquals(DeviceMessageType.SWITCH_IDLE_EVENT,
+                DeviceMessageType.forMessage(new SwitchIdleEventBuilder().build()));
+        assertEquals(DeviceMessageType.RPC_RESPONSE, DeviceMessageType.forMessage(new BarrierOutputBuilder().build()));
+        assertEquals(DeviceMessageType.UNSUPPORTED_NOTIFICATION,
+                DeviceMessageType.forMessage(Mockito.mock(DataObject.class,
+                        Mockito.withSettings().extraInterfaces(Notification.class))));
+        assertEquals(DeviceMessageType.UNSUPPORTED, DeviceMessageType.forMessage(Mockito.mock(DataObject.class)));
+    }
+}
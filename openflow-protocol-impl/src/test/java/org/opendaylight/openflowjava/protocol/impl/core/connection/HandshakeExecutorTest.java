@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.impl.core.connection;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Testing class of {@link HandshakeExecutor}
+ */
+public class HandshakeExecutorTest {
+
+    private HandshakeExecutor executor;
+
+    /**
+     * Shuts down executor
+     */
+    @After
+    public void tearDown() {
+        if (executor != null) {
+            executor.close();
+        }
+    }
+
+    /**
+     * Test that submitted tasks are executed
+     * @throws InterruptedException
+     */
+    @Test
+    public void testExecute() throws InterruptedException {
+        executor = HandshakeExecutor.create(2, 10, false);
+        final CountDownLatch done = new CountDownLatch(5);
+        for (int i = 0; i < 5; i++) {
+            assertTrue(executor.execute(new CountDownTask(done)));
+        }
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(5, executor.getAcceptedCount());
+        assertEquals(0, executor.getRejectedCount());
+    }
+
+    /**
+     * Test that tasks over admission limit are rejected
+     * @throws InterruptedException
+     */
+    @Test
+    public void testAdmissionLimit() throws InterruptedException {
+        executor = HandshakeExecutor.create(1, 1, false);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(2);
+        final Runnable blocking = new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                done.countDown();
+            }
+        };
+
+        assertTrue(executor.execute(blocking));
+        assertTrue(executor.execute(blocking));
+        assertFalse(executor.execute(blocking));
+        assertEquals(1, executor.getRejectedCount());
+
+        release.countDown();
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        waitForCompletion(2);
+        assertEquals(0, executor.getQueuedCount());
+        assertTrue(executor.execute(new CountDownTask(new CountDownLatch(1))));
+    }
+
+    /**
+     * Test that failing task does not leak admission permit
+     * @throws InterruptedException
+     */
+    @Test
+    public void testFailingTask() throws InterruptedException {
+        executor = HandshakeExecutor.create(1, 0, true);
+        assertTrue(executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                throw new IllegalStateException("expected");
+            }
+        }));
+        waitForCompletion(1);
+
+        final CountDownLatch done = new CountDownLatch(1);
+        assertTrue(executor.execute(new CountDownTask(done)));
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Test that executor metrics are exposed through registry MBean until executor is closed
+     * @throws Exception
+     */
+    @Test
+    public void testRegistryMBean() throws Exception {
+        final HandshakeExecutorRegistry registry = HandshakeExecutorRegistry.getInstance();
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        final ObjectName name = new ObjectName(HandshakeExecutorRegistry.OBJECT_NAME);
+        executor = HandshakeExecutor.create(1, 1, false);
+        registry.registerMBean();
+        try {
+            final CountDownLatch done = new CountDownLatch(1);
+            assertTrue(executor.execute(new CountDownTask(done)));
+            assertTrue(done.await(5, TimeUnit.SECONDS));
+            waitForCompletion(1);
+
+            assertTrue(server.isRegistered(name));
+            assertTrue(registry.contains(executor));
+            assertTrue((Long) server.getAttribute(name, "AcceptedNotifications") >= 1);
+            assertTrue((Long) server.getAttribute(name, "CompletedNotifications") >= 1);
+            assertTrue((Integer) server.getAttribute(name, "ExecutorCount") >= 1);
+
+            executor.close();
+            assertFalse(registry.contains(executor));
+            executor = null;
+        } finally {
+            registry.unregisterMBean();
+        }
+        assertFalse(server.isRegistered(name));
+    }
+
+    private void waitForCompletion(final long count) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (executor.getCompletedCount() < count && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(count, executor.getCompletedCount());
+    }
+
+    private static final class CountDownTask implements Runnable {
+        private final CountDownLatch latch;
+
+        CountDownTask(final CountDownLatch latch) {
+            this.latch = latch;
+        }
+
+        @Override
+        public void run() {
+            latch.countDown();
+        }
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.impl.core.connection;
+
+import com.google.common.util.concurrent.FutureCallback;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.util.ReferenceCountUtil;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.opendaylight.openflowjava.protocol.api.connection.FixedBarrierPolicy;
+import org.opendaylight.openflowjava.protocol.api.connection.OutboundQueueHandler;
+import org.opendaylight.openflowjava.protocol.impl.core.OFEncoder;
+import org.opendaylight.openflowjava.protocol.impl.serialization.SerializationFactory;
+import org.opendaylight.openflowjava.protocol.impl.serialization.SerializerRegistryImpl;
+import org.opendaylight.openflowjava.statistics.ConnectionStatistics;
+import org.opendaylight.openflowjava.statistics.MessageCounterType;
+import org.opendaylight.openflowjava.statistics.MessageStatisticsRegistry;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.EchoInput;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.EchoInputBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.OfHeader;
+
+/**
+ * Tests coalescing of outbound queue messages into shared buffers
+ */
+public class OutboundQueueCoalescingTest {
+
+    private static final short VERSION = 4;
+    /** Serialized echo request without data consists only of OpenFlow header */
+    private static final int ECHO_LENGTH = 8;
+    private static final int COALESCING_BYTES = 4 * ECHO_LENGTH;
+
+    @Mock
+    private OutboundQueueHandler handler;
+    @Mock
+    private FutureCallback<OfHeader> callback;
+
+    private SerializationFactory serializationFactory;
+    private EmbeddedChannel channel;
+    private ConnectionAdapterImpl adapter;
+    private StackedOutboundQueue queue;
+
+    /**
+     * Creates queue manager coalescing messages up to {@link #COALESCING_BYTES}
+     */
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+        MessageStatisticsRegistry.getInstance().setEnabled(true);
+        final SerializerRegistryImpl registry = new SerializerRegistryImpl();
+        registry.init();
+        serializationFactory = new SerializationFactory();
+        serializationFactory.setSerializerTable(registry);
+        final OFEncoder encoder = new OFEncoder();
+        encoder.setSerializationFactory(serializationFactory);
+
+        channel = new EmbeddedChannel(encoder);
+        adapter = new ConnectionAdapterImpl(channel, null, true);
+        adapter.setOutboundCoalescingBytes(COALESCING_BYTES);
+        final OutboundQueueManager<OutboundQueueHandler> manager = new OutboundQueueManager<>(adapter, null,
+                handler, new FixedBarrierPolicy(Integer.MAX_VALUE, TimeUnit.HOURS.toNanos(1)));
+        channel.pipeline().addLast(manager);
+        queue = manager.currentQueue;
+    }
+
+    @After
+    public void tearDown() {
+        channel.finishAndReleaseAll();
+        MessageStatisticsRegistry.getInstance().setEnabled(false);
+    }
+
+    private ByteBuf commitEchos(final int count) {
+        final ByteBuf expected = UnpooledByteBufAllocator.DEFAULT.heapBuffer();
+        for (int i = 0; i < count; i++) {
+            final Long xid = queue.reserveEntry();
+            final EchoInput echo = new EchoInputBuilder().setVersion(VERSION).setXid(xid).build();
+            serializationFactory.messageToBuffer(VERSION, expected, echo);
+            queue.commitEntry(xid, echo, callback);
+        }
+        return expected;
+    }
+
+    private void assertOutbound(final ByteBuf expected) {
+        final ByteBuf written = channel.readOutbound();
+        Assert.assertNotNull("Missing coalesced buffer", written);
+        try {
+            Assert.assertEquals(ByteBufUtil.hexDump(expected), ByteBufUtil.hexDump(written));
+        } finally {
+            written.release();
+        }
+    }
+
+    /**
+     * Entries smaller than the coalescing buffer are written in a single buffer once flush finishes
+     */
+    @Test
+    public void testCoalesceOnFlush() {
+        final ByteBuf expected = commitEchos(3);
+        channel.runPendingTasks();
+
+        assertOutbound(expected);
+        Assert.assertNull(channel.readOutbound());
+        expected.release();
+    }
+
+    /**
+     * Buffer is written as soon as it reaches the coalescing size, the rest is written when flush finishes
+     */
+    @Test
+    public void testCoalesceOnThreshold() {
+        final ByteBuf expected = commitEchos(6);
+        channel.runPendingTasks();
+
+        assertOutbound(expected.readSlice(COALESCING_BYTES));
+        assertOutbound(expected);
+        Assert.assertNull(channel.readOutbound());
+        expected.release();
+    }
+
+    /**
+     * Failed write of coalesced buffer is reported once for the whole batch
+     */
+    @Test
+    public void testCoalescedWriteFailure() {
+        channel.pipeline().addFirst(new ChannelOutboundHandlerAdapter() {
+            @Override
+            public void write(final ChannelHandlerContext ctx, final Object msg, final ChannelPromise promise) {
+                ReferenceCountUtil.release(msg);
+                promise.setFailure(new IOException("Write failed"));
+            }
+        });
+        commitEchos(3).release();
+        channel.runPendingTasks();
+
+        Assert.assertNull(channel.readOutbound());
+        final ConnectionStatistics statistics = adapter.getMessageStatistics();
+        Assert.assertEquals("Wrong write failures", 1,
+                statistics.get(MessageCounterType.WRITE_FAILURES, ConnectionStatistics.OTHER_MESSAGE_TYPE));
+    }
+
+    /**
+     * Coalescing buffer larger than the maximum is rejected
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testCoalescingBytesOutOfRange() {
+        new ConnectionAdapterImpl(new EmbeddedChannel(), null, true).setOutboundCoalescingBytes(
+                ConnectionFacade.MAX_OUTBOUND_COALESCING_BYTES + 1);
+    }
+}
@@ -0,0 +1,247 @@
+/*
+ * Copyright (c) 2015 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.openflowjava.protocol.impl.core.connection;
+
+import com.google.common.util.concurrent.FutureCallback;
+import io.netty.buffer.Unpooled;
+import java.util.function.Function;
+import javax.annotation.Nullable;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.opendaylight.openflowjava.protocol.api.connection.EncodedMessage;
+import org.opendaylight.openflowjava.protocol.api.connection.OutboundQueueException;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.common.types.rev130731.MultipartRequestFlags;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.BarrierInput;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.BarrierInputBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.FlowModInputBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.FlowRemovedMessageBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.MultipartReplyMessageBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.OfHeader;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.PacketOutInput;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.PacketOutInputBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link OutboundQueueEntries} class test
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class OutboundQueueEntriesTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(OutboundQueueEntriesTest.class);
+
+    private static final short VERSION = (short) 13;
+    private static final long VALUE = 1L;
+    private static final int OFFSET = 65;
+
+    private Integer failCounter = 0;
+
+    @Mock
+    private OfHeader ofHeader;
+    @Mock
+    private FutureCallback<OfHeader> futureCallback;
+
+    private final OutboundQueueEntries entries = new OutboundQueueEntries(128);
+    private final OfHeader barrierInput = new BarrierInputBuilder().setVersion(VERSION).setXid(VALUE).build();
+    private final OfHeader packetOutInput = new PacketOutInputBuilder().setVersion(VERSION).setXid(VALUE).build();
+    private final OfHeader multipartReplyMessage =
+            new MultipartReplyMessageBuilder().setVersion(VERSION).setXid(VALUE).setFlags(new MultipartRequestFlags(false)).build();
+    private final OfHeader flowModInput = new FlowModInputBuilder().setVersion(VERSION).setXid(VALUE).build();
+    private final OfHeader flowRemoved = new FlowRemovedMessageBuilder().setVersion(VERSION).setXid(VALUE).build();
+
+    @Test
+    public void commit() throws Exception {
+        entries.commit(OFFSET, ofHeader, futureCallback);
+        Assert.assertTrue(entries.isCommitted(OFFSET));
+        Assert.assertFalse(entries.isCompleted(OFFSET));
+        Assert.assertFalse(entries.isBarrier(OFFSET));
+    }
+
+    @Test
+    public void commitNeighbours() throws Exception {
+        entries.commit(OFFSET, barrierInput, futureCallback);
+        entries.commit(OFFSET + 1, ofHeader, null);
+        Assert.assertFalse(entries.isCommitted(OFFSET - 1));
+        Assert.assertTrue(entries.isBarrier(OFFSET));
+        Assert.assertFalse(entries.isBarrier(OFFSET + 1));
+        Assert.assertTrue(entries.hasCallback(OFFSET));
+        Assert.assertFalse(entries.hasCallback(OFFSET + 1));
+    }
+
+    @Test
+    public void completeWithFunction() throws Exception {
+        entries.commit(OFFSET, flowModInput, null, futureCallback, new Function<OfHeader, Boolean>() {
+            @Override
+            public Boolean apply(final OfHeader message) {
+                return message != null;
+            }
+        });
+        entries.commit(OFFSET + 1, flowModInput, futureCallback);
+
+        Assert.assertFalse(entries.complete(OFFSET, null));
+        Assert.assertTrue(entries.hasCallback(OFFSET));
+        Assert.assertTrue(entries.complete(OFFSET, flowRemoved));
+        Assert.assertFalse(entries.hasCallback(OFFSET));
+        Assert.assertTrue(entries.complete(OFFSET + 1, null));
+    }
+
+    @Test
+    public void nextIncomplete() throws Exception {
+        for (int i = 0; i < 128; ++i) {
+            if (i != 3 && i != OFFSET && i != 127) {
+                entries.complete(i, null);
+            }
+        }
+        Assert.assertEquals(3, entries.nextIncomplete(0, 128));
+        Assert.assertEquals(OFFSET, entries.nextIncomplete(4, 128));
+        Assert.assertEquals(127, entries.nextIncomplete(OFFSET + 1, 128));
+        Assert.assertEquals(100, entries.nextIncomplete(OFFSET + 1, 100));
+        Assert.assertEquals(128, entries.nextIncomplete(128, 128));
+    }
+
+    @Test
+    public void reset() throws Exception {
+        entries.commit(OFFSET, ofHeader, futureCallback);
+        Assert.assertTrue(entries.isCommitted(OFFSET));
+
+        entries.reset();
+        Assert.assertFalse(entries.isCommitted(OFFSET));
+    }
+
+    @Test
+    public void isBarrier() throws Exception {
+        entries.commit(OFFSET, barrierInput, futureCallback);
+        Assert.assertTrue(entries.isBarrier(OFFSET));
+    }
+
+    @Test
+    public void takeMessage() throws Exception {
+        entries.commit(OFFSET, packetOutInput, futureCallback);
+        entries.takeMessage(OFFSET);
+        Mockito.verify(futureCallback).onSuccess(Mockito.<OfHeader>any());
+    }
+
+    @Test
+    public void complete() throws Exception {
+        final boolean result = entries.complete(OFFSET, multipartReplyMessage);
+        Assert.assertTrue(result);
+        Assert.assertTrue(entries.isCompleted(OFFSET));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void completeTwice() throws Exception {
+        entries.complete(OFFSET, multipartReplyMessage);
+        entries.complete(OFFSET, multipartReplyMessage);
+    }
+
+    @Test
+    public void fail() throws Exception {
+        entries.commit(OFFSET, ofHeader, futureCallback);
+        entries.fail(OFFSET, null);
+        Mockito.verify(futureCallback).onFailure(Mockito.<OutboundQueueException>any());
+    }
+
+    @Test
+    public void commitEncoded() throws Exception {
+        final EncodedMessage encoded = new EncodedMessage(flowModInput, Unpooled.buffer().writeZero(16));
+        entries.commit(OFFSET, flowModInput, encoded, futureCallback, OutboundQueueEntries.DEFAULT_IS_COMPLETE);
+        Assert.assertEquals(2, encoded.refCnt());
+
+        Assert.assertSame(encoded, entries.takeEncoded(OFFSET));
+        Assert.assertNull(entries.takeEncoded(OFFSET));
+        Assert.assertEquals(2, encoded.refCnt());
+    }
+
+    @Test
+    public void failEncoded() throws Exception {
+        final EncodedMessage encoded = new EncodedMessage(flowModInput, Unpooled.buffer().writeZero(16));
+        entries.commit(OFFSET, flowModInput, encoded, futureCallback, OutboundQueueEntries.DEFAULT_IS_COMPLETE);
+        entries.fail(OFFSET, null);
+        Assert.assertEquals(1, encoded.refCnt());
+        Assert.assertNull(entries.takeEncoded(OFFSET));
+        Mockito.verify(futureCallback).onFailure(Mockito.<OutboundQueueException>any());
+    }
+
+    @Test
+    public void resetEncoded() throws Exception {
+        final EncodedMessage encoded = new EncodedMessage(flowModInput, Unpooled.buffer().writeZero(16));
+        entries.commit(OFFSET, flowModInput, encoded, futureCallback, OutboundQueueEntries.DEFAULT_IS_COMPLETE);
+        entries.reset();
+        Assert.assertEquals(1, encoded.refCnt());
+        Assert.assertFalse(entries.isCommitted(OFFSET));
+    }
+
+    @Test
+    public void commitRaw() throws Exception {
+        final EncodedMessage barrier = new EncodedMessage(BarrierInput.class, Unpooled.buffer().writeZero(8));
+        entries.commit(OFFSET, null, barrier, futureCallback, OutboundQueueEntries.DEFAULT_IS_COMPLETE);
+        Assert.assertTrue(entries.isBarrier(OFFSET));
+        Assert.assertSame(barrier, entries.takeEncoded(OFFSET));
+        Assert.assertNull(entries.takeMessage(OFFSET));
+        Assert.assertFalse(entries.isCompleted(OFFSET));
+        barrier.release();
+    }
+
+    @Test
+    public void commitRawPacketOut() throws Exception {
+        final EncodedMessage packetOut = new EncodedMessage(PacketOutInput.class, Unpooled.buffer().writeZero(24));
+        entries.commit(OFFSET, null, packetOut, futureCallback, OutboundQueueEntries.DEFAULT_IS_COMPLETE);
+        Assert.assertFalse(entries.isBarrier(OFFSET));
+        entries.takeEncoded(OFFSET).release();
+        entries.takeMessage(OFFSET);
+        Assert.assertTrue(entries.isCompleted(OFFSET));
+        Mockito.verify(futureCallback).onSuccess(Mockito.<OfHeader>any());
+    }
+
+    private Integer increaseFailCounter() {
+        return ++this.failCounter;
+    }
+
+    @Test
+    public void test() throws Exception {
+
+        final FutureCallback<OfHeader> result =
+                new FutureCallback<OfHeader>() {
+
+                    @Override
+                    public void onSuccess(@Nullable OfHeader ofHeader) {
+                        LOG.info("onSuccess: xid: {}", ofHeader.getXid());
+                    }
+
+                    @Override
+                    public void onFailure(Throwable throwable) {
+                        LOG.info("onFailure! Error: {}", throwable);
+                        LOG.info("Failure called {} time", increaseFailCounter());
+                    }
+                };
+
+        /** This scenario creates entry with XID 1 then commit it, fail it and again commit it */
+        /** Simulates behavior when entry is committed after fail */
+        /** It shouldn't be in state completed and still have callback, it can consume all threads in thread pool */
+
+        /** Entry but no callback */
+        entries.commit(OFFSET, flowModInput, null);
+        /** Failed entry for whatever reason */
+        entries.fail(OFFSET, null);
+        /** Commit the same entry adding callback */
+        entries.commit(OFFSET, flowModInput, result);
+
+        Assert.assertTrue(entries.isCompleted(OFFSET));
+        Assert.assertTrue(entries.isCommitted(OFFSET));
+
+        /** This is check that no callback is in entry stuck */
+        Assert.assertFalse(entries.hasCallback(OFFSET));
+
+        Assert.assertTrue(this.failCounter == 1);
+    }
+
+}
@@ -9,10 +9,6 @@
 package org.opendaylight.openflowjava.protocol.impl.core.connection;
 
 import static org.junit.Assert.fail;
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.RemovalListener;
-import com.google.common.cache.RemovalNotification;
 import com.google.common.util.concurrent.SettableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
@@ -33,27 +29,15 @@ import org.opendaylight.yangtools.yang.common.RpcResultBuilder;
  */
 public class ResponseExpectedRpcListenerTest {
 
-    private static final RemovalListener<RpcResponseKey, ResponseExpectedRpcListener<?>> REMOVAL_LISTENER =
-            new RemovalListener<RpcResponseKey, ResponseExpectedRpcListener<?>>() {
-        @Override
-        public void onRemoval(
-                final RemovalNotification<RpcResponseKey, ResponseExpectedRpcListener<?>> notification) {
-            notification.getValue().discard();
-        }
-    };
-    private static final int RPC_RESPONSE_EXPIRATION = 1;
-    private final Cache<RpcResponseKey, ResponseExpectedRpcListener<?>> responseCache  = CacheBuilder.newBuilder()
-            .concurrencyLevel(1)
-            .expireAfterWrite(RPC_RESPONSE_EXPIRATION, TimeUnit.MINUTES)
-            .removalListener(REMOVAL_LISTENER).build();
+    private static final int BARRIER_OUTPUT = RpcResponseTable.responseTypeOf(BarrierOutput.class);
+    private final RpcResponseTable responseTable = new RpcResponseTable();
 
     /**
      * Test object creation
      */
     @Test(expected=NullPointerException.class)
     public void testCreation() {
-        RpcResponseKey key = new RpcResponseKey(12345L, BarrierOutput.class.getName());
-        new ResponseExpectedRpcListener<>("MESSAGE", "Failed to send message", null, key);
+        new ResponseExpectedRpcListener<>("MESSAGE", "Failed to send message", null, 12345L, BARRIER_OUTPUT);
     }
 
     /**
@@ -61,7 +45,7 @@ public class ResponseExpectedRpcListenerTest {
      */
     @Test(expected=NullPointerException.class)
     public void testCreation2() {
-        new ResponseExpectedRpcListener<>("MESSAGE", "Failed to send message", responseCache, null);
+        new ResponseExpectedRpcListener<>(null, "Failed to send message", responseTable, 12345L, BARRIER_OUTPUT);
     }
 
     /**
@@ -69,9 +53,8 @@ public class ResponseExpectedRpcListenerTest {
      */
     @Test
     public void testDiscard() {
-        RpcResponseKey key = new RpcResponseKey(12345L, BarrierOutput.class.getName());
-        ResponseExpectedRpcListener<OfHeader> listener =
-                new ResponseExpectedRpcListener<>("MESSAGE", "Failed to send message", responseCache, key);
+        ResponseExpectedRpcListener<OfHeader> listener = new ResponseExpectedRpcListener<>("MESSAGE",
+                "Failed to send message", responseTable, 12345L, BARRIER_OUTPUT);
         listener.discard();
         RpcError rpcError = AbstractRpcListener.buildRpcError("Failed to send message",
                 "check switch connection", new TimeoutException("Request timed out"));
@@ -92,9 +75,8 @@ public class ResponseExpectedRpcListenerTest {
      */
     @Test
     public void testCompleted() {
-        RpcResponseKey key = new RpcResponseKey(12345L, BarrierOutput.class.getName());
-        ResponseExpectedRpcListener<OfHeader> listener =
-                new ResponseExpectedRpcListener<>("MESSAGE", "Failed to send message", responseCache, key);
+        ResponseExpectedRpcListener<OfHeader> listener = new ResponseExpectedRpcListener<>("MESSAGE",
+                "Failed to send message", responseTable, 12345L, BARRIER_OUTPUT);
         BarrierInputBuilder barrierBuilder = new BarrierInputBuilder();
         BarrierInput barrierInput = barrierBuilder.build();
         listener.completed(barrierInput);
@@ -114,11 +96,24 @@ public class ResponseExpectedRpcListenerTest {
      */
     @Test
     public void testOperationSuccessful() {
-        RpcResponseKey key = new RpcResponseKey(12345L, BarrierOutput.class.getName());
-        ResponseExpectedRpcListener<OfHeader> listener =
-                new ResponseExpectedRpcListener<>("MESSAGE", "Failed to send message", responseCache, key);
+        ResponseExpectedRpcListener<OfHeader> listener = new ResponseExpectedRpcListener<>("MESSAGE",
+                "Failed to send message", responseTable, 12345L, BARRIER_OUTPUT);
         listener.operationSuccessful();
-        ResponseExpectedRpcListener<?> present = responseCache.getIfPresent(key);
+        ResponseExpectedRpcListener<?> present = responseTable.remove(12345L, BARRIER_OUTPUT);
         Assert.assertEquals(present, listener);
     }
+
+    /**
+     * Test request expiry
+     */
+    @Test
+    public void testTimeout() throws Exception {
+        responseTable.setTimeoutMillis(10);
+        ResponseExpectedRpcListener<OfHeader> listener = new ResponseExpectedRpcListener<>("MESSAGE",
+                "Failed to send message", responseTable, 12345L, BARRIER_OUTPUT);
+        listener.operationSuccessful();
+        RpcResult<OfHeader> result = listener.getResult().get(5, TimeUnit.SECONDS);
+        Assert.assertFalse("Wrong result", result.isSuccessful());
+        Assert.assertEquals("Expired request not removed", 0, responseTable.size());
+    }
 }
\ No newline at end of file
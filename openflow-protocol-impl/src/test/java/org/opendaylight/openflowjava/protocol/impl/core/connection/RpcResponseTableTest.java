@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.impl.core.connection;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.BarrierOutput;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.EchoOutput;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.OfHeader;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.PacketInMessage;
+
+/**
+ * Tests for {@link RpcResponseTable}
+ */
+public class RpcResponseTableTest {
+
+    private final RpcResponseTable table = new RpcResponseTable();
+
+    private ResponseExpectedRpcListener<OfHeader> createListener(final long xid, final int responseType) {
+        return new ResponseExpectedRpcListener<>("MESSAGE", "Failed to send message", table, xid, responseType);
+    }
+
+    /**
+     * Test response type codes
+     */
+    @Test
+    public void testResponseTypes() {
+        final int barrier = RpcResponseTable.responseTypeOf(BarrierOutput.class);
+        final int echo = RpcResponseTable.responseTypeOf(EchoOutput.class);
+        Assert.assertNotEquals("Wrong - same code for different types", barrier, echo);
+        Assert.assertEquals("Wrong - code not stable", barrier, RpcResponseTable.responseTypeOf(BarrierOutput.class));
+        Assert.assertEquals("Wrong lookup", echo, RpcResponseTable.lookupResponseType(EchoOutput.class));
+        Assert.assertEquals("Wrong - type never expected", -1,
+                RpcResponseTable.lookupResponseType(PacketInMessage.class));
+    }
+
+    /**
+     * Test that requests are matched by both xid and response type
+     */
+    @Test
+    public void testMatching() {
+        final int barrier = RpcResponseTable.responseTypeOf(BarrierOutput.class);
+        final int echo = RpcResponseTable.responseTypeOf(EchoOutput.class);
+        final ResponseExpectedRpcListener<OfHeader> barrierListener = createListener(42L, barrier);
+        final ResponseExpectedRpcListener<OfHeader> echoListener = createListener(42L, echo);
+        Assert.assertNull("Wrong - nothing replaced", table.put(barrierListener));
+        Assert.assertNull("Wrong - nothing replaced", table.put(echoListener));
+        Assert.assertEquals("Wrong size", 2, table.size());
+
+        Assert.assertNull("Wrong - unknown xid matched", table.remove(43L, barrier));
+        Assert.assertSame("Wrong listener", echoListener, table.remove(42L, echo));
+        Assert.assertNull("Wrong - listener removed twice", table.remove(42L, echo));
+        Assert.assertFalse("Wrong - removed listener expired", table.remove(echoListener));
+        Assert.assertTrue("Wrong - listener not expired", table.remove(barrierListener));
+        Assert.assertEquals("Wrong size", 0, table.size());
+    }
+
+    /**
+     * Test request with the same xid and response type replaces the previous one
+     */
+    @Test
+    public void testReplace() {
+        final int barrier = RpcResponseTable.responseTypeOf(BarrierOutput.class);
+        final ResponseExpectedRpcListener<OfHeader> first = createListener(1L, barrier);
+        final ResponseExpectedRpcListener<OfHeader> second = createListener(1L, barrier);
+        table.put(first);
+        Assert.assertSame("Wrong replaced listener", first, table.put(second));
+        Assert.assertFalse("Wrong - replaced listener still present", table.remove(first));
+        Assert.assertSame("Wrong listener", second, table.remove(1L, barrier));
+    }
+
+    /**
+     * Test growing the table and removing entries in arbitrary order
+     */
+    @Test
+    public void testManyEntries() {
+        final int barrier = RpcResponseTable.responseTypeOf(BarrierOutput.class);
+        final List<ResponseExpectedRpcListener<OfHeader>> listeners = new ArrayList<>();
+        for (long xid = 0; xid < 1000; xid++) {
+            final ResponseExpectedRpcListener<OfHeader> listener = createListener(xid * 7, barrier);
+            listeners.add(listener);
+            table.put(listener);
+        }
+        Assert.assertEquals("Wrong size", 1000, table.size());
+        for (int i = 0; i < listeners.size(); i += 2) {
+            Assert.assertSame("Wrong listener", listeners.get(i), table.remove(i * 7L, barrier));
+        }
+        for (int i = 1; i < listeners.size(); i += 2) {
+            Assert.assertSame("Wrong listener", listeners.get(i), table.remove(i * 7L, barrier));
+        }
+        Assert.assertEquals("Wrong size", 0, table.size());
+    }
+
+    /**
+     * Test clearing the table
+     */
+    @Test
+    public void testClear() {
+        final int barrier = RpcResponseTable.responseTypeOf(BarrierOutput.class);
+        table.put(createListener(1L, barrier));
+        table.put(createListener(2L, barrier));
+        table.clear();
+        Assert.assertEquals("Wrong size", 0, table.size());
+        Assert.assertNull("Wrong - cleared listener found", table.remove(1L, barrier));
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.impl.core.connection;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.common.util.concurrent.FutureCallback;
+import io.netty.channel.embedded.EmbeddedChannel;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.opendaylight.openflowjava.protocol.api.connection.BarrierPolicy;
+import org.opendaylight.openflowjava.protocol.api.connection.FixedBarrierPolicy;
+import org.opendaylight.openflowjava.protocol.api.connection.OutboundQueueHandler;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.BarrierInputBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.BarrierOutputBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.EchoInputBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.EchoOutputBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.OfHeader;
+
+/**
+ * Tests pairing of responses with requests spread over multiple segments of {@link StackedOutboundQueue}
+ */
+public class StackedOutboundQueueTest {
+
+    private static final int SEGMENT_SIZE = 64;
+    private static final short VERSION = 4;
+
+    @Mock
+    private OutboundQueueHandler handler;
+    @Mock
+    private FutureCallback<OfHeader> callback;
+    @Mock
+    private BarrierPolicy barrierPolicy;
+
+    private EmbeddedChannel channel;
+    private OutboundQueueManager<OutboundQueueHandler> manager;
+    private StackedOutboundQueue queue;
+
+    /**
+     * Creates queue with small segments and barriers sent only on request
+     */
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+        channel = new EmbeddedChannel();
+        final ConnectionAdapterImpl adapter = new ConnectionAdapterImpl(channel, null, true);
+        adapter.setOutboundQueueSegments(SEGMENT_SIZE, 4);
+        manager = new OutboundQueueManager<>(adapter, null, handler,
+                new FixedBarrierPolicy(Integer.MAX_VALUE, TimeUnit.HOURS.toNanos(1)));
+        queue = manager.currentQueue;
+    }
+
+    @After
+    public void tearDown() {
+        channel.finishAndReleaseAll();
+    }
+
+    private void commitRequests(final int count) {
+        for (int i = 0; i < count; i++) {
+            final Long xid = queue.reserveEntry();
+            queue.commitEntry(xid, new EchoInputBuilder().setVersion(VERSION).setXid(xid).build(), callback);
+        }
+        channel.runPendingTasks();
+    }
+
+    private static OfHeader reply(final long xid) {
+        return new EchoOutputBuilder().setVersion(VERSION).setXid(xid).build();
+    }
+
+    /**
+     * Responses are paired with requests in any flushed segment, unknown and repeated responses are rejected
+     */
+    @Test
+    public void testPairAcrossSegments() {
+        commitRequests(3 * SEGMENT_SIZE);
+
+        final OfHeader late = reply(2 * SEGMENT_SIZE + 22);
+        Assert.assertTrue(manager.onMessage(late));
+        verify(callback).onSuccess(late);
+        final OfHeader early = reply(5);
+        Assert.assertTrue(manager.onMessage(early));
+        verify(callback).onSuccess(early);
+
+        Assert.assertFalse(manager.onMessage(reply(2 * SEGMENT_SIZE + 22)));
+        Assert.assertFalse(manager.onMessage(reply(10 * SEGMENT_SIZE)));
+    }
+
+    /**
+     * Barrier response completes all outstanding requests committed before the barrier, including
+     * requests in earlier segments, and completed segments are released
+     */
+    @Test
+    public void testBarrierCompletesEarlierSegments() {
+        commitRequests(SEGMENT_SIZE + 10);
+        Assert.assertTrue(manager.onMessage(reply(3)));
+
+        final Long barrierXid = queue.reserveEntry();
+        queue.commitEntry(barrierXid, new BarrierInputBuilder().setVersion(VERSION).setXid(barrierXid).build(),
+                null);
+        channel.runPendingTasks();
+
+        Assert.assertTrue(manager.onMessage(new BarrierOutputBuilder().setVersion(VERSION).setXid(barrierXid)
+                .build()));
+        verify(callback, times(SEGMENT_SIZE + 10)).onSuccess(any(OfHeader.class));
+        Assert.assertFalse(manager.onMessage(reply(SEGMENT_SIZE + 1)));
+        Assert.assertEquals(1, queue.uncompletedSegments.size());
+    }
+
+    private Long commitBarrier(final StackedOutboundQueue barrierQueue) {
+        final Long xid = barrierQueue.reserveEntry();
+        barrierQueue.commitEntry(xid, new BarrierInputBuilder().setVersion(VERSION).setXid(xid).build(), null);
+        channel.runPendingTasks();
+        return xid;
+    }
+
+    private static OfHeader barrierReply(final long xid) {
+        return new BarrierOutputBuilder().setVersion(VERSION).setXid(xid).build();
+    }
+
+    /**
+     * Sampled barrier completed by a later barrier, because its own reply was lost, does not block
+     * further round-trip samples
+     */
+    @Test
+    public void testLostSampledBarrierReply() {
+        when(barrierPolicy.getMessageThreshold()).thenReturn(Integer.MAX_VALUE);
+        when(barrierPolicy.getIntervalNanos()).thenReturn(TimeUnit.HOURS.toNanos(1));
+        final OutboundQueueManager<OutboundQueueHandler> sampling = new OutboundQueueManager<>(
+                new ConnectionAdapterImpl(channel, null, true), null, handler, barrierPolicy);
+        final StackedOutboundQueue samplingQueue = sampling.currentQueue;
+
+        commitBarrier(samplingQueue);
+        final Long laterXid = commitBarrier(samplingQueue);
+        Assert.assertTrue(sampling.onMessage(barrierReply(laterXid)));
+        verify(barrierPolicy, never()).onBarrierCompleted(anyLong(), anyInt());
+
+        final Long sampledXid = commitBarrier(samplingQueue);
+        Assert.assertTrue(sampling.onMessage(barrierReply(sampledXid)));
+        verify(barrierPolicy).onBarrierCompleted(anyLong(), anyInt());
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.impl.core.connection;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * {@link StackedSegmentPool} class test
+ */
+public class StackedSegmentPoolTest {
+
+    @Test
+    public void testReuse() {
+        final StackedSegmentPool pool = new StackedSegmentPool(64, 1);
+        final StackedSegment first = StackedSegment.create(0L, pool);
+        final StackedSegment second = StackedSegment.create(64L, pool);
+        Assert.assertEquals(64, first.getEntries().size());
+        Assert.assertEquals(128L, second.getEndXid());
+        Assert.assertEquals(2, pool.getAllocated());
+
+        first.getEntries().commit(3, null, null);
+        first.recycle();
+        second.recycle();
+        Assert.assertEquals(1, pool.getPooled());
+        Assert.assertEquals(1, pool.getDropped());
+
+        final StackedSegment third = StackedSegment.create(128L, pool);
+        Assert.assertSame(first.getEntries(), third.getEntries());
+        Assert.assertFalse(third.getEntries().isCommitted(3));
+        Assert.assertEquals(1, pool.getReused());
+        Assert.assertEquals(0, pool.getPooled());
+    }
+
+    @Test
+    public void testForeignSize() {
+        final StackedSegmentPool pool = new StackedSegmentPool(64, 4);
+        pool.release(new OutboundQueueEntries(128));
+        Assert.assertEquals(0, pool.getPooled());
+        Assert.assertEquals(1, pool.getDropped());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSizeNotPowerOfTwo() {
+        new StackedSegmentPool(100, 4);
+    }
+}
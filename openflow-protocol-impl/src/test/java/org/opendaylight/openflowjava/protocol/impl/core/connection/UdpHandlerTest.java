@@ -7,7 +7,11 @@
  */
 package org.opendaylight.openflowjava.protocol.impl.core.connection;
 
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
 import com.google.common.util.concurrent.ListenableFuture;
+import io.netty.channel.epoll.Epoll;
 import java.io.IOException;
 import java.net.InetAddress;
 import java.util.concurrent.ExecutionException;
@@ -18,6 +22,7 @@ import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.opendaylight.openflowjava.protocol.api.connection.SocketConfiguration;
 import org.opendaylight.openflowjava.protocol.impl.core.UdpChannelInitializer;
 import org.opendaylight.openflowjava.protocol.impl.core.UdpHandler;
 import org.slf4j.Logger;
@@ -124,6 +129,32 @@ public class UdpHandlerTest {
         shutdownServer();
     }
 
+    /**
+     * Test to create UdpHandler with multiple channels sharing the port, channels are bound
+     * on Epoll native transport only
+     * @throws Exception
+     */
+    @Test
+    public void testWithListenerShards() throws Exception {
+        final SocketConfiguration socketConfig = mock(SocketConfiguration.class);
+        when(socketConfig.getListenerShards()).thenReturn(4);
+        when(socketConfig.getIoRatio()).thenReturn(100);
+        when(socketConfig.getWriteSpinCount()).thenReturn(16);
+        when(socketConfig.getMaxMessagesPerRead()).thenReturn(16);
+        when(socketConfig.getReceiveBufferMinimum()).thenReturn(64);
+        when(socketConfig.getReceiveBufferInitial()).thenReturn(1024);
+        when(socketConfig.getReceiveBufferMaximum()).thenReturn(65536);
+
+        udpHandler = new UdpHandler(null, 0);
+        udpHandler.setChannelInitializer(udpChannelInitializerMock);
+        udpHandler.setSocketConfiguration(socketConfig);
+        Assert.assertTrue("Wrong - start server", startupServer(true));
+        Assert.assertTrue(udpHandler.getIsOnlineFuture().get(1500, TimeUnit.MILLISECONDS));
+        Assert.assertEquals("Wrong - listener count", Epoll.isAvailable() ? 4 : 1, udpHandler.getListenerCount());
+        Assert.assertFalse("Wrong - port has been set to zero", udpHandler.getPort() == 0);
+        shutdownServer();
+    }
+
     private Boolean startupServer(final boolean isEpollEnabled) throws InterruptedException, IOException, ExecutionException {
         ListenableFuture<Boolean> online = udpHandler.getIsOnlineFuture();
         /**
@@ -9,11 +9,21 @@
 package org.opendaylight.openflowjava.protocol.impl.deserialization;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.PooledByteBufAllocator;
 
 import org.junit.Test;
+import org.opendaylight.openflowjava.protocol.api.extensibility.OFDeserializer;
+import org.opendaylight.openflowjava.protocol.api.keys.MessageCodeKey;
+import org.opendaylight.openflowjava.protocol.api.keys.TypeToClassKey;
 import org.opendaylight.openflowjava.protocol.api.util.EncodeConstants;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.EchoRequestMessage;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.HelloMessage;
+import org.opendaylight.yangtools.yang.binding.DataObject;
 
 /**
  * @author michal.polkorab
@@ -53,4 +63,61 @@ public class DeserializationFactoryTest {
         buffer.writeInt(1234);
         factory.deserialize(buffer, (short) 0);
     }
-}
\ No newline at end of file
+
+    /**
+     * Test that deserializer registered after first lookup replaces the previous one
+     */
+    @Test
+    public void testDeserializerReplaced() {
+        DeserializerRegistryImpl registry = new DeserializerRegistryImpl();
+        registry.init();
+        DeserializationFactory factory = new DeserializationFactory();
+        factory.setRegistry(registry);
+        factory.deserialize(createHeaderBody(), EncodeConstants.OF13_VERSION_ID);
+
+        DataObject expected = mock(DataObject.class);
+        OFDeserializer<DataObject> deserializer = mockDeserializer(expected);
+        registry.registerDeserializer(new MessageCodeKey(EncodeConstants.OF13_VERSION_ID, 0, HelloMessage.class),
+                deserializer);
+        assertSame("Wrong deserializer used", expected,
+                factory.deserialize(createHeaderBody(), EncodeConstants.OF13_VERSION_ID));
+    }
+
+    /**
+     * Test that type to class mapping changes are reflected in deserializer lookup
+     */
+    @Test
+    public void testMappingChanged() {
+        DeserializerRegistryImpl registry = new DeserializerRegistryImpl();
+        registry.init();
+        DeserializationFactory factory = new DeserializationFactory();
+        factory.setRegistry(registry);
+        factory.deserialize(createHeaderBody(), EncodeConstants.OF13_VERSION_ID);
+
+        DataObject expected = mock(DataObject.class);
+        registry.registerDeserializer(new MessageCodeKey(EncodeConstants.OF13_VERSION_ID, 0,
+                EchoRequestMessage.class), mockDeserializer(expected));
+        factory.registerMapping(new TypeToClassKey(EncodeConstants.OF13_VERSION_ID, 0), EchoRequestMessage.class);
+        assertSame("Wrong deserializer used", expected,
+                factory.deserialize(createHeaderBody(), EncodeConstants.OF13_VERSION_ID));
+
+        factory.registerMapping(new TypeToClassKey(EncodeConstants.OF13_VERSION_ID, 0), HelloMessage.class);
+        assertEquals("Wrong deserializer used", HelloMessage.class, factory.deserialize(createHeaderBody(),
+                EncodeConstants.OF13_VERSION_ID).getImplementedInterface());
+    }
+
+    private static ByteBuf createHeaderBody() {
+        ByteBuf buffer = PooledByteBufAllocator.DEFAULT.buffer();
+        buffer.writeByte(0);
+        buffer.writeShort(EncodeConstants.OFHEADER_SIZE);
+        buffer.writeInt(1234);
+        return buffer;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static OFDeserializer<DataObject> mockDeserializer(final DataObject result) {
+        OFDeserializer<DataObject> deserializer = mock(OFDeserializer.class);
+        when(deserializer.deserialize(any(ByteBuf.class))).thenReturn(result);
+        return deserializer;
+    }
+}
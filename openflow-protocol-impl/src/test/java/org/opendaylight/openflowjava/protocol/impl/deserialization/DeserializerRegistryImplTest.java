@@ -7,10 +7,17 @@
  */
 package org.opendaylight.openflowjava.protocol.impl.deserialization;
 
+import io.netty.buffer.ByteBuf;
 import org.junit.Assert;
 import org.junit.Test;
+import org.mockito.Mockito;
+import org.opendaylight.openflowjava.protocol.api.extensibility.OFGeneralDeserializer;
+import org.opendaylight.openflowjava.protocol.api.keys.ActionDeserializerKey;
 import org.opendaylight.openflowjava.protocol.api.keys.MessageCodeKey;
 import org.opendaylight.openflowjava.protocol.api.util.EncodeConstants;
+import org.opendaylight.openflowjava.protocol.impl.util.AbstractCodeKeyMaker;
+import org.opendaylight.openflowjava.protocol.impl.util.BufferHelper;
+import org.opendaylight.openflowjava.protocol.impl.util.CodeKeyMakerFactory;
 import org.opendaylight.openflowjava.protocol.impl.util.MatchDeserializer;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.match.grouping.Match;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.match.v10.grouping.MatchV10;
@@ -83,4 +90,33 @@ public class DeserializerRegistryImplTest {
         registry.getDeserializer(new MessageCodeKey((short) 5000, EncodeConstants.EMPTY_VALUE, MatchV10.class));
         Assert.fail();
     }
-}
\ No newline at end of file
+
+    /**
+     * Test - deserializer lookup through key maker reflects registry modifications
+     */
+    @Test
+    public void testGetDeserializerByKeyMaker() {
+        DeserializerRegistryImpl registry = new DeserializerRegistryImpl();
+        registry.init();
+        AbstractCodeKeyMaker keyMaker = (AbstractCodeKeyMaker) CodeKeyMakerFactory.createActionsKeyMaker(OF13);
+        ByteBuf buffer = BufferHelper.buildBuffer("00 00 00 10 00 00 00 01 00 02 00 00 00 00 00 00");
+        buffer.skipBytes(4); // skip XID
+
+        OFGeneralDeserializer deserializer = registry.getDeserializer(keyMaker, buffer);
+        Assert.assertSame("Wrong deserializer", registry.getDeserializer(keyMaker.make(buffer)), deserializer);
+        Assert.assertSame("Wrong cached deserializer", deserializer, registry.getDeserializer(keyMaker, buffer));
+
+        OFGeneralDeserializer replacement = Mockito.mock(OFGeneralDeserializer.class);
+        registry.registerDeserializer(new ActionDeserializerKey(OF13, 0, null), replacement);
+        Assert.assertSame("Wrong deserializer after registration", replacement,
+                registry.getDeserializer(keyMaker, buffer));
+
+        registry.unregisterDeserializer(new ActionDeserializerKey(OF13, 0, null));
+        try {
+            registry.getDeserializer(keyMaker, buffer);
+            Assert.fail("Unregistered deserializer returned");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.impl.deserialization;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.opendaylight.openflowjava.protocol.api.extensibility.OFGeneralDeserializer;
+import org.opendaylight.openflowjava.protocol.api.util.EncodeConstants;
+
+/**
+ * Testing class of {@link ResolvedDeserializerCache}
+ */
+public class ResolvedDeserializerCacheTest {
+
+    private static final short OF10 = EncodeConstants.OF10_VERSION_ID;
+    private static final short OF13 = EncodeConstants.OF13_VERSION_ID;
+
+    /**
+     * Test flat table codes
+     */
+    @Test
+    public void testFlatCodes() {
+        ResolvedDeserializerCache cache = new ResolvedDeserializerCache();
+        OFGeneralDeserializer of13 = Mockito.mock(OFGeneralDeserializer.class);
+        OFGeneralDeserializer of10 = Mockito.mock(OFGeneralDeserializer.class);
+
+        assertNull(cache.get(String.class, OF13, 5));
+        cache.put(String.class, OF13, 5, of13);
+        cache.put(String.class, OF10, 5, of10);
+        assertSame(of13, cache.get(String.class, OF13, 5));
+        assertSame(of10, cache.get(String.class, OF10, 5));
+        assertNull(cache.get(Integer.class, OF13, 5));
+        assertNull(cache.get(String.class, OF13, 6));
+    }
+
+    /**
+     * Test experimenter (sparse) codes
+     */
+    @Test
+    public void testSparseCodes() {
+        ResolvedDeserializerCache cache = new ResolvedDeserializerCache();
+        OFGeneralDeserializer[] deserializers = new OFGeneralDeserializer[100];
+        for (int i = 0; i < deserializers.length; i++) {
+            deserializers[i] = Mockito.mock(OFGeneralDeserializer.class);
+            cache.put(String.class, OF13, experimenterCode(i), deserializers[i]);
+        }
+        for (int i = 0; i < deserializers.length; i++) {
+            assertSame(deserializers[i], cache.get(String.class, OF13, experimenterCode(i)));
+        }
+        assertNull(cache.get(String.class, OF10, experimenterCode(0)));
+        assertNull(cache.get(String.class, OF13, experimenterCode(deserializers.length)));
+    }
+
+    /**
+     * Test that uncacheable versions and codes are ignored
+     */
+    @Test
+    public void testUncacheable() {
+        ResolvedDeserializerCache cache = new ResolvedDeserializerCache();
+        cache.put(String.class, (short) ResolvedDeserializerCache.VERSION_COUNT, 1,
+                Mockito.mock(OFGeneralDeserializer.class));
+        cache.put(String.class, OF13, -1, Mockito.mock(OFGeneralDeserializer.class));
+        assertNull(cache.get(String.class, (short) ResolvedDeserializerCache.VERSION_COUNT, 1));
+        assertNull(cache.get(String.class, OF13, -1));
+    }
+
+    private static long experimenterCode(final int experimenterId) {
+        return 1L << 32 | experimenterId;
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.impl.deserialization.factories;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.util.IllegalReferenceCountException;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.openflowjava.protocol.api.connection.LazyPacketInMessage;
+import org.opendaylight.openflowjava.protocol.api.extensibility.DeserializerRegistry;
+import org.opendaylight.openflowjava.protocol.api.extensibility.OFDeserializer;
+import org.opendaylight.openflowjava.protocol.api.keys.MessageCodeKey;
+import org.opendaylight.openflowjava.protocol.api.util.EncodeConstants;
+import org.opendaylight.openflowjava.protocol.impl.deserialization.DeserializerRegistryImpl;
+import org.opendaylight.openflowjava.protocol.impl.util.BufferHelper;
+import org.opendaylight.openflowjava.util.ByteBufUtils;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.common.types.rev130731.PacketInReason;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.common.types.rev130731.TableId;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.PacketInMessage;
+
+/**
+ * Unit tests for {@link LazyPacketInMessageFactory}
+ */
+public class LazyPacketInMessageFactoryTest {
+
+    private static final String PACKET_IN = "00 01 02 03 01 02 01 04 FF 01 02 03 04 05 06 07 00 01 00 0C"
+            + " 80 00 00 04 00 00 00 05 00 00 00 00 00 00 01 02 03 04";
+
+    private LazyPacketInMessageFactory packetInFactory;
+    private OFDeserializer<PacketInMessage> eagerFactory;
+
+    /**
+     * Initializes deserializer registry and registers lazy deserializer
+     */
+    @Before
+    public void startUp() {
+        DeserializerRegistry registry = new DeserializerRegistryImpl();
+        registry.init();
+        eagerFactory = registry.getDeserializer(
+                new MessageCodeKey(EncodeConstants.OF13_VERSION_ID, 10, PacketInMessage.class));
+        packetInFactory = new LazyPacketInMessageFactory();
+        registry.registerDeserializer(new MessageCodeKey(EncodeConstants.OF13_VERSION_ID, 10,
+                PacketInMessage.class), packetInFactory);
+    }
+
+    /**
+     * Tests header fields, match and data of lazy PacketIn
+     */
+    @Test
+    public void test() {
+        ByteBuf bb = BufferHelper.buildBuffer(PACKET_IN);
+        LazyPacketInMessage message = packetInFactory.deserialize(bb);
+
+        BufferHelper.checkHeaderV13(message);
+        Assert.assertEquals("Wrong bufferID", 0x00010203L, message.getBufferId().longValue());
+        Assert.assertEquals("Wrong totalLength", 0x0102, message.getTotalLen().intValue());
+        Assert.assertEquals("Wrong reason", PacketInReason.OFPRACTION, message.getReason());
+        Assert.assertEquals("Wrong tableID", new TableId(4L), message.getTableId());
+        Assert.assertEquals("Wrong cookie", "FF01020304050607", message.getCookie().toString(16).toUpperCase());
+        Assert.assertEquals("Wrong in_port", 5, message.getMatchInPort());
+        Assert.assertEquals("Wrong match entries", 1, message.getMatch().getMatchEntry().size());
+        Assert.assertArrayEquals("Wrong data", ByteBufUtils.hexStringToBytes("01 02 03 04"), message.getData());
+        Assert.assertArrayEquals("Wrong payload prefix", ByteBufUtils.hexStringToBytes("01 02"),
+                message.getPayload(2));
+        Assert.assertEquals("Wrong payload", 4, message.getPayload().readableBytes());
+        Assert.assertEquals("Buffer not consumed", 0, bb.readableBytes());
+
+        bb.release();
+        Assert.assertEquals("Wrong refCnt", 1, message.refCnt());
+        Assert.assertTrue("Not released", message.release());
+    }
+
+    /**
+     * Tests that materialized PacketIn equals eagerly decoded one and outlives the lazy message
+     */
+    @Test
+    public void testToPacketInMessage() {
+        PacketInMessage expected = eagerFactory.deserialize(BufferHelper.buildBuffer(PACKET_IN));
+        LazyPacketInMessage message = packetInFactory.deserialize(BufferHelper.buildBuffer(PACKET_IN));
+
+        PacketInMessage materialized = message.toPacketInMessage();
+        message.release();
+
+        Assert.assertEquals("Wrong materialized message", expected, materialized);
+    }
+
+    /**
+     * Tests match without in_port and empty data
+     */
+    @Test
+    public void testNoInPortNoData() {
+        LazyPacketInMessage message = packetInFactory.deserialize(BufferHelper.buildBuffer(
+                "00 01 02 03 01 02 01 04 00 01 02 03 04 05 06 07 00 01 00 04 00 00 00 00 00 00"));
+
+        Assert.assertEquals("Wrong in_port", -1, message.getMatchInPort());
+        Assert.assertArrayEquals("Wrong data", new byte[0], message.getData());
+        message.release();
+    }
+
+    /**
+     * Tests that payload is not accessible after release
+     */
+    @Test(expected = IllegalReferenceCountException.class)
+    public void testReleased() {
+        ByteBuf bb = BufferHelper.buildBuffer(PACKET_IN);
+        LazyPacketInMessage message = packetInFactory.deserialize(bb);
+        bb.release();
+        message.release();
+        message.getData();
+    }
+
+    /**
+     * Tests match length exceeding the message
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testTruncatedMatch() {
+        packetInFactory.deserialize(BufferHelper.buildBuffer(
+                "00 01 02 03 01 02 01 04 00 01 02 03 04 05 06 07 00 01 00 20 80 00 00 04 00 00 00 05"));
+    }
+}
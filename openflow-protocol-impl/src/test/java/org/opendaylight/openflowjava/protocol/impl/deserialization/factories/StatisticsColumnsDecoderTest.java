@@ -0,0 +1,251 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.impl.deserialization.factories;
+
+import io.netty.buffer.ByteBuf;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.openflowjava.protocol.api.connection.ColumnarStatisticsConsumer;
+import org.opendaylight.openflowjava.protocol.api.connection.FlowStatsColumns;
+import org.opendaylight.openflowjava.protocol.api.connection.PortStatsColumns;
+import org.opendaylight.openflowjava.protocol.api.connection.QueueStatsColumns;
+import org.opendaylight.openflowjava.protocol.api.connection.StatisticsColumns;
+import org.opendaylight.openflowjava.protocol.api.keys.MessageCodeKey;
+import org.opendaylight.openflowjava.protocol.api.util.EncodeConstants;
+import org.opendaylight.openflowjava.protocol.impl.deserialization.DeserializerRegistryImpl;
+import org.opendaylight.openflowjava.protocol.impl.util.BufferHelper;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.common.types.rev130731.MultipartType;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.MultipartReplyMessage;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.multipart.reply.multipart.reply.body.MultipartReplyFlowCase;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.multipart.reply.multipart.reply.body.MultipartReplyPortStatsCase;
+import org.opendaylight.yangtools.yang.binding.DataObject;
+
+/**
+ * Tests columnar decoding of flow, port and queue statistics
+ */
+public class StatisticsColumnsDecoderTest {
+
+    private static final String FLOW_STATS_V13 = "00 48 08 00 00 00 00 09 00 00 00 07 00 0C 00 0E 00 0F 00 1F "
+            + "00 00 00 00 FF 01 01 01 01 01 01 01 EF 01 01 01 01 01 01 01 7F 01 01 01 01 01 01 01 "
+            + "00 01 00 04 00 00 00 00 00 01 00 08 06 00 00 00 00 01 00 08 06 00 00 00 ";
+
+    private MultipartReplyMessageFactory factory;
+    private OF10StatsReplyMessageFactory of10Factory;
+    private RecordingConsumer consumer;
+
+    /**
+     * Initializes deserializer registry and lookups correct deserializers
+     */
+    @Before
+    public void startUp() {
+        DeserializerRegistryImpl registry = new DeserializerRegistryImpl();
+        registry.init();
+        factory = registry.getDeserializer(
+                new MessageCodeKey(EncodeConstants.OF13_VERSION_ID, 19, MultipartReplyMessage.class));
+        of10Factory = registry.getDeserializer(
+                new MessageCodeKey(EncodeConstants.OF10_VERSION_ID, 17, MultipartReplyMessage.class));
+        consumer = new RecordingConsumer();
+    }
+
+    /**
+     * Tests OF1.3 flow stats decoded into columns
+     */
+    @Test
+    public void testFlowStatsV13() {
+        ByteBuf bb = BufferHelper.buildBuffer("00 01 00 01 00 00 00 00 " + FLOW_STATS_V13 + FLOW_STATS_V13);
+        final int firstEntry = bb.readerIndex() + 12;
+        MultipartReplyMessage message = factory.deserialize(bb, consumer);
+
+        Assert.assertEquals("Wrong reply more", true, message.getFlags().isOFPMPFREQMORE());
+        Assert.assertEquals("Flow stats decoded", 0, ((MultipartReplyFlowCase) message.getMultipartReplyBody())
+                .getMultipartReplyFlow().getFlowStats().size());
+        Assert.assertEquals("Wrong number of calls", 1, consumer.calls);
+        Assert.assertEquals("Wrong xid", message.getXid().longValue(), consumer.xid);
+        Assert.assertEquals("Wrong type", MultipartType.OFPMPFLOW, consumer.type);
+        Assert.assertTrue("Wrong reply more", consumer.replyMore);
+        Assert.assertEquals("Wrong size", 2, consumer.flowSize);
+        Assert.assertEquals("Columns not cleared", 0, consumer.flows.getSize());
+        Assert.assertNull("Match buffer kept", consumer.flows.getMatchBuffer());
+
+        FlowStatsColumns flows = consumer.flows;
+        Assert.assertEquals("Wrong tableId", 8, flows.getTableIds()[1]);
+        Assert.assertEquals("Wrong durationSec", 9, flows.getDurationSec()[1]);
+        Assert.assertEquals("Wrong durationNsec", 7, flows.getDurationNsec()[1]);
+        Assert.assertEquals("Wrong priority", 12, flows.getPriorities()[1]);
+        Assert.assertEquals("Wrong idleTimeout", 14, flows.getIdleTimeouts()[1]);
+        Assert.assertEquals("Wrong hardTimeout", 15, flows.getHardTimeouts()[1]);
+        Assert.assertEquals("Wrong flags", 0x1F, flows.getFlags()[1]);
+        Assert.assertEquals("Wrong cookie", 0xFF01010101010101L, flows.getCookies()[1]);
+        Assert.assertEquals("Wrong packetCount", 0xEF01010101010101L, flows.getPacketCounts()[1]);
+        Assert.assertEquals("Wrong byteCount", 0x7F01010101010101L, flows.getByteCounts()[1]);
+        Assert.assertEquals("Wrong match offset", firstEntry + 48, flows.getMatchOffsets()[0]);
+        Assert.assertEquals("Wrong match offset", firstEntry + 72 + 48, flows.getMatchOffsets()[1]);
+        Assert.assertEquals("Wrong match length", 4, flows.getMatchLengths()[1]);
+        Assert.assertEquals("Wrong match type", 1, consumer.matchType);
+        Assert.assertEquals("Unread bytes", 0, bb.readableBytes());
+    }
+
+    /**
+     * Tests OF1.3 port stats decoded into columns which have to grow
+     */
+    @Test
+    public void testPortStatsV13() {
+        ByteBuf bb = BufferHelper.buildBuffer("00 04 00 00 00 00 00 00");
+        for (int i = 1; i <= 3; i++) {
+            bb.writeInt(0xFFFFFF00 + i);
+            bb.writeZero(4);
+            for (long counter = 0; counter < 12; counter++) {
+                bb.writeLong(i * 100 + counter);
+            }
+            bb.writeInt(i);
+            bb.writeInt(500);
+        }
+        MultipartReplyMessage message = factory.deserialize(bb, consumer);
+
+        Assert.assertEquals("Port stats decoded", 0, ((MultipartReplyPortStatsCase) message
+                .getMultipartReplyBody()).getMultipartReplyPortStats().getPortStats().size());
+        Assert.assertEquals("Wrong size", 3, consumer.portSize);
+        Assert.assertTrue("Columns not grown", consumer.ports.getCapacity() >= 3);
+        PortStatsColumns ports = consumer.ports;
+        Assert.assertEquals("Wrong portNo", 0xFFFFFF03L, Integer.toUnsignedLong(ports.getPortNos()[2]));
+        Assert.assertEquals("Wrong rxPackets", 300, ports.getRxPackets()[2]);
+        Assert.assertEquals("Wrong txBytes", 203, ports.getTxBytes()[1]);
+        Assert.assertEquals("Wrong collisions", 111, ports.getCollisions()[0]);
+        Assert.assertEquals("Wrong durationSec", 3, ports.getDurationSec()[2]);
+        Assert.assertEquals("Wrong durationNsec", 500, ports.getDurationNsec()[2]);
+    }
+
+    /**
+     * Tests OF1.0 flow and queue stats decoded into columns
+     */
+    @Test
+    public void testStatsV10() {
+        ByteBuf bb = BufferHelper.buildBuffer("00 01 00 00");
+        final int entry = bb.writerIndex();
+        bb.writeShort(88);
+        bb.writeByte(3);
+        bb.writeZero(41);
+        bb.writeInt(60);
+        bb.writeInt(70);
+        bb.writeShort(5);
+        bb.writeShort(6);
+        bb.writeShort(7);
+        bb.writeZero(6);
+        bb.writeLong(-1L);
+        bb.writeLong(11);
+        bb.writeLong(12);
+        of10Factory.deserialize(bb, consumer);
+
+        Assert.assertEquals("Wrong size", 1, consumer.flowSize);
+        FlowStatsColumns flows = consumer.flows;
+        Assert.assertEquals("Wrong tableId", 3, flows.getTableIds()[0]);
+        Assert.assertEquals("Wrong match offset", entry + 4, flows.getMatchOffsets()[0]);
+        Assert.assertEquals("Wrong match length", 40, flows.getMatchLengths()[0]);
+        Assert.assertEquals("Wrong durationSec", 60, flows.getDurationSec()[0]);
+        Assert.assertEquals("Wrong priority", 5, flows.getPriorities()[0]);
+        Assert.assertEquals("Wrong hardTimeout", 7, flows.getHardTimeouts()[0]);
+        Assert.assertEquals("Wrong cookie", "18446744073709551615", Long.toUnsignedString(flows.getCookies()[0]));
+        Assert.assertEquals("Wrong byteCount", 12, flows.getByteCounts()[0]);
+
+        bb = BufferHelper.buildBuffer("00 05 00 00 00 02 00 00 00 00 00 09 "
+                + "00 00 00 00 00 00 00 01 00 00 00 00 00 00 00 02 00 00 00 00 00 00 00 03");
+        of10Factory.deserialize(bb, consumer);
+
+        Assert.assertEquals("Wrong size", 1, consumer.queueSize);
+        QueueStatsColumns queues = consumer.queues;
+        Assert.assertEquals("Wrong portNo", 2, queues.getPortNos()[0]);
+        Assert.assertEquals("Wrong queueId", 9, queues.getQueueIds()[0]);
+        Assert.assertEquals("Wrong txBytes", 1, queues.getTxBytes()[0]);
+        Assert.assertEquals("Wrong txPackets", 2, queues.getTxPackets()[0]);
+        Assert.assertEquals("Wrong txErrors", 3, queues.getTxErrors()[0]);
+        Assert.assertEquals("Wrong durationSec", 0, queues.getDurationSec()[0]);
+    }
+
+    /**
+     * Tests that types without columns are decoded as usual
+     */
+    @Test
+    public void testNoColumns() {
+        consumer.flows = null;
+        ByteBuf bb = BufferHelper.buildBuffer("00 01 00 00 00 00 00 00 " + FLOW_STATS_V13);
+        MultipartReplyMessage message = factory.deserialize(bb, consumer);
+
+        Assert.assertEquals("Wrong flow stats size", 1, ((MultipartReplyFlowCase) message.getMultipartReplyBody())
+                .getMultipartReplyFlow().getFlowStats().size());
+        Assert.assertEquals("Columns passed", 0, consumer.calls);
+    }
+
+    /**
+     * Tests that columns of wrong type are rejected
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testWrongColumns() {
+        consumer.flows = null;
+        consumer.wrongFlowColumns = true;
+        factory.deserialize(BufferHelper.buildBuffer("00 01 00 00 00 00 00 00 " + FLOW_STATS_V13), consumer);
+    }
+
+    private static final class RecordingConsumer implements ColumnarStatisticsConsumer {
+        private FlowStatsColumns flows = new FlowStatsColumns();
+        private final PortStatsColumns ports = new PortStatsColumns(1);
+        private final QueueStatsColumns queues = new QueueStatsColumns();
+        private boolean wrongFlowColumns;
+        private int calls;
+        private long xid;
+        private MultipartType type;
+        private boolean replyMore;
+        private int flowSize;
+        private int portSize;
+        private int queueSize;
+        private int matchType;
+
+        @Override
+        public boolean isStreamed(final MultipartType multipartType) {
+            return false;
+        }
+
+        @Override
+        public void onEntry(final long entryXid, final MultipartType multipartType, final DataObject entry,
+                final boolean more) {
+            throw new AssertionError("Entries should not be streamed");
+        }
+
+        @Override
+        public StatisticsColumns getColumns(final MultipartType multipartType) {
+            switch (multipartType) {
+                case OFPMPFLOW:
+                    return wrongFlowColumns ? ports : flows;
+                case OFPMPPORTSTATS:
+                    return ports;
+                case OFPMPQUEUE:
+                    return queues;
+                default:
+                    return null;
+            }
+        }
+
+        @Override
+        public void onColumns(final long columnsXid, final MultipartType multipartType,
+                final StatisticsColumns columns, final boolean more) {
+            calls++;
+            xid = columnsXid;
+            type = multipartType;
+            replyMore = more;
+            if (columns == flows) {
+                flowSize = columns.getSize();
+                matchType = flows.getMatchBuffer().getUnsignedShort(flows.getMatchOffsets()[0]);
+            } else if (columns == ports) {
+                portSize = columns.getSize();
+            } else {
+                queueSize = columns.getSize();
+            }
+        }
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.impl.deserialization.factories.multipart;
+
+import io.netty.buffer.ByteBuf;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.openflowjava.protocol.api.connection.MultipartReplyEntryConsumer;
+import org.opendaylight.openflowjava.protocol.api.keys.MessageCodeKey;
+import org.opendaylight.openflowjava.protocol.api.util.EncodeConstants;
+import org.opendaylight.openflowjava.protocol.impl.deserialization.DeserializationFactory;
+import org.opendaylight.openflowjava.protocol.impl.deserialization.DeserializerRegistryImpl;
+import org.opendaylight.openflowjava.protocol.impl.deserialization.factories.MultipartReplyMessageFactory;
+import org.opendaylight.openflowjava.protocol.impl.util.BufferHelper;
+import org.opendaylight.openflowjava.util.ByteBufUtils;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.common.types.rev130731.MultipartType;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.MultipartReplyMessage;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.multipart.reply.multipart.reply.body.MultipartReplyFlowCase;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.multipart.reply.multipart.reply.body.multipart.reply.flow._case.multipart.reply.flow.FlowStats;
+import org.opendaylight.yangtools.yang.binding.DataObject;
+
+/**
+ * Tests streaming of multipart reply body entries by {@link MultipartReplyMessageFactory}
+ */
+public class MultipartReplyStreamingTest {
+
+    private static final String FLOW_STATS = "00 48 08 00 00 00 00 09 00 00 00 07 00 0C 00 0E 00 0F 00 1F "
+            + "00 00 00 00 FF 01 01 01 01 01 01 01 EF 01 01 01 01 01 01 01 7F 01 01 01 01 01 01 01 "
+            + "00 01 00 04 00 00 00 00 00 01 00 08 06 00 00 00 00 01 00 08 06 00 00 00 ";
+
+    private MultipartReplyMessageFactory factory;
+    private RecordingConsumer consumer;
+
+    /**
+     * Initializes deserializer registry and lookups correct deserializer
+     */
+    @Before
+    public void startUp() {
+        DeserializerRegistryImpl registry = new DeserializerRegistryImpl();
+        registry.init();
+        factory = registry.getDeserializer(
+                new MessageCodeKey(EncodeConstants.OF13_VERSION_ID, 19, MultipartReplyMessage.class));
+        consumer = new RecordingConsumer(MultipartType.OFPMPFLOW);
+    }
+
+    /**
+     * Tests that flow stats are passed to consumer and not collected in the body
+     */
+    @Test
+    public void testStreamedFlowStats() {
+        ByteBuf bb = BufferHelper.buildBuffer("00 01 00 01 00 00 00 00 " + FLOW_STATS + FLOW_STATS);
+        MultipartReplyMessage message = factory.deserialize(bb, consumer);
+
+        BufferHelper.checkHeaderV13(message);
+        Assert.assertEquals("Wrong flag", true, message.getFlags().isOFPMPFREQMORE());
+        MultipartReplyFlowCase messageCase = (MultipartReplyFlowCase) message.getMultipartReplyBody();
+        Assert.assertEquals("Flow stats collected", 0,
+                messageCase.getMultipartReplyFlow().getFlowStats().size());
+        Assert.assertEquals("Wrong number of entries", 2, consumer.entries.size());
+        Assert.assertEquals("Wrong xid", message.getXid().longValue(), consumer.xid);
+        Assert.assertEquals("Wrong reply more", true, consumer.replyMore);
+        FlowStats flowStats = (FlowStats) consumer.entries.get(1);
+        Assert.assertEquals("Wrong tableId", 8, flowStats.getTableId().intValue());
+        Assert.assertEquals("Wrong priority", 12, flowStats.getPriority().intValue());
+    }
+
+    /**
+     * Tests that replies of types which are not streamed are decoded as usual
+     */
+    @Test
+    public void testNotStreamedType() {
+        consumer = new RecordingConsumer(MultipartType.OFPMPPORTSTATS);
+        ByteBuf bb = BufferHelper.buildBuffer("00 01 00 00 00 00 00 00 " + FLOW_STATS);
+        MultipartReplyMessage message = factory.deserialize(bb, consumer);
+
+        MultipartReplyFlowCase messageCase = (MultipartReplyFlowCase) message.getMultipartReplyBody();
+        Assert.assertEquals("Wrong flow stats size", 1, messageCase.getMultipartReplyFlow().getFlowStats().size());
+        Assert.assertEquals("Entries streamed", 0, consumer.entries.size());
+    }
+
+    /**
+     * Tests that {@link DeserializationFactory} passes consumer to the multipart reply deserializer
+     */
+    @Test
+    public void testDeserializationFactory() {
+        DeserializerRegistryImpl registry = new DeserializerRegistryImpl();
+        registry.init();
+        DeserializationFactory deserializationFactory = new DeserializationFactory();
+        deserializationFactory.setRegistry(registry);
+        ByteBuf bb = ByteBufUtils.hexStringToByteBuf("13 00 58 00 00 00 01 00 01 00 00 00 00 00 00 " + FLOW_STATS);
+
+        DataObject message = deserializationFactory.deserialize(bb, (short) EncodeConstants.OF13_VERSION_ID,
+                consumer);
+
+        Assert.assertTrue("Wrong message", message instanceof MultipartReplyMessage);
+        Assert.assertEquals("Wrong number of entries", 1, consumer.entries.size());
+        Assert.assertEquals("Wrong xid", 1, consumer.xid);
+        Assert.assertEquals("Wrong reply more", false, consumer.replyMore);
+    }
+
+    private static final class RecordingConsumer implements MultipartReplyEntryConsumer {
+        private final MultipartType streamedType;
+        private final List<DataObject> entries = new ArrayList<>();
+        private long xid;
+        private boolean replyMore;
+
+        RecordingConsumer(final MultipartType streamedType) {
+            this.streamedType = streamedType;
+        }
+
+        @Override
+        public boolean isStreamed(final MultipartType type) {
+            return streamedType == type;
+        }
+
+        @Override
+        public void onEntry(final long xid, final MultipartType type, final DataObject entry,
+                final boolean replyMore) {
+            this.xid = xid;
+            this.replyMore = replyMore;
+            entries.add(entry);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.impl.serialization;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.opendaylight.openflowjava.protocol.api.extensibility.OFGeneralSerializer;
+import org.opendaylight.openflowjava.protocol.api.util.EncodeConstants;
+
+/**
+ * Testing class of {@link ResolvedSerializerCache}
+ */
+public class ResolvedSerializerCacheTest {
+
+    private static final short OF10 = EncodeConstants.OF10_VERSION_ID;
+    private static final short OF13 = EncodeConstants.OF13_VERSION_ID;
+
+    /**
+     * Test that serializers are distinguished by version, type and qualifier
+     */
+    @Test
+    public void testGetPut() {
+        ResolvedSerializerCache cache = new ResolvedSerializerCache();
+        OFGeneralSerializer of13 = Mockito.mock(OFGeneralSerializer.class);
+        OFGeneralSerializer of10 = Mockito.mock(OFGeneralSerializer.class);
+        OFGeneralSerializer qualified = Mockito.mock(OFGeneralSerializer.class);
+
+        assertNull(cache.get(OF13, String.class, null));
+        cache.put(OF13, String.class, null, of13);
+        cache.put(OF10, String.class, null, of10);
+        cache.put(OF13, String.class, Integer.class, qualified);
+
+        assertSame(of13, cache.get(OF13, String.class, null));
+        assertSame(of10, cache.get(OF10, String.class, null));
+        assertSame(qualified, cache.get(OF13, String.class, Integer.class));
+        assertNull(cache.get(OF13, Long.class, null));
+        assertNull(cache.get(OF13, String.class, Long.class));
+    }
+
+    /**
+     * Test that first stored serializer is kept
+     */
+    @Test
+    public void testPutExisting() {
+        ResolvedSerializerCache cache = new ResolvedSerializerCache();
+        OFGeneralSerializer first = Mockito.mock(OFGeneralSerializer.class);
+        cache.put(OF13, String.class, null, first);
+        cache.put(OF13, String.class, null, Mockito.mock(OFGeneralSerializer.class));
+        assertSame(first, cache.get(OF13, String.class, null));
+    }
+}
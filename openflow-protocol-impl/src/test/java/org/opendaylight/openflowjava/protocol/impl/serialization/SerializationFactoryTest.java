@@ -13,8 +13,13 @@ import io.netty.buffer.ByteBuf;
 import io.netty.buffer.PooledByteBufAllocator;
 
 import org.junit.Test;
+import org.opendaylight.openflowjava.protocol.api.extensibility.SerializedSizeEstimator;
 import org.opendaylight.openflowjava.protocol.api.extensibility.SerializerRegistry;
 import org.opendaylight.openflowjava.protocol.api.util.EncodeConstants;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.common.types.rev130731.GroupId;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.common.types.rev130731.GroupModCommand;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.common.types.rev130731.GroupType;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.GroupModInputBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.HelloInputBuilder;
 
 /**
@@ -57,4 +62,31 @@ public class SerializationFactoryTest {
         helloBuilder.setElements(null);
         factory.messageToBuffer((short) 0, buffer, helloBuilder.build());
     }
-}
\ No newline at end of file
+
+    /**
+     * Test serialized size estimates
+     */
+    @Test
+    public void testEstimateSize() {
+        SerializerRegistry registry = new SerializerRegistryImpl();
+        registry.init();
+        SerializationFactory factory = new SerializationFactory();
+        factory.setSerializerTable(registry);
+        GroupModInputBuilder groupModBuilder = new GroupModInputBuilder();
+        groupModBuilder.setVersion((short) EncodeConstants.OF13_VERSION_ID);
+        groupModBuilder.setXid(123456L);
+        groupModBuilder.setCommand(GroupModCommand.OFPGCADD);
+        groupModBuilder.setType(GroupType.OFPGTALL);
+        groupModBuilder.setGroupId(new GroupId(1L));
+        assertEquals("Wrong estimate", 16, factory.estimateSize(EncodeConstants.OF13_VERSION_ID,
+                groupModBuilder.build()));
+
+        HelloInputBuilder helloBuilder = new HelloInputBuilder();
+        helloBuilder.setVersion((short) EncodeConstants.OF13_VERSION_ID);
+        helloBuilder.setXid(123456L);
+        assertEquals("Hello should not be estimated", SerializedSizeEstimator.UNKNOWN_SIZE,
+                factory.estimateSize(EncodeConstants.OF13_VERSION_ID, helloBuilder.build()));
+        assertEquals("Missing serializer should not be estimated", SerializedSizeEstimator.UNKNOWN_SIZE,
+                factory.estimateSize((short) 0, helloBuilder.build()));
+    }
+}
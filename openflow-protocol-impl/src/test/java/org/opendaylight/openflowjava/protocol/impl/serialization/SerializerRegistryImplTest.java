@@ -9,9 +9,18 @@ package org.opendaylight.openflowjava.protocol.impl.serialization;
 
 import org.junit.Assert;
 import org.junit.Test;
+import org.opendaylight.openflowjava.protocol.api.extensibility.OFSerializer;
+import org.opendaylight.openflowjava.protocol.api.keys.ActionSerializerKey;
 import org.opendaylight.openflowjava.protocol.api.keys.MessageTypeKey;
 import org.opendaylight.openflowjava.protocol.api.util.EncodeConstants;
+import org.opendaylight.openflowjava.protocol.impl.serialization.action.OF13OutputActionSerializer;
 import org.opendaylight.openflowjava.protocol.impl.util.OF13MatchSerializer;
+import org.opendaylight.openflowjava.protocol.impl.util.TypeKeyMaker;
+import org.opendaylight.openflowjava.protocol.impl.util.TypeKeyMakerFactory;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.common.action.rev150203.action.grouping.action.choice.OutputActionCase;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.common.action.rev150203.action.grouping.action.choice.OutputActionCaseBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.common.action.rev150203.actions.grouping.Action;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.common.action.rev150203.actions.grouping.ActionBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.match.grouping.Match;
 
 /**
@@ -58,4 +67,48 @@ public class SerializerRegistryImplTest {
         serReg.registerSerializer(new MessageTypeKey<>(OF13, Match.class), new OF13MatchSerializer());
         Assert.assertFalse("Wrong - unregister serializer",serReg.unregisterSerializer(new MessageTypeKey<>(OF10, Match.class)));
     }
+
+    /**
+     * Test - message serializer lookup reflects registry modifications
+     */
+    @Test
+    public void testGetMessageSerializer() {
+        SerializerRegistryImpl serReg = new SerializerRegistryImpl();
+        serReg.init();
+        OFSerializer<Match> serializer = serReg.getMessageSerializer(OF13, Match.class);
+        Assert.assertSame("Wrong serializer", serReg.getSerializer(new MessageTypeKey<>(OF13, Match.class)),
+                serializer);
+        Assert.assertSame("Wrong cached serializer", serializer, serReg.getMessageSerializer(OF13, Match.class));
+
+        OF13MatchSerializer replacement = new OF13MatchSerializer();
+        serReg.registerSerializer(new MessageTypeKey<>(OF13, Match.class), replacement);
+        Assert.assertSame("Wrong serializer after registration", replacement,
+                serReg.getMessageSerializer(OF13, Match.class));
+
+        serReg.unregisterSerializer(new MessageTypeKey<>(OF13, Match.class));
+        try {
+            serReg.getMessageSerializer(OF13, Match.class);
+            Assert.fail("Unregistered serializer returned");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+    }
+
+    /**
+     * Test - entry serializer lookup through key maker reflects registry modifications
+     */
+    @Test
+    public void testGetEntrySerializer() {
+        SerializerRegistryImpl serReg = new SerializerRegistryImpl();
+        serReg.init();
+        TypeKeyMaker<Action> keyMaker = TypeKeyMakerFactory.createActionKeyMaker(OF13);
+        Action action = new ActionBuilder().setActionChoice(new OutputActionCaseBuilder().build()).build();
+        OFSerializer<Action> serializer = serReg.getSerializer(keyMaker, action);
+        Assert.assertSame("Wrong serializer", serReg.getSerializer(keyMaker.make(action)), serializer);
+        Assert.assertSame("Wrong cached serializer", serializer, serReg.getSerializer(keyMaker, action));
+
+        OF13OutputActionSerializer replacement = new OF13OutputActionSerializer();
+        serReg.registerSerializer(new ActionSerializerKey<>(OF13, OutputActionCase.class, null), replacement);
+        Assert.assertSame("Wrong serializer after registration", replacement, serReg.getSerializer(keyMaker, action));
+    }
 }
@@ -19,6 +19,7 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.opendaylight.openflowjava.protocol.api.extensibility.OFSerializer;
+import org.opendaylight.openflowjava.protocol.api.extensibility.SerializedSizeEstimator;
 import org.opendaylight.openflowjava.protocol.api.extensibility.SerializerRegistry;
 import org.opendaylight.openflowjava.protocol.api.keys.MessageTypeKey;
 import org.opendaylight.openflowjava.protocol.api.util.EncodeConstants;
@@ -161,6 +162,7 @@ public class FlowModInputMessageFactoryTest {
         out.writeShort(3);
 
         flowModFactory.serialize(message, out);
+        Assert.assertEquals("Wrong size estimate", 128, estimateSize(message));
 
         // read parent message
         out.readInt();
@@ -232,4 +234,8 @@ public class FlowModInputMessageFactoryTest {
         return new FlowModFlags(_oFPFFCHECKOVERLAP, _oFPFFNOBYTCOUNTS, _oFPFFNOPKTCOUNTS, _oFPFFRESETCOUNTS, _oFPFFSENDFLOWREM);
     }
 
+    @SuppressWarnings("unchecked")
+    private int estimateSize(final FlowModInput message) {
+        return ((SerializedSizeEstimator<FlowModInput>) flowModFactory).estimateSerializedSize(message);
+    }
 }
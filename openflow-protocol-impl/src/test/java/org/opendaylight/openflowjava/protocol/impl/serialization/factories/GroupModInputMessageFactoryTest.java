@@ -18,6 +18,7 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.opendaylight.openflowjava.protocol.api.extensibility.OFSerializer;
+import org.opendaylight.openflowjava.protocol.api.extensibility.SerializedSizeEstimator;
 import org.opendaylight.openflowjava.protocol.api.extensibility.SerializerRegistry;
 import org.opendaylight.openflowjava.protocol.api.keys.MessageTypeKey;
 import org.opendaylight.openflowjava.protocol.api.util.EncodeConstants;
@@ -76,6 +77,7 @@ public class GroupModInputMessageFactoryTest {
         out.writeShort(3);
 
         groupModFactory.serialize(message, out);
+        Assert.assertEquals("Wrong size estimate", 32, estimateSize(message));
 
         // read parent message
         out.readInt();
@@ -140,4 +142,9 @@ public class GroupModInputMessageFactoryTest {
         Assert.assertEquals("Wrong groupId", message.getGroupId().getValue().intValue(), out.readUnsignedInt());
         Assert.assertTrue("Unexpected data", out.readableBytes() == 0);
     }
-}
\ No newline at end of file
+
+    @SuppressWarnings("unchecked")
+    private int estimateSize(final GroupModInput message) {
+        return ((SerializedSizeEstimator<GroupModInput>) groupModFactory).estimateSerializedSize(message);
+    }
+}
@@ -17,6 +17,7 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.opendaylight.openflowjava.protocol.api.extensibility.OFSerializer;
+import org.opendaylight.openflowjava.protocol.api.extensibility.SerializedSizeEstimator;
 import org.opendaylight.openflowjava.protocol.api.extensibility.SerializerRegistry;
 import org.opendaylight.openflowjava.protocol.api.keys.MessageTypeKey;
 import org.opendaylight.openflowjava.protocol.impl.serialization.SerializerRegistryImpl;
@@ -89,6 +90,7 @@ public class MultipartRequestInputFactoryTest {
 
         ByteBuf out = UnpooledByteBufAllocator.DEFAULT.buffer();
         multipartFactory.serialize(message, out);
+        Assert.assertEquals("Wrong size estimate", 48, estimateSize(message));
 
         BufferHelper.checkHeaderV13(out, (byte) 18, 48);
         Assert.assertEquals("Wrong type", message.getType().getIntValue(), out.readShort());
@@ -233,6 +235,7 @@ public class MultipartRequestInputFactoryTest {
 
         ByteBuf out = UnpooledByteBufAllocator.DEFAULT.buffer();
         multipartFactory.serialize(message, out);
+        Assert.assertEquals("Wrong size estimate", 24, estimateSize(message));
 
         BufferHelper.checkHeaderV13(out, (byte) 18, 24);
         Assert.assertEquals("Wrong type", message.getType().getIntValue(), out.readShort());
@@ -451,4 +454,8 @@ public class MultipartRequestInputFactoryTest {
         return caseBuilder.build();
     }
 
+    @SuppressWarnings("unchecked")
+    private int estimateSize(final MultipartRequestInput message) {
+        return ((SerializedSizeEstimator<MultipartRequestInput>) multipartFactory).estimateSerializedSize(message);
+    }
 }
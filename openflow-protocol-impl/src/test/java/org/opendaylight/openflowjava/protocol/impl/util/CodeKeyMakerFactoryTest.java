@@ -132,4 +132,36 @@ public class CodeKeyMakerFactoryTest {
                         65535, 1L), codeKey);
         Assert.assertEquals("Buffer index modified", 8, buffer.readableBytes());
     }
-}
\ No newline at end of file
+
+    /**
+     * Tests {@link AbstractCodeKeyMaker#getDeserializerCode(ByteBuf)} of factory key makers
+     */
+    @Test
+    public void testDeserializerCodes() {
+        AbstractCodeKeyMaker matchKeyMaker = (AbstractCodeKeyMaker) CodeKeyMakerFactory
+                .createMatchEntriesKeyMaker(EncodeConstants.OF13_VERSION_ID);
+        ByteBuf buffer = BufferHelper.buildBuffer("80 00 06 04 00 00 00 01");
+        buffer.skipBytes(4); // skip XID
+        Assert.assertEquals("Wrong OpenFlow basic code", 3, matchKeyMaker.getDeserializerCode(buffer));
+        Assert.assertEquals("Buffer index modified", 8, buffer.readableBytes());
+
+        buffer = BufferHelper.buildBuffer("FF FF 00 04 00 00 00 01");
+        buffer.skipBytes(4); // skip XID
+        long experimenterCode = matchKeyMaker.getDeserializerCode(buffer);
+        Assert.assertEquals("Wrong experimenter id", 1, experimenterCode & 0xFFFFFFFFL);
+        Assert.assertTrue("Experimenter code overlaps standard codes", experimenterCode > 0xFFFFFFFFL);
+
+        AbstractCodeKeyMaker actionKeyMaker = (AbstractCodeKeyMaker) CodeKeyMakerFactory
+                .createActionsKeyMaker(EncodeConstants.OF13_VERSION_ID);
+        buffer = BufferHelper.buildBuffer("00 11 00 08 00 00 00 00");
+        buffer.skipBytes(4); // skip XID
+        Assert.assertEquals("Wrong action code", 17, actionKeyMaker.getDeserializerCode(buffer));
+
+        AbstractCodeKeyMaker instructionKeyMaker = (AbstractCodeKeyMaker) CodeKeyMakerFactory
+                .createInstructionsKeyMaker(EncodeConstants.OF13_VERSION_ID);
+        buffer = BufferHelper.buildBuffer("FF FF 00 08 00 00 00 2A");
+        buffer.skipBytes(4); // skip XID
+        Assert.assertEquals("Wrong experimenter instruction code", 1L << 32 | 42,
+                instructionKeyMaker.getDeserializerCode(buffer));
+    }
+}
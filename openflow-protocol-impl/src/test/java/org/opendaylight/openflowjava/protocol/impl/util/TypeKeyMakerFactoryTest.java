@@ -137,6 +137,10 @@ public class TypeKeyMakerFactoryTest {
         MatchEntrySerializerKey<?, ?> comparationKey = new MatchEntrySerializerKey<>(EncodeConstants.OF13_VERSION_ID,
                 OpenflowBasicClass.class, InPort.class);
         Assert.assertEquals("Wrong key", comparationKey, key);
+        AbstractTypeKeyMaker<MatchEntry> cachingKeyMaker = (AbstractTypeKeyMaker<MatchEntry>) keyMaker;
+        Assert.assertEquals("Wrong serializer type", InPort.class, cachingKeyMaker.getSerializerType(entry));
+        Assert.assertEquals("Wrong serializer qualifier", OpenflowBasicClass.class,
+                cachingKeyMaker.getSerializerQualifier(entry));
     }
 
     /**
@@ -164,6 +168,8 @@ public class TypeKeyMakerFactoryTest {
                 ExperimenterClass.class, OxmMatchFieldClass.class);
         comparationKey.setExperimenterId(42L);
         Assert.assertEquals("Wrong key", comparationKey, key);
+        Assert.assertNull("Experimenter entry serializer must not be cached",
+                ((AbstractTypeKeyMaker<MatchEntry>) keyMaker).getSerializerType(entry));
     }
 
     private class ActionSubtypeClass extends ExperimenterActionSubType {
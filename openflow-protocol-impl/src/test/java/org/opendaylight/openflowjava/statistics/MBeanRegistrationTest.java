@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.statistics;
+
+import java.lang.management.ManagementFactory;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests for {@link MBeanRegistration}
+ */
+public class MBeanRegistrationTest {
+
+    private static final String OBJECT_NAME = "org.opendaylight.openflowjava:type=MBeanRegistrationTest";
+
+    /**
+     * Bean interface used by tests
+     */
+    public interface TestValueMXBean {
+
+        /**
+         * @return constant value
+         */
+        int getValue();
+    }
+
+    private static final class TestValue implements TestValueMXBean {
+        @Override
+        public int getValue() {
+            return 42;
+        }
+    }
+
+    private final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+    /**
+     * Removes test bean left registered by failed test
+     */
+    @After
+    public void tearDown() throws Exception {
+        final ObjectName name = new ObjectName(OBJECT_NAME);
+        if (server.isRegistered(name)) {
+            server.unregisterMBean(name);
+        }
+    }
+
+    /**
+     * Tests repeated registration and unregistration of own bean
+     */
+    @Test
+    public void testRegister() throws Exception {
+        final MBeanRegistration registration = new MBeanRegistration(new TestValue(), OBJECT_NAME);
+        registration.register();
+        registration.register();
+        Assert.assertTrue("Wrong - bean not registered", registration.isRegistered());
+        Assert.assertEquals("Wrong attribute", 42, server.getAttribute(new ObjectName(OBJECT_NAME), "Value"));
+
+        registration.unregister();
+        registration.unregister();
+        Assert.assertFalse("Wrong - bean registered", registration.isRegistered());
+        Assert.assertFalse("Wrong - bean registered", server.isRegistered(new ObjectName(OBJECT_NAME)));
+    }
+
+    /**
+     * Tests that bean registered under the same name by another owner is not unregistered
+     */
+    @Test
+    public void testRegisteredByOtherOwner() throws Exception {
+        final MBeanRegistration owner = new MBeanRegistration(new TestValue(), OBJECT_NAME);
+        final MBeanRegistration other = new MBeanRegistration(new TestValue(), OBJECT_NAME);
+        owner.register();
+        other.register();
+        Assert.assertFalse("Wrong - bean of other owner taken over", other.isRegistered());
+
+        other.unregister();
+        Assert.assertTrue("Wrong - bean of other owner unregistered", server.isRegistered(new ObjectName(OBJECT_NAME)));
+        owner.unregister();
+        Assert.assertFalse("Wrong - bean registered", server.isRegistered(new ObjectName(OBJECT_NAME)));
+    }
+}
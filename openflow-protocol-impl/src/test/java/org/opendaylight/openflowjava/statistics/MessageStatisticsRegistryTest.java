@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.statistics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Map;
+import javax.management.ObjectName;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for {@link MessageStatisticsRegistry} and {@link ConnectionStatistics}
+ */
+public class MessageStatisticsRegistryTest {
+
+    private static final int PACKET_IN = 10;
+    private static final int FLOW_MOD = 14;
+
+    private MessageStatisticsRegistry registry;
+
+    /**
+     * Enables counting before each test
+     */
+    @Before
+    public void setUp() {
+        registry = MessageStatisticsRegistry.getInstance();
+        registry.setEnabled(true);
+    }
+
+    /**
+     * Disables counting and unregisters MBean after each test
+     */
+    @After
+    public void tearDown() {
+        registry.unregisterMBean();
+        registry.setEnabled(false);
+    }
+
+    /**
+     * Tests that disabled registry does not create statistics
+     */
+    @Test
+    public void testDisabled() {
+        registry.setEnabled(false);
+        Assert.assertNull("Wrong - statistics created while disabled", registry.register("10.0.0.1:6653"));
+        Assert.assertTrue("Wrong - connections counted", registry.getConnectionIds().isEmpty());
+    }
+
+    /**
+     * Tests that statistics held by live connections stop counting once registry is disabled
+     */
+    @Test
+    public void testDisabledWhileConnected() {
+        final ConnectionStatistics statistics = registry.register("10.0.0.1:6653");
+        statistics.countMessage(MessageCounterType.IN_MESSAGES, MessageCounterType.IN_BYTES, PACKET_IN, 100);
+        statistics.setGauge(ConnectionGaugeType.BARRIER_MESSAGE_THRESHOLD, 256);
+
+        registry.setEnabled(false);
+        Assert.assertTrue("Wrong - statistics not closed", statistics.isClosed());
+        statistics.countMessage(MessageCounterType.IN_MESSAGES, MessageCounterType.IN_BYTES, PACKET_IN, 100);
+        statistics.increment(MessageCounterType.DECODE_FAILURES, PACKET_IN);
+        statistics.setGauge(ConnectionGaugeType.BARRIER_MESSAGE_THRESHOLD, 512);
+        Assert.assertEquals("Wrong - counted while disabled", 1,
+                statistics.get(MessageCounterType.IN_MESSAGES, PACKET_IN));
+        Assert.assertEquals("Wrong - counted while disabled", 100,
+                statistics.get(MessageCounterType.IN_BYTES, PACKET_IN));
+        Assert.assertEquals("Wrong - counted while disabled", 0,
+                statistics.getTotal(MessageCounterType.DECODE_FAILURES));
+        Assert.assertEquals("Wrong - gauge updated while disabled", 256,
+                statistics.getGauge(ConnectionGaugeType.BARRIER_MESSAGE_THRESHOLD));
+
+        registry.setEnabled(true);
+        Assert.assertTrue("Wrong - closed statistics reopened", statistics.isClosed());
+        Assert.assertTrue("Wrong - closed statistics registered", registry.getConnectionIds().isEmpty());
+    }
+
+    /**
+     * Tests counting per counter and message type
+     */
+    @Test
+    public void testCounting() {
+        final ConnectionStatistics statistics = registry.register("10.0.0.1:6653");
+        statistics.countMessage(MessageCounterType.IN_MESSAGES, MessageCounterType.IN_BYTES, PACKET_IN, 100);
+        statistics.countMessage(MessageCounterType.IN_MESSAGES, MessageCounterType.IN_BYTES, PACKET_IN, 50);
+        statistics.countMessage(MessageCounterType.OUT_MESSAGES, MessageCounterType.OUT_BYTES, FLOW_MOD, 80);
+        statistics.increment(MessageCounterType.DECODE_FAILURES, 200);
+
+        Assert.assertEquals("Wrong in messages", 2, statistics.get(MessageCounterType.IN_MESSAGES, PACKET_IN));
+        Assert.assertEquals("Wrong in bytes", 150, statistics.get(MessageCounterType.IN_BYTES, PACKET_IN));
+        Assert.assertEquals("Wrong out messages", 0, statistics.get(MessageCounterType.OUT_MESSAGES, PACKET_IN));
+        Assert.assertEquals("Wrong out bytes", 80, statistics.getTotal(MessageCounterType.OUT_BYTES));
+        Assert.assertEquals("Wrong - type out of range not counted as other", 1,
+                statistics.get(MessageCounterType.DECODE_FAILURES, ConnectionStatistics.OTHER_MESSAGE_TYPE));
+
+        final MessageStatisticsSnapshot snapshot = registry.snapshot("10.0.0.1:6653");
+        statistics.increment(MessageCounterType.IN_MESSAGES, PACKET_IN);
+        Assert.assertEquals("Wrong - snapshot changed", 2, snapshot.get(MessageCounterType.IN_MESSAGES, PACKET_IN));
+        final Map<String, Long> map = snapshot.toMap();
+        Assert.assertEquals("Wrong map value", Long.valueOf(150), map.get("IN_BYTES[10]"));
+        Assert.assertEquals("Wrong map value", Long.valueOf(1), map.get("DECODE_FAILURES[other]"));
+        Assert.assertEquals("Wrong - zero counters in map", 5, map.size());
+
+        statistics.reset();
+        Assert.assertEquals("Wrong - counter not reset", 0, statistics.getTotal(MessageCounterType.IN_MESSAGES));
+    }
+
+    /**
+     * Tests gauges are part of snapshot and survive reset
+     */
+    @Test
+    public void testGauges() {
+        final ConnectionStatistics statistics = registry.register("10.0.0.1:6653");
+        statistics.setGauge(ConnectionGaugeType.BARRIER_MESSAGE_THRESHOLD, 256);
+        statistics.setGauge(ConnectionGaugeType.BARRIER_INTERVAL_NANOS, 1000000);
+        statistics.reset();
+
+        final MessageStatisticsSnapshot snapshot = registry.snapshot("10.0.0.1:6653");
+        Assert.assertEquals("Wrong gauge", 256, snapshot.getGauge(ConnectionGaugeType.BARRIER_MESSAGE_THRESHOLD));
+        final Map<String, Long> map = snapshot.toMap();
+        Assert.assertEquals("Wrong map value", Long.valueOf(1000000), map.get("BARRIER_INTERVAL_NANOS"));
+        Assert.assertEquals("Wrong - zero gauge in map", 2, map.size());
+    }
+
+    /**
+     * Tests totals, top connections and unregistration
+     */
+    @Test
+    public void testAggregation() {
+        final ConnectionStatistics first = registry.register("first");
+        final ConnectionStatistics second = registry.register("second");
+        first.add(MessageCounterType.IN_BYTES, PACKET_IN, 10);
+        second.add(MessageCounterType.IN_BYTES, PACKET_IN, 30);
+        second.increment(MessageCounterType.QUEUE_FULL, ConnectionStatistics.OTHER_MESSAGE_TYPE);
+
+        Assert.assertEquals("Wrong total", Long.valueOf(40), registry.getTotals().get("IN_BYTES"));
+        Assert.assertEquals("Wrong total", Long.valueOf(1), registry.getTotals().get("QUEUE_FULL"));
+        Assert.assertEquals("Wrong top connections", Arrays.asList("second", "first"),
+                registry.getTopConnections("IN_BYTES", 5));
+        Assert.assertEquals("Wrong top connections", Arrays.asList("second"),
+                registry.getTopConnections("IN_BYTES", 1));
+
+        final ConnectionStatistics replaced = registry.register("first");
+        registry.unregister(first);
+        Assert.assertEquals("Wrong - replacing statistics removed", 2, registry.snapshot().size());
+        registry.unregister(replaced);
+        Assert.assertNull("Wrong - statistics not removed", registry.snapshot("first"));
+        Assert.assertTrue("Wrong - unknown connection", registry.getConnectionCounters("first").isEmpty());
+    }
+
+    /**
+     * Tests registration in platform MBean server
+     */
+    @Test
+    public void testMBean() throws Exception {
+        final ObjectName name = new ObjectName(MessageStatisticsRegistry.OBJECT_NAME);
+        registry.registerMBean();
+        registry.registerMBean();
+        Assert.assertTrue("Wrong - MBean not registered", ManagementFactory.getPlatformMBeanServer().isRegistered(name));
+        Assert.assertEquals("Wrong enabled attribute", Boolean.TRUE,
+                ManagementFactory.getPlatformMBeanServer().getAttribute(name, "Enabled"));
+        registry.unregisterMBean();
+        Assert.assertFalse("Wrong - MBean registered", ManagementFactory.getPlatformMBeanServer().isRegistered(name));
+    }
+}
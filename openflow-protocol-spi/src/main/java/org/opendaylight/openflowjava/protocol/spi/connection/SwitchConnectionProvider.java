@@ -10,10 +10,14 @@
 package org.opendaylight.openflowjava.protocol.spi.connection;
 
 import org.opendaylight.openflowjava.protocol.api.connection.ConnectionConfiguration;
+import org.opendaylight.openflowjava.protocol.api.connection.EncodedMessage;
+import org.opendaylight.openflowjava.protocol.api.connection.SocketConfiguration;
 import org.opendaylight.openflowjava.protocol.api.connection.SwitchConnectionHandler;
 import org.opendaylight.openflowjava.protocol.api.extensibility.DeserializerExtensionProvider;
 import org.opendaylight.openflowjava.protocol.api.extensibility.SerializerExtensionProvider;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.OfHeader;
 
+import com.google.common.annotations.Beta;
 import com.google.common.util.concurrent.ListenableFuture;
 
 /**
@@ -52,4 +56,25 @@ public interface SwitchConnectionProvider extends AutoCloseable,
      * @param switchConHandler instance being informed when new switch connects
      */
     void setSwitchConnectionHandler(SwitchConnectionHandler switchConHandler);
-}
\ No newline at end of file
+
+    /**
+     * Serializes message once, so that it can be committed to many switches using
+     * {@link org.opendaylight.openflowjava.protocol.api.connection.OutboundQueue#commitEncodedEntry(Long,
+     * EncodedMessage, com.google.common.util.concurrent.FutureCallback)}. Switches receiving the message
+     * have to use the same protocol version as the message. Caller owns the returned message and has to
+     * release it once it is committed to all queues.
+     * @param message message to be serialized
+     * @return serialized message
+     */
+    @Beta
+    EncodedMessage encodeMessage(OfHeader message);
+
+    /**
+     * Applies socket and event loop tuning to a running provider. Options which can be changed on live
+     * channels are applied to connected switches, all options are used for switches connecting later.
+     * Transport and backlog of a running listener are not changed.
+     * @param socketConfiguration new tuning, null restores defaults
+     */
+    @Beta
+    void updateSocketConfiguration(SocketConfiguration socketConfiguration);
+}
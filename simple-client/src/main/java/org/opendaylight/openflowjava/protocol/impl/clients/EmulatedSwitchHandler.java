@@ -0,0 +1,504 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.impl.clients;
+
+import com.google.common.base.Ticker;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.util.ReferenceCountUtil;
+import io.netty.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * OpenFlow 1.3 switch emulated on top of a channel. Answers handshake, echo, barrier, role, flow-mod and
+ * multipart requests and, once the controller has requested features, generates packet-in, port-status,
+ * echo request and unsolicited flow stats reply messages at the rate given by {@link LoadProfile}.
+ * Packet-in latency is measured to the first packet-out or flow-mod referring the buffer id of the packet-in.
+ *
+ * <p>All methods run in the channel's event loop, so no state is shared with other switches except
+ * {@link LoadStatistics}.
+ */
+public class EmulatedSwitchHandler extends ChannelInboundHandlerAdapter {
+
+    /** Largest packet data carried by a packet-in */
+    public static final int MAX_PACKET_IN_SIZE = 9000;
+
+    static final byte OF13_VERSION = 4;
+    static final int OFPT_HELLO = 0;
+    static final int OFPT_ERROR = 1;
+    static final int OFPT_ECHO_REQUEST = 2;
+    static final int OFPT_ECHO_REPLY = 3;
+    static final int OFPT_FEATURES_REQUEST = 5;
+    static final int OFPT_FEATURES_REPLY = 6;
+    static final int OFPT_GET_CONFIG_REQUEST = 7;
+    static final int OFPT_GET_CONFIG_REPLY = 8;
+    static final int OFPT_PACKET_IN = 10;
+    static final int OFPT_PORT_STATUS = 12;
+    static final int OFPT_PACKET_OUT = 13;
+    static final int OFPT_FLOW_MOD = 14;
+    static final int OFPT_MULTIPART_REQUEST = 18;
+    static final int OFPT_MULTIPART_REPLY = 19;
+    static final int OFPT_BARRIER_REQUEST = 20;
+    static final int OFPT_BARRIER_REPLY = 21;
+    static final int OFPT_ROLE_REQUEST = 24;
+    static final int OFPT_ROLE_REPLY = 25;
+
+    private static final Logger LOG = LoggerFactory.getLogger(EmulatedSwitchHandler.class);
+    private static final int HEADER_LENGTH = 8;
+    private static final int LENGTH_INDEX = 2;
+    private static final int XID_INDEX = 4;
+    private static final int MAX_MESSAGE_LENGTH = 0xFFFF;
+    private static final long NO_BUFFER = 0xFFFFFFFFL;
+    private static final int FLOW_MOD_BUFFER_ID_INDEX = 32;
+    private static final int PACKET_OUT_BUFFER_ID_INDEX = 8;
+    private static final long TICK_MILLIS = 10;
+    private static final int MAX_MESSAGES_PER_TICK = 1024;
+    private static final int PENDING_SIZE = 4096;
+    private static final int PENDING_MASK = PENDING_SIZE - 1;
+    private static final int PORTS = 48;
+
+    private static final int OFPMP_DESC = 0;
+    private static final int OFPMP_FLOW = 1;
+    private static final int OFPMP_AGGREGATE = 2;
+    private static final int OFPMP_PORT_STATS = 4;
+    private static final int OFPMP_PORT_DESC = 13;
+    private static final int MULTIPART_HEADER_LENGTH = 16;
+    private static final int DESC_LENGTH = 1056;
+    private static final int AGGREGATE_LENGTH = 24;
+    private static final int FLOW_STATS_LENGTH = 88;
+    private static final int PORT_STATS_LENGTH = 112;
+    private static final int PORT_LENGTH = 64;
+    private static final int OFPMPF_REPLY_MORE = 1;
+
+    private final long datapathId;
+    private final LoadProfile profile;
+    private final LoadStatistics statistics;
+    private final Ticker ticker;
+    private final double packetInThreshold;
+    private final double portStatusThreshold;
+    private final double echoThreshold;
+    private final long[] pendingEchoes = new long[PENDING_SIZE];
+    private final long[] pendingPacketIns = new long[PENDING_SIZE];
+    private ChannelHandlerContext ctx;
+    private ScheduledFuture<?> generator;
+    private long lastTickNanos;
+    private double credit;
+    private int nextXid = 1;
+    private int nextBufferId;
+
+    /**
+     * @param datapathId datapath id reported in features reply
+     * @param profile generated workload
+     * @param statistics shared statistics
+     */
+    public EmulatedSwitchHandler(final long datapathId, final LoadProfile profile, final LoadStatistics statistics) {
+        this(datapathId, profile, statistics, Ticker.systemTicker());
+    }
+
+    EmulatedSwitchHandler(final long datapathId, final LoadProfile profile, final LoadStatistics statistics,
+            final Ticker ticker) {
+        this.datapathId = datapathId;
+        this.profile = profile;
+        this.statistics = statistics;
+        this.ticker = ticker;
+        final double total = profile.getTotalRatio();
+        packetInThreshold = total > 0 ? profile.getPacketInRatio() / total : 0;
+        portStatusThreshold = total > 0 ? (profile.getPacketInRatio() + profile.getPortStatusRatio()) / total : 0;
+        // exactly 1 without multipart ratio, so that rounding never yields a multipart reply
+        echoThreshold = total > 0 ? 1 - profile.getMultipartRatio() / total : 0;
+    }
+
+    @Override
+    public void channelActive(final ChannelHandlerContext ctx) throws Exception {
+        this.ctx = ctx;
+        statistics.switchConnected();
+        final ByteBuf hello = header(OFPT_HELLO, HEADER_LENGTH, nextXid());
+        send(hello, OFPT_HELLO);
+        ctx.flush();
+        super.channelActive(ctx);
+    }
+
+    @Override
+    public void channelInactive(final ChannelHandlerContext ctx) throws Exception {
+        if (generator != null) {
+            generator.cancel(false);
+            generator = null;
+        }
+        statistics.switchDisconnected();
+        super.channelInactive(ctx);
+    }
+
+    @Override
+    public void channelRead(final ChannelHandlerContext ctx, final Object msg) throws Exception {
+        final ByteBuf message = (ByteBuf) msg;
+        try {
+            processMessage(message);
+        } finally {
+            ReferenceCountUtil.release(msg);
+        }
+    }
+
+    @Override
+    public void channelReadComplete(final ChannelHandlerContext ctx) throws Exception {
+        ctx.flush();
+        super.channelReadComplete(ctx);
+    }
+
+    @Override
+    public void exceptionCaught(final ChannelHandlerContext ctx, final Throwable cause) throws Exception {
+        LOG.warn("Switch {} failed, closing connection", datapathId, cause);
+        ctx.close();
+    }
+
+    private void processMessage(final ByteBuf message) {
+        final int start = message.readerIndex();
+        final int type = message.getUnsignedByte(start + 1);
+        final int xid = message.getInt(start + XID_INDEX);
+        statistics.messageReceived(type);
+        switch (type) {
+            case OFPT_HELLO:
+            case OFPT_ERROR:
+                break;
+            case OFPT_ECHO_REQUEST:
+                send(copyBody(message, OFPT_ECHO_REPLY), OFPT_ECHO_REPLY);
+                break;
+            case OFPT_ECHO_REPLY:
+                completePending(pendingEchoes, xid, true);
+                break;
+            case OFPT_FEATURES_REQUEST:
+                send(featuresReply(xid), OFPT_FEATURES_REPLY);
+                startGenerator();
+                break;
+            case OFPT_GET_CONFIG_REQUEST:
+                final ByteBuf config = header(OFPT_GET_CONFIG_REPLY, HEADER_LENGTH + 4, xid);
+                config.writeShort(0);
+                config.writeShort(0xFFFF);
+                send(config, OFPT_GET_CONFIG_REPLY);
+                break;
+            case OFPT_PACKET_OUT:
+                completePacketIn(message.getUnsignedInt(start + PACKET_OUT_BUFFER_ID_INDEX));
+                break;
+            case OFPT_FLOW_MOD:
+                if (message.readableBytes() >= FLOW_MOD_BUFFER_ID_INDEX + 4) {
+                    completePacketIn(message.getUnsignedInt(start + FLOW_MOD_BUFFER_ID_INDEX));
+                }
+                break;
+            case OFPT_MULTIPART_REQUEST:
+                sendMultipartReply(xid, message.getUnsignedShort(start + HEADER_LENGTH));
+                break;
+            case OFPT_BARRIER_REQUEST:
+                send(header(OFPT_BARRIER_REPLY, HEADER_LENGTH, xid), OFPT_BARRIER_REPLY);
+                break;
+            case OFPT_ROLE_REQUEST:
+                send(copyBody(message, OFPT_ROLE_REPLY), OFPT_ROLE_REPLY);
+                break;
+            default:
+                LOG.trace("Switch {} ignores message type {}", datapathId, type);
+                break;
+        }
+    }
+
+    private void startGenerator() {
+        if (generator != null) {
+            return;
+        }
+        statistics.switchHandshaked();
+        if (profile.getMessageRate() <= 0) {
+            return;
+        }
+        lastTickNanos = ticker.read();
+        // spread ticks of switches sharing an event loop
+        final long initialDelay = ThreadLocalRandom.current().nextLong(TimeUnit.MILLISECONDS.toNanos(TICK_MILLIS));
+        generator = ctx.executor().scheduleAtFixedRate(new Runnable() {
+            @Override
+            public void run() {
+                generate();
+            }
+        }, initialDelay, TimeUnit.MILLISECONDS.toNanos(TICK_MILLIS), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Generates messages for the time elapsed since previous call
+     */
+    void generate() {
+        final long now = ticker.read();
+        credit += profile.getMessageRate() * (now - lastTickNanos) / TimeUnit.SECONDS.toNanos(1);
+        lastTickNanos = now;
+        final int count = (int) Math.min(credit, MAX_MESSAGES_PER_TICK);
+        credit -= count;
+        if (count == 0) {
+            return;
+        }
+        if (!ctx.channel().isWritable()) {
+            statistics.messagesThrottled(count);
+            return;
+        }
+
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < count; i++) {
+            final double choice = random.nextDouble();
+            if (choice < packetInThreshold) {
+                send(packetIn(now), OFPT_PACKET_IN);
+            } else if (choice < portStatusThreshold) {
+                send(portStatus(random.nextInt(PORTS) + 1), OFPT_PORT_STATUS);
+            } else if (choice < echoThreshold) {
+                send(echoRequest(now), OFPT_ECHO_REQUEST);
+            } else {
+                sendEntries(nextXid(), OFPMP_FLOW);
+            }
+        }
+        ctx.flush();
+    }
+
+    private int nextXid() {
+        return nextXid++;
+    }
+
+    private void send(final ByteBuf message, final int type) {
+        message.setShort(message.readerIndex() + LENGTH_INDEX, message.readableBytes());
+        ctx.write(message, ctx.voidPromise());
+        statistics.messageSent(type);
+    }
+
+    private ByteBuf header(final int type, final int length, final int xid) {
+        final ByteBuf message = ctx.alloc().buffer(length);
+        message.writeByte(OF13_VERSION);
+        message.writeByte(type);
+        message.writeShort(length);
+        message.writeInt(xid);
+        return message;
+    }
+
+    private ByteBuf copyBody(final ByteBuf request, final int type) {
+        final int length = request.readableBytes();
+        final ByteBuf reply = header(type, length, request.getInt(request.readerIndex() + XID_INDEX));
+        reply.writeBytes(request, request.readerIndex() + HEADER_LENGTH, length - HEADER_LENGTH);
+        return reply;
+    }
+
+    private void completePending(final long[] pending, final long id, final boolean echo) {
+        final int index = (int) (id & PENDING_MASK);
+        final long sent = pending[index];
+        if (sent != 0) {
+            pending[index] = 0;
+            if (echo) {
+                statistics.recordEchoLatency(ticker.read() - sent);
+            } else {
+                statistics.recordPacketInLatency(ticker.read() - sent);
+            }
+        }
+    }
+
+    private void completePacketIn(final long bufferId) {
+        if (bufferId != NO_BUFFER) {
+            completePending(pendingPacketIns, bufferId, false);
+        }
+    }
+
+    private ByteBuf featuresReply(final int xid) {
+        final ByteBuf reply = header(OFPT_FEATURES_REPLY, 32, xid);
+        reply.writeLong(datapathId);
+        reply.writeInt(PENDING_SIZE);
+        reply.writeByte(254);
+        reply.writeByte(0);
+        reply.writeZero(2);
+        // flow, table, port and group stats
+        reply.writeInt(0x0F);
+        reply.writeInt(0);
+        return reply;
+    }
+
+    private ByteBuf echoRequest(final long now) {
+        final int xid = nextXid();
+        pendingEchoes[xid & PENDING_MASK] = now;
+        final ByteBuf request = header(OFPT_ECHO_REQUEST, HEADER_LENGTH + 8, xid);
+        request.writeLong(now);
+        return request;
+    }
+
+    private ByteBuf packetIn(final long now) {
+        final int bufferId = nextBufferId++ & PENDING_MASK;
+        pendingPacketIns[bufferId] = now;
+        final int packetSize = profile.getPacketInSize();
+        final ByteBuf packetIn = header(OFPT_PACKET_IN, 42 + packetSize, nextXid());
+        packetIn.writeInt(bufferId);
+        packetIn.writeShort(packetSize);
+        packetIn.writeByte(0);
+        packetIn.writeByte(0);
+        packetIn.writeLong(0);
+        // match with in-port
+        final int inPort = ThreadLocalRandom.current().nextInt(PORTS) + 1;
+        packetIn.writeShort(1);
+        packetIn.writeShort(12);
+        packetIn.writeInt(0x80000004);
+        packetIn.writeInt(inPort);
+        packetIn.writeZero(4);
+        packetIn.writeZero(2);
+        writeFrame(packetIn, inPort, packetSize);
+        return packetIn;
+    }
+
+    private void writeFrame(final ByteBuf out, final int inPort, final int packetSize) {
+        final int end = out.writerIndex() + packetSize;
+        if (packetSize >= 14) {
+            out.writeShort(0);
+            out.writeInt(0xFF);
+            out.writeShort((int) (datapathId >>> 16));
+            out.writeShort((int) datapathId);
+            out.writeShort(inPort);
+            out.writeShort(0x0800);
+        }
+        out.writeZero(end - out.writerIndex());
+    }
+
+    private ByteBuf portStatus(final int portNo) {
+        final ByteBuf status = header(OFPT_PORT_STATUS, HEADER_LENGTH + 8 + PORT_LENGTH, nextXid());
+        // modify
+        status.writeByte(2);
+        status.writeZero(7);
+        writePort(status, portNo, ThreadLocalRandom.current().nextBoolean());
+        return status;
+    }
+
+    private void writePort(final ByteBuf out, final int portNo, final boolean linkDown) {
+        out.writeInt(portNo);
+        out.writeZero(4);
+        out.writeShort((int) (datapathId >>> 32));
+        out.writeInt((int) datapathId);
+        out.writeZero(2);
+        final byte[] name = new byte[16];
+        final byte[] nameBytes = ("eth" + portNo).getBytes();
+        System.arraycopy(nameBytes, 0, name, 0, Math.min(nameBytes.length, name.length - 1));
+        out.writeBytes(name);
+        out.writeInt(0);
+        out.writeInt(linkDown ? 1 : 4);
+        // 10GB full duplex, copper
+        out.writeInt(0x840);
+        out.writeInt(0x840);
+        out.writeInt(0x840);
+        out.writeInt(0);
+        out.writeInt(10000000);
+        out.writeInt(10000000);
+    }
+
+    private void sendMultipartReply(final int xid, final int multipartType) {
+        switch (multipartType) {
+            case OFPMP_DESC:
+                final ByteBuf desc = multipartHeader(xid, multipartType, DESC_LENGTH, false);
+                desc.writeZero(DESC_LENGTH);
+                send(desc, OFPT_MULTIPART_REPLY);
+                break;
+            case OFPMP_AGGREGATE:
+                final ByteBuf aggregate = multipartHeader(xid, multipartType, AGGREGATE_LENGTH, false);
+                aggregate.writeLong(1000000L * profile.getMultipartEntries());
+                aggregate.writeLong(1500000000L * profile.getMultipartEntries());
+                aggregate.writeInt(profile.getMultipartEntries());
+                aggregate.writeZero(4);
+                send(aggregate, OFPT_MULTIPART_REPLY);
+                break;
+            case OFPMP_FLOW:
+            case OFPMP_PORT_STATS:
+            case OFPMP_PORT_DESC:
+                sendEntries(xid, multipartType);
+                break;
+            default:
+                // reply to list based requests with empty list
+                send(multipartHeader(xid, multipartType, 0, false), OFPT_MULTIPART_REPLY);
+                break;
+        }
+    }
+
+    private void sendEntries(final int xid, final int multipartType) {
+        final int entryLength;
+        final int entries;
+        if (multipartType == OFPMP_FLOW) {
+            entryLength = FLOW_STATS_LENGTH;
+            entries = profile.getMultipartEntries();
+        } else if (multipartType == OFPMP_PORT_STATS) {
+            entryLength = PORT_STATS_LENGTH;
+            entries = Math.min(profile.getMultipartEntries(), PORTS);
+        } else {
+            entryLength = PORT_LENGTH;
+            entries = PORTS;
+        }
+
+        final int entriesPerReply = (MAX_MESSAGE_LENGTH - MULTIPART_HEADER_LENGTH) / entryLength;
+        int written = 0;
+        do {
+            final int count = Math.min(entries - written, entriesPerReply);
+            final boolean more = written + count < entries;
+            final ByteBuf reply = multipartHeader(xid, multipartType, count * entryLength, more);
+            for (int i = written; i < written + count; i++) {
+                if (multipartType == OFPMP_FLOW) {
+                    writeFlowStats(reply, i);
+                } else if (multipartType == OFPMP_PORT_STATS) {
+                    writePortStats(reply, i + 1);
+                } else {
+                    writePort(reply, i + 1, false);
+                }
+            }
+            send(reply, OFPT_MULTIPART_REPLY);
+            written += count;
+        } while (written < entries);
+    }
+
+    private ByteBuf multipartHeader(final int xid, final int multipartType, final int bodyLength,
+            final boolean more) {
+        final ByteBuf reply = header(OFPT_MULTIPART_REPLY, MULTIPART_HEADER_LENGTH + bodyLength, xid);
+        reply.writeShort(multipartType);
+        reply.writeShort(more ? OFPMPF_REPLY_MORE : 0);
+        reply.writeZero(4);
+        return reply;
+    }
+
+    private static void writeFlowStats(final ByteBuf out, final int entry) {
+        out.writeShort(FLOW_STATS_LENGTH);
+        out.writeByte(0);
+        out.writeZero(1);
+        out.writeInt(entry);
+        out.writeInt(0);
+        out.writeShort(1000);
+        out.writeShort(0);
+        out.writeShort(0);
+        out.writeShort(0);
+        out.writeZero(4);
+        out.writeLong(entry);
+        out.writeLong(1000L * entry);
+        out.writeLong(150000L * entry);
+        // match with in-port
+        out.writeShort(1);
+        out.writeShort(12);
+        out.writeInt(0x80000004);
+        out.writeInt(entry % PORTS + 1);
+        out.writeZero(4);
+        // apply actions with output
+        out.writeShort(4);
+        out.writeShort(24);
+        out.writeZero(4);
+        out.writeShort(0);
+        out.writeShort(16);
+        out.writeInt((entry + 1) % PORTS + 1);
+        out.writeShort(0xFFFF);
+        out.writeZero(6);
+    }
+
+    private static void writePortStats(final ByteBuf out, final int portNo) {
+        out.writeInt(portNo);
+        out.writeZero(4);
+        for (int counter = 0; counter < 12; counter++) {
+            out.writeLong(1000L * counter + portNo);
+        }
+        out.writeInt(3600);
+        out.writeInt(0);
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.impl.clients;
+
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelPipeline;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.handler.ssl.SslHandler;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.net.ssl.SSLEngine;
+
+/**
+ * Initializes pipeline of switches emulated by {@link SwitchEmulator}, each channel gets its own datapath id.
+ */
+public class EmulatedSwitchInitializer extends ChannelInitializer<SocketChannel> {
+
+    private final AtomicLong nextDatapathId = new AtomicLong(1);
+    private final LoadProfile profile;
+    private final LoadStatistics statistics;
+
+    /**
+     * @param profile generated workload
+     * @param statistics statistics shared by all switches
+     */
+    public EmulatedSwitchInitializer(final LoadProfile profile, final LoadStatistics statistics) {
+        this.profile = profile;
+        this.statistics = statistics;
+    }
+
+    @Override
+    protected void initChannel(final SocketChannel ch) throws Exception {
+        final ChannelPipeline pipeline = ch.pipeline();
+        if (profile.isSecured()) {
+            final SSLEngine engine = ClientSslContextFactory.getClientContext().createSSLEngine();
+            engine.setUseClientMode(true);
+            pipeline.addLast("ssl", new SslHandler(engine));
+        }
+        pipeline.addLast("framer", new SimpleClientFramer());
+        pipeline.addLast("handler", new EmulatedSwitchHandler(nextDatapathId.getAndIncrement(), profile,
+                statistics));
+    }
+}
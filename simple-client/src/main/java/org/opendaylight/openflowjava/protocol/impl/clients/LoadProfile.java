@@ -0,0 +1,380 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.impl.clients;
+
+import com.google.common.base.Preconditions;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+/**
+ * Workload generated by {@link SwitchEmulator}. Message rate is per emulated switch, generated messages are
+ * split among packet-in, port-status, echo requests and flow stats replies according to their ratios.
+ * Profiles can be saved to and loaded from properties files, keys match the emulator's command line options.
+ */
+public class LoadProfile {
+
+    static final String HOST = "host";
+    static final String PORT = "port";
+    static final String SSL = "ssl";
+    static final String DEVICES = "devices";
+    static final String EVENT_LOOPS = "event-loops";
+    static final String CONNECT_RATE = "connect-rate";
+    static final String MESSAGE_RATE = "message-rate";
+    static final String PACKET_IN_RATIO = "packet-in-ratio";
+    static final String PORT_STATUS_RATIO = "port-status-ratio";
+    static final String ECHO_RATIO = "echo-ratio";
+    static final String MULTIPART_RATIO = "multipart-ratio";
+    static final String PACKET_IN_SIZE = "packet-in-size";
+    static final String MULTIPART_ENTRIES = "multipart-entries";
+    static final String DURATION = "duration";
+
+    private String host = "127.0.0.1";
+    private int port = 6653;
+    private boolean secured = false;
+    private int devices = 1000;
+    private int eventLoops = Runtime.getRuntime().availableProcessors();
+    private int connectRate = 500;
+    private double messageRate = 10;
+    private double packetInRatio = 0.8;
+    private double portStatusRatio = 0.05;
+    private double echoRatio = 0.15;
+    private double multipartRatio = 0;
+    private int packetInSize = 128;
+    private int multipartEntries = 10;
+    private int duration = 60;
+
+    /**
+     * Checks that profile describes a feasible workload
+     * @throws IllegalArgumentException if any value is out of range
+     */
+    public void validate() {
+        Preconditions.checkArgument(devices > 0, "Number of devices must be positive");
+        Preconditions.checkArgument(eventLoops > 0, "Number of event loops must be positive");
+        Preconditions.checkArgument(connectRate > 0, "Connect rate must be positive");
+        Preconditions.checkArgument(messageRate >= 0, "Message rate must not be negative");
+        Preconditions.checkArgument(packetInRatio >= 0 && portStatusRatio >= 0 && echoRatio >= 0
+                && multipartRatio >= 0, "Message ratios must not be negative");
+        Preconditions.checkArgument(messageRate == 0 || getTotalRatio() > 0,
+                "At least one message ratio must be positive");
+        Preconditions.checkArgument(packetInSize >= 0 && packetInSize <= EmulatedSwitchHandler.MAX_PACKET_IN_SIZE,
+                "Packet in size must be between 0 and %s", EmulatedSwitchHandler.MAX_PACKET_IN_SIZE);
+        Preconditions.checkArgument(multipartEntries >= 0, "Number of multipart entries must not be negative");
+        Preconditions.checkArgument(duration > 0, "Duration must be positive");
+    }
+
+    /**
+     * @return sum of all message ratios
+     */
+    double getTotalRatio() {
+        return packetInRatio + portStatusRatio + echoRatio + multipartRatio;
+    }
+
+    /**
+     * Loads profile from properties file, values missing in the file keep their defaults
+     * @param file properties file
+     * @return loaded profile
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if the file contains unknown key or malformed value
+     */
+    public static LoadProfile load(final Path file) throws IOException {
+        final Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            properties.load(in);
+        }
+        final LoadProfile profile = new LoadProfile();
+        for (String key : properties.stringPropertyNames()) {
+            profile.set(key, properties.getProperty(key).trim());
+        }
+        return profile;
+    }
+
+    private void set(final String key, final String value) {
+        switch (key) {
+            case HOST:
+                host = value;
+                break;
+            case PORT:
+                port = Integer.parseInt(value);
+                break;
+            case SSL:
+                secured = Boolean.parseBoolean(value);
+                break;
+            case DEVICES:
+                devices = Integer.parseInt(value);
+                break;
+            case EVENT_LOOPS:
+                eventLoops = Integer.parseInt(value);
+                break;
+            case CONNECT_RATE:
+                connectRate = Integer.parseInt(value);
+                break;
+            case MESSAGE_RATE:
+                messageRate = Double.parseDouble(value);
+                break;
+            case PACKET_IN_RATIO:
+                packetInRatio = Double.parseDouble(value);
+                break;
+            case PORT_STATUS_RATIO:
+                portStatusRatio = Double.parseDouble(value);
+                break;
+            case ECHO_RATIO:
+                echoRatio = Double.parseDouble(value);
+                break;
+            case MULTIPART_RATIO:
+                multipartRatio = Double.parseDouble(value);
+                break;
+            case PACKET_IN_SIZE:
+                packetInSize = Integer.parseInt(value);
+                break;
+            case MULTIPART_ENTRIES:
+                multipartEntries = Integer.parseInt(value);
+                break;
+            case DURATION:
+                duration = Integer.parseInt(value);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown load profile property " + key);
+        }
+    }
+
+    /**
+     * Saves profile into properties file
+     * @param file properties file, overwritten if it exists
+     * @throws IOException if the file cannot be written
+     */
+    public void save(final Path file) throws IOException {
+        final Properties properties = new Properties();
+        properties.setProperty(HOST, host);
+        properties.setProperty(PORT, String.valueOf(port));
+        properties.setProperty(SSL, String.valueOf(secured));
+        properties.setProperty(DEVICES, String.valueOf(devices));
+        properties.setProperty(EVENT_LOOPS, String.valueOf(eventLoops));
+        properties.setProperty(CONNECT_RATE, String.valueOf(connectRate));
+        properties.setProperty(MESSAGE_RATE, String.valueOf(messageRate));
+        properties.setProperty(PACKET_IN_RATIO, String.valueOf(packetInRatio));
+        properties.setProperty(PORT_STATUS_RATIO, String.valueOf(portStatusRatio));
+        properties.setProperty(ECHO_RATIO, String.valueOf(echoRatio));
+        properties.setProperty(MULTIPART_RATIO, String.valueOf(multipartRatio));
+        properties.setProperty(PACKET_IN_SIZE, String.valueOf(packetInSize));
+        properties.setProperty(MULTIPART_ENTRIES, String.valueOf(multipartEntries));
+        properties.setProperty(DURATION, String.valueOf(duration));
+        try (OutputStream out = Files.newOutputStream(file)) {
+            properties.store(out, "Switch emulator load profile");
+        }
+    }
+
+    /**
+     * @return controller address
+     */
+    public String getHost() {
+        return host;
+    }
+
+    /**
+     * @param host controller address
+     */
+    public void setHost(String host) {
+        this.host = host;
+    }
+
+    /**
+     * @return controller port
+     */
+    public int getPort() {
+        return port;
+    }
+
+    /**
+     * @param port controller port
+     */
+    public void setPort(int port) {
+        this.port = port;
+    }
+
+    /**
+     * @return true if switches should use TLS
+     */
+    public boolean isSecured() {
+        return secured;
+    }
+
+    /**
+     * @param secured true if switches should use TLS
+     */
+    public void setSecured(boolean secured) {
+        this.secured = secured;
+    }
+
+    /**
+     * @return number of emulated switches
+     */
+    public int getDevices() {
+        return devices;
+    }
+
+    /**
+     * @param devices number of emulated switches
+     */
+    public void setDevices(int devices) {
+        this.devices = devices;
+    }
+
+    /**
+     * @return number of event loops driving all switches
+     */
+    public int getEventLoops() {
+        return eventLoops;
+    }
+
+    /**
+     * @param eventLoops number of event loops driving all switches
+     */
+    public void setEventLoops(int eventLoops) {
+        this.eventLoops = eventLoops;
+    }
+
+    /**
+     * @return number of new connections per second
+     */
+    public int getConnectRate() {
+        return connectRate;
+    }
+
+    /**
+     * @param connectRate number of new connections per second
+     */
+    public void setConnectRate(int connectRate) {
+        this.connectRate = connectRate;
+    }
+
+    /**
+     * @return number of generated messages per second and switch
+     */
+    public double getMessageRate() {
+        return messageRate;
+    }
+
+    /**
+     * @param messageRate number of generated messages per second and switch
+     */
+    public void setMessageRate(double messageRate) {
+        this.messageRate = messageRate;
+    }
+
+    /**
+     * @return relative share of packet-in messages
+     */
+    public double getPacketInRatio() {
+        return packetInRatio;
+    }
+
+    /**
+     * @param packetInRatio relative share of packet-in messages
+     */
+    public void setPacketInRatio(double packetInRatio) {
+        this.packetInRatio = packetInRatio;
+    }
+
+    /**
+     * @return relative share of port-status messages
+     */
+    public double getPortStatusRatio() {
+        return portStatusRatio;
+    }
+
+    /**
+     * @param portStatusRatio relative share of port-status messages
+     */
+    public void setPortStatusRatio(double portStatusRatio) {
+        this.portStatusRatio = portStatusRatio;
+    }
+
+    /**
+     * @return relative share of echo requests
+     */
+    public double getEchoRatio() {
+        return echoRatio;
+    }
+
+    /**
+     * @param echoRatio relative share of echo requests
+     */
+    public void setEchoRatio(double echoRatio) {
+        this.echoRatio = echoRatio;
+    }
+
+    /**
+     * @return relative share of unsolicited flow stats replies
+     */
+    public double getMultipartRatio() {
+        return multipartRatio;
+    }
+
+    /**
+     * @param multipartRatio relative share of unsolicited flow stats replies
+     */
+    public void setMultipartRatio(double multipartRatio) {
+        this.multipartRatio = multipartRatio;
+    }
+
+    /**
+     * @return size of packet data carried by packet-in messages
+     */
+    public int getPacketInSize() {
+        return packetInSize;
+    }
+
+    /**
+     * @param packetInSize size of packet data carried by packet-in messages
+     */
+    public void setPacketInSize(int packetInSize) {
+        this.packetInSize = packetInSize;
+    }
+
+    /**
+     * @return number of entries in flow and port stats replies, including unsolicited flow stats replies
+     */
+    public int getMultipartEntries() {
+        return multipartEntries;
+    }
+
+    /**
+     * @param multipartEntries number of entries in flow and port stats replies
+     */
+    public void setMultipartEntries(int multipartEntries) {
+        this.multipartEntries = multipartEntries;
+    }
+
+    /**
+     * @return load duration in seconds
+     */
+    public int getDuration() {
+        return duration;
+    }
+
+    /**
+     * @param duration load duration in seconds
+     */
+    public void setDuration(int duration) {
+        this.duration = duration;
+    }
+
+    @Override
+    public String toString() {
+        return "LoadProfile [host=" + host + ", port=" + port + ", secured=" + secured + ", devices=" + devices
+                + ", eventLoops=" + eventLoops + ", connectRate=" + connectRate + ", messageRate=" + messageRate
+                + ", packetInRatio=" + packetInRatio + ", portStatusRatio=" + portStatusRatio + ", echoRatio="
+                + echoRatio + ", multipartRatio=" + multipartRatio + ", packetInSize=" + packetInSize
+                + ", multipartEntries=" + multipartEntries + ", duration=" + duration + "]";
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.impl.clients;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * Counters and latency histograms shared by all switches emulated by {@link SwitchEmulator}.
+ * Latencies are recorded by event loops concurrently and collected per reporting interval.
+ */
+public class LoadStatistics {
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+    private static final int MESSAGE_TYPES = 32;
+
+    private final LongAdder[] sent = createAdders();
+    private final LongAdder[] received = createAdders();
+    private final LongAdder throttled = new LongAdder();
+    private final AtomicInteger connected = new AtomicInteger();
+    private final AtomicInteger handshakes = new AtomicInteger();
+    private final LongAdder disconnects = new LongAdder();
+    private final LongAdder connectFailures = new LongAdder();
+    private final Recorder echoRecorder = new Recorder(SIGNIFICANT_DIGITS);
+    private final Recorder packetInRecorder = new Recorder(SIGNIFICANT_DIGITS);
+    private final Histogram echoTotal = new Histogram(SIGNIFICANT_DIGITS);
+    private final Histogram packetInTotal = new Histogram(SIGNIFICANT_DIGITS);
+    private Histogram echoInterval;
+    private Histogram packetInInterval;
+    private long lastSent;
+    private long lastReceived;
+    private long lastReportNanos = System.nanoTime();
+
+    private static LongAdder[] createAdders() {
+        final LongAdder[] adders = new LongAdder[MESSAGE_TYPES + 1];
+        for (int i = 0; i < adders.length; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+
+    private static int index(final int type) {
+        return type >= 0 && type < MESSAGE_TYPES ? type : MESSAGE_TYPES;
+    }
+
+    /**
+     * @param type OpenFlow type of message sent by a switch
+     */
+    public void messageSent(final int type) {
+        sent[index(type)].increment();
+    }
+
+    /**
+     * @param type OpenFlow type of message received by a switch
+     */
+    public void messageReceived(final int type) {
+        received[index(type)].increment();
+    }
+
+    /**
+     * @param count number of messages not generated because the channel was not writable
+     */
+    public void messagesThrottled(final int count) {
+        throttled.add(count);
+    }
+
+    /**
+     * @param nanos time from sending echo request to receiving echo reply
+     */
+    public void recordEchoLatency(final long nanos) {
+        echoRecorder.recordValue(TimeUnit.NANOSECONDS.toMicros(nanos));
+    }
+
+    /**
+     * @param nanos time from sending packet-in to receiving packet-out or flow-mod referring its buffer
+     */
+    public void recordPacketInLatency(final long nanos) {
+        packetInRecorder.recordValue(TimeUnit.NANOSECONDS.toMicros(nanos));
+    }
+
+    /**
+     * Notifies that switch channel became active
+     */
+    public void switchConnected() {
+        connected.incrementAndGet();
+    }
+
+    /**
+     * Notifies that switch failed to connect
+     */
+    public void connectFailed() {
+        connectFailures.increment();
+    }
+
+    /**
+     * Notifies that switch answered features request
+     */
+    public void switchHandshaked() {
+        handshakes.incrementAndGet();
+    }
+
+    /**
+     * Notifies that switch channel became inactive
+     */
+    public void switchDisconnected() {
+        connected.decrementAndGet();
+        disconnects.increment();
+    }
+
+    /**
+     * @param type OpenFlow message type
+     * @return number of messages of given type sent by all switches
+     */
+    public long getSent(final int type) {
+        return sent[index(type)].sum();
+    }
+
+    /**
+     * @param type OpenFlow message type
+     * @return number of messages of given type received by all switches
+     */
+    public long getReceived(final int type) {
+        return received[index(type)].sum();
+    }
+
+    private static long sum(final LongAdder[] adders) {
+        long sum = 0;
+        for (LongAdder adder : adders) {
+            sum += adder.sum();
+        }
+        return sum;
+    }
+
+    /**
+     * Collects latencies recorded since previous call and formats them with message throughput.
+     * Must not be called concurrently.
+     * @return one line report of the interval
+     */
+    public String intervalReport() {
+        final long now = System.nanoTime();
+        final double seconds = Math.max(now - lastReportNanos, 1) / 1e9;
+        lastReportNanos = now;
+        echoInterval = echoRecorder.getIntervalHistogram(echoInterval);
+        packetInInterval = packetInRecorder.getIntervalHistogram(packetInInterval);
+        echoTotal.add(echoInterval);
+        packetInTotal.add(packetInInterval);
+
+        final long totalSent = sum(sent);
+        final long totalReceived = sum(received);
+        final String report = String.format("connected=%d handshaked=%d tx=%.0f/s rx=%.0f/s throttled=%d"
+                + " echo[%s] packet-in[%s]", connected.get(), handshakes.get(), (totalSent - lastSent) / seconds,
+                (totalReceived - lastReceived) / seconds, throttled.sum(), percentiles(echoInterval),
+                percentiles(packetInInterval));
+        lastSent = totalSent;
+        lastReceived = totalReceived;
+        return report;
+    }
+
+    /**
+     * Formats counters and latencies of the whole run. Must not be called concurrently with
+     * {@link #intervalReport()}.
+     * @return multi-line summary
+     */
+    public String summary() {
+        intervalReport();
+        final StringBuilder sb = new StringBuilder();
+        sb.append("switches: connected=").append(connected.get()).append(" handshaked=").append(handshakes.get())
+            .append(" disconnects=").append(disconnects.sum()).append(" connect-failures=")
+            .append(connectFailures.sum()).append('\n');
+        sb.append("sent: total=").append(sum(sent))
+            .append(" packet-in=").append(getSent(EmulatedSwitchHandler.OFPT_PACKET_IN))
+            .append(" port-status=").append(getSent(EmulatedSwitchHandler.OFPT_PORT_STATUS))
+            .append(" echo-request=").append(getSent(EmulatedSwitchHandler.OFPT_ECHO_REQUEST))
+            .append(" multipart-reply=").append(getSent(EmulatedSwitchHandler.OFPT_MULTIPART_REPLY))
+            .append(" throttled=").append(throttled.sum()).append('\n');
+        sb.append("received: total=").append(sum(received))
+            .append(" flow-mod=").append(getReceived(EmulatedSwitchHandler.OFPT_FLOW_MOD))
+            .append(" packet-out=").append(getReceived(EmulatedSwitchHandler.OFPT_PACKET_OUT))
+            .append(" barrier=").append(getReceived(EmulatedSwitchHandler.OFPT_BARRIER_REQUEST))
+            .append(" multipart-request=").append(getReceived(EmulatedSwitchHandler.OFPT_MULTIPART_REQUEST))
+            .append('\n');
+        sb.append("echo latency [us]: ").append(percentiles(echoTotal)).append('\n');
+        sb.append("packet-in latency [us]: ").append(percentiles(packetInTotal));
+        return sb.toString();
+    }
+
+    private static String percentiles(final Histogram histogram) {
+        if (histogram.getTotalCount() == 0) {
+            return "n=0";
+        }
+        return String.format("n=%d p50=%d p90=%d p99=%d p99.9=%d max=%d", histogram.getTotalCount(),
+                histogram.getValueAtPercentile(50), histogram.getValueAtPercentile(90),
+                histogram.getValueAtPercentile(99), histogram.getValueAtPercentile(99.9),
+                histogram.getMaxValue());
+    }
+}
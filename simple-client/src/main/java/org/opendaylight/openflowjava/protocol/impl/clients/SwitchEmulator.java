@@ -0,0 +1,229 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.impl.clients;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.group.ChannelGroup;
+import io.netty.channel.group.DefaultChannelGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.util.concurrent.GlobalEventExecutor;
+import io.netty.util.concurrent.ScheduledFuture;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+import net.sourceforge.argparse4j.ArgumentParsers;
+import net.sourceforge.argparse4j.inf.ArgumentParser;
+import net.sourceforge.argparse4j.inf.ArgumentParserException;
+import net.sourceforge.argparse4j.inf.Namespace;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Emulates many OpenFlow 1.3 switches on a few event loops and drives the workload described by
+ * {@link LoadProfile} against a controller. Throughput and latency percentiles are logged every second,
+ * summary of the whole run is logged at the end.
+ */
+public class SwitchEmulator {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SwitchEmulator.class);
+    private static final long CONNECT_TICK_MILLIS = 10;
+
+    private final LoadProfile profile;
+    private final LoadStatistics statistics = new LoadStatistics();
+    private int connectsIssued;
+
+    /**
+     * @param profile generated workload
+     */
+    public SwitchEmulator(final LoadProfile profile) {
+        profile.validate();
+        this.profile = profile;
+    }
+
+    /**
+     * Connects switches, generates load for configured duration and disconnects switches
+     * @return statistics of the run
+     * @throws InterruptedException if interrupted while waiting for the run to finish
+     */
+    public LoadStatistics run() throws InterruptedException {
+        LOG.info("Starting {}", profile);
+        final EventLoopGroup group = new NioEventLoopGroup(profile.getEventLoops());
+        final ChannelGroup channels = new DefaultChannelGroup(GlobalEventExecutor.INSTANCE);
+        try {
+            final Bootstrap bootstrap = new Bootstrap()
+                    .group(group)
+                    .channel(NioSocketChannel.class)
+                    .option(ChannelOption.TCP_NODELAY, true)
+                    .handler(new EmulatedSwitchInitializer(profile, statistics));
+            final ScheduledFuture<?> connector = startConnecting(group, bootstrap, channels);
+
+            final long reportInterval = TimeUnit.SECONDS.toNanos(1);
+            final long start = System.nanoTime();
+            for (int second = 1; second <= profile.getDuration(); second++) {
+                final long remaining = start + second * reportInterval - System.nanoTime();
+                if (remaining > 0) {
+                    TimeUnit.NANOSECONDS.sleep(remaining);
+                }
+                LOG.info("{}s {}", second, statistics.intervalReport());
+            }
+
+            connector.cancel(false);
+            channels.close().awaitUninterruptibly();
+        } finally {
+            group.shutdownGracefully().awaitUninterruptibly();
+        }
+        LOG.info("Finished\n{}", statistics.summary());
+        return statistics;
+    }
+
+    private ScheduledFuture<?> startConnecting(final EventLoopGroup group, final Bootstrap bootstrap,
+            final ChannelGroup channels) {
+        final ChannelFutureListener connectListener = new ChannelFutureListener() {
+            @Override
+            public void operationComplete(final ChannelFuture future) {
+                if (future.isSuccess()) {
+                    channels.add(future.channel());
+                } else {
+                    LOG.debug("Switch failed to connect", future.cause());
+                    statistics.connectFailed();
+                }
+            }
+        };
+        final int perTick = (int) Math.max(1, profile.getConnectRate() * CONNECT_TICK_MILLIS / 1000);
+        // runs in single event loop, connectsIssued is not shared
+        return group.next().scheduleAtFixedRate(new Runnable() {
+            @Override
+            public void run() {
+                final int batch = Math.min(perTick, profile.getDevices() - connectsIssued);
+                for (int i = 0; i < batch; i++) {
+                    bootstrap.connect(profile.getHost(), profile.getPort()).addListener(connectListener);
+                }
+                connectsIssued += batch;
+            }
+        }, 0, CONNECT_TICK_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Parses workload from arguments and runs the emulator. Workload is taken from the profile file if given,
+     * explicit options override its values.
+     * @param args command line arguments, use {@code --help} to list them
+     * @throws Exception if the run fails
+     */
+    public static void main(final String[] args) throws Exception {
+        final ArgumentParser parser = ArgumentParsers.newArgumentParser(SwitchEmulator.class.getSimpleName())
+                .description("Emulates OpenFlow 1.3 switches generating load against a controller");
+        final LoadProfile defaults = new LoadProfile();
+        parser.addArgument("--profile").type(String.class)
+                .help("load profile properties file providing values of options not given explicitly");
+        parser.addArgument("--save-profile").type(String.class)
+                .help("save effective load profile into properties file before the run");
+        parser.addArgument("--" + LoadProfile.HOST)
+                .help("controller address (default: " + defaults.getHost() + ")");
+        parser.addArgument("--" + LoadProfile.PORT).type(Integer.class)
+                .help("controller port (default: " + defaults.getPort() + ")");
+        parser.addArgument("--" + LoadProfile.SSL).type(Boolean.class)
+                .help("use TLS (default: " + defaults.isSecured() + ")");
+        parser.addArgument("--" + LoadProfile.DEVICES).type(Integer.class)
+                .help("number of emulated switches (default: " + defaults.getDevices() + ")");
+        parser.addArgument("--" + LoadProfile.EVENT_LOOPS).type(Integer.class)
+                .help("number of event loops driving the switches (default: " + defaults.getEventLoops() + ")");
+        parser.addArgument("--" + LoadProfile.CONNECT_RATE).type(Integer.class)
+                .help("new connections per second (default: " + defaults.getConnectRate() + ")");
+        parser.addArgument("--" + LoadProfile.MESSAGE_RATE).type(Double.class)
+                .help("generated messages per second and switch (default: " + defaults.getMessageRate() + ")");
+        parser.addArgument("--" + LoadProfile.PACKET_IN_RATIO).type(Double.class)
+                .help("relative share of packet-in messages (default: " + defaults.getPacketInRatio() + ")");
+        parser.addArgument("--" + LoadProfile.PORT_STATUS_RATIO).type(Double.class)
+                .help("relative share of port-status messages (default: " + defaults.getPortStatusRatio() + ")");
+        parser.addArgument("--" + LoadProfile.ECHO_RATIO).type(Double.class)
+                .help("relative share of echo requests (default: " + defaults.getEchoRatio() + ")");
+        parser.addArgument("--" + LoadProfile.MULTIPART_RATIO).type(Double.class)
+                .help("relative share of unsolicited flow stats replies (default: " + defaults.getMultipartRatio()
+                        + ")");
+        parser.addArgument("--" + LoadProfile.PACKET_IN_SIZE).type(Integer.class)
+                .help("packet data carried by packet-in (default: " + defaults.getPacketInSize() + ")");
+        parser.addArgument("--" + LoadProfile.MULTIPART_ENTRIES).type(Integer.class)
+                .help("entries in flow and port stats replies (default: " + defaults.getMultipartEntries() + ")");
+        parser.addArgument("--" + LoadProfile.DURATION).type(Integer.class)
+                .help("load duration in seconds (default: " + defaults.getDuration() + ")");
+
+        final Namespace ns;
+        try {
+            ns = parser.parseArgs(args);
+        } catch (ArgumentParserException e) {
+            parser.handleError(e);
+            return;
+        }
+
+        final String profileFile = ns.getString("profile");
+        final LoadProfile profile = profileFile == null ? new LoadProfile() : LoadProfile.load(Paths.get(profileFile));
+        applyArguments(ns, profile);
+        final String saveFile = ns.getString("save_profile");
+        if (saveFile != null) {
+            profile.validate();
+            profile.save(Paths.get(saveFile));
+            LOG.info("Saved {} into {}", profile, saveFile);
+        }
+        new SwitchEmulator(profile).run();
+    }
+
+    /**
+     * Overrides profile values by options given on command line
+     * @param ns parsed arguments
+     * @param profile profile to be updated
+     */
+    static void applyArguments(final Namespace ns, final LoadProfile profile) {
+        if (ns.get("host") != null) {
+            profile.setHost(ns.getString("host"));
+        }
+        if (ns.get("port") != null) {
+            profile.setPort(ns.getInt("port"));
+        }
+        if (ns.get("ssl") != null) {
+            profile.setSecured(ns.getBoolean("ssl"));
+        }
+        if (ns.get("devices") != null) {
+            profile.setDevices(ns.getInt("devices"));
+        }
+        if (ns.get("event_loops") != null) {
+            profile.setEventLoops(ns.getInt("event_loops"));
+        }
+        if (ns.get("connect_rate") != null) {
+            profile.setConnectRate(ns.getInt("connect_rate"));
+        }
+        if (ns.get("message_rate") != null) {
+            profile.setMessageRate(ns.getDouble("message_rate"));
+        }
+        if (ns.get("packet_in_ratio") != null) {
+            profile.setPacketInRatio(ns.getDouble("packet_in_ratio"));
+        }
+        if (ns.get("port_status_ratio") != null) {
+            profile.setPortStatusRatio(ns.getDouble("port_status_ratio"));
+        }
+        if (ns.get("echo_ratio") != null) {
+            profile.setEchoRatio(ns.getDouble("echo_ratio"));
+        }
+        if (ns.get("multipart_ratio") != null) {
+            profile.setMultipartRatio(ns.getDouble("multipart_ratio"));
+        }
+        if (ns.get("packet_in_size") != null) {
+            profile.setPacketInSize(ns.getInt("packet_in_size"));
+        }
+        if (ns.get("multipart_entries") != null) {
+            profile.setMultipartEntries(ns.getInt("multipart_entries"));
+        }
+        if (ns.get("duration") != null) {
+            profile.setDuration(ns.getInt("duration"));
+        }
+    }
+}
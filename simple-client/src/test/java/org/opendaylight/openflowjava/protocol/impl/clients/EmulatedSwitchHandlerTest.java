@@ -0,0 +1,234 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.impl.clients;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.base.Ticker;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Testing class of {@link EmulatedSwitchHandler}
+ */
+public class EmulatedSwitchHandlerTest {
+
+    private static final long DATAPATH_ID = 0x1234L;
+    private static final int OFPMP_FLOW = 1;
+    private static final int FLOW_STATS_LENGTH = 88;
+
+    private final LoadStatistics statistics = new LoadStatistics();
+    private final AtomicLong time = new AtomicLong();
+    private final Ticker ticker = new Ticker() {
+        @Override
+        public long read() {
+            return time.get();
+        }
+    };
+    private EmbeddedChannel channel;
+    private EmulatedSwitchHandler handler;
+
+    @After
+    public void tearDown() {
+        if (channel != null) {
+            channel.finishAndReleaseAll();
+        }
+    }
+
+    private void connect(final LoadProfile profile) {
+        handler = new EmulatedSwitchHandler(DATAPATH_ID, profile, statistics, ticker);
+        channel = new EmbeddedChannel(handler);
+        final ByteBuf hello = readMessage(EmulatedSwitchHandler.OFPT_HELLO);
+        hello.release();
+    }
+
+    private void handshake() {
+        channel.writeInbound(request(EmulatedSwitchHandler.OFPT_FEATURES_REQUEST, 7));
+        final ByteBuf features = readMessage(EmulatedSwitchHandler.OFPT_FEATURES_REPLY);
+        assertEquals(7, features.getInt(4));
+        assertEquals(DATAPATH_ID, features.getLong(8));
+        features.release();
+    }
+
+    private static ByteBuf request(final int type, final int xid) {
+        final ByteBuf request = Unpooled.buffer();
+        request.writeByte(EmulatedSwitchHandler.OF13_VERSION);
+        request.writeByte(type);
+        request.writeShort(8);
+        request.writeInt(xid);
+        return request;
+    }
+
+    private ByteBuf readMessage(final int type) {
+        final ByteBuf message = channel.readOutbound();
+        assertNotNull("Missing message of type " + type, message);
+        assertEquals(EmulatedSwitchHandler.OF13_VERSION, message.getByte(0));
+        assertEquals(type, message.getUnsignedByte(1));
+        assertEquals(message.readableBytes(), message.getUnsignedShort(2));
+        return message;
+    }
+
+    private static LoadProfile profile(final double messageRate) {
+        final LoadProfile profile = new LoadProfile();
+        profile.setMessageRate(messageRate);
+        return profile;
+    }
+
+    /**
+     * Test that switch answers echo and barrier requests with the request's xid
+     */
+    @Test
+    public void testReplies() {
+        connect(profile(0));
+        channel.writeInbound(request(EmulatedSwitchHandler.OFPT_ECHO_REQUEST, 11));
+        channel.writeInbound(request(EmulatedSwitchHandler.OFPT_BARRIER_REQUEST, 12));
+
+        final ByteBuf echo = readMessage(EmulatedSwitchHandler.OFPT_ECHO_REPLY);
+        assertEquals(11, echo.getInt(4));
+        echo.release();
+        final ByteBuf barrier = readMessage(EmulatedSwitchHandler.OFPT_BARRIER_REPLY);
+        assertEquals(12, barrier.getInt(4));
+        barrier.release();
+        assertEquals(1, statistics.getReceived(EmulatedSwitchHandler.OFPT_BARRIER_REQUEST));
+    }
+
+    /**
+     * Test that flow stats reply larger than maximal message is split into replies flagged with REPLY_MORE
+     */
+    @Test
+    public void testMultipartReplySplit() {
+        final LoadProfile profile = profile(0);
+        profile.setMultipartEntries(1000);
+        connect(profile);
+
+        final ByteBuf request = request(EmulatedSwitchHandler.OFPT_MULTIPART_REQUEST, 21);
+        request.writeShort(OFPMP_FLOW);
+        request.writeZero(6);
+        request.setShort(2, request.readableBytes());
+        channel.writeInbound(request);
+
+        int entries = 0;
+        boolean more = true;
+        while (more) {
+            final ByteBuf reply = readMessage(EmulatedSwitchHandler.OFPT_MULTIPART_REPLY);
+            assertEquals(21, reply.getInt(4));
+            assertEquals(OFPMP_FLOW, reply.getUnsignedShort(8));
+            more = (reply.getUnsignedShort(10) & 1) != 0;
+            entries += (reply.readableBytes() - 16) / FLOW_STATS_LENGTH;
+            reply.release();
+        }
+        assertEquals(1000, entries);
+        assertNull(channel.readOutbound());
+    }
+
+    /**
+     * Test that no messages are generated before the controller requests features
+     */
+    @Test
+    public void testNoGenerationBeforeHandshake() {
+        connect(profile(1000));
+        channel.runPendingTasks();
+        assertNull(channel.readOutbound());
+    }
+
+    /**
+     * Test that packet-ins are generated at configured rate and size, packet-out completes latency measurement
+     */
+    @Test
+    public void testGeneratePacketIns() {
+        final LoadProfile profile = profile(100);
+        profile.setPacketInRatio(1);
+        profile.setPortStatusRatio(0);
+        profile.setEchoRatio(0);
+        profile.setPacketInSize(64);
+        connect(profile);
+        handshake();
+
+        time.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        handler.generate();
+        long bufferId = -1;
+        int count = 0;
+        for (ByteBuf message = channel.readOutbound(); message != null; message = channel.readOutbound()) {
+            assertEquals(EmulatedSwitchHandler.OFPT_PACKET_IN, message.getUnsignedByte(1));
+            assertEquals(42 + 64, message.readableBytes());
+            assertEquals(64, message.getUnsignedShort(12));
+            bufferId = message.getUnsignedInt(8);
+            message.release();
+            count++;
+        }
+        assertEquals(100, count);
+        assertEquals(count, statistics.getSent(EmulatedSwitchHandler.OFPT_PACKET_IN));
+
+        final ByteBuf packetOut = request(EmulatedSwitchHandler.OFPT_PACKET_OUT, 31);
+        packetOut.writeInt((int) bufferId);
+        packetOut.writeZero(12);
+        packetOut.setShort(2, packetOut.readableBytes());
+        time.addAndGet(TimeUnit.MICROSECONDS.toNanos(250));
+        channel.writeInbound(packetOut);
+        assertTrue(statistics.intervalReport().contains("packet-in[n=1 p50=250 "));
+    }
+
+    /**
+     * Test that unsolicited flow stats replies are generated at configured rate
+     */
+    @Test
+    public void testGenerateMultipartReplies() {
+        final LoadProfile profile = profile(10);
+        profile.setPacketInRatio(0);
+        profile.setPortStatusRatio(0);
+        profile.setEchoRatio(0);
+        profile.setMultipartRatio(1);
+        profile.setMultipartEntries(3);
+        connect(profile);
+        handshake();
+
+        time.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        handler.generate();
+        int count = 0;
+        for (ByteBuf message = channel.readOutbound(); message != null; message = channel.readOutbound()) {
+            assertEquals(EmulatedSwitchHandler.OFPT_MULTIPART_REPLY, message.getUnsignedByte(1));
+            assertEquals(OFPMP_FLOW, message.getUnsignedShort(8));
+            assertEquals(16 + 3 * FLOW_STATS_LENGTH, message.readableBytes());
+            message.release();
+            count++;
+        }
+        assertEquals(10, count);
+    }
+
+    /**
+     * Test that generated messages follow configured mix
+     */
+    @Test
+    public void testGenerateMix() {
+        final LoadProfile profile = profile(1000);
+        profile.setPacketInRatio(0.5);
+        profile.setPortStatusRatio(0);
+        profile.setEchoRatio(0.5);
+        connect(profile);
+        handshake();
+
+        time.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        handler.generate();
+        channel.releaseOutbound();
+        final long packetIns = statistics.getSent(EmulatedSwitchHandler.OFPT_PACKET_IN);
+        final long echoes = statistics.getSent(EmulatedSwitchHandler.OFPT_ECHO_REQUEST);
+        assertEquals(0, statistics.getSent(EmulatedSwitchHandler.OFPT_PORT_STATUS));
+        assertEquals(0, statistics.getSent(EmulatedSwitchHandler.OFPT_MULTIPART_REPLY));
+        assertTrue("Generated " + packetIns + " packet-ins and " + echoes + " echoes",
+                packetIns + echoes == 1000 && packetIns > 300 && echoes > 300);
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.impl.clients;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Testing class of {@link LoadProfile}
+ */
+public class LoadProfileTest {
+
+    private static final double DELTA = 1e-9;
+
+    /** Folder for profile files */
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * Test that saved profile is loaded with the same values
+     * @throws IOException
+     */
+    @Test
+    public void testSaveAndLoad() throws IOException {
+        final LoadProfile profile = new LoadProfile();
+        profile.setHost("10.0.0.1");
+        profile.setPort(6633);
+        profile.setSecured(true);
+        profile.setDevices(50);
+        profile.setEventLoops(3);
+        profile.setConnectRate(20);
+        profile.setMessageRate(250.5);
+        profile.setPacketInRatio(0.5);
+        profile.setPortStatusRatio(0.1);
+        profile.setEchoRatio(0.2);
+        profile.setMultipartRatio(0.2);
+        profile.setPacketInSize(512);
+        profile.setMultipartEntries(100);
+        profile.setDuration(30);
+
+        final Path file = folder.newFile("profile.properties").toPath();
+        profile.save(file);
+        final LoadProfile loaded = LoadProfile.load(file);
+
+        assertEquals(profile.toString(), loaded.toString());
+        assertEquals(250.5, loaded.getMessageRate(), DELTA);
+        assertEquals(0.2, loaded.getMultipartRatio(), DELTA);
+        assertEquals(1.0, loaded.getTotalRatio(), DELTA);
+    }
+
+    /**
+     * Test that values missing in the file keep their defaults
+     * @throws IOException
+     */
+    @Test
+    public void testLoadPartial() throws IOException {
+        final Path file = folder.newFile("partial.properties").toPath();
+        Files.write(file, Arrays.asList("devices = 7", "multipart-ratio=1"), StandardCharsets.ISO_8859_1);
+        final LoadProfile loaded = LoadProfile.load(file);
+        final LoadProfile defaults = new LoadProfile();
+
+        assertEquals(7, loaded.getDevices());
+        assertEquals(1, loaded.getMultipartRatio(), DELTA);
+        assertEquals(defaults.getHost(), loaded.getHost());
+        assertEquals(defaults.getMessageRate(), loaded.getMessageRate(), DELTA);
+        assertFalse(loaded.isSecured());
+        loaded.validate();
+    }
+
+    /**
+     * Test that unknown keys are rejected, so that misspelled options do not pass silently
+     * @throws IOException
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testLoadUnknownKey() throws IOException {
+        final Path file = folder.newFile("unknown.properties").toPath();
+        Files.write(file, Arrays.asList("packetin-ratio=1"), StandardCharsets.ISO_8859_1);
+        LoadProfile.load(file);
+    }
+
+    /**
+     * Test that malformed values are rejected
+     * @throws IOException
+     */
+    @Test(expected = NumberFormatException.class)
+    public void testLoadMalformedValue() throws IOException {
+        final Path file = folder.newFile("malformed.properties").toPath();
+        Files.write(file, Arrays.asList("port=abc"), StandardCharsets.ISO_8859_1);
+        LoadProfile.load(file);
+    }
+
+    /**
+     * Test that negative ratio is rejected
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testValidateNegativeRatio() {
+        final LoadProfile profile = new LoadProfile();
+        profile.setMultipartRatio(-1);
+        profile.validate();
+    }
+
+    /**
+     * Test that message rate without any positive ratio is rejected
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testValidateNoRatio() {
+        final LoadProfile profile = new LoadProfile();
+        profile.setPacketInRatio(0);
+        profile.setPortStatusRatio(0);
+        profile.setEchoRatio(0);
+        profile.validate();
+    }
+
+    /**
+     * Test that oversized packet-in is rejected
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testValidatePacketInSize() {
+        final LoadProfile profile = new LoadProfile();
+        profile.setPacketInSize(EmulatedSwitchHandler.MAX_PACKET_IN_SIZE + 1);
+        profile.validate();
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.impl.clients;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+/**
+ * Testing class of {@link LoadStatistics}
+ */
+public class LoadStatisticsTest {
+
+    private final LoadStatistics statistics = new LoadStatistics();
+
+    /**
+     * Test that messages are counted per type, unknown types share one counter
+     */
+    @Test
+    public void testMessageCounters() {
+        statistics.messageSent(EmulatedSwitchHandler.OFPT_PACKET_IN);
+        statistics.messageSent(EmulatedSwitchHandler.OFPT_PACKET_IN);
+        statistics.messageSent(200);
+        statistics.messageReceived(EmulatedSwitchHandler.OFPT_FLOW_MOD);
+        statistics.messageReceived(-1);
+
+        assertEquals(2, statistics.getSent(EmulatedSwitchHandler.OFPT_PACKET_IN));
+        assertEquals(1, statistics.getSent(255));
+        assertEquals(0, statistics.getSent(EmulatedSwitchHandler.OFPT_ECHO_REQUEST));
+        assertEquals(1, statistics.getReceived(EmulatedSwitchHandler.OFPT_FLOW_MOD));
+        assertEquals(1, statistics.getReceived(300));
+    }
+
+    /**
+     * Test that interval report contains only latencies recorded since previous report
+     */
+    @Test
+    public void testIntervalReport() {
+        statistics.switchConnected();
+        statistics.switchHandshaked();
+        statistics.recordEchoLatency(TimeUnit.MILLISECONDS.toNanos(2));
+        statistics.recordEchoLatency(TimeUnit.MILLISECONDS.toNanos(4));
+
+        final String first = statistics.intervalReport();
+        assertTrue(first, first.startsWith("connected=1 handshaked=1 "));
+        assertTrue(first, first.contains("echo[n=2 "));
+        assertTrue(first, first.contains("packet-in[n=0]"));
+
+        statistics.recordPacketInLatency(TimeUnit.MICROSECONDS.toNanos(500));
+        final String second = statistics.intervalReport();
+        assertTrue(second, second.contains("echo[n=0]"));
+        assertTrue(second, second.contains("packet-in[n=1 p50=500 "));
+    }
+
+    /**
+     * Test that summary covers the whole run
+     */
+    @Test
+    public void testSummary() {
+        statistics.switchConnected();
+        statistics.switchConnected();
+        statistics.switchDisconnected();
+        statistics.connectFailed();
+        statistics.messageSent(EmulatedSwitchHandler.OFPT_MULTIPART_REPLY);
+        statistics.messagesThrottled(5);
+        statistics.recordEchoLatency(TimeUnit.MICROSECONDS.toNanos(100));
+        statistics.intervalReport();
+        statistics.recordEchoLatency(TimeUnit.MICROSECONDS.toNanos(300));
+
+        final String summary = statistics.summary();
+        assertTrue(summary, summary.contains("connected=1 handshaked=0 disconnects=1 connect-failures=1"));
+        assertTrue(summary, summary.contains("multipart-reply=1 throttled=5"));
+        assertTrue(summary, summary.contains("echo latency [us]: n=2 "));
+    }
+}